@@ -0,0 +1,89 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.AStarPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.ChebyshevHeuristic;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.PrimitiveAStarPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar.AStarEngine;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.IPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Measures a full A* search from the first starting position to the finish
+ * line, for both the object and the primitive engine.
+ * A fresh player is created before every invocation so that the plan cache
+ * never short-circuits the search.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AStarBenchmark {
+    private static final String PLAYER_NAME = "BenchBot";
+
+    @Param({ "OBJECT", "PRIMITIVE" })
+    public AStarEngine engine;
+
+    private TrackState trackState;
+    private IPathFinder pathFinder;
+    private Player player;
+    private GameState gameState;
+
+    /**
+     * Creates the path finder for the selected engine.
+     *
+     * @param trackState The loaded track.
+     */
+    @Setup(Level.Trial)
+    public void setUp(TrackState trackState) {
+        this.trackState = trackState;
+        this.pathFinder = switch (this.engine) {
+            case PRIMITIVE -> new PrimitiveAStarPathFinder(
+                    new ChebyshevHeuristic(), new MovementManager());
+            case OBJECT -> new AStarPathFinder(
+                    new ChebyshevHeuristic(), new MovementManager());
+        };
+    }
+
+    /**
+     * Places a new player on the first starting position.
+     */
+    @Setup(Level.Invocation)
+    public void resetPlayer() {
+        this.player = new BotPlayer(PLAYER_NAME, Color.RED, this.trackState.starts.get(0), null);
+        this.gameState = new GameState(this.trackState.track, List.of(this.player));
+        this.pathFinder.invalidatePlan(this.player);
+    }
+
+    /**
+     * Searches for the first move of a path to the finish line.
+     *
+     * @return The chosen acceleration.
+     */
+    @Benchmark
+    public Vector findPath() {
+        return this.pathFinder.findPath(this.player, this.gameState, this.trackState.finish);
+    }
+}
@@ -0,0 +1,66 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSExecutor;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSSearchResult;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.ParallelBFSExecutor;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+
+/**
+ * Measures a BFS over the (position, velocity) state space from the first
+ * starting position to the finish line, for the serial and the
+ * level-synchronous parallel executor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BFSBenchmark {
+
+    @Param({ "serial", "parallel" })
+    public String executor;
+
+    private TrackState trackState;
+    private BFSExecutor bfsExecutor;
+
+    /**
+     * Creates the selected executor.
+     *
+     * @param trackState The loaded track.
+     */
+    @Setup
+    public void setUp(TrackState trackState) {
+        this.trackState = trackState;
+        MovementValidatorAdapter validator = new MovementValidatorAdapter();
+        this.bfsExecutor = "parallel".equals(this.executor)
+                ? new ParallelBFSExecutor(validator)
+                : new BFSExecutor(validator);
+    }
+
+    /**
+     * Searches for a path to the finish line starting at rest.
+     *
+     * @return The search result.
+     */
+    @Benchmark
+    public BFSSearchResult search() {
+        return this.bfsExecutor.search(this.trackState.starts.get(0), Vector.ZERO,
+                this.trackState.finish, this.trackState.track);
+    }
+}
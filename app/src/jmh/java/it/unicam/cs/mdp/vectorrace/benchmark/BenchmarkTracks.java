@@ -0,0 +1,120 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+
+/**
+ * Resolves the tracks used by the benchmarks.
+ * A track name is either one of the bundled circuits ({@code circuit1},
+ * {@code circuit2}, {@code circuit3}) or {@code synthetic-N}, an N×N
+ * serpentine track generated on the fly and written to a temporary file so
+ * that it goes through the same loading path as the bundled ones.
+ *
+ * <p>The bundled circuits are looked up in the directory given by the
+ * {@code vectorrace.circuitsDir} system property, which the Gradle build
+ * points at {@code src/main/resources/circuits}.
+ */
+final class BenchmarkTracks {
+    private static final String CIRCUITS_DIR_PROPERTY = "vectorrace.circuitsDir";
+    private static final String DEFAULT_CIRCUITS_DIR = "src/main/resources/circuits";
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+    private static final int WALL_SPACING = 16;
+
+    private BenchmarkTracks() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the path of the file describing the named track, generating it if
+     * the track is synthetic.
+     *
+     * @param name The track name.
+     * @return The path of the track file.
+     */
+    static Path resolve(String name) {
+        if (name.startsWith(SYNTHETIC_PREFIX)) {
+            int size = Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length()));
+            return writeSynthetic(size);
+        }
+        String dir = System.getProperty(CIRCUITS_DIR_PROPERTY, DEFAULT_CIRCUITS_DIR);
+        return Paths.get(dir, name + ".txt");
+    }
+
+    /**
+     * Generates the lines of a square serpentine track.
+     * Vertical walls every {@value #WALL_SPACING} columns leave a gap alternately
+     * at the bottom and at the top, so the only route to the finish column
+     * winds through the whole grid.
+     *
+     * @param size The width and height of the track, at least 32.
+     * @return The track lines in the circuit file format.
+     */
+    static List<String> syntheticLines(int size) {
+        if (size < 32) {
+            throw new IllegalArgumentException("La dimensione minima del circuito sintetico è 32");
+        }
+        char[][] cells = new char[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                cells[y][x] = border ? '#' : '.';
+            }
+        }
+        for (int x = WALL_SPACING, k = 0; x < size - WALL_SPACING; x += WALL_SPACING, k++) {
+            int from = k % 2 == 0 ? 1 : 8;
+            int to = k % 2 == 0 ? size - 9 : size - 2;
+            for (int y = from; y <= to; y++) {
+                cells[y][x] = '#';
+            }
+        }
+        cells[1][1] = 'S';
+        cells[1][2] = 'S';
+        for (int y = 1; y < size - 1; y++) {
+            cells[y][WALL_SPACING / 2] = '1';
+            cells[y][size - 2] = '*';
+        }
+        List<String> lines = new ArrayList<>(size);
+        for (char[] row : cells) {
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+
+    /**
+     * Finds the first finish cell of the track in row-major order.
+     *
+     * @param track The track to scan.
+     * @return The position of a finish cell.
+     * @throws IllegalStateException if the track has no finish cell.
+     */
+    static Position firstFinish(Track track) {
+        for (int y = 0; y < track.getHeight(); y++) {
+            for (int x = 0; x < track.getWidth(); x++) {
+                if (track.getCell(x, y) == CellType.FINISH) {
+                    return new Position(x, y);
+                }
+            }
+        }
+        throw new IllegalStateException("Il circuito non ha celle di arrivo");
+    }
+
+    private static Path writeSynthetic(int size) {
+        try {
+            Path file = Files.createTempFile("vectorrace-" + SYNTHETIC_PREFIX + size + "-", ".txt");
+            file.toFile().deleteOnExit();
+            Files.write(file, syntheticLines(size));
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossibile scrivere il circuito sintetico", e);
+        }
+    }
+}
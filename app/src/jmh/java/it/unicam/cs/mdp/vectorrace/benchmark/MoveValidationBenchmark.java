@@ -0,0 +1,108 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bresenham.BresenhamPathCalculator;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.validators.WallCollisionValidator;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Measures the per-move primitives used by every search: wall validation
+ * and the Bresenham path between two cells.
+ * Each invocation processes the same fixed set of random moves, starting
+ * from non-wall cells with speed up to 5 in each direction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveValidationBenchmark {
+    private static final int MOVES = 1024;
+    private static final int MAX_SPEED = 5;
+    private static final long SEED = 42L;
+
+    private final WallCollisionValidator wallValidator = new WallCollisionValidator();
+    private final BresenhamPathCalculator bresenham = new BresenhamPathCalculator();
+    private final Position[] starts = new Position[MOVES];
+    private final Position[] ends = new Position[MOVES];
+    private Player player;
+    private GameState gameState;
+
+    /**
+     * Draws the moves to validate.
+     *
+     * @param trackState The loaded track.
+     */
+    @Setup
+    public void setUp(TrackState trackState) {
+        Track track = trackState.track;
+        Random random = new Random(SEED);
+        for (int i = 0; i < MOVES; i++) {
+            int x;
+            int y;
+            do {
+                x = random.nextInt(track.getWidth());
+                y = random.nextInt(track.getHeight());
+            } while (track.getCell(x, y) == CellType.WALL);
+            int vx = random.nextInt(2 * MAX_SPEED + 1) - MAX_SPEED;
+            int vy = random.nextInt(2 * MAX_SPEED + 1) - MAX_SPEED;
+            this.starts[i] = new Position(x, y);
+            this.ends[i] = new Position(x + vx, y + vy);
+        }
+        this.player = new BotPlayer("BenchBot", Color.RED, trackState.starts.get(0), null);
+        this.gameState = new GameState(track, List.of(this.player));
+    }
+
+    /**
+     * Validates every move against the track walls.
+     *
+     * @return The number of moves clear of walls.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public int wallCollisionIsValidMove() {
+        int valid = 0;
+        for (int i = 0; i < MOVES; i++) {
+            if (this.wallValidator.isValidMove(this.starts[i], this.ends[i], this.player, this.gameState)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Computes the Bresenham path of every move.
+     *
+     * @param blackhole Consumes the paths so they are not optimized away.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public void bresenhamCalculatePath(Blackhole blackhole) {
+        for (int i = 0; i < MOVES; i++) {
+            blackhole.consume(this.bresenham.calculatePath(this.starts[i], this.ends[i]));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.renderer.CLIGameRenderer;
+
+/**
+ * Measures rendering the whole game state as text, as the CLI does after
+ * every turn, with one player on each starting position.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RendererBenchmark {
+    private final CLIGameRenderer renderer = new CLIGameRenderer();
+    private GameState gameState;
+
+    /**
+     * Places the players on the track.
+     *
+     * @param trackState The loaded track.
+     */
+    @Setup
+    public void setUp(TrackState trackState) {
+        List<Player> players = new ArrayList<>();
+        for (Position start : trackState.starts) {
+            players.add(new BotPlayer("Bot" + (players.size() + 1), Color.RED, start, null));
+        }
+        this.gameState = new GameState(trackState.track, players);
+    }
+
+    /**
+     * Renders the game state.
+     *
+     * @return The textual representation of the track and players.
+     */
+    @Benchmark
+    public String renderGame() {
+        return this.renderer.renderGame(this.gameState);
+    }
+}
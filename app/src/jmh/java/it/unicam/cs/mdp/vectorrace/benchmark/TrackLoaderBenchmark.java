@@ -0,0 +1,39 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+
+/**
+ * Measures loading a track from its file, including validation and the
+ * precomputation done by the loader.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackLoaderBenchmark {
+
+    /**
+     * Loads the track file.
+     *
+     * @param trackState Provides the path of the track file.
+     * @return The loaded track.
+     * @throws IOException If the track file cannot be read.
+     */
+    @Benchmark
+    public Track loadTrack(TrackState trackState) throws IOException {
+        return TrackLoader.loadTrack(trackState.path.toString());
+    }
+}
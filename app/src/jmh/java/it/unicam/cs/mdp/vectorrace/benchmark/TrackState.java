@@ -0,0 +1,43 @@
+package it.unicam.cs.mdp.vectorrace.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+
+/**
+ * Shared benchmark state holding a loaded track, parameterized over the
+ * bundled circuits and over synthetic large tracks.
+ */
+@State(Scope.Benchmark)
+public class TrackState {
+
+    @Param({ "circuit1", "circuit2", "circuit3", "synthetic-128", "synthetic-256" })
+    public String trackName;
+
+    Path path;
+    Track track;
+    List<Position> starts;
+    Position finish;
+
+    /**
+     * Loads the track once per trial.
+     *
+     * @throws IOException If the track file cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.path = BenchmarkTracks.resolve(this.trackName);
+        this.track = TrackLoader.loadTrack(this.path.toString());
+        this.starts = this.track.getStartPositions();
+        this.finish = BenchmarkTracks.firstFinish(this.track);
+    }
+}
@@ -2,13 +2,21 @@ package it.unicam.cs.mdp.vectorrace;
 
 import it.unicam.cs.mdp.vectorrace.view.CLIView;
 import it.unicam.cs.mdp.vectorrace.view.CircuitSelectionView;
+import it.unicam.cs.mdp.vectorrace.view.cli.BatchCommand;
 import it.unicam.cs.mdp.vectorrace.view.cli.CLIApplication;
+import it.unicam.cs.mdp.vectorrace.view.cli.PolicyCommand;
+import it.unicam.cs.mdp.vectorrace.view.cli.ReplayCommand;
+import it.unicam.cs.mdp.vectorrace.view.cli.ServerCommand;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
 /**
  * Entry point of the application.
  * If the argument "gui" is passed, the JavaFX interface is used,
+ * if the argument "batch" is passed, races are simulated headless,
+ * if the argument "policy" is passed, the policy table of a circuit is precomputed,
+ * if the argument "replay" is passed, a recorded race is played back,
+ * if the argument "server" is passed, races are hosted for local clients,
  * otherwise the CLI is used.
  */
 public class Main extends Application {
@@ -29,11 +37,23 @@ public class Main extends Application {
      * Main method of the application.
      *
      * @param args Command line arguments. If the first argument is "gui", the GUI is launched.
+     *             If it is "batch", the headless batch simulator is run.
+     *             If it is "policy", the policy table of a circuit is precomputed.
+     *             If it is "replay", a recorded race is played back.
+     *             If it is "server", the headless race server is started.
      *             Otherwise, the CLI is launched.
      */
     public static void main(String[] args) {
         if (args.length > 0 && args[0].equalsIgnoreCase("gui")) {
             launch(args);
+        } else if (args.length > 0 && args[0].equalsIgnoreCase("batch")) {
+            System.exit(new BatchCommand().run(args));
+        } else if (args.length > 0 && args[0].equalsIgnoreCase("policy")) {
+            System.exit(new PolicyCommand().run(args));
+        } else if (args.length > 0 && args[0].equalsIgnoreCase("replay")) {
+            System.exit(new ReplayCommand().run(args));
+        } else if (args.length > 0 && args[0].equalsIgnoreCase("server")) {
+            System.exit(new ServerCommand().run(args));
         } else {
             new CLIApplication(new CLIView()).start();
         }
@@ -30,9 +30,21 @@ public class GameController implements IGameController {
      * @param view The view interface responsible for displaying the game.
      */
     public GameController(GameState gameState, GameView view) {
+        this(gameState, view, new TurnManager(gameState, new MovementManager(), view));
+    }
+
+    /**
+     * Constructs a new GameController driving the game through the given turn manager,
+     * for example a {@link it.unicam.cs.mdp.vectorrace.model.game.PipelinedTurnManager}.
+     *
+     * @param gameState The state of the game containing track and player information.
+     * @param view The view interface responsible for displaying the game.
+     * @param turnManager The turn manager handling game progression.
+     */
+    public GameController(GameState gameState, GameView view, TurnManager turnManager) {
         this.gameState = gameState;
         this.view = view;
-        this.turnManager = new TurnManager(gameState, new MovementManager(), view);
+        this.turnManager = turnManager;
     }
 
     /**
@@ -43,9 +55,13 @@ public class GameController implements IGameController {
      *   <li>Game state updates</li>
      *   <li>View updates</li>
      * </ul>
+     * The turn manager is closed as soon as the game ends.
      */
     public void advanceTurn() {
         turnManager.advanceTurn();
+        if (gameState.isFinished()) {
+            turnManager.close();
+        }
     }
 
     /**
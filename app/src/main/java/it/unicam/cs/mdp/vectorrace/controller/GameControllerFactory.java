@@ -1,13 +1,16 @@
 package it.unicam.cs.mdp.vectorrace.controller;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnManager;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnMode;
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
 import it.unicam.cs.mdp.vectorrace.model.players.PlayerFactory;
 import it.unicam.cs.mdp.vectorrace.view.GameView;
@@ -39,8 +42,26 @@ public class GameControllerFactory {
      * @throws IOException If there are errors reading the track or player configuration files.
      */
     public IGameController createController(String trackFile, String playerFile, GameView view) throws IOException {
+        return createController(trackFile, playerFile, view, TurnMode.SEQUENTIAL);
+    }
+
+    /**
+     * Creates a new instance of {@link IGameController} playing its turns in the given mode.
+     *
+     * @param trackFile  The path to the track configuration file.
+     * @param playerFile The path to the player configuration file.
+     * @param view       The game view interface for rendering the game.
+     * @param turnMode   How the turns are played, for example with bots thinking ahead.
+     * @return A fully initialized game controller instance.
+     * @throws IOException If there are errors reading the track or player configuration files.
+     * @throws IllegalArgumentException If the mode plays rounds instead of turns.
+     */
+    public IGameController createController(String trackFile, String playerFile, GameView view, TurnMode turnMode)
+            throws IOException {
         GameState gameState = initializeGame(trackFile, playerFile);
-        return new GameController(gameState, view);
+        TurnManager turnManager = turnMode.newTurnManager(gameState, new MovementManager(), view, null,
+                EventLog.disabled());
+        return new GameController(gameState, view, turnManager);
     }
 
     /**
@@ -91,7 +112,7 @@ public class GameControllerFactory {
      * @throws IllegalStateException If no starting positions are found.
      */
     private List<Position> validateStartPositions(Track track) {
-        List<Position> startPositions = findStartPositions(track);
+        List<Position> startPositions = track.getStartPositions();
         System.out.println("Trovate " + startPositions.size() + " posizioni di partenza");
         
         if (startPositions.isEmpty()) {
@@ -126,23 +147,4 @@ public class GameControllerFactory {
     private GameState createGameState(Track track, List<Player> players) {
         return new GameState(track, players);
     }
-
-    /**
-     * Finds all starting positions on the track.
-     * Scans the entire track grid to locate cells marked as starting positions.
-     *
-     * @param track The track to scan.
-     * @return A list of starting positions.
-     */
-    private List<Position> findStartPositions(Track track) {
-        List<Position> startPositions = new ArrayList<>();
-        for (int y = 0; y < track.getHeight(); y++) {
-            for (int x = 0; x < track.getWidth(); x++) {
-                if (track.isStart(x, y)) {
-                    startPositions.add(new Position(x, y));
-                }
-            }
-        }
-        return startPositions;
-    }
 }
\ No newline at end of file
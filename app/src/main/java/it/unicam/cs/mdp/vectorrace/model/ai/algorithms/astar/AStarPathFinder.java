@@ -1,15 +1,19 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
 
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointManager;
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.IPathFinder;
 import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
 import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 
@@ -25,6 +29,9 @@ import java.util.Set;
  * <li>Move validation to ensure legal movements</li>
  * <li>Checkpoint management for tracking progress</li>
  * <li>Limited expansion count to prevent infinite loops</li>
+ * <li>Plan reuse across turns through a {@link PlanCache}</li>
+ * <li>Optional {@link GoalSet} goals: the search stops at the first move that
+ *     crosses any cell of the goal, such as a whole checkpoint line</li>
  * </ul>
  *
  * <p>
@@ -40,7 +47,7 @@ public class AStarPathFinder implements IPathFinder {
 
     private final IHeuristicCalculator heuristic;
     private final MovementManager movementManager;
-    private final CheckpointManager checkpointManager;
+    private final PlanCache planCache;
 
     /**
      * Creates a new AStarPathFinder with specified components.
@@ -48,19 +55,37 @@ public class AStarPathFinder implements IPathFinder {
      * @param heuristic         The heuristic function to estimate the cost to the
      *                          goal.
      * @param movementManager   The movement manager for validating moves.
-     * @param checkpointManager The checkpoint manager for tracking progress.
+     */
+    public AStarPathFinder(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager) {
+        this(heuristic, movementManager, new PlanCache());
+    }
+
+    /**
+     * Creates a new AStarPathFinder with specified components and plan cache.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the
+     *                          goal.
+     * @param movementManager   The movement manager for validating moves.
+     * @param planCache         The cache storing the plans found by previous searches.
      */
     public AStarPathFinder(
             IHeuristicCalculator heuristic,
             MovementManager movementManager,
-            CheckpointManager checkpointManager) {
+            PlanCache planCache) {
         this.heuristic = heuristic;
         this.movementManager = movementManager;
-        this.checkpointManager = checkpointManager;
+        this.planCache = planCache;
     }
 
     @Override
     public Vector findPath(Player player, GameState gameState, Position target) {
+        return findPath(player, gameState, target, null);
+    }
+
+    @Override
+    public Vector findPath(Player player, GameState gameState, Position target, GoalSet goal) {
         if (target == null) {
             return new Vector(0, 0);
         }
@@ -68,15 +93,30 @@ public class AStarPathFinder implements IPathFinder {
         Position currentPos = player.getPosition();
         Vector currentVel = player.getVelocity();
 
+        Vector planned = this.planCache.nextAcceleration(player, target);
+        if (planned != null) {
+            if (validateFinalMove(player, planned, gameState)) {
+                return planned;
+            }
+            this.planCache.invalidate(player);
+        }
+
+        this.heuristic.prepare(gameState.getTrack());
+
         AStarNode startNode = initializeStartNode(currentPos, currentVel, target);
         PriorityQueue<AStarNode> openSet = new PriorityQueue<>(
                 Comparator.comparingDouble(AStarNode::getFCost));
         Set<AStarNode> closedSet = new HashSet<>();
 
         openSet.add(startNode);
-        AStarNode goalNode = findGoalNode(openSet, closedSet, target, gameState);
+        AStarNode goalNode = findGoalNode(openSet, closedSet, target, goal, gameState);
 
-        return reconstructPath(goalNode, startNode, player, currentPos, gameState);
+        return reconstructPath(goalNode, startNode, player, currentPos, target, gameState);
+    }
+
+    @Override
+    public void invalidatePlan(Player player) {
+        this.planCache.invalidate(player);
     }
 
     /**
@@ -94,7 +134,7 @@ public class AStarPathFinder implements IPathFinder {
         AStarNode startNode = new AStarNode(currentPos, currentVel, null, null);
         startNode.setGCost(0.0);
         startNode.setHCost(
-                calculateHeuristic(null, currentPos, currentVel, target));
+                calculateHeuristic(null, null, currentPos, currentVel, target));
         return startNode;
     }
 
@@ -104,6 +144,7 @@ public class AStarPathFinder implements IPathFinder {
      * @param openSet   The priority queue of nodes to evaluate.
      * @param closedSet The set of nodes already evaluated.
      * @param target    The target position.
+     * @param goal      The goal set, or null to stop only on the target cell.
      * @param gameState The current game state.
      * @return The goal node if found, null otherwise.
      */
@@ -111,6 +152,7 @@ public class AStarPathFinder implements IPathFinder {
             PriorityQueue<AStarNode> openSet,
             Set<AStarNode> closedSet,
             Position target,
+            GoalSet goal,
             GameState gameState) {
         int expansionsCount = 0;
         while (!openSet.isEmpty()) {
@@ -122,20 +164,46 @@ public class AStarPathFinder implements IPathFinder {
             if (current == null)
                 break;
 
+            // Swept goals depend on the move, not only on the state, so they are
+            // checked before the closed set
+            if (isGoalReached(current, target, goal)) {
+                return current;
+            }
             if (closedSet.contains(current)) {
                 continue;
             }
             closedSet.add(current);
 
-            if (current.getPosition().equals(target)) {
-                return current;
-            }
-
             expandNode(current, openSet, closedSet, target, gameState);
         }
         return null;
     }
 
+    /**
+     * Checks if the move leading to a node reaches the goal. Without a goal set
+     * the node must stand on the target; with a goal set the start node never
+     * counts, since the goal has to be reached by a move.
+     *
+     * @param node   The node to check.
+     * @param target The target position.
+     * @param goal   The goal set, or null to stop only on the target cell.
+     * @return true if the node reaches the goal, false otherwise.
+     */
+    private boolean isGoalReached(AStarNode node, Position target, GoalSet goal) {
+        if (goal == null) {
+            return node.getPosition().equals(target);
+        }
+        AStarNode parent = node.getParent();
+        if (parent == null) {
+            return false;
+        }
+        return goal.isReachedBy(
+                parent.getPosition().getX(),
+                parent.getPosition().getY(),
+                node.getPosition().getX(),
+                node.getPosition().getY());
+    }
+
     /**
      * Expands a node by considering all possible acceleration vectors.
      *
@@ -203,6 +271,7 @@ public class AStarPathFinder implements IPathFinder {
         neighbor.setHCost(
                 calculateHeuristic(
                         current.getPosition(),
+                        current.getVelocity(),
                         neighbor.getPosition(),
                         neighbor.getVelocity(),
                         target));
@@ -212,6 +281,7 @@ public class AStarPathFinder implements IPathFinder {
      * Calculates the heuristic estimate from a position to the target.
      *
      * @param oldPos The previous position (used for penalty calculation).
+     * @param oldVel The previous velocity (used for penalty calculation).
      * @param newPos The new position.
      * @param newVel The new velocity.
      * @param target The target position.
@@ -219,14 +289,15 @@ public class AStarPathFinder implements IPathFinder {
      */
     private double calculateHeuristic(
             Position oldPos,
+            Vector oldVel,
             Position newPos,
             Vector newVel,
             Position target) {
-        double newDist = this.heuristic.calculate(newPos, target);
+        double newDist = this.heuristic.calculate(newPos, newVel, target);
 
         // Add penalty if moving away from the target
         if (oldPos != null) {
-            double oldDist = this.heuristic.calculate(oldPos, target);
+            double oldDist = this.heuristic.calculate(oldPos, oldVel, target);
             if (newDist > oldDist) {
                 newDist += PENALTY_FACTOR;
             }
@@ -237,13 +308,14 @@ public class AStarPathFinder implements IPathFinder {
     }
 
     /**
-     * Reconstructs the path from the goal node to the start node and returns
-     * the first acceleration vector in the path.
+     * Reconstructs the path from the goal node to the start node, stores it in
+     * the plan cache and returns the first acceleration vector in the path.
      *
      * @param goalNode   The goal node.
      * @param startNode  The start node.
      * @param player     The player for whom the path is being found.
      * @param currentPos The player's current position.
+     * @param target     The target position the path leads to.
      * @param gameState  The current game state.
      * @return The first acceleration vector in the path, or a zero vector if no
      *         path is found.
@@ -253,53 +325,46 @@ public class AStarPathFinder implements IPathFinder {
             AStarNode startNode,
             Player player,
             Position currentPos,
+            Position target,
             GameState gameState) {
         if (goalNode == null) {
+            this.planCache.invalidate(player);
             return new Vector(0, 0);
         }
 
+        List<Vector> plan = new ArrayList<>();
         AStarNode cur = goalNode;
-        while (cur.getParent() != null && cur.getParent() != startNode) {
+        while (cur.getParent() != null) {
+            plan.add(cur.getAppliedAcceleration());
+            if (cur.getParent() == startNode) {
+                break;
+            }
             cur = cur.getParent();
         }
+        Collections.reverse(plan);
 
         Vector chosenAcc = cur.getAppliedAcceleration() != null
                 ? cur.getAppliedAcceleration()
                 : new Vector(0, 0);
 
-        if (validateAndUpdatePath(player, chosenAcc, currentPos, gameState)) {
+        this.planCache.store(player, target, plan);
+        if (validateFinalMove(player, chosenAcc, gameState)) {
             return chosenAcc;
         }
 
+        this.planCache.invalidate(player);
         return new Vector(0, 0);
     }
 
     /**
-     * Validates the final move and updates checkpoint status.
+     * Validates the final move against walls and other players.
      *
      * @param player       The player making the move.
      * @param acceleration The acceleration vector for the move.
-     * @param currentPos   The player's current position.
      * @param gameState    The current game state.
      * @return true if the move is valid, false otherwise.
      */
-    private boolean validateAndUpdatePath(
-            Player player,
-            Vector acceleration,
-            Position currentPos,
-            GameState gameState) {
-        if (!this.movementManager.validateMove(player, acceleration, gameState)) {
-            return false;
-        }
-
-        Vector finalVelocity = player.getVelocity().add(acceleration);
-        Position finalPos = currentPos.move(finalVelocity);
-        this.checkpointManager.checkCrossedCheckpoints(
-                player,
-                currentPos,
-                finalPos,
-                gameState.getTrack());
-
-        return true;
+    private boolean validateFinalMove(Player player, Vector acceleration, GameState gameState) {
+        return this.movementManager.validateMove(player, acceleration, gameState);
     }
 }
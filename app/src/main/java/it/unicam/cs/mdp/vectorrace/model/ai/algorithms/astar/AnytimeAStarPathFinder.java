@@ -0,0 +1,309 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Anytime variant of {@link PrimitiveAStarPathFinder} bounded by a wall-clock
+ * budget per move. The search is a sequence of weighted A* passes, in the style
+ * of ARA*: the first pass inflates the heuristic to find a path quickly, and
+ * every following pass lowers the weight and looks for a shorter path, until
+ * the weight reaches 1 or the budget runs out.
+ *
+ * <p>Key features:
+ * <ul>
+ * <li>Turn latency bounded by the budget, checked every few expansions</li>
+ * <li>Passes after the first prune nodes that cannot beat the best path found</li>
+ * <li>If no pass reaches the target, the first move of the best partial path
+ *     (the one ending closest to the target) is played instead of standing still</li>
+ * <li>Same packed state ids, primitive buffers, plan cache and {@link GoalSet}
+ *     goals as {@link PrimitiveAStarPathFinder}, shared through {@link PackedStateSearch}</li>
+ * </ul>
+ *
+ * <p>Each pass restarts from scratch rather than reusing the previous open list,
+ * which keeps the engine simple; the cheap primitive bookkeeping makes restarts
+ * inexpensive. Instances keep mutable scratch buffers and are not thread-safe:
+ * use one instance per bot.
+ */
+public class AnytimeAStarPathFinder extends PackedStateSearch {
+
+    /** The default budget per move, in milliseconds. */
+    public static final long DEFAULT_BUDGET_MILLIS = 5;
+
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    private static final double INITIAL_WEIGHT = 3.0;
+    private static final double WEIGHT_STEP = 0.5;
+
+    private final long budgetNanos;
+    private final LongSupplier clock;
+    private boolean timedOut;
+
+    // Closest node to the target generated in the current pass
+    private int passBestNode;
+    private double passBestDistance;
+
+    // Best plan found across passes, as acceleration indices
+    private int[] bestPlan;
+    private int bestPlanLength;
+    private boolean bestPlanReachesGoal;
+    private int bestGoalCost;
+    private double bestPartialDistance;
+    private int bestPartialCost;
+
+    /**
+     * Creates a new AnytimeAStarPathFinder with the default budget.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the goal.
+     * @param movementManager   The movement manager for validating moves.
+     */
+    public AnytimeAStarPathFinder(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager) {
+        this(heuristic, movementManager, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a new AnytimeAStarPathFinder with the given budget per move.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the goal.
+     * @param movementManager   The movement manager for validating moves.
+     * @param budgetMillis      The wall-clock budget per move, in milliseconds.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public AnytimeAStarPathFinder(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager,
+            long budgetMillis) {
+        this(heuristic, movementManager, new PlanCache(),
+                TimeUnit.MILLISECONDS.toNanos(budgetMillis), System::nanoTime);
+    }
+
+    /**
+     * Creates a new AnytimeAStarPathFinder with every dependency specified,
+     * including the clock used to enforce the budget.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the goal.
+     * @param movementManager   The movement manager for validating moves.
+     * @param planCache         The cache storing the plans that reach the target.
+     * @param budgetNanos       The budget per move, in clock units (nanoseconds).
+     * @param clock             The monotonic clock, such as {@code System::nanoTime}.
+     * @throws IllegalArgumentException if the budget is not positive or the clock is null.
+     */
+    public AnytimeAStarPathFinder(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager,
+            PlanCache planCache,
+            long budgetNanos,
+            LongSupplier clock) {
+        super(heuristic, movementManager, planCache);
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Il budget di tempo deve essere positivo");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("L'orologio non può essere null");
+        }
+        this.budgetNanos = budgetNanos;
+        this.clock = clock;
+        this.bestPlan = new int[64];
+    }
+
+    @Override
+    protected Vector search(Player player, GameState gameState, Position target, GoalSet goal, Track track) {
+        Position currentPos = player.getPosition();
+        Vector currentVel = player.getVelocity();
+        long deadline = this.clock.getAsLong() + this.budgetNanos;
+        int startState = encode(currentPos.getX(), currentPos.getY(), currentVel.getDx(), currentVel.getDy());
+        boolean startIsGoal = goal == null && currentPos.equals(target);
+        double startH = startHeuristic(currentPos, currentVel, target);
+
+        resetBest();
+        double weight = INITIAL_WEIGHT;
+        while (true) {
+            int goalNode;
+            try {
+                goalNode = runPass(weight, startState, startIsGoal, startH, target, goal, track, deadline);
+                recordPass(goalNode);
+            } finally {
+                resetSearch();
+            }
+            if (this.timedOut || goalNode == NO_NODE || weight <= 1.0) {
+                break;
+            }
+            weight = Math.max(1.0, weight - WEIGHT_STEP);
+        }
+
+        return playBestPlan(player, currentPos, target, gameState);
+    }
+
+    /**
+     * Runs one weighted A* pass until the target is polled, the search is
+     * exhausted or the deadline passes.
+     *
+     * @param weight      The heuristic inflation factor of this pass.
+     * @param startState  The packed state of the player.
+     * @param startIsGoal Whether the player already stands on the goal.
+     * @param startH      The heuristic estimate of the start state.
+     * @param target      The target position.
+     * @param goal        The goal set, or null to stop only on the target cell.
+     * @param track       The track to search within.
+     * @param deadline    The clock value at which the search must stop.
+     * @return The goal node id if found, {@link #NO_NODE} otherwise.
+     */
+    private int runPass(double weight, int startState, boolean startIsGoal, double startH,
+            Position target, GoalSet goal, Track track, long deadline) {
+        int startNode = addNode(startState, NO_NODE, 0, NO_NODE, startIsGoal);
+        this.openSet.offer(startNode, weight * startH);
+        this.passBestNode = startNode;
+        this.passBestDistance = Double.MAX_VALUE;
+
+        int expansionsCount = 0;
+        while (!this.openSet.isEmpty()) {
+            if (expansionsCount % CLOCK_CHECK_INTERVAL == 0 && this.clock.getAsLong() - deadline >= 0) {
+                this.timedOut = true;
+                return NO_NODE;
+            }
+            if (expansionsCount++ > MAX_EXPANSIONS) {
+                return NO_NODE;
+            }
+
+            int current = this.openSet.poll();
+            if (this.nodeGoal[current]) {
+                return current;
+            }
+            int state = this.nodeState[current];
+            if (isClosed(state)) {
+                continue;
+            }
+            markClosed(state);
+
+            // Deeper nodes cannot lead to a shorter path than the best one found
+            if (this.nodeG[current] + 1 >= this.bestGoalCost) {
+                continue;
+            }
+
+            expandNode(current, weight, target, goal, track);
+        }
+        return NO_NODE;
+    }
+
+    /**
+     * Keeps track of the generated node closest to the target in the current pass.
+     *
+     * @param node     The id of the new node.
+     * @param distance The heuristic distance of its state from the target.
+     */
+    @Override
+    protected void onNodeGenerated(int node, double distance) {
+        if (distance < this.passBestDistance
+                || (distance == this.passBestDistance && this.nodeG[node] < this.nodeG[this.passBestNode])) {
+            this.passBestDistance = distance;
+            this.passBestNode = node;
+        }
+    }
+
+    /**
+     * Clears the best plan before a new move is searched.
+     */
+    private void resetBest() {
+        this.timedOut = false;
+        this.bestPlanLength = 0;
+        this.bestPlanReachesGoal = false;
+        this.bestGoalCost = Integer.MAX_VALUE;
+        this.bestPartialDistance = Double.MAX_VALUE;
+        this.bestPartialCost = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Keeps the outcome of a pass if it improves the best plan: a path to the
+     * target always beats a partial one, shorter paths beat longer ones, and
+     * partial paths are compared by how close they end to the target.
+     *
+     * @param goalNode The goal node of the pass, or {@link #NO_NODE}.
+     */
+    private void recordPass(int goalNode) {
+        if (goalNode != NO_NODE) {
+            if (this.nodeG[goalNode] < this.bestGoalCost) {
+                this.bestGoalCost = this.nodeG[goalNode];
+                this.bestPlanReachesGoal = true;
+                copyPlan(goalNode);
+            }
+            return;
+        }
+        if (this.bestPlanReachesGoal || this.nodeParent[this.passBestNode] == NO_NODE) {
+            return;
+        }
+        int cost = this.nodeG[this.passBestNode];
+        if (this.passBestDistance < this.bestPartialDistance
+                || (this.passBestDistance == this.bestPartialDistance && cost < this.bestPartialCost)) {
+            this.bestPartialDistance = this.passBestDistance;
+            this.bestPartialCost = cost;
+            copyPlan(this.passBestNode);
+        }
+    }
+
+    /**
+     * Copies the accelerations leading to the given node into the best plan.
+     *
+     * @param node The last node of the plan.
+     */
+    private void copyPlan(int node) {
+        int length = this.nodeG[node];
+        if (this.bestPlan.length < length) {
+            this.bestPlan = new int[Math.max(length, this.bestPlan.length << 1)];
+        }
+        int cur = node;
+        for (int i = length - 1; i >= 0; i--) {
+            this.bestPlan[i] = this.nodeAcceleration[cur];
+            cur = this.nodeParent[cur];
+        }
+        this.bestPlanLength = length;
+    }
+
+    /**
+     * Plays the first move of the best plan. Plans reaching the target are
+     * stored in the plan cache; partial plans are discarded after this move,
+     * so the next turn searches again from the new state.
+     *
+     * @param player     The player for whom the path is being found.
+     * @param currentPos The player's current position.
+     * @param target     The target position.
+     * @param gameState  The current game state.
+     * @return The first acceleration of the best plan, or a zero vector if
+     *         no move could be found.
+     */
+    private Vector playBestPlan(Player player, Position currentPos, Position target, GameState gameState) {
+        if (this.bestPlanLength == 0) {
+            this.planCache.invalidate(player);
+            return new Vector(0, 0);
+        }
+
+        if (this.bestPlanReachesGoal) {
+            List<Vector> plan = new ArrayList<>(this.bestPlanLength);
+            for (int i = 0; i < this.bestPlanLength; i++) {
+                plan.add(ACCELERATIONS[this.bestPlan[i]].getVector());
+            }
+            this.planCache.store(player, target, plan);
+        } else {
+            this.planCache.invalidate(player);
+        }
+
+        Vector chosenAcc = ACCELERATIONS[this.bestPlan[0]].getVector();
+        if (validateFinalMove(player, chosenAcc, gameState)) {
+            return chosenAcc;
+        }
+
+        this.planCache.invalidate(player);
+        return new Vector(0, 0);
+    }
+}
@@ -25,8 +25,13 @@ public class ChebyshevHeuristic implements IHeuristicCalculator {
             throw new IllegalArgumentException("Positions cannot be null");
         }
         
-        int dx = Math.abs(current.getX() - target.getX());
-        int dy = Math.abs(current.getY() - target.getY());
+        return calculate(current.getX(), current.getY(), target.getX(), target.getY());
+    }
+
+    @Override
+    public double calculate(int x, int y, int targetX, int targetY) {
+        int dx = Math.abs(x - targetX);
+        int dy = Math.abs(y - targetY);
         return Math.max(dx, dy);
     }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+
+/**
+ * Implements a wall-aware heuristic backed by backward distance fields.
+ * For each target set (all cells of a checkpoint level, all finish cells, or a
+ * single cell) a multi-source breadth-first search is run from the target cells
+ * over every non-wall cell, using 8-connected steps. The resulting field holds
+ * the minimum number of cells a car must traverse to reach the set.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Fields are computed once per {@link Track} and target set, and shared
+ *       between all instances through a weak per-track cache</li>
+ *   <li>Fields are computed without holding any lock, so bots on different
+ *       tracks or target sets never wait for each other; two bots asking for
+ *       the same missing field at once may both compute it, and the first
+ *       result is kept</li>
+ *   <li>Estimates are expressed in moves, taking the current speed into account</li>
+ *   <li>Cells that cannot reach the target set get an infinite estimate</li>
+ * </ul>
+ *
+ * <p>A move with velocity {@code v} visits consecutive cells one Chebyshev step
+ * apart and never crosses a wall, so it advances at most {@code max(|vx|, |vy|)}
+ * cells in the field, and the speed can grow by at most one per move. The
+ * estimate is the smallest number of moves {@code k} such that
+ * <pre>
+ *   sum_{i=1..k} min(MAX_SPEED, s0 + i) &gt;= d
+ * </pre>
+ * where {@code d} is the field distance and {@code s0} the current speed,
+ * which never overestimates the real number of moves.
+ *
+ * <p>Call {@link #prepare(Track)} before each search; instances remember the
+ * last field used and are not thread-safe.
+ */
+public class DistanceFieldHeuristic implements IHeuristicCalculator {
+
+    private static final int MAX_SPEED = 5;
+    private static final int UNREACHABLE = -1;
+    // Target set keys: cell indices for single cells, negative values for the others
+    private static final int OUTSIDE_KEY = -1;
+    private static final int FINISH_KEY = -2;
+    private static final int FIRST_LEVEL_KEY = -3;
+
+    private static final Map<Track, Map<Integer, int[]>> FIELD_CACHE =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private Track track;
+    private int lastTargetX = Integer.MIN_VALUE;
+    private int lastTargetY = Integer.MIN_VALUE;
+    private int[] lastField;
+
+    @Override
+    public void prepare(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track non può essere null");
+        }
+        if (this.track != track) {
+            this.track = track;
+            this.lastField = null;
+        }
+    }
+
+    @Override
+    public double calculate(Position current, Position target) {
+        return calculate(current, new Vector(0, 0), target);
+    }
+
+    @Override
+    public double calculate(Position current, Vector velocity, Position target) {
+        if (current == null || velocity == null || target == null) {
+            throw new IllegalArgumentException("Positions cannot be null");
+        }
+        return calculate(current.getX(), current.getY(), velocity.getDx(), velocity.getDy(),
+                target.getX(), target.getY());
+    }
+
+    @Override
+    public double calculate(int x, int y, int targetX, int targetY) {
+        return calculate(x, y, 0, 0, targetX, targetY);
+    }
+
+    @Override
+    public double calculate(int x, int y, int vx, int vy, int targetX, int targetY) {
+        if (this.track == null) {
+            throw new IllegalStateException("Heuristic non preparata: chiamare prepare(track)");
+        }
+        if (!this.track.isWithinBounds(x, y)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int distance = fieldFor(targetX, targetY)[y * this.track.getWidth() + x];
+        if (distance == UNREACHABLE) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return movesToCover(distance, Math.max(Math.abs(vx), Math.abs(vy)));
+    }
+
+    /**
+     * Computes the minimum number of moves needed to advance the given number
+     * of cells, starting at the given speed and accelerating by at most one
+     * unit per move.
+     *
+     * @param distance The number of cells to cover.
+     * @param speed The current speed (Chebyshev norm of the velocity).
+     * @return The minimum number of moves.
+     */
+    static int movesToCover(int distance, int speed) {
+        if (distance <= 0) {
+            return 0;
+        }
+        int cap = Math.max(MAX_SPEED, speed);
+        // While accelerating, k moves cover k * speed plus the k-th triangular number
+        int ramp = cap - speed;
+        int rampCells = ramp * speed + ramp * (ramp + 1) / 2;
+        if (distance > rampCells) {
+            return ramp + Math.ceilDiv(distance - rampCells, cap);
+        }
+        // Smallest k with k^2 + (2 speed + 1) k >= 2 distance
+        int b = 2 * speed + 1;
+        return (int) Math.ceil((Math.sqrt((double) b * b + 8.0 * distance) - b) / 2);
+    }
+
+    /**
+     * Gets the distance field for the target set containing the given cell,
+     * reusing the last field when the target has not changed.
+     *
+     * @param targetX The x coordinate of the target.
+     * @param targetY The y coordinate of the target.
+     * @return The distance field, indexed by {@code y * width + x}.
+     */
+    private int[] fieldFor(int targetX, int targetY) {
+        if (this.lastField == null || targetX != this.lastTargetX || targetY != this.lastTargetY) {
+            this.lastField = getField(this.track, targetX, targetY);
+            this.lastTargetX = targetX;
+            this.lastTargetY = targetY;
+        }
+        return this.lastField;
+    }
+
+    /**
+     * Gets the cached distance field for the target set containing the given
+     * cell, computing it on first use.
+     *
+     * @param track The track the field refers to.
+     * @param targetX The x coordinate of the target.
+     * @param targetY The y coordinate of the target.
+     * @return The distance field, indexed by {@code y * width + x}.
+     */
+    private static int[] getField(Track track, int targetX, int targetY) {
+        Map<Integer, int[]> fields = FIELD_CACHE.computeIfAbsent(track, t -> new ConcurrentHashMap<>());
+        int key = targetSetKey(track, targetX, targetY);
+        int[] field = fields.get(key);
+        if (field == null) {
+            int[] computed = computeField(track, key);
+            field = fields.putIfAbsent(key, computed);
+            if (field == null) {
+                field = computed;
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Identifies the target set a cell belongs to. Every cell outside the
+     * track shares one key, since none of them can be reached.
+     *
+     * @param track The track containing the cell.
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return A key shared by all cells of the same target set.
+     */
+    private static int targetSetKey(Track track, int x, int y) {
+        if (!track.isWithinBounds(x, y)) {
+            return OUTSIDE_KEY;
+        }
+        if (track.isFinish(x, y)) {
+            return FINISH_KEY;
+        }
+        int checkpoint = track.getCheckpointIndex().getLevel(x, y);
+        if (checkpoint >= 0) {
+            return FIRST_LEVEL_KEY - checkpoint;
+        }
+        return track.index(x, y);
+    }
+
+    /**
+     * Runs a multi-source breadth-first search from every cell of a target set.
+     *
+     * @param track The track to search.
+     * @param key The key of the target set.
+     * @return The distance field, with {@code -1} for unreachable cells.
+     */
+    private static int[] computeField(Track track, int key) {
+        int width = track.getWidth();
+        int height = track.getHeight();
+        int[] field = new int[width * height];
+        Arrays.fill(field, UNREACHABLE);
+        int[] queue = new int[width * height];
+        int tail = 0;
+
+        if (key >= 0) {
+            field[key] = 0;
+            queue[tail++] = key;
+        } else if (key == FINISH_KEY) {
+            CheckpointIndex index = track.getCheckpointIndex();
+            for (int i = 0; i < index.getFinishCount(); i++) {
+                field[index.getFinishCell(i)] = 0;
+                queue[tail++] = index.getFinishCell(i);
+            }
+        } else if (key != OUTSIDE_KEY) {
+            CheckpointIndex index = track.getCheckpointIndex();
+            int level = FIRST_LEVEL_KEY - key;
+            for (int i = 0; i < index.getCheckpointCount(level); i++) {
+                field[index.getCheckpointCell(level, i)] = 0;
+                queue[tail++] = index.getCheckpointCell(level, i);
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int cell = queue[head];
+            int cx = cell % width;
+            int cy = cell / width;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = cx + dx;
+                    int ny = cy + dy;
+                    if (!track.isWithinBounds(nx, ny)) {
+                        continue;
+                    }
+                    int neighbor = ny * width + nx;
+                    if (!track.isPassableIndex(neighbor)) {
+                        continue;
+                    }
+                    if (field[neighbor] == UNREACHABLE) {
+                        field[neighbor] = field[cell] + 1;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        return field;
+    }
+}
@@ -1,6 +1,8 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
 
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 
 /**
  * Defines the interface for heuristic calculation in the A* search algorithm.
@@ -25,4 +27,62 @@ public interface IHeuristicCalculator {
      * @return The estimated heuristic value.
      */
     double calculate(Position current, Position target);
-}
\ No newline at end of file
+
+    /**
+     * Calculates the heuristic value between two positions given as raw coordinates.
+     * Primitive search engines call this variant to avoid allocating a
+     * {@link Position} per expanded node; the default implementation simply
+     * delegates to {@link #calculate(Position, Position)}.
+     *
+     * @param x The x coordinate of the current position.
+     * @param y The y coordinate of the current position.
+     * @param targetX The x coordinate of the target position.
+     * @param targetY The y coordinate of the target position.
+     * @return The estimated heuristic value.
+     */
+    default double calculate(int x, int y, int targetX, int targetY) {
+        return calculate(new Position(x, y), new Position(targetX, targetY));
+    }
+
+    /**
+     * Prepares the heuristic for a search on the given track.
+     * Path finders call this once before each search; heuristics that depend on
+     * the track layout use it to select their precomputed data. The default
+     * implementation does nothing.
+     *
+     * @param track The track about to be searched.
+     */
+    default void prepare(Track track) {
+    }
+
+    /**
+     * Calculates the heuristic value of a search state, taking its velocity
+     * into account. The default implementation ignores the velocity and
+     * delegates to {@link #calculate(Position, Position)}.
+     *
+     * @param current The current position.
+     * @param velocity The current velocity.
+     * @param target The target position.
+     * @return The estimated heuristic value.
+     */
+    default double calculate(Position current, Vector velocity, Position target) {
+        return calculate(current, target);
+    }
+
+    /**
+     * Calculates the heuristic value of a search state given as raw coordinates,
+     * taking its velocity into account. The default implementation ignores the
+     * velocity and delegates to {@link #calculate(int, int, int, int)}.
+     *
+     * @param x The x coordinate of the current position.
+     * @param y The y coordinate of the current position.
+     * @param vx The horizontal velocity component.
+     * @param vy The vertical velocity component.
+     * @param targetX The x coordinate of the target position.
+     * @param targetY The y coordinate of the target position.
+     * @return The estimated heuristic value.
+     */
+    default double calculate(int x, int y, int vx, int vy, int targetX, int targetY) {
+        return calculate(x, y, targetX, targetY);
+    }
+}
@@ -0,0 +1,172 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of {@code int} elements ordered by a {@code double} priority.
+ * This class is the primitive counterpart of a {@code PriorityQueue<AStarNode>}:
+ * elements and priorities live in two parallel arrays, so offering and polling
+ * never allocate once the heap has grown to its working size.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>No boxing of elements or priorities</li>
+ *   <li>Storage is retained across {@link #clear()} calls for reuse</li>
+ *   <li>Sift rules mirror {@link java.util.PriorityQueue}, so the same sequence
+ *       of offers yields the same sequence of polls, ties included</li>
+ * </ul>
+ *
+ * <p>This class is not thread-safe.
+ */
+public class IntMinHeap {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int[] elements;
+    private double[] priorities;
+    private int size;
+
+    /**
+     * Creates a new empty heap with a default initial capacity.
+     */
+    public IntMinHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty heap with the given initial capacity.
+     *
+     * @param initialCapacity The initial number of slots to allocate.
+     */
+    public IntMinHeap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.elements = new int[capacity];
+        this.priorities = new double[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the heap contains no elements.
+     *
+     * @return true if the heap is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gets the number of elements in the heap.
+     *
+     * @return The heap size.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all elements while keeping the allocated storage.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Adds an element with the given priority.
+     *
+     * @param element The element to add.
+     * @param priority The priority of the element; lower values are polled first.
+     */
+    public void offer(int element, double priority) {
+        if (this.size == this.elements.length) {
+            grow();
+        }
+        siftUp(this.size++, element, priority);
+    }
+
+    /**
+     * Gets the priority of the element at the top of the heap.
+     *
+     * @return The smallest priority in the heap.
+     * @throws IllegalStateException if the heap is empty.
+     */
+    public double peekPriority() {
+        if (this.size == 0) {
+            throw new IllegalStateException("Heap vuoto");
+        }
+        return this.priorities[0];
+    }
+
+    /**
+     * Removes and returns the element with the smallest priority.
+     *
+     * @return The element with the smallest priority.
+     * @throws IllegalStateException if the heap is empty.
+     */
+    public int poll() {
+        if (this.size == 0) {
+            throw new IllegalStateException("Heap vuoto");
+        }
+        int result = this.elements[0];
+        int n = --this.size;
+        if (n > 0) {
+            siftDown(0, this.elements[n], this.priorities[n], n);
+        }
+        return result;
+    }
+
+    /**
+     * Moves an element up from the given slot until the heap order holds.
+     *
+     * @param k The slot to start from.
+     * @param element The element being inserted.
+     * @param priority The priority of the element being inserted.
+     */
+    private void siftUp(int k, int element, double priority) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (Double.compare(priority, this.priorities[parent]) >= 0) {
+                break;
+            }
+            this.elements[k] = this.elements[parent];
+            this.priorities[k] = this.priorities[parent];
+            k = parent;
+        }
+        this.elements[k] = element;
+        this.priorities[k] = priority;
+    }
+
+    /**
+     * Moves an element down from the given slot until the heap order holds.
+     *
+     * @param k The slot to start from.
+     * @param element The element being placed.
+     * @param priority The priority of the element being placed.
+     * @param n The current heap size.
+     */
+    private void siftDown(int k, int element, double priority, int n) {
+        int half = n >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < n && Double.compare(this.priorities[child], this.priorities[right]) > 0) {
+                child = right;
+            }
+            if (Double.compare(priority, this.priorities[child]) <= 0) {
+                break;
+            }
+            this.elements[k] = this.elements[child];
+            this.priorities[k] = this.priorities[child];
+            k = child;
+        }
+        this.elements[k] = element;
+        this.priorities[k] = priority;
+    }
+
+    /**
+     * Doubles the storage capacity of the heap.
+     */
+    private void grow() {
+        int newCapacity = this.elements.length << 1;
+        this.elements = Arrays.copyOf(this.elements, newCapacity);
+        this.priorities = Arrays.copyOf(this.priorities, newCapacity);
+    }
+}
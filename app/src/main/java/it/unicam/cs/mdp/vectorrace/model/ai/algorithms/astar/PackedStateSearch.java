@@ -0,0 +1,352 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import java.util.Arrays;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.IPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Bookkeeping shared by the A* engines that pack every search state
+ * (x, y, vx, vy) into a single {@code int}, such as
+ * {@link PrimitiveAStarPathFinder} and {@link AnytimeAStarPathFinder}.
+ *
+ * <p>Key features:
+ * <ul>
+ * <li>Dense state ids: {@code ((y * width + x) * V + vx + MAX_SPEED) * V + vy + MAX_SPEED}</li>
+ * <li>Node records (state, parent, g-cost, applied acceleration, goal flag)
+ *     stored in parallel arrays that grow on demand and are reused across calls</li>
+ * <li>Closed flags stored in a {@code long[]} bitset indexed by state id,
+ *     cleared in time proportional to the search size</li>
+ * <li>Plans from previous searches replayed through a {@link PlanCache}
+ *     while their next move stays legal</li>
+ * <li>Node expansion in the order of {@link AStarPathFinder}, with the same
+ *     away-from-target penalty and velocity factor on the heuristic</li>
+ * </ul>
+ *
+ * <p>Subclasses run the search loop itself and turn its outcome into a move.
+ * Tracks with more than {@link #MAX_STATES} states would overflow the packed
+ * ids and need a large closed bitset, so they are searched by an
+ * {@link AStarPathFinder} sharing the same heuristic and plan cache instead,
+ * without any time budget.
+ */
+abstract class PackedStateSearch implements IPathFinder {
+    /** The largest state space searched with packed states, 2^26 states or 8 MB of closed flags. */
+    static final int MAX_STATES = 1 << 26;
+
+    protected static final int MAX_SPEED = 5;
+    protected static final int VELOCITY_RANGE = 2 * MAX_SPEED + 1;
+    protected static final int VELOCITY_STATES = VELOCITY_RANGE * VELOCITY_RANGE;
+    protected static final int MAX_EXPANSIONS = 200000;
+    protected static final int NO_NODE = -1;
+    protected static final AccelerationType[] ACCELERATIONS = AccelerationType.values();
+
+    private static final double PENALTY_FACTOR = 5.0;
+    private static final int INITIAL_NODE_CAPACITY = 4096;
+
+    protected final IHeuristicCalculator heuristic;
+    protected final MovementManager movementManager;
+    protected final PlanCache planCache;
+
+    // Node records of the current search, indexed by node id (one record per push)
+    protected int[] nodeState;
+    protected int[] nodeParent;
+    protected int[] nodeG;
+    protected byte[] nodeAcceleration;
+    protected boolean[] nodeGoal;
+    private int nodeCount;
+
+    // Closed flags indexed by state id, plus the list of set bits for cheap resets
+    private long[] closed;
+    private int[] closedStates;
+    private int closedCount;
+
+    protected final IntMinHeap openSet;
+    private int width;
+    private AStarPathFinder fallback;
+
+    /**
+     * Creates the shared bookkeeping of a packed-state search.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the goal.
+     * @param movementManager   The movement manager for validating moves.
+     * @param planCache         The cache storing the plans found by previous searches.
+     */
+    protected PackedStateSearch(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager,
+            PlanCache planCache) {
+        this.heuristic = heuristic;
+        this.movementManager = movementManager;
+        this.planCache = planCache;
+        this.nodeState = new int[INITIAL_NODE_CAPACITY];
+        this.nodeParent = new int[INITIAL_NODE_CAPACITY];
+        this.nodeG = new int[INITIAL_NODE_CAPACITY];
+        this.nodeAcceleration = new byte[INITIAL_NODE_CAPACITY];
+        this.nodeGoal = new boolean[INITIAL_NODE_CAPACITY];
+        this.closed = new long[0];
+        this.closedStates = new int[INITIAL_NODE_CAPACITY];
+        this.openSet = new IntMinHeap(INITIAL_NODE_CAPACITY);
+    }
+
+    @Override
+    public Vector findPath(Player player, GameState gameState, Position target) {
+        return findPath(player, gameState, target, null);
+    }
+
+    @Override
+    public Vector findPath(Player player, GameState gameState, Position target, GoalSet goal) {
+        if (target == null) {
+            return new Vector(0, 0);
+        }
+        Track track = gameState.getTrack();
+        if ((long) track.getWidth() * track.getHeight() * VELOCITY_STATES > MAX_STATES) {
+            return fallback().findPath(player, gameState, target, goal);
+        }
+
+        Vector planned = this.planCache.nextAcceleration(player, target);
+        if (planned != null) {
+            if (validateFinalMove(player, planned, gameState)) {
+                return planned;
+            }
+            this.planCache.invalidate(player);
+        }
+
+        prepareBuffers(track);
+        this.heuristic.prepare(track);
+        return search(player, gameState, target, goal, track);
+    }
+
+    @Override
+    public void invalidatePlan(Player player) {
+        this.planCache.invalidate(player);
+    }
+
+    /**
+     * Searches a new plan once the buffers and the heuristic are ready for the track.
+     *
+     * @param player    The player for whom the path is being found.
+     * @param gameState The current game state.
+     * @param target    The target position.
+     * @param goal      The goal set, or null to stop only on the target cell.
+     * @param track     The track to search within.
+     * @return The acceleration to play this turn.
+     */
+    protected abstract Vector search(Player player, GameState gameState, Position target, GoalSet goal,
+            Track track);
+
+    /**
+     * Called for every node generated by {@link #expandNode}, after it has
+     * been offered to the open list.
+     *
+     * @param node     The id of the new node.
+     * @param distance The heuristic distance of its state from the target.
+     */
+    protected void onNodeGenerated(int node, double distance) {
+    }
+
+    /**
+     * Gets the object A* engine used on tracks too large for packed states,
+     * creating it on first use.
+     *
+     * @return The fallback engine.
+     */
+    private AStarPathFinder fallback() {
+        if (this.fallback == null) {
+            this.fallback = new AStarPathFinder(this.heuristic, this.movementManager, this.planCache);
+        }
+        return this.fallback;
+    }
+
+    /**
+     * Ensures the scratch buffers can hold the state space of the given track,
+     * which has at most {@link #MAX_STATES} states.
+     *
+     * @param track The track about to be searched.
+     */
+    private void prepareBuffers(Track track) {
+        this.width = track.getWidth();
+        int stateCount = track.getWidth() * track.getHeight() * VELOCITY_STATES;
+        int words = (stateCount + 63) >>> 6;
+        if (this.closed.length < words) {
+            this.closed = new long[words];
+        }
+    }
+
+    /**
+     * Expands a node by considering all possible acceleration vectors, in the
+     * same order used by {@link AStarPathFinder}.
+     *
+     * @param current The node to expand.
+     * @param weight  The heuristic inflation factor, 1 for plain A*.
+     * @param target  The target position.
+     * @param goal    The goal set, or null to stop only on the target cell.
+     * @param track   The track to validate moves against.
+     */
+    protected final void expandNode(int current, double weight, Position target, GoalSet goal, Track track) {
+        int state = this.nodeState[current];
+        int x = stateX(state);
+        int y = stateY(state);
+        int vx = stateVx(state);
+        int vy = stateVy(state);
+        int tentativeG = this.nodeG[current] + 1;
+        double currentDistance = this.heuristic.calculate(x, y, vx, vy, target.getX(), target.getY());
+
+        for (int i = 0; i < ACCELERATIONS.length; i++) {
+            Vector acc = ACCELERATIONS[i].getVector();
+            int newVx = vx + acc.getDx();
+            int newVy = vy + acc.getDy();
+            if (Math.abs(newVx) > MAX_SPEED || Math.abs(newVy) > MAX_SPEED) {
+                continue;
+            }
+
+            if (!this.movementManager.validateMoveTemp(x, y, newVx, newVy, track)) {
+                continue;
+            }
+
+            int newX = x + newVx;
+            int newY = y + newVy;
+            int neighborState = encode(newX, newY, newVx, newVy);
+            if (isClosed(neighborState)) {
+                continue;
+            }
+
+            boolean reached = goal != null
+                    ? goal.isReachedBy(x, y, newX, newY)
+                    : newX == target.getX() && newY == target.getY();
+            int neighbor = addNode(neighborState, current, tentativeG, i, reached);
+            double distance = this.heuristic.calculate(newX, newY, newVx, newVy, target.getX(), target.getY());
+            double h = calculateHeuristic(currentDistance, distance, newVx, newVy);
+            this.openSet.offer(neighbor, tentativeG + weight * h);
+            onNodeGenerated(neighbor, distance);
+        }
+    }
+
+    /**
+     * Estimates the cost from the player's current state to the target.
+     *
+     * @param position The player's current position.
+     * @param velocity The player's current velocity.
+     * @param target   The target position.
+     * @return The heuristic estimate of the start state.
+     */
+    protected final double startHeuristic(Position position, Vector velocity, Position target) {
+        return calculateHeuristic(Double.POSITIVE_INFINITY,
+                this.heuristic.calculate(position.getX(), position.getY(),
+                        velocity.getDx(), velocity.getDy(), target.getX(), target.getY()),
+                velocity.getDx(), velocity.getDy());
+    }
+
+    /**
+     * Turns the heuristic distance of a position into its estimate, applying
+     * the same away-from-target penalty and velocity factor as {@link AStarPathFinder}.
+     *
+     * @param oldDist  The heuristic distance of the previous state, or
+     *                 {@link Double#POSITIVE_INFINITY} if there is none.
+     * @param newDist  The heuristic distance of the new state.
+     * @param newVx    The new horizontal velocity.
+     * @param newVy    The new vertical velocity.
+     * @return The heuristic estimate.
+     */
+    private double calculateHeuristic(double oldDist, double newDist, int newVx, int newVy) {
+        // Add penalty if moving away from the target
+        if (newDist > oldDist) {
+            newDist += PENALTY_FACTOR;
+        }
+
+        // Add velocity factor to favor smoother movements
+        return (newDist + 0.5 * (Math.abs(newVx) + Math.abs(newVy)));
+    }
+
+    /**
+     * Validates the final move against walls and other players.
+     *
+     * @param player       The player making the move.
+     * @param acceleration The acceleration vector for the move.
+     * @param gameState    The current game state.
+     * @return true if the move is valid, false otherwise.
+     */
+    protected final boolean validateFinalMove(Player player, Vector acceleration, GameState gameState) {
+        return this.movementManager.validateMove(player, acceleration, gameState);
+    }
+
+    /**
+     * Appends a node record, growing the record arrays when needed.
+     *
+     * @param state        The packed state id.
+     * @param parent       The parent node id, or {@link #NO_NODE}.
+     * @param g            The cost from the start node.
+     * @param acceleration The index of the applied acceleration, or {@link #NO_NODE}.
+     * @param goal         Whether the move leading to the node reaches the goal.
+     * @return The id of the new node.
+     */
+    protected final int addNode(int state, int parent, int g, int acceleration, boolean goal) {
+        if (this.nodeCount == this.nodeState.length) {
+            int newCapacity = this.nodeState.length << 1;
+            this.nodeState = Arrays.copyOf(this.nodeState, newCapacity);
+            this.nodeParent = Arrays.copyOf(this.nodeParent, newCapacity);
+            this.nodeG = Arrays.copyOf(this.nodeG, newCapacity);
+            this.nodeAcceleration = Arrays.copyOf(this.nodeAcceleration, newCapacity);
+            this.nodeGoal = Arrays.copyOf(this.nodeGoal, newCapacity);
+        }
+        int node = this.nodeCount++;
+        this.nodeState[node] = state;
+        this.nodeParent[node] = parent;
+        this.nodeG[node] = g;
+        this.nodeAcceleration[node] = (byte) acceleration;
+        this.nodeGoal[node] = goal;
+        return node;
+    }
+
+    protected final boolean isClosed(int state) {
+        return (this.closed[state >>> 6] & (1L << state)) != 0;
+    }
+
+    protected final void markClosed(int state) {
+        this.closed[state >>> 6] |= 1L << state;
+        if (this.closedCount == this.closedStates.length) {
+            this.closedStates = Arrays.copyOf(this.closedStates, this.closedCount << 1);
+        }
+        this.closedStates[this.closedCount++] = state;
+    }
+
+    /**
+     * Clears the per-search bookkeeping, touching only the closed words that
+     * were actually set so the cost is proportional to the search size.
+     */
+    protected final void resetSearch() {
+        for (int i = 0; i < this.closedCount; i++) {
+            this.closed[this.closedStates[i] >>> 6] = 0L;
+        }
+        this.closedCount = 0;
+        this.nodeCount = 0;
+        this.openSet.clear();
+    }
+
+    protected final int encode(int x, int y, int vx, int vy) {
+        return ((y * this.width + x) * VELOCITY_RANGE + vx + MAX_SPEED) * VELOCITY_RANGE + vy + MAX_SPEED;
+    }
+
+    private int stateX(int state) {
+        return (state / VELOCITY_STATES) % this.width;
+    }
+
+    private int stateY(int state) {
+        return (state / VELOCITY_STATES) / this.width;
+    }
+
+    private int stateVx(int state) {
+        return (state / VELOCITY_RANGE) % VELOCITY_RANGE - MAX_SPEED;
+    }
+
+    private int stateVy(int state) {
+        return state % VELOCITY_RANGE - MAX_SPEED;
+    }
+}
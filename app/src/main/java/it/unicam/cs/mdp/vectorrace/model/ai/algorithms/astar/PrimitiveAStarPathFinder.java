@@ -0,0 +1,166 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Allocation-free implementation of the A* search used by {@link AStarPathFinder}.
+ * Instead of building an {@link AStarNode} object graph, this engine packs every
+ * search state (x, y, vx, vy) into a single {@code int} and keeps the search
+ * bookkeeping in primitive arrays that are reused across calls.
+ *
+ * <p>Key features:
+ * <ul>
+ * <li>Packed states, node records and closed bitset kept by {@link PackedStateSearch}</li>
+ * <li>Open list backed by an {@link IntMinHeap}</li>
+ * <li>Plan reuse across turns through a {@link PlanCache}</li>
+ * <li>Optional {@link GoalSet} goals: the search stops at the first move that
+ *     crosses any cell of the goal, such as a whole checkpoint line</li>
+ * </ul>
+ *
+ * <p>
+ * The cost model, expansion order, heuristic penalties and expansion limit are
+ * the same as in {@link AStarPathFinder}, and the open list breaks ties exactly
+ * like {@link java.util.PriorityQueue}; for single-cell targets both engines
+ * therefore choose the same moves. Instances keep mutable scratch buffers and are not thread-safe: use one
+ * instance per bot.
+ */
+public class PrimitiveAStarPathFinder extends PackedStateSearch {
+
+    /**
+     * Creates a new PrimitiveAStarPathFinder with specified components.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the
+     *                          goal.
+     * @param movementManager   The movement manager for validating moves.
+     */
+    public PrimitiveAStarPathFinder(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager) {
+        this(heuristic, movementManager, new PlanCache());
+    }
+
+    /**
+     * Creates a new PrimitiveAStarPathFinder with specified components and plan cache.
+     *
+     * @param heuristic         The heuristic function to estimate the cost to the
+     *                          goal.
+     * @param movementManager   The movement manager for validating moves.
+     * @param planCache         The cache storing the plans found by previous searches.
+     */
+    public PrimitiveAStarPathFinder(
+            IHeuristicCalculator heuristic,
+            MovementManager movementManager,
+            PlanCache planCache) {
+        super(heuristic, movementManager, planCache);
+    }
+
+    @Override
+    protected Vector search(Player player, GameState gameState, Position target, GoalSet goal, Track track) {
+        Position currentPos = player.getPosition();
+        Vector currentVel = player.getVelocity();
+        try {
+            // A single-cell target may already be reached; a goal set needs at least one move
+            boolean startIsGoal = goal == null && currentPos.equals(target);
+            int startNode = addNode(
+                    encode(currentPos.getX(), currentPos.getY(), currentVel.getDx(), currentVel.getDy()),
+                    NO_NODE, 0, NO_NODE, startIsGoal);
+            this.openSet.offer(startNode, startHeuristic(currentPos, currentVel, target));
+
+            int goalNode = findGoalNode(target, goal, track);
+            return reconstructPath(goalNode, startNode, player, target, gameState);
+        } finally {
+            resetSearch();
+        }
+    }
+
+    /**
+     * Runs the A* main loop until a node reaching the goal is polled or the
+     * search is exhausted.
+     *
+     * @param target The target position.
+     * @param goal   The goal set, or null to stop only on the target cell.
+     * @param track  The track to search within.
+     * @return The goal node id if found, {@link #NO_NODE} otherwise.
+     */
+    private int findGoalNode(Position target, GoalSet goal, Track track) {
+        int expansionsCount = 0;
+        while (!this.openSet.isEmpty()) {
+            if (expansionsCount++ > MAX_EXPANSIONS) {
+                return NO_NODE;
+            }
+
+            int current = this.openSet.poll();
+            // Swept goals depend on the move, not only on the state, so they are
+            // checked before the closed set
+            if (this.nodeGoal[current]) {
+                return current;
+            }
+            int state = this.nodeState[current];
+            if (isClosed(state)) {
+                continue;
+            }
+            markClosed(state);
+
+            expandNode(current, 1.0, target, goal, track);
+        }
+        return NO_NODE;
+    }
+
+    /**
+     * Walks back from the goal node to the first move, stores the whole path in
+     * the plan cache and validates the first move.
+     *
+     * @param goalNode   The goal node id, or {@link #NO_NODE}.
+     * @param startNode  The start node id.
+     * @param player     The player for whom the path is being found.
+     * @param target     The target position the path leads to.
+     * @param gameState  The current game state.
+     * @return The first acceleration vector in the path, or a zero vector if no
+     *         path is found.
+     */
+    private Vector reconstructPath(
+            int goalNode,
+            int startNode,
+            Player player,
+            Position target,
+            GameState gameState) {
+        if (goalNode == NO_NODE) {
+            this.planCache.invalidate(player);
+            return new Vector(0, 0);
+        }
+
+        List<Vector> plan = new ArrayList<>();
+        int cur = goalNode;
+        while (this.nodeParent[cur] != NO_NODE) {
+            plan.add(ACCELERATIONS[this.nodeAcceleration[cur]].getVector());
+            if (this.nodeParent[cur] == startNode) {
+                break;
+            }
+            cur = this.nodeParent[cur];
+        }
+        Collections.reverse(plan);
+
+        Vector chosenAcc = this.nodeAcceleration[cur] != NO_NODE
+                ? ACCELERATIONS[this.nodeAcceleration[cur]].getVector()
+                : new Vector(0, 0);
+
+        this.planCache.store(player, target, plan);
+        if (validateFinalMove(player, chosenAcc, gameState)) {
+            return chosenAcc;
+        }
+
+        this.planCache.invalidate(player);
+        return new Vector(0, 0);
+    }
+}
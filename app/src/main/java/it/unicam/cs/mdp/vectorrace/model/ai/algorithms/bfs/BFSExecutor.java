@@ -1,7 +1,12 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
 import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
@@ -9,7 +14,11 @@ import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 /**
  * Executes the Breadth-First Search (BFS) algorithm to find a path.
  * This class manages the search process, exploring the game space and
- * delegating state management to the {@link BFSStateManager}.
+ * delegating state management to the {@link DenseBFSStateManager}, which packs
+ * states into integers and reuses its buffers across searches. States that do
+ * not fit the dense index space (for example a start velocity above
+ * {@code MAX_SPEED}), and tracks too large for it, are searched with the
+ * object-based {@link BFSStateManager}.
  *
  * <p>Key responsibilities:
  * <ul>
@@ -17,11 +26,17 @@ import it.unicam.cs.mdp.vectorrace.model.core.Vector;
  *   <li>State management delegation</li>
  *   <li>Neighbor node processing</li>
  *   <li>Path reconstruction</li>
+ *   <li>Optional {@link GoalSet} goals, tested on every generated move so that
+ *       crossing any goal cell ends the search</li>
  * </ul>
+ *
+ * <p>Instances keep mutable search buffers and are not thread-safe.
  */
 public class BFSExecutor {
-    private static final int MAX_SPEED = 4;
+    protected static final int MAX_SPEED = 4;
+    protected static final AccelerationType[] ACCELERATIONS = AccelerationType.values();
     private final IMoveValidator moveValidator;
+    private final DenseBFSStateManager denseState;
 
     /**
      * Creates a new BFSExecutor with the specified move validator.
@@ -30,6 +45,16 @@ public class BFSExecutor {
      */
     public BFSExecutor(IMoveValidator moveValidator) {
         this.moveValidator = moveValidator;
+        this.denseState = new DenseBFSStateManager(MAX_SPEED);
+    }
+
+    /**
+     * Gets the move validator used to check candidate moves.
+     *
+     * @return The move validator.
+     */
+    protected IMoveValidator getMoveValidator() {
+        return this.moveValidator;
     }
 
     /**
@@ -43,16 +68,199 @@ public class BFSExecutor {
      *         indicating if a path was found.
      */
     public BFSSearchResult search(Position start, Vector startVelocity, Position target, Track track) {
+        return search(start, startVelocity, target, null, track);
+    }
+
+    /**
+     * Executes the BFS search to find a path to a goal set. The goal is tested
+     * on each valid move as it is generated, before the visited check, so a
+     * move crossing the goal is found even if it ends on an already visited
+     * state. The first such move in generation order is the one the search
+     * would have polled first, hence the plan has the fewest moves.
+     *
+     * @param start The starting position.
+     * @param startVelocity The starting velocity.
+     * @param target The target position, used when no goal set is given.
+     * @param goal The goal set, or null to stop only on the target cell.
+     * @param track The track to search within.
+     * @return A BFSSearchResult containing the next acceleration vector and a flag
+     *         indicating if a path was found.
+     */
+    public BFSSearchResult search(Position start, Vector startVelocity, Position target, GoalSet goal,
+            Track track) {
+        if (this.denseState.reset(track, start.getX(), start.getY(),
+                startVelocity.getDx(), startVelocity.getDy())) {
+            return goal == null ? searchDense(target, track) : searchDense(goal, track);
+        }
+        return searchObjects(start, startVelocity, target, goal, track);
+    }
+
+    /**
+     * Runs the BFS over the dense index space prepared by
+     * {@link DenseBFSStateManager#reset(Track, int, int, int, int)}.
+     *
+     * @param target The target position.
+     * @param track The track to search within.
+     * @return The search result.
+     */
+    private BFSSearchResult searchDense(Position target, Track track) {
+        DenseBFSStateManager stateManager = this.denseState;
+        int targetX = target.getX();
+        int targetY = target.getY();
+
+        while (!stateManager.isQueueEmpty()) {
+            int state = stateManager.getNextState();
+            int x = stateManager.getX(state);
+            int y = stateManager.getY(state);
+
+            if (x == targetX && y == targetY) {
+                return reconstructPath(state, stateManager);
+            }
+
+            processNeighbors(state, x, y, stateManager, track);
+        }
+
+        return new BFSSearchResult(new Vector(0, 0), false);
+    }
+
+    /**
+     * Runs the BFS over the dense index space until a valid move reaches the
+     * goal set.
+     *
+     * @param goal The goal set.
+     * @param track The track to search within.
+     * @return The search result.
+     */
+    private BFSSearchResult searchDense(GoalSet goal, Track track) {
+        DenseBFSStateManager stateManager = this.denseState;
+
+        while (!stateManager.isQueueEmpty()) {
+            int state = stateManager.getNextState();
+            int x = stateManager.getX(state);
+            int y = stateManager.getY(state);
+            int vx = stateManager.getVx(state);
+            int vy = stateManager.getVy(state);
+
+            for (int i = 0; i < ACCELERATIONS.length; i++) {
+                Vector acc = ACCELERATIONS[i].getVector();
+                int newVx = vx + acc.getDx();
+                int newVy = vy + acc.getDy();
+                int newX = x + newVx;
+                int newY = y + newVy;
+
+                if (!stateManager.isEncodable(newX, newY, newVx, newVy)) {
+                    continue;
+                }
+
+                int neighbor = stateManager.encode(newX, newY, newVx, newVy);
+                boolean visited = stateManager.isVisited(neighbor);
+                boolean reached = goal.isReachedBy(x, y, newX, newY);
+                if ((visited && !reached) || !this.moveValidator.validateTempMove(x, y, newVx, newVy, track)) {
+                    continue;
+                }
+                if (reached) {
+                    List<Vector> plan = reconstructPlan(state, stateManager);
+                    plan.add(acc);
+                    return new BFSSearchResult(plan.get(0), true, plan);
+                }
+                stateManager.addState(neighbor, state, i);
+            }
+        }
+
+        return new BFSSearchResult(new Vector(0, 0), false);
+    }
+
+    /**
+     * Processes all neighbor states of the current state, in the same order as
+     * {@link AccelerationType#getAllVectors()}.
+     *
+     * @param state The current state.
+     * @param x The x coordinate of the current state.
+     * @param y The y coordinate of the current state.
+     * @param stateManager The state manager for BFS.
+     * @param track The track to validate moves against.
+     */
+    private void processNeighbors(int state, int x, int y, DenseBFSStateManager stateManager, Track track) {
+        int vx = stateManager.getVx(state);
+        int vy = stateManager.getVy(state);
+        for (int i = 0; i < ACCELERATIONS.length; i++) {
+            Vector acc = ACCELERATIONS[i].getVector();
+            int newVx = vx + acc.getDx();
+            int newVy = vy + acc.getDy();
+            int newX = x + newVx;
+            int newY = y + newVy;
+
+            if (!stateManager.isEncodable(newX, newY, newVx, newVy)) {
+                continue;
+            }
+
+            int neighbor = stateManager.encode(newX, newY, newVx, newVy);
+            if (!stateManager.isVisited(neighbor)
+                    && this.moveValidator.validateTempMove(x, y, newVx, newVy, track)) {
+                stateManager.addState(neighbor, state, i);
+            }
+        }
+    }
+
+    /**
+     * Reconstructs the path from the goal state to the start state.
+     *
+     * @param goalState The goal state.
+     * @param stateManager The state manager holding the search tree.
+     * @return A BFSSearchResult containing the next acceleration vector, a flag
+     *         indicating if a path was found and the full path.
+     */
+    private BFSSearchResult reconstructPath(int goalState, DenseBFSStateManager stateManager) {
+        List<Vector> plan = reconstructPlan(goalState, stateManager);
+
+        Vector acceleration = plan.isEmpty() ? new Vector(0, 0) : plan.get(0);
+        return new BFSSearchResult(acceleration, true, plan);
+    }
+
+    /**
+     * Collects the accelerations leading from the start state to a state.
+     *
+     * @param state The last state of the plan.
+     * @param stateManager The state manager holding the search tree.
+     * @return The accelerations in the order they are applied.
+     */
+    private List<Vector> reconstructPlan(int state, DenseBFSStateManager stateManager) {
+        List<Vector> plan = new ArrayList<>();
+        int current = state;
+        while (stateManager.getParent(current) != -1) {
+            plan.add(ACCELERATIONS[stateManager.getAcceleration(current)].getVector());
+            current = stateManager.getParent(current);
+        }
+        Collections.reverse(plan);
+        return plan;
+    }
+
+    /**
+     * Runs the BFS with node objects, for start states outside the dense
+     * index space.
+     *
+     * @param start The starting position.
+     * @param startVelocity The starting velocity.
+     * @param target The target position.
+     * @param goal The goal set, or null to stop only on the target cell.
+     * @param track The track to search within.
+     * @return The search result.
+     */
+    private BFSSearchResult searchObjects(Position start, Vector startVelocity, Position target, GoalSet goal,
+            Track track) {
         BFSStateManager stateManager = new BFSStateManager(start, startVelocity);
 
         while (!stateManager.isQueueEmpty()) {
             BFSNode currentNode = stateManager.getNextNode();
 
-            if (isTargetReached(currentNode, target)) {
+            if (goal == null && isTargetReached(currentNode, target)) {
                 return reconstructPath(currentNode, stateManager.getStartNode());
             }
 
-            processNeighbors(currentNode, stateManager, track);
+            BFSNode goalNode = processNeighbors(currentNode, stateManager, goal, track);
+            if (goalNode != null) {
+                return reconstructPath(goalNode, stateManager.getStartNode());
+            }
         }
 
         return new BFSSearchResult(new Vector(0, 0), false);
@@ -69,23 +277,45 @@ public class BFSExecutor {
         return node.getPosition().equals(target);
     }
 
+    /**
+     * Checks if the move from a node's parent to the node reaches the goal set.
+     *
+     * @param node The node representing the move.
+     * @param goal The goal set.
+     * @return true if the move reaches the goal, false otherwise.
+     */
+    private boolean isGoalReached(BFSNode node, GoalSet goal) {
+        Position from = node.getParent().getPosition();
+        Position to = node.getPosition();
+        return goal.isReachedBy(from.getX(), from.getY(), to.getX(), to.getY());
+    }
+
     /**
      * Processes all neighbor nodes of the current node.
      * Generates valid neighbor nodes by applying all possible acceleration
-     * vectors and adding them to the state manager.
+     * vectors and adding them to the state manager. With a goal set, the first
+     * valid move reaching the goal is returned instead, even if it ends on an
+     * already visited state.
      *
      * @param currentNode The current node.
      * @param stateManager The state manager for BFS.
+     * @param goal The goal set, or null to stop only on the target cell.
      * @param track The track to validate moves against.
+     * @return The node whose move reaches the goal set, or null if none does.
      */
-    private void processNeighbors(BFSNode currentNode, BFSStateManager stateManager, Track track) {
+    private BFSNode processNeighbors(BFSNode currentNode, BFSStateManager stateManager, GoalSet goal,
+            Track track) {
         for (Vector acceleration : AccelerationType.getAllVectors()) {
             BFSNode neighbor = generateNeighbor(currentNode, acceleration);
 
             if (neighbor != null && isValidMove(neighbor, track)) {
+                if (goal != null && isGoalReached(neighbor, goal)) {
+                    return neighbor;
+                }
                 stateManager.addNode(neighbor);
             }
         }
+        return null;
     }
 
     /**
@@ -127,18 +357,24 @@ public class BFSExecutor {
      *
      * @param goalNode The goal node.
      * @param startNode The start node.
-     * @return A BFSSearchResult containing the next acceleration vector and a flag
-     *         indicating if a path was found.
+     * @return A BFSSearchResult containing the next acceleration vector, a flag
+     *         indicating if a path was found and the full path.
      */
     private BFSSearchResult reconstructPath(BFSNode goalNode, BFSNode startNode) {
+        List<Vector> plan = new ArrayList<>();
         BFSNode current = goalNode;
 
-        while (current.getParent() != null && current.getParent() != startNode) {
+        while (current.getParent() != null) {
+            plan.add(current.getAccApplied());
+            if (current.getParent() == startNode) {
+                break;
+            }
             current = current.getParent();
         }
+        Collections.reverse(plan);
 
         Vector acceleration = (current.getAccApplied() != null) ? current.getAccApplied() : new Vector(0, 0);
 
-        return new BFSSearchResult(acceleration, true);
+        return new BFSSearchResult(acceleration, true, plan);
     }
 }
\ No newline at end of file
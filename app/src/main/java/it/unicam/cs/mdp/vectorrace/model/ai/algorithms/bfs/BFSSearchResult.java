@@ -1,5 +1,8 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs;
 
+import java.util.Collections;
+import java.util.List;
+
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 
 /**
@@ -11,11 +14,13 @@ import it.unicam.cs.mdp.vectorrace.model.core.Vector;
  * <ul>
  *   <li>nextAcceleration - The recommended acceleration vector for the next move</li>
  *   <li>found - A flag indicating whether the target was reached during the search</li>
+ *   <li>plan - The full sequence of accelerations leading to the target</li>
  * </ul>
  */
 public class BFSSearchResult {
     private final Vector nextAcceleration;
     private final boolean found;
+    private final List<Vector> plan;
 
     /**
      * Creates a new BFSSearchResult.
@@ -24,8 +29,20 @@ public class BFSSearchResult {
      * @param found A flag indicating whether the target was reached.
      */
     public BFSSearchResult(Vector nextAcceleration, boolean found) {
+        this(nextAcceleration, found, Collections.emptyList());
+    }
+
+    /**
+     * Creates a new BFSSearchResult carrying the full path found.
+     *
+     * @param nextAcceleration The recommended acceleration vector.
+     * @param found A flag indicating whether the target was reached.
+     * @param plan The sequence of accelerations from the start to the target.
+     */
+    public BFSSearchResult(Vector nextAcceleration, boolean found, List<Vector> plan) {
         this.nextAcceleration = nextAcceleration;
         this.found = found;
+        this.plan = Collections.unmodifiableList(plan);
     }
 
     /**
@@ -45,4 +62,14 @@ public class BFSSearchResult {
     public boolean isFound() {
         return found;
     }
+
+    /**
+     * Gets the full sequence of accelerations from the start to the target.
+     * The list is empty when no path was found or when the path was not recorded.
+     *
+     * @return The planned accelerations, starting with {@link #getNextAcceleration()}.
+     */
+    public List<Vector> getPlan() {
+        return plan;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs;
+
+import java.util.Arrays;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+
+/**
+ * Manages the state of the Breadth-First Search (BFS) algorithm over a dense
+ * index space. Each search state (x, y, vx, vy) is packed into a single
+ * {@code int} in {@code [0, width * height * (2 * maxSpeed + 1)^2)}, so the
+ * search needs no node objects and no hashing.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Visited states tracked in a {@code long[]} bitset</li>
+ *   <li>FIFO queue backed by an {@code int[]}; since every state is enqueued
+ *       at most once, the queue also records which bits must be cleared</li>
+ *   <li>Parent state and applied acceleration stored per state id</li>
+ *   <li>All buffers are reused across searches and only grow</li>
+ * </ul>
+ *
+ * <p>The queue is linear rather than a ring: a ring would overwrite the
+ * entries that list the visited bits to clear, and since no state is enqueued
+ * twice the queue never holds more than one entry per state anyway.
+ *
+ * <p>The buffers take about 9 bytes per state in the worst case. Tracks with
+ * more than {@link #MAX_STATES} states are not handled, which bounds the memory
+ * of an instance and keeps every state index within an {@code int};
+ * {@link #reset(Track, int, int, int, int)} returns false for them and
+ * callers fall back to a search that allocates per visited state.
+ *
+ * <p>This class is not thread-safe: use one instance per executor.
+ */
+public class DenseBFSStateManager {
+    /** The largest state space handled, 2^24 states or about 150 MB of buffers. */
+    public static final int MAX_STATES = 1 << 24;
+
+    private static final int INITIAL_QUEUE_CAPACITY = 1024;
+
+    private final int maxSpeed;
+    private final int velocityRange;
+    private final int velocityStates;
+
+    private int width;
+    private int height;
+    private long[] visited = new long[0];
+    private int[] parent = new int[0];
+    private byte[] acceleration = new byte[0];
+    private int[] queue = new int[INITIAL_QUEUE_CAPACITY];
+    private int head;
+    private int tail;
+    private int startState;
+
+    /**
+     * Creates a new state manager for velocities up to the given speed.
+     *
+     * @param maxSpeed The maximum absolute value of each velocity component.
+     */
+    public DenseBFSStateManager(int maxSpeed) {
+        this.maxSpeed = maxSpeed;
+        this.velocityRange = 2 * maxSpeed + 1;
+        this.velocityStates = this.velocityRange * this.velocityRange;
+    }
+
+    /**
+     * Clears the previous search and starts a new one from the given state.
+     * The start state is enqueued and marked as visited.
+     *
+     * @param track The track to search.
+     * @param x The starting x coordinate.
+     * @param y The starting y coordinate.
+     * @param vx The starting horizontal velocity.
+     * @param vy The starting vertical velocity.
+     * @return true if the start state fits in the index space, false if it
+     *         does not or if the track has more than {@link #MAX_STATES} states.
+     */
+    public boolean reset(Track track, int x, int y, int vx, int vy) {
+        clear();
+        long stateCount = (long) track.getWidth() * track.getHeight() * this.velocityStates;
+        if (stateCount > MAX_STATES) {
+            this.width = 0;
+            this.height = 0;
+            return false;
+        }
+        this.width = track.getWidth();
+        this.height = track.getHeight();
+        ensureCapacity((int) stateCount);
+        if (!isEncodable(x, y, vx, vy)) {
+            return false;
+        }
+        this.startState = encode(x, y, vx, vy);
+        add(this.startState, -1, -1);
+        return true;
+    }
+
+    /**
+     * Checks whether a state fits in the current index space.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param vx The horizontal velocity.
+     * @param vy The vertical velocity.
+     * @return true if the state can be encoded, false otherwise.
+     */
+    public boolean isEncodable(int x, int y, int vx, int vy) {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height
+                && Math.abs(vx) <= this.maxSpeed && Math.abs(vy) <= this.maxSpeed;
+    }
+
+    /**
+     * Packs a state into its index.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param vx The horizontal velocity.
+     * @param vy The vertical velocity.
+     * @return The state index.
+     */
+    public int encode(int x, int y, int vx, int vy) {
+        return ((y * this.width + x) * this.velocityRange + vx + this.maxSpeed) * this.velocityRange
+                + vy + this.maxSpeed;
+    }
+
+    /**
+     * Extracts the x coordinate of a state.
+     *
+     * @param state The state index.
+     * @return The x coordinate.
+     */
+    public int getX(int state) {
+        return (state / this.velocityStates) % this.width;
+    }
+
+    /**
+     * Extracts the y coordinate of a state.
+     *
+     * @param state The state index.
+     * @return The y coordinate.
+     */
+    public int getY(int state) {
+        return (state / this.velocityStates) / this.width;
+    }
+
+    /**
+     * Extracts the horizontal velocity of a state.
+     *
+     * @param state The state index.
+     * @return The horizontal velocity.
+     */
+    public int getVx(int state) {
+        return (state / this.velocityRange) % this.velocityRange - this.maxSpeed;
+    }
+
+    /**
+     * Extracts the vertical velocity of a state.
+     *
+     * @param state The state index.
+     * @return The vertical velocity.
+     */
+    public int getVy(int state) {
+        return state % this.velocityRange - this.maxSpeed;
+    }
+
+    /**
+     * Checks if there are any more states to process.
+     *
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isQueueEmpty() {
+        return this.head == this.tail;
+    }
+
+    /**
+     * Gets the next state to process from the queue.
+     *
+     * @return The next state index.
+     */
+    public int getNextState() {
+        return this.queue[this.head++];
+    }
+
+    /**
+     * Adds a state to the queue if it hasn't already been visited.
+     *
+     * @param state The state to add.
+     * @param parentState The state it was reached from.
+     * @param accelerationIndex The index of the applied acceleration.
+     * @return true if the state was added, false if it was already visited.
+     */
+    public boolean addState(int state, int parentState, int accelerationIndex) {
+        if (isVisited(state)) {
+            return false;
+        }
+        add(state, parentState, accelerationIndex);
+        return true;
+    }
+
+    /**
+     * Checks if a state has already been visited.
+     *
+     * @param state The state to check.
+     * @return true if the state has been visited, false otherwise.
+     */
+    public boolean isVisited(int state) {
+        return (this.visited[state >>> 6] & (1L << state)) != 0;
+    }
+
+    /**
+     * Gets the state from which the given state was reached.
+     *
+     * @param state The state to query.
+     * @return The parent state, or -1 for the start state.
+     */
+    public int getParent(int state) {
+        return this.parent[state];
+    }
+
+    /**
+     * Gets the index of the acceleration applied to reach the given state.
+     *
+     * @param state The state to query.
+     * @return The acceleration index, or -1 for the start state.
+     */
+    public int getAcceleration(int state) {
+        return this.acceleration[state];
+    }
+
+    /**
+     * Gets the starting state of the search.
+     *
+     * @return The start state index.
+     */
+    public int getStartState() {
+        return this.startState;
+    }
+
+    private void add(int state, int parentState, int accelerationIndex) {
+        this.visited[state >>> 6] |= 1L << state;
+        this.parent[state] = parentState;
+        this.acceleration[state] = (byte) accelerationIndex;
+        if (this.tail == this.queue.length) {
+            this.queue = Arrays.copyOf(this.queue, this.tail << 1);
+        }
+        this.queue[this.tail++] = state;
+    }
+
+    /**
+     * Clears the visited bits of the previous search, touching only the words
+     * of states that were actually enqueued.
+     */
+    private void clear() {
+        for (int i = 0; i < this.tail; i++) {
+            this.visited[this.queue[i] >>> 6] = 0L;
+        }
+        this.head = 0;
+        this.tail = 0;
+    }
+
+    private void ensureCapacity(int stateCount) {
+        int words = (stateCount + 63) >>> 6;
+        if (this.visited.length < words) {
+            this.visited = new long[words];
+        }
+        if (this.parent.length < stateCount) {
+            this.parent = new int[stateCount];
+            this.acceleration = new byte[stateCount];
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+
+/**
+ * Executes a level-synchronous, frontier-parallel Breadth-First Search.
+ * Each depth layer of the search is split into contiguous chunks that are
+ * expanded on the fork-join common pool; the next layer is then merged in a
+ * deterministic order, so the result is identical to {@link BFSExecutor}.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Visited states claimed through an atomic bitset</li>
+ *   <li>Each state remembers the smallest discovery key
+ *       ({@code parentQueueIndex * 9 + accelerationIndex}) through an atomic
+ *       compare-and-set minimum, which is exactly the discovery that the serial
+ *       search would have made first</li>
+ *   <li>Goal-set moves are recorded through the same minimum over discovery
+ *       keys, so the winning move is the one the serial search generates first</li>
+ *   <li>Layers smaller than a threshold are expanded on the calling thread</li>
+ *   <li>Small tracks are delegated entirely to the serial executor</li>
+ * </ul>
+ *
+ * <p>The move validator is called concurrently and must be thread-safe, as
+ * {@link it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter} is.
+ * Instances keep search buffers and must not run several searches at once.
+ */
+public class ParallelBFSExecutor extends BFSExecutor {
+    /** Default frontier size below which a layer is expanded serially. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    private static final int NO_KEY = Integer.MAX_VALUE;
+    private static final int START_KEY = -1;
+    private static final int VELOCITY_RANGE = 2 * MAX_SPEED + 1;
+    private static final int VELOCITY_STATES = VELOCITY_RANGE * VELOCITY_RANGE;
+    private static final int INITIAL_QUEUE_CAPACITY = 1024;
+
+    private final int parallelThreshold;
+
+    private int width;
+    private int height;
+    private AtomicLongArray claimed = new AtomicLongArray(0);
+    private AtomicIntegerArray claimKey = new AtomicIntegerArray(0);
+    private int[] queue = new int[INITIAL_QUEUE_CAPACITY];
+    private int tail;
+    private boolean levelInProgress;
+    private final AtomicInteger goalKey = new AtomicInteger(NO_KEY);
+
+    /**
+     * Creates a new ParallelBFSExecutor with the default parallel threshold.
+     *
+     * @param moveValidator The thread-safe move validator to use for pathfinding.
+     */
+    public ParallelBFSExecutor(IMoveValidator moveValidator) {
+        this(moveValidator, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a new ParallelBFSExecutor.
+     *
+     * @param moveValidator The thread-safe move validator to use for pathfinding.
+     * @param parallelThreshold The frontier size from which a layer is expanded
+     *                          in parallel; smaller tracks are searched serially.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public ParallelBFSExecutor(IMoveValidator moveValidator, int parallelThreshold) {
+        super(moveValidator);
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("La soglia di parallelismo deve essere positiva");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public BFSSearchResult search(Position start, Vector startVelocity, Position target, GoalSet goal,
+            Track track) {
+        long stateCount = (long) track.getWidth() * track.getHeight() * VELOCITY_STATES;
+        if (stateCount < this.parallelThreshold || stateCount > Integer.MAX_VALUE / ACCELERATIONS.length
+                || !isEncodable(start.getX(), start.getY(), startVelocity.getDx(), startVelocity.getDy(), track)) {
+            return super.search(start, startVelocity, target, goal, track);
+        }
+
+        prepare(track, (int) stateCount);
+        try {
+            int startState = encode(start.getX(), start.getY(), startVelocity.getDx(), startVelocity.getDy());
+            claim(startState, START_KEY);
+            append(new int[] { startState }, 1);
+            return runLevels(target, goal, track);
+        } finally {
+            resetSearch();
+        }
+    }
+
+    /**
+     * Expands the search layer by layer until the target is found or the
+     * state space is exhausted.
+     *
+     * @param target The target position.
+     * @param goal The goal set, or null to stop only on the target cell.
+     * @param track The track to search within.
+     * @return The search result.
+     */
+    private BFSSearchResult runLevels(Position target, GoalSet goal, Track track) {
+        int levelStart = 0;
+        while (levelStart < this.tail) {
+            int levelEnd = this.tail;
+
+            // Goal test in queue order, as the serial search would poll the layer
+            if (goal == null) {
+                for (int i = levelStart; i < levelEnd; i++) {
+                    int state = this.queue[i];
+                    if (stateX(state) == target.getX() && stateY(state) == target.getY()) {
+                        return reconstructPath(state);
+                    }
+                }
+            }
+
+            int frontierSize = levelEnd - levelStart;
+            this.levelInProgress = true;
+            if (frontierSize < this.parallelThreshold) {
+                int[] discovered = expandRange(levelStart, levelEnd, goal, track);
+                mergeLevel(Collections.singletonList(discovered));
+            } else {
+                mergeLevel(expandInParallel(levelStart, levelEnd, goal, track));
+            }
+            this.levelInProgress = false;
+            levelStart = levelEnd;
+
+            int reachedKey = this.goalKey.get();
+            if (reachedKey != NO_KEY) {
+                return reconstructGoalMove(reachedKey);
+            }
+        }
+        return new BFSSearchResult(new Vector(0, 0), false);
+    }
+
+    /**
+     * Expands a layer on the fork-join common pool, split into contiguous chunks.
+     *
+     * @param levelStart The queue index of the first state of the layer.
+     * @param levelEnd The queue index after the last state of the layer.
+     * @param goal The goal set, or null when searching for the target cell.
+     * @param track The track to validate moves against.
+     * @return The states first claimed by each chunk, in chunk order.
+     */
+    private List<int[]> expandInParallel(int levelStart, int levelEnd, GoalSet goal, Track track) {
+        int frontierSize = levelEnd - levelStart;
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                frontierSize / Math.max(1, this.parallelThreshold / 4)));
+        int[][] results = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = levelStart + (int) ((long) frontierSize * c / chunks);
+            int to = levelStart + (int) ((long) frontierSize * (c + 1) / chunks);
+            results[c] = expandRange(from, to, goal, track);
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Expands the states in a range of the queue, claiming every valid
+     * neighbor and lowering its discovery key. Valid moves reaching the goal
+     * set lower the goal key instead, whether or not their state was claimed.
+     *
+     * @param from The first queue index to expand.
+     * @param to The queue index after the last state to expand.
+     * @param goal The goal set, or null when searching for the target cell.
+     * @param track The track to validate moves against.
+     * @return The states first claimed by this range, in discovery order.
+     */
+    private int[] expandRange(int from, int to, GoalSet goal, Track track) {
+        IMoveValidator validator = getMoveValidator();
+        int[] found = new int[64];
+        int count = 0;
+        for (int queueIndex = from; queueIndex < to; queueIndex++) {
+            int state = this.queue[queueIndex];
+            int x = stateX(state);
+            int y = stateY(state);
+            int vx = stateVx(state);
+            int vy = stateVy(state);
+            for (int i = 0; i < ACCELERATIONS.length; i++) {
+                Vector acc = ACCELERATIONS[i].getVector();
+                int newVx = vx + acc.getDx();
+                int newVy = vy + acc.getDy();
+                int newX = x + newVx;
+                int newY = y + newVy;
+                if (!isEncodable(newX, newY, newVx, newVy, track)) {
+                    continue;
+                }
+
+                int neighbor = encode(newX, newY, newVx, newVy);
+                int key = queueIndex * ACCELERATIONS.length + i;
+                if (goal != null && key > this.goalKey.get()) {
+                    // An earlier move of this layer already reaches the goal
+                    return Arrays.copyOf(found, count);
+                }
+                boolean reached = goal != null && goal.isReachedBy(x, y, newX, newY);
+                // A smaller key means an earlier layer or an earlier chunk already
+                // reached this state through a valid move
+                if (!reached && this.claimKey.get(neighbor) < key) {
+                    continue;
+                }
+                if (!validator.validateTempMove(x, y, newVx, newVy, track)) {
+                    continue;
+                }
+                if (reached) {
+                    lowerGoalKey(key);
+                    continue;
+                }
+                if (claim(neighbor, key)) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count << 1);
+                    }
+                    found[count++] = neighbor;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Claims a state and lowers its discovery key to the given value.
+     *
+     * @param state The state to claim.
+     * @param key The discovery key.
+     * @return true if this call claimed the state first, false otherwise.
+     */
+    private boolean claim(int state, int key) {
+        int current = this.claimKey.get(state);
+        while (key < current && !this.claimKey.compareAndSet(state, current, key)) {
+            current = this.claimKey.get(state);
+        }
+
+        int word = state >>> 6;
+        long bit = 1L << state;
+        long previous = this.claimed.get(word);
+        while ((previous & bit) == 0) {
+            if (this.claimed.compareAndSet(word, previous, previous | bit)) {
+                return true;
+            }
+            previous = this.claimed.get(word);
+        }
+        return false;
+    }
+
+    /**
+     * Lowers the key of the earliest move reaching the goal set.
+     *
+     * @param key The discovery key of a move reaching the goal.
+     */
+    private void lowerGoalKey(int key) {
+        int current = this.goalKey.get();
+        while (key < current && !this.goalKey.compareAndSet(current, key)) {
+            current = this.goalKey.get();
+        }
+    }
+
+    /**
+     * Appends the states discovered in a layer to the queue, ordered by their
+     * final discovery key, which reproduces the serial queue order.
+     *
+     * @param discovered The states first claimed by each chunk.
+     */
+    private void mergeLevel(List<int[]> discovered) {
+        int total = 0;
+        for (int[] part : discovered) {
+            total += part.length;
+        }
+        long[] ordered = new long[total];
+        int n = 0;
+        for (int[] part : discovered) {
+            for (int state : part) {
+                ordered[n++] = ((long) this.claimKey.get(state) << 32) | (state & 0xFFFFFFFFL);
+            }
+        }
+        if (total >= this.parallelThreshold) {
+            Arrays.parallelSort(ordered);
+        } else {
+            Arrays.sort(ordered);
+        }
+        int[] states = new int[total];
+        for (int i = 0; i < total; i++) {
+            states[i] = (int) ordered[i];
+        }
+        append(states, total);
+    }
+
+    /**
+     * Reconstructs the path from the goal state to the start state.
+     *
+     * @param goalState The goal state.
+     * @return A BFSSearchResult containing the next acceleration vector, a flag
+     *         indicating if a path was found and the full path.
+     */
+    private BFSSearchResult reconstructPath(int goalState) {
+        List<Vector> plan = reconstructPlan(goalState);
+
+        Vector acceleration = plan.isEmpty() ? new Vector(0, 0) : plan.get(0);
+        return new BFSSearchResult(acceleration, true, plan);
+    }
+
+    /**
+     * Reconstructs the path ending with the move that reaches the goal set.
+     *
+     * @param key The discovery key of the move: the queue index of the state
+     *            it starts from times the number of accelerations, plus the
+     *            acceleration index.
+     * @return A BFSSearchResult containing the next acceleration vector, a flag
+     *         indicating if a path was found and the full path.
+     */
+    private BFSSearchResult reconstructGoalMove(int key) {
+        List<Vector> plan = reconstructPlan(this.queue[key / ACCELERATIONS.length]);
+        plan.add(ACCELERATIONS[key % ACCELERATIONS.length].getVector());
+        return new BFSSearchResult(plan.get(0), true, plan);
+    }
+
+    /**
+     * Collects the accelerations leading from the start state to a state.
+     *
+     * @param state The last state of the plan.
+     * @return The accelerations in the order they are applied.
+     */
+    private List<Vector> reconstructPlan(int state) {
+        List<Vector> plan = new ArrayList<>();
+        int current = state;
+        int key = this.claimKey.get(current);
+        while (key != START_KEY) {
+            plan.add(ACCELERATIONS[key % ACCELERATIONS.length].getVector());
+            current = this.queue[key / ACCELERATIONS.length];
+            key = this.claimKey.get(current);
+        }
+        Collections.reverse(plan);
+        return plan;
+    }
+
+    private void append(int[] states, int count) {
+        if (this.tail + count > this.queue.length) {
+            this.queue = Arrays.copyOf(this.queue, Math.max(this.queue.length << 1, this.tail + count));
+        }
+        System.arraycopy(states, 0, this.queue, this.tail, count);
+        this.tail += count;
+    }
+
+    /**
+     * Ensures the claim structures can hold the state space of the given track.
+     *
+     * @param track The track about to be searched.
+     * @param stateCount The number of states of the track.
+     */
+    private void prepare(Track track, int stateCount) {
+        this.width = track.getWidth();
+        this.height = track.getHeight();
+        if (this.claimKey.length() < stateCount) {
+            this.claimKey = new AtomicIntegerArray(stateCount);
+            for (int i = 0; i < stateCount; i++) {
+                this.claimKey.set(i, NO_KEY);
+            }
+            this.claimed = new AtomicLongArray((stateCount + 63) >>> 6);
+        }
+        this.tail = 0;
+    }
+
+    /**
+     * Clears the claims of the last search. Every claimed state was merged into
+     * the queue, except when a layer was interrupted by an exception, in which
+     * case the structures are dropped and rebuilt on the next search.
+     */
+    private void resetSearch() {
+        if (this.levelInProgress) {
+            this.claimKey = new AtomicIntegerArray(0);
+            this.claimed = new AtomicLongArray(0);
+            this.levelInProgress = false;
+        } else {
+            for (int i = 0; i < this.tail; i++) {
+                int state = this.queue[i];
+                this.claimed.set(state >>> 6, 0L);
+                this.claimKey.set(state, NO_KEY);
+            }
+        }
+        this.tail = 0;
+        this.goalKey.set(NO_KEY);
+    }
+
+    private boolean isEncodable(int x, int y, int vx, int vy, Track track) {
+        return x >= 0 && x < track.getWidth() && y >= 0 && y < track.getHeight()
+                && Math.abs(vx) <= MAX_SPEED && Math.abs(vy) <= MAX_SPEED;
+    }
+
+    private int encode(int x, int y, int vx, int vy) {
+        return ((y * this.width + x) * VELOCITY_RANGE + vx + MAX_SPEED) * VELOCITY_RANGE + vy + MAX_SPEED;
+    }
+
+    private int stateX(int state) {
+        return (state / VELOCITY_STATES) % this.width;
+    }
+
+    private int stateY(int state) {
+        return (state / VELOCITY_STATES) / this.width;
+    }
+
+    private int stateVx(int state) {
+        return (state / VELOCITY_RANGE) % VELOCITY_RANGE - MAX_SPEED;
+    }
+
+    private int stateVy(int state) {
+        return state % VELOCITY_RANGE - MAX_SPEED;
+    }
+}
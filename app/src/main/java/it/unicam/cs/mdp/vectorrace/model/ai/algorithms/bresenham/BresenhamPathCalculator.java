@@ -2,7 +2,9 @@ package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bresenham;
 
 import java.util.ArrayList;
 import java.util.List;
+import it.unicam.cs.mdp.vectorrace.model.core.CellVisitor;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.SegmentTraversal;
 
 /**
  * Implements Bresenham's line algorithm for calculating the path between two points.
@@ -11,7 +13,8 @@ import it.unicam.cs.mdp.vectorrace.model.core.Position;
  *
  * <p>The algorithm uses a supercover approach to include all cells that the
  * line passes through, which is crucial for accurate collision detection and
- * checkpoint validation.
+ * checkpoint validation. The traversal itself is done in integer arithmetic by
+ * {@link SegmentTraversal} with the {@link it.unicam.cs.mdp.vectorrace.model.core.SegmentRule#SUPERCOVER} rule.
  */
 public class BresenhamPathCalculator {
 
@@ -24,42 +27,21 @@ public class BresenhamPathCalculator {
      */
     public List<Position> calculatePath(Position start, Position end) {
         List<Position> path = new ArrayList<>();
-
-        int x0 = start.getX();
-        int y0 = start.getY();
-        int x1 = end.getX();
-        int y1 = end.getY();
-
-        int dx = Math.abs(x1 - x0);
-        int dy = Math.abs(y1 - y0);
-        int signX = (x1 > x0) ? 1 : (x1 < x0 ? -1 : 0);
-        int signY = (y1 > y0) ? 1 : (y1 < y0 ? -1 : 0);
-
-        // Using a supercover Bresenham algorithm to include all cells intersected by
-        // the line.
-        int ix = 0, iy = 0;
-        path.add(new Position(x0, y0));
-
-        // Loop until we have stepped through all differences
-        while (ix < dx || iy < dy) {
-            double tx = (dx == 0) ? Double.MAX_VALUE : ((ix + 0.5) / dx);
-            double ty = (dy == 0) ? Double.MAX_VALUE : ((iy + 0.5) / dy);
-
-            if (tx < ty) {
-                ix++;
-                x0 += signX;
-            } else if (ty < tx) {
-                iy++;
-                y0 += signY;
-            } else { // tx == ty; move diagonally
-                ix++;
-                iy++;
-                x0 += signX;
-                y0 += signY;
-            }
-            path.add(new Position(x0, y0));
-        }
-
+        traverse(start, end, (x, y) -> path.add(new Position(x, y)));
         return path;
     }
-}
\ No newline at end of file
+
+    /**
+     * Visits the cells on the path between two points, in order, without
+     * building a list. The cells are the same returned by
+     * {@link #calculatePath(Position, Position)}.
+     *
+     * @param start The starting position.
+     * @param end The ending position.
+     * @param visitor The visitor receiving each cell; returning false stops the traversal.
+     * @return true if every cell was visited, false if the visitor stopped early.
+     */
+    public boolean traverse(Position start, Position end, CellVisitor visitor) {
+        return SegmentTraversal.traverseSupercover(start.getX(), start.getY(), end.getX(), end.getY(), visitor);
+    }
+}
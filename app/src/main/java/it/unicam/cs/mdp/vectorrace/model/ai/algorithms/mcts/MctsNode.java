@@ -0,0 +1,174 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.mcts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+
+/**
+ * A node of the Monte-Carlo search tree, shared by all the search workers
+ * without locks.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Visits and rewards are atomic counters, updated with a single
+ *       increment during backpropagation</li>
+ *   <li>A virtual loss is added while a worker is below the node, so
+ *       concurrent workers spread over different branches</li>
+ *   <li>Untried actions are claimed with an atomic counter and children are
+ *       published in an {@link AtomicReferenceArray}, so each child is
+ *       expanded exactly once</li>
+ * </ul>
+ *
+ * <p>The snapshot of a node is the race at the next turn of the player the
+ * search plans for: the move leading to the node and the replies of the
+ * opponents are already played.
+ */
+final class MctsNode {
+    private final MctsNode parent;
+    private final int action;
+    private final GameSnapshot state;
+    private final int depth;
+    private final int[] actions;
+    private final AtomicReferenceArray<MctsNode> children;
+    private final AtomicInteger nextAction = new AtomicInteger();
+    private final AtomicInteger visits = new AtomicInteger();
+    private final AtomicInteger virtualLoss = new AtomicInteger();
+    private final DoubleAdder totalReward = new DoubleAdder();
+
+    /**
+     * Creates a new node.
+     *
+     * @param parent The parent node, null for the root.
+     * @param action The acceleration leading to this node, -1 for the root.
+     * @param state The race at the next turn of the searching player.
+     * @param depth The number of moves of the searching player from the root.
+     * @param actions The accelerations to try from this node, empty if it is terminal.
+     */
+    MctsNode(MctsNode parent, int action, GameSnapshot state, int depth, int[] actions) {
+        this.parent = parent;
+        this.action = action;
+        this.state = state;
+        this.depth = depth;
+        this.actions = actions;
+        this.children = new AtomicReferenceArray<>(actions.length);
+    }
+
+    /**
+     * Claims the next untried action of this node.
+     *
+     * @return The slot of the claimed action, or -1 if all have been claimed.
+     */
+    int claimUntried() {
+        if (this.nextAction.get() >= this.actions.length) {
+            return -1;
+        }
+        int slot = this.nextAction.getAndIncrement();
+        return slot < this.actions.length ? slot : -1;
+    }
+
+    /**
+     * Publishes the child expanded for a claimed slot.
+     *
+     * @param slot The slot returned by {@link #claimUntried()}.
+     * @param child The expanded child.
+     */
+    void setChild(int slot, MctsNode child) {
+        this.children.set(slot, child);
+    }
+
+    /**
+     * Picks the published child with the highest UCT score, counting virtual
+     * losses as visits with no reward.
+     *
+     * @param exploration The exploration constant.
+     * @return The selected child, or null if no child is published yet.
+     */
+    MctsNode selectChild(double exploration) {
+        double logVisits = Math.log(Math.max(1, this.visits.get() + this.virtualLoss.get()));
+        MctsNode best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < this.children.length(); i++) {
+            MctsNode child = this.children.get(i);
+            if (child == null) {
+                continue;
+            }
+            int n = child.visits.get() + child.virtualLoss.get();
+            double score = n == 0
+                    ? Double.POSITIVE_INFINITY
+                    : child.totalReward.sum() / n + exploration * Math.sqrt(logVisits / n);
+            if (score > bestScore) {
+                bestScore = score;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the most visited child, the usual final choice of MCTS.
+     *
+     * @return The most visited child, or null if none has been visited.
+     */
+    MctsNode mostVisitedChild() {
+        MctsNode best = null;
+        for (int i = 0; i < this.children.length(); i++) {
+            MctsNode child = this.children.get(i);
+            if (child != null && child.visits.get() > 0
+                    && (best == null || child.visits.get() > best.visits.get())) {
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    void addVirtualLoss() {
+        this.virtualLoss.incrementAndGet();
+    }
+
+    /**
+     * Records the result of a simulation and removes the virtual loss added
+     * on the way down.
+     *
+     * @param reward The reward of the simulation.
+     */
+    void update(double reward) {
+        this.totalReward.add(reward);
+        this.visits.incrementAndGet();
+        this.virtualLoss.decrementAndGet();
+    }
+
+    boolean isTerminal() {
+        return this.actions.length == 0;
+    }
+
+    int getAction(int slot) {
+        return this.actions[slot];
+    }
+
+    MctsNode getParent() {
+        return this.parent;
+    }
+
+    int getAction() {
+        return this.action;
+    }
+
+    GameSnapshot getState() {
+        return this.state;
+    }
+
+    int getDepth() {
+        return this.depth;
+    }
+
+    int getVisits() {
+        return this.visits.get();
+    }
+
+    double getMeanReward() {
+        int n = this.visits.get();
+        return n == 0 ? 0 : this.totalReward.sum() / n;
+    }
+}
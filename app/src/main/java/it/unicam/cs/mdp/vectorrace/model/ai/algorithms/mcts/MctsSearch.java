@@ -0,0 +1,341 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.mcts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTable;
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Chooses the acceleration of a player with a Monte-Carlo tree search over the
+ * joint state of the race, so that the opponents' moves, and the velocity
+ * resets they cause, are part of the plan.
+ *
+ * <p>Each iteration selects a node with UCT, expands one untried
+ * acceleration, plays the race out with every player following the
+ * {@link PolicyTable} of the track and backs the reward up to the root.
+ * In the tree, the opponents answer each move of the player with their table
+ * move, so a node is the race at the next turn of the player.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Iterations run in parallel on a {@link ForkJoinPool}, sharing one
+ *       tree with lock-free node statistics and virtual losses; by default a
+ *       search uses at most {@link #DEFAULT_PARALLELISM} workers of the common
+ *       pool, so several bots and races can search at the same time</li>
+ *   <li>A wall-clock budget per move, plus an optional iteration limit</li>
+ *   <li>Rollouts on immutable {@link GameSnapshot}s: a move copies one small array
+ *       and the tree nodes share their snapshots with the workers</li>
+ *   <li>Epsilon-greedy rollouts: a table move, or a random move clear of walls</li>
+ *   <li>The reward grows the sooner the player finishes, with a bonus for
+ *       finishing first</li>
+ * </ul>
+ */
+public class MctsSearch {
+    /** The default budget per move, in milliseconds. */
+    public static final long DEFAULT_BUDGET_MILLIS = 20;
+    /** The default number of workers per search: up to 4, within the common pool. */
+    public static final int DEFAULT_PARALLELISM = Math.max(1, Math.min(4, ForkJoinPool.getCommonPoolParallelism()));
+
+    private static final AccelerationType[] ACCELERATIONS = AccelerationType.values();
+    private static final int NONE = AccelerationType.NONE.ordinal();
+    private static final double EXPLORATION = 0.25;
+    private static final double EPSILON = 0.1;
+    private static final double SPEED_WEIGHT = 0.8;
+    private static final double WIN_WEIGHT = 0.2;
+    private static final int MIN_HORIZON = 20;
+    private static final int MAX_GREEDY_MOVES = 1000;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final long budgetNanos;
+    private final int maxIterations;
+    private final SplittableRandom random;
+    private volatile int lastIterationCount;
+
+    /**
+     * Creates a new MctsSearch with full control over its execution.
+     *
+     * @param pool The pool running the search workers.
+     * @param parallelism The number of workers per search.
+     * @param budgetMillis The wall-clock budget per move, in milliseconds.
+     * @param maxIterations The maximum number of iterations per move.
+     * @param seed The seed of the rollout randomness.
+     * @throws IllegalArgumentException if a limit is not positive.
+     */
+    public MctsSearch(ForkJoinPool pool, int parallelism, long budgetMillis, int maxIterations, long seed) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Il budget di tempo deve essere positivo");
+        }
+        if (parallelism <= 0 || maxIterations <= 0) {
+            throw new IllegalArgumentException("Parallelismo e iterazioni devono essere positivi");
+        }
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.maxIterations = maxIterations;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Creates a new MctsSearch on the common pool with
+     * {@link #DEFAULT_PARALLELISM} workers and the given seed.
+     *
+     * @param budgetMillis The wall-clock budget per move, in milliseconds.
+     * @param seed The seed of the rollout randomness, such as one derived from the race seed.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public MctsSearch(long budgetMillis, long seed) {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLELISM, budgetMillis, Integer.MAX_VALUE, seed);
+    }
+
+    /**
+     * Creates a new MctsSearch on the common pool for a game without a seed,
+     * seeding the rollouts from the clock.
+     *
+     * @param budgetMillis The wall-clock budget per move, in milliseconds.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public MctsSearch(long budgetMillis) {
+        this(budgetMillis, System.nanoTime());
+    }
+
+    /**
+     * Creates a new MctsSearch with the default budget per move.
+     */
+    public MctsSearch() {
+        this(DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Searches the best acceleration for a player about to move.
+     *
+     * @param gameState The current game state.
+     * @param player The player to move.
+     * @param policy The policy table of the track, followed in rollouts.
+     * @return The acceleration of the most visited move, or null if the
+     *         budget ran out before any move was tried.
+     */
+    public Vector search(GameState gameState, Player player, PolicyTable policy) {
+        int ego = indexOf(gameState, player);
+        GameSnapshot start = GameSnapshot.of(gameState).withCurrentPlayer(ego);
+        Search search = new Search(ego, policy, MIN_HORIZON + 2 * greedyMoves(start, ego, policy));
+        MctsNode root = new MctsNode(null, -1, start, 0, search.actionsFor(start, 0));
+
+        long deadline = System.nanoTime() + this.budgetNanos;
+        AtomicInteger iterations = new AtomicInteger();
+        List<ForkJoinTask<?>> workers = new ArrayList<>(this.parallelism);
+        synchronized (this.random) {
+            for (int i = 0; i < this.parallelism; i++) {
+                SplittableRandom workerRandom = this.random.split();
+                workers.add(this.pool.submit(() -> {
+                    while (System.nanoTime() < deadline && iterations.getAndIncrement() < this.maxIterations) {
+                        search.iterate(root, workerRandom);
+                    }
+                }));
+            }
+        }
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+        this.lastIterationCount = Math.min(iterations.get(), this.maxIterations);
+
+        MctsNode best = root.mostVisitedChild();
+        return best == null ? null : ACCELERATIONS[best.getAction()].getVector();
+    }
+
+    /**
+     * Gets the number of iterations run by the last search.
+     *
+     * @return The iteration count, about the number of rollouts.
+     */
+    public int getLastIterationCount() {
+        return this.lastIterationCount;
+    }
+
+    private static int indexOf(GameState gameState, Player player) {
+        List<Player> players = gameState.getPlayersView();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Il giocatore non partecipa alla gara: " + player.getName());
+    }
+
+    /**
+     * Counts the moves the player takes to finish when everyone follows the
+     * table, which sets the horizon of the rollouts.
+     */
+    private static int greedyMoves(GameSnapshot start, int ego, PolicyTable policy) {
+        GameSnapshot race = start;
+        int moves = 0;
+        while (!race.hasFinished(ego) && moves < MAX_GREEDY_MOVES) {
+            if (race.getCurrentPlayer() == ego) {
+                moves++;
+            }
+            race = play(race, policyAction(race, policy, null));
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the move of the current player of a race: its table move or, when
+     * the table has none, a move clear of walls. With a random generator, a
+     * random clear move is also played with probability {@link #EPSILON}.
+     */
+    private static int policyAction(GameSnapshot race, PolicyTable policy, SplittableRandom random) {
+        if (random != null && random.nextDouble() < EPSILON) {
+            return randomClearAction(race, random);
+        }
+        int p = race.getCurrentPlayer();
+        int action = policy.getAction(policy.stageFor(race.getTrack(), race.getNextCheckpointIndex(p)),
+                race.getX(p), race.getY(p), race.getVelocityX(p), race.getVelocityY(p));
+        if (action != PolicyTable.NO_ACTION) {
+            return action;
+        }
+        return random != null ? randomClearAction(race, random) : slowestClearAction(race);
+    }
+
+    private static GameSnapshot play(GameSnapshot race, int action) {
+        return race.apply(ACCELERATIONS[action].getVector());
+    }
+
+    private static boolean isClear(GameSnapshot race, int action) {
+        Vector acc = ACCELERATIONS[action].getVector();
+        return race.isClearOfWalls(acc.getDx(), acc.getDy());
+    }
+
+    private static int randomClearAction(GameSnapshot race, SplittableRandom random) {
+        int offset = random.nextInt(ACCELERATIONS.length);
+        for (int i = 0; i < ACCELERATIONS.length; i++) {
+            int action = (offset + i) % ACCELERATIONS.length;
+            if (isClear(race, action)) {
+                return action;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Picks the clear move with the lowest resulting speed, so that a player
+     * off the table slows down until the table covers its state again.
+     */
+    private static int slowestClearAction(GameSnapshot race) {
+        int p = race.getCurrentPlayer();
+        int best = NONE;
+        int bestSpeed = Integer.MAX_VALUE;
+        for (int action = 0; action < ACCELERATIONS.length; action++) {
+            Vector acc = ACCELERATIONS[action].getVector();
+            int speed = Math.max(Math.abs(race.getVelocityX(p) + acc.getDx()),
+                    Math.abs(race.getVelocityY(p) + acc.getDy()));
+            if (speed < bestSpeed && isClear(race, action)) {
+                best = action;
+                bestSpeed = speed;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The state shared by the workers of one search.
+     */
+    private static final class Search {
+        private final int ego;
+        private final PolicyTable policy;
+        private final int horizon;
+
+        Search(int ego, PolicyTable policy, int horizon) {
+            this.ego = ego;
+            this.policy = policy;
+            this.horizon = horizon;
+        }
+
+        /**
+         * Runs one selection, expansion, rollout and backpropagation step.
+         */
+        void iterate(MctsNode root, SplittableRandom random) {
+            MctsNode node = root;
+            node.addVirtualLoss();
+            while (!node.isTerminal()) {
+                int slot = node.claimUntried();
+                if (slot >= 0) {
+                    MctsNode child = expand(node, slot);
+                    node.setChild(slot, child);
+                    child.addVirtualLoss();
+                    node = child;
+                    break;
+                }
+                MctsNode next = node.selectChild(EXPLORATION);
+                if (next == null) {
+                    // Every action is claimed but still being expanded by other workers
+                    break;
+                }
+                next.addVirtualLoss();
+                node = next;
+            }
+
+            double reward = rollout(node, random);
+            for (MctsNode n = node; n != null; n = n.getParent()) {
+                n.update(reward);
+            }
+        }
+
+        private MctsNode expand(MctsNode node, int slot) {
+            int action = node.getAction(slot);
+            GameSnapshot race = play(node.getState(), action);
+            while (!race.hasFinished(this.ego) && race.getCurrentPlayer() != this.ego) {
+                race = play(race, policyAction(race, this.policy, null));
+            }
+            int depth = node.getDepth() + 1;
+            return new MctsNode(node, action, race, depth, actionsFor(race, depth));
+        }
+
+        /**
+         * Lists the accelerations to try from a node: the moves clear of
+         * walls, or standing still if none is; none once the player has
+         * finished or the horizon is reached.
+         */
+        int[] actionsFor(GameSnapshot race, int depth) {
+            if (race.hasFinished(this.ego) || depth >= this.horizon) {
+                return new int[0];
+            }
+            int[] clear = new int[ACCELERATIONS.length];
+            int count = 0;
+            for (int action = 0; action < ACCELERATIONS.length; action++) {
+                if (isClear(race, action)) {
+                    clear[count++] = action;
+                }
+            }
+            return count == 0 ? new int[] {NONE} : Arrays.copyOf(clear, count);
+        }
+
+        private double rollout(MctsNode node, SplittableRandom random) {
+            GameSnapshot race = node.getState();
+            int moves = node.getDepth();
+            if (!race.hasFinished(this.ego)) {
+                while (!race.hasFinished(this.ego) && moves < this.horizon) {
+                    if (race.getCurrentPlayer() == this.ego) {
+                        moves++;
+                    }
+                    race = play(race, policyAction(race, this.policy, random));
+                }
+            }
+            if (!race.hasFinished(this.ego)) {
+                return 0;
+            }
+            double speed = 1.0 - (double) moves / (this.horizon + 1);
+            return SPEED_WEIGHT * speed + (race.getWinner() == this.ego ? WIN_WEIGHT : 0);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+
+/**
+ * A read-only table holding the optimal acceleration of every state of a
+ * track, for every checkpoint stage, as built by {@link PolicyTableBuilder}.
+ * Looking up a move is a single byte read, whatever the size of the track.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>One stage per checkpoint level plus one for the finish line</li>
+ *   <li>4 bits per state: the index of an {@link AccelerationType}, or
+ *       {@link #NO_ACTION} for states that cannot reach the stage goal</li>
+ *   <li>Tables saved to disk are memory-mapped, so processes racing on the
+ *       same circuit share the pages and never rebuild the table</li>
+ *   <li>A header with the track size and {@link Track#fingerprint()} rejects
+ *       tables built for a different circuit</li>
+ * </ul>
+ *
+ * <p>States are packed like the BFS states: {@code ((y * width + x) * 9 + vx + 4) * 9 + vy + 4}
+ * for velocities in {@code [-MAX_SPEED, MAX_SPEED]}. Instances are immutable
+ * and safe to share between threads.
+ */
+public final class PolicyTable {
+    /** The highest absolute velocity component covered by the table. */
+    public static final int MAX_SPEED = 4;
+
+    /** The 4-bit code of states with no path to the goal of their stage. */
+    public static final int NO_ACTION = 0xF;
+
+    /** The extension of policy table files. */
+    public static final String FILE_EXTENSION = ".vrpt";
+
+    static final int MAGIC = 0x56525054; // "VRPT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int VELOCITY_RANGE = 2 * MAX_SPEED + 1;
+    static final int VELOCITY_STATES = VELOCITY_RANGE * VELOCITY_RANGE;
+
+    private static final AccelerationType[] ACCELERATIONS = AccelerationType.values();
+
+    private final ByteBuffer data;
+    private final int width;
+    private final int height;
+    private final int stageCount;
+    private final long trackFingerprint;
+    private final int stageBytes;
+
+    /**
+     * Reads the header of a table and checks that the data matches it.
+     *
+     * @param data The whole table, header included.
+     * @throws IOException if the header is invalid or the data is truncated.
+     */
+    private PolicyTable(ByteBuffer data) throws IOException {
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IOException("Il file non contiene una tabella di policy");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Versione della tabella di policy non supportata: " + data.getInt(4));
+        }
+        this.width = data.getInt(8);
+        this.height = data.getInt(12);
+        int maxSpeed = data.getInt(16);
+        this.stageCount = data.getInt(20);
+        this.trackFingerprint = data.getLong(24);
+        if (maxSpeed != MAX_SPEED || this.width <= 0 || this.height <= 0 || this.stageCount <= 0) {
+            throw new IOException("Intestazione della tabella di policy non valida");
+        }
+        this.stageBytes = stageBytes(this.width, this.height);
+        if ((long) this.stageBytes * this.stageCount + HEADER_BYTES != data.capacity()) {
+            throw new IOException("Dimensione della tabella di policy non valida");
+        }
+        this.data = data;
+    }
+
+    /**
+     * Memory-maps a table saved to disk.
+     *
+     * @param file The table file.
+     * @return The mapped table.
+     * @throws IOException if the file cannot be read or is not a valid table.
+     */
+    public static PolicyTable map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tabella di policy troppo grande: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PolicyTable(buffer);
+        }
+    }
+
+    /**
+     * Wraps a table held in memory, in the same format as the files.
+     *
+     * @param data The whole table, header included.
+     * @return The table.
+     * @throws IOException if the data is not a valid table.
+     */
+    public static PolicyTable wrap(ByteBuffer data) throws IOException {
+        return new PolicyTable(data.asReadOnlyBuffer());
+    }
+
+    /**
+     * Gets the name of the file holding the table of a track, derived from
+     * its fingerprint.
+     *
+     * @param track The track.
+     * @return The file name.
+     */
+    public static String fileName(Track track) {
+        return String.format("policy-%016x%s", track.fingerprint(), FILE_EXTENSION);
+    }
+
+    /**
+     * Checks if this table was built for the given track.
+     *
+     * @param track The track to check.
+     * @return true if the size and fingerprint match, false otherwise.
+     */
+    public boolean matches(Track track) {
+        return track.getWidth() == this.width
+                && track.getHeight() == this.height
+                && track.getCheckpointIndex().getMaxLevel() + 2 == this.stageCount
+                && track.fingerprint() == this.trackFingerprint;
+    }
+
+    /**
+     * Gets the stage matching the next checkpoint of a player, following the
+     * same rule as {@link it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointTargetFinder}:
+     * once no checkpoint of the next level is left, the stage is the finish line.
+     *
+     * @param track The track the table was built for.
+     * @param nextCheckpointIndex The next checkpoint level of the player.
+     * @return The stage index.
+     */
+    public int stageFor(Track track, int nextCheckpointIndex) {
+        CheckpointIndex index = track.getCheckpointIndex();
+        if (nextCheckpointIndex < 0 || nextCheckpointIndex > index.getMaxLevel()
+                || index.getCheckpointCount(nextCheckpointIndex) == 0) {
+            return getFinishStage();
+        }
+        return nextCheckpointIndex;
+    }
+
+    /**
+     * Gets the optimal acceleration for a state.
+     *
+     * @param stage The stage index.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param vx The horizontal velocity.
+     * @param vy The vertical velocity.
+     * @return The acceleration, or null if the state is not covered or cannot
+     *         reach the goal of the stage.
+     */
+    public Vector lookup(int stage, int x, int y, int vx, int vy) {
+        int action = getAction(stage, x, y, vx, vy);
+        return action == NO_ACTION ? null : ACCELERATIONS[action].getVector();
+    }
+
+    /**
+     * Gets the 4-bit action code of a state.
+     *
+     * @param stage The stage index.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param vx The horizontal velocity.
+     * @param vy The vertical velocity.
+     * @return The {@link AccelerationType} ordinal, or {@link #NO_ACTION}.
+     */
+    public int getAction(int stage, int x, int y, int vx, int vy) {
+        if (stage < 0 || stage >= this.stageCount
+                || x < 0 || x >= this.width || y < 0 || y >= this.height
+                || Math.abs(vx) > MAX_SPEED || Math.abs(vy) > MAX_SPEED) {
+            return NO_ACTION;
+        }
+        int state = encode(this.width, x, y, vx, vy);
+        int packed = this.data.get(HEADER_BYTES + stage * this.stageBytes + (state >>> 1));
+        return (state & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+    }
+
+    /**
+     * Gets the number of stages.
+     *
+     * @return The checkpoint levels plus the finish stage.
+     */
+    public int getStageCount() {
+        return this.stageCount;
+    }
+
+    /**
+     * Gets the index of the finish stage.
+     *
+     * @return The last stage index.
+     */
+    public int getFinishStage() {
+        return this.stageCount - 1;
+    }
+
+    /**
+     * Packs a state into its index.
+     *
+     * @param width The width of the track.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param vx The horizontal velocity.
+     * @param vy The vertical velocity.
+     * @return The state index.
+     */
+    static int encode(int width, int x, int y, int vx, int vy) {
+        return ((y * width + x) * VELOCITY_RANGE + vx + MAX_SPEED) * VELOCITY_RANGE + vy + MAX_SPEED;
+    }
+
+    /**
+     * Gets the number of bytes of one stage.
+     *
+     * @param width The width of the track.
+     * @param height The height of the track.
+     * @return Half the number of states, rounded up.
+     */
+    static int stageBytes(int width, int height) {
+        return (width * height * VELOCITY_STATES + 1) >>> 1;
+    }
+}
@@ -0,0 +1,248 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+
+/**
+ * Builds a {@link PolicyTable} with a reverse Breadth-First Search over the
+ * whole state space of a track, once per checkpoint stage.
+ *
+ * <p>For each stage the search starts from every state with a valid move
+ * reaching the stage goal, with the same {@link GoalSet} rules the bots use
+ * online, and walks the move graph backwards one layer at a time. A state is
+ * labelled with the acceleration of the move that first reached it, so
+ * following the table takes the fewest moves to the goal, as
+ * {@link it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSExecutor} would.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Predecessors are enumerated directly: a move with velocity {@code v'}
+ *       ending on {@code p'} always starts from {@code p' - v'}, so one
+ *       validation covers all nine accelerations that lead to it</li>
+ *   <li>Labels and visited flags share the packed 4-bit array of the table</li>
+ *   <li>Tables are written to a temporary file and moved into place, so a
+ *       process mapping the file never sees a partial table</li>
+ * </ul>
+ *
+ * <p>Moves are validated against walls only, like the other searches; the
+ * strategy using the table checks the real move before playing it.
+ */
+public class PolicyTableBuilder {
+    private static final AccelerationType[] ACCELERATIONS = AccelerationType.values();
+    private static final int MAX_SPEED = PolicyTable.MAX_SPEED;
+
+    private final IMoveValidator moveValidator;
+
+    /**
+     * Creates a new builder validating moves with the given validator.
+     *
+     * @param moveValidator The move validator.
+     */
+    public PolicyTableBuilder(IMoveValidator moveValidator) {
+        this.moveValidator = moveValidator;
+    }
+
+    /**
+     * Creates a new builder with the default move validator.
+     */
+    public PolicyTableBuilder() {
+        this(new MovementValidatorAdapter());
+    }
+
+    /**
+     * Builds the table of a track in memory, in the file format.
+     *
+     * @param track The track.
+     * @return The table, header included, positioned at 0.
+     */
+    public ByteBuffer build(Track track) {
+        CheckpointIndex index = track.getCheckpointIndex();
+        int stageCount = index.getMaxLevel() + 2;
+        int stageBytes = PolicyTable.stageBytes(track.getWidth(), track.getHeight());
+        long size = (long) stageBytes * stageCount + PolicyTable.HEADER_BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tracciato troppo grande per una tabella di policy");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(PolicyTable.MAGIC)
+                .putInt(PolicyTable.VERSION)
+                .putInt(track.getWidth())
+                .putInt(track.getHeight())
+                .putInt(MAX_SPEED)
+                .putInt(stageCount)
+                .putLong(track.fingerprint());
+        for (int stage = 0; stage < stageCount; stage++) {
+            GoalSet goal = stage == stageCount - 1 ? index.getFinishGoal() : index.getLevelGoal(stage);
+            buffer.put(buildStage(track, goal));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Builds the table of a track and saves it to a file, replacing any
+     * previous table atomically where the file system allows it.
+     *
+     * @param track The track.
+     * @param file The destination file.
+     * @throws IOException if the table cannot be written.
+     */
+    public void write(Track track, Path file) throws IOException {
+        ByteBuffer table = build(track);
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "policy-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (table.hasRemaining()) {
+                    channel.write(table);
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Labels every state of one stage with its first move toward the goal.
+     *
+     * @param track The track.
+     * @param goal The goal of the stage.
+     * @return The packed 4-bit actions of the stage.
+     */
+    byte[] buildStage(Track track, GoalSet goal) {
+        int width = track.getWidth();
+        int height = track.getHeight();
+        int stateCount = width * height * PolicyTable.VELOCITY_STATES;
+        byte[] actions = new byte[PolicyTable.stageBytes(width, height)];
+        Arrays.fill(actions, (byte) 0xFF);
+        if (goal.isEmpty()) {
+            return actions;
+        }
+
+        int[] queue = new int[stateCount];
+        int tail = seedGoalMoves(track, goal, actions, queue);
+        for (int head = 0; head < tail; head++) {
+            int state = queue[head];
+            int cell = state / PolicyTable.VELOCITY_STATES;
+            int vx = (state / PolicyTable.VELOCITY_RANGE) % PolicyTable.VELOCITY_RANGE - MAX_SPEED;
+            int vy = state % PolicyTable.VELOCITY_RANGE - MAX_SPEED;
+            int x = cell % width - vx;
+            int y = cell / width - vy;
+            if (!track.isWithinBounds(x, y) || !track.isPassable(x, y)
+                    || !this.moveValidator.validateTempMove(x, y, vx, vy, track)) {
+                continue;
+            }
+
+            for (int i = 0; i < ACCELERATIONS.length; i++) {
+                Vector acc = ACCELERATIONS[i].getVector();
+                int prevVx = vx - acc.getDx();
+                int prevVy = vy - acc.getDy();
+                if (Math.abs(prevVx) > MAX_SPEED || Math.abs(prevVy) > MAX_SPEED) {
+                    continue;
+                }
+                int previous = PolicyTable.encode(width, x, y, prevVx, prevVy);
+                if (getAction(actions, previous) == PolicyTable.NO_ACTION) {
+                    setAction(actions, previous, i);
+                    queue[tail++] = previous;
+                }
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Labels the states with a valid move reaching the goal, which form the
+     * first layer of the reverse search.
+     *
+     * @param track The track.
+     * @param goal The goal of the stage.
+     * @param actions The packed actions to fill.
+     * @param queue The queue receiving the labelled states.
+     * @return The number of states added to the queue.
+     */
+    private int seedGoalMoves(Track track, GoalSet goal, byte[] actions, int[] queue) {
+        int width = track.getWidth();
+        int tail = 0;
+        for (int y = 0; y < track.getHeight(); y++) {
+            for (int x = 0; x < width; x++) {
+                if (!track.isPassable(x, y)) {
+                    continue;
+                }
+                for (int vx = -MAX_SPEED; vx <= MAX_SPEED; vx++) {
+                    for (int vy = -MAX_SPEED; vy <= MAX_SPEED; vy++) {
+                        int action = firstGoalMove(track, goal, x, y, vx, vy);
+                        if (action != PolicyTable.NO_ACTION) {
+                            int state = PolicyTable.encode(width, x, y, vx, vy);
+                            setAction(actions, state, action);
+                            queue[tail++] = state;
+                        }
+                    }
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Finds the first acceleration, in {@link AccelerationType} order, whose
+     * move reaches the goal from a state.
+     *
+     * @param track The track.
+     * @param goal The goal of the stage.
+     * @param x The x coordinate of the state.
+     * @param y The y coordinate of the state.
+     * @param vx The horizontal velocity of the state.
+     * @param vy The vertical velocity of the state.
+     * @return The acceleration index, or {@link PolicyTable#NO_ACTION} if none does.
+     */
+    private int firstGoalMove(Track track, GoalSet goal, int x, int y, int vx, int vy) {
+        for (int i = 0; i < ACCELERATIONS.length; i++) {
+            Vector acc = ACCELERATIONS[i].getVector();
+            int newVx = vx + acc.getDx();
+            int newVy = vy + acc.getDy();
+            if (Math.abs(newVx) > MAX_SPEED || Math.abs(newVy) > MAX_SPEED) {
+                continue;
+            }
+            if (goal.isReachedBy(x, y, x + newVx, y + newVy)
+                    && this.moveValidator.validateTempMove(x, y, newVx, newVy, track)) {
+                return i;
+            }
+        }
+        return PolicyTable.NO_ACTION;
+    }
+
+    private static int getAction(byte[] actions, int state) {
+        int packed = actions[state >>> 1];
+        return (state & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+    }
+
+    private static void setAction(byte[] actions, int state, int action) {
+        int i = state >>> 1;
+        if ((state & 1) == 0) {
+            actions[i] = (byte) ((actions[i] & 0xF0) | action);
+        } else {
+            actions[i] = (byte) ((actions[i] & 0x0F) | (action << 4));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+
+/**
+ * Finds the policy table of a track in a directory, building and saving it
+ * the first time a track is met.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>One file per circuit, named after {@link Track#fingerprint()}</li>
+ *   <li>Files that are stale or built for another circuit are rebuilt</li>
+ *   <li>Files are written to a temporary file and moved into place, so other
+ *       processes never map a partly written table</li>
+ *   <li>Tables already loaded in this process are shared by every store and
+ *       bot, and a table requested by several threads at once is built once</li>
+ *   <li>If the directory cannot be written the table is kept in memory only,
+ *       so a read-only installation still gets a working policy</li>
+ * </ul>
+ */
+public class PolicyTableStore {
+    /** The system property that overrides the default directory. */
+    public static final String DIRECTORY_PROPERTY = "vectorrace.policies";
+
+    // Keyed by the absolute path of the table file, which names the circuit
+    private static final ConcurrentMap<Path, FutureTask<PolicyTable>> LOADED = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final PolicyTableBuilder builder;
+
+    /**
+     * Creates a new store over the given directory.
+     *
+     * @param directory The directory holding the table files.
+     * @param builder The builder used for tracks without a table.
+     */
+    public PolicyTableStore(Path directory, PolicyTableBuilder builder) {
+        this.directory = directory;
+        this.builder = builder;
+    }
+
+    /**
+     * Creates a new store over the {@link #defaultDirectory() default directory}.
+     */
+    public PolicyTableStore() {
+        this(defaultDirectory(), new PolicyTableBuilder());
+    }
+
+    /**
+     * Gets the directory used when none is given: the value of the
+     * {@value #DIRECTORY_PROPERTY} system property if set, otherwise
+     * {@code .vectorrace/policies} in the home directory of the user, so the
+     * cache does not depend on the working directory.
+     *
+     * @return The default directory of the table files.
+     */
+    public static Path defaultDirectory() {
+        String configured = System.getProperty(DIRECTORY_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".vectorrace", "policies");
+    }
+
+    /**
+     * Gets the table of a track, reusing the one already loaded in this
+     * process or else mapping its file, building it first if needed.
+     *
+     * @param track The track.
+     * @return The policy table of the track.
+     * @throws UncheckedIOException if the table can neither be read nor built in memory.
+     */
+    public PolicyTable load(Track track) {
+        Path file = getFile(track).toAbsolutePath().normalize();
+        FutureTask<PolicyTable> task = LOADED.get(file);
+        if (task == null) {
+            FutureTask<PolicyTable> created = new FutureTask<>(() -> this.mapOrBuild(track, file));
+            task = LOADED.putIfAbsent(file, created);
+            if (task == null) {
+                task = created;
+                created.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            LOADED.remove(file, task);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Caricamento della tabella di policy interrotto", e);
+        }
+    }
+
+    private PolicyTable mapOrBuild(Track track, Path file) {
+        if (Files.isRegularFile(file)) {
+            try {
+                PolicyTable table = PolicyTable.map(file);
+                if (table.matches(track)) {
+                    return table;
+                }
+            } catch (IOException e) {
+                // Corrupted or outdated file: rebuilt below
+            }
+        }
+
+        try {
+            this.builder.write(track, file);
+            return PolicyTable.map(file);
+        } catch (IOException e) {
+            try {
+                return PolicyTable.wrap(this.builder.build(track));
+            } catch (IOException invalid) {
+                throw new UncheckedIOException(invalid);
+            }
+        }
+    }
+
+    /**
+     * Gets the file holding the table of a track.
+     *
+     * @param track The track.
+     * @return The path of the table file, which may not exist yet.
+     */
+    public Path getFile(Track track) {
+        return this.directory.resolve(PolicyTable.fileName(track));
+    }
+}
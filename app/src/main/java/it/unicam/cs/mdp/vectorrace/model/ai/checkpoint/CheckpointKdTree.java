@@ -0,0 +1,143 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+
+/**
+ * An immutable 2-d tree over a set of checkpoint positions, answering
+ * nearest-neighbour queries by straight-line distance in logarithmic time
+ * on average.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Points stored in packed {@code int} arrays laid out as an implicit
+ *       balanced tree (median of each sub-range)</li>
+ *   <li>Exact integer squared distances, no {@code Math.sqrt}</li>
+ *   <li>Ties broken by the iteration order of the source set, so the result is
+ *       the same as a linear scan keeping the first minimum</li>
+ * </ul>
+ */
+public class CheckpointKdTree {
+    private final Position[] points;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] ranks;
+
+    private long bestDistance;
+    private int bestRank;
+    private int bestSlot;
+
+    /**
+     * Builds the tree over the given positions.
+     *
+     * @param checkpoints The positions to index; their iteration order defines the tie-break.
+     */
+    public CheckpointKdTree(Set<Position> checkpoints) {
+        int n = checkpoints.size();
+        Position[] source = checkpoints.toArray(new Position[0]);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        build(source, order, 0, n, 0);
+
+        this.points = new Position[n];
+        this.xs = new int[n];
+        this.ys = new int[n];
+        this.ranks = new int[n];
+        for (int slot = 0; slot < n; slot++) {
+            int rank = order[slot];
+            this.points[slot] = source[rank];
+            this.xs[slot] = source[rank].getX();
+            this.ys[slot] = source[rank].getY();
+            this.ranks[slot] = rank;
+        }
+    }
+
+    /**
+     * Gets the number of indexed positions.
+     *
+     * @return The size of the tree.
+     */
+    public int size() {
+        return this.points.length;
+    }
+
+    /**
+     * Finds the indexed position nearest to the given cell.
+     * This method is not thread-safe, since the search state is kept in fields
+     * to avoid allocations.
+     *
+     * @param x The x coordinate of the query cell.
+     * @param y The y coordinate of the query cell.
+     * @return The nearest position, or null if the tree is empty.
+     */
+    public Position nearest(int x, int y) {
+        if (this.points.length == 0) {
+            return null;
+        }
+        this.bestDistance = Long.MAX_VALUE;
+        this.bestRank = Integer.MAX_VALUE;
+        this.bestSlot = -1;
+        search(x, y, 0, this.points.length, 0);
+        return this.points[this.bestSlot];
+    }
+
+    /**
+     * Visits the sub-tree stored in {@code [from, to)}, descending first on the
+     * side of the query and pruning the other side when its splitting line is
+     * strictly farther than the best distance found.
+     */
+    private void search(int x, int y, int from, int to, int axis) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        long dx = this.xs[mid] - x;
+        long dy = this.ys[mid] - y;
+        long distance = dx * dx + dy * dy;
+        if (distance < this.bestDistance || (distance == this.bestDistance && this.ranks[mid] < this.bestRank)) {
+            this.bestDistance = distance;
+            this.bestRank = this.ranks[mid];
+            this.bestSlot = mid;
+        }
+
+        long diff = axis == 0 ? x - this.xs[mid] : y - this.ys[mid];
+        boolean goLeft = diff <= 0;
+        int nextAxis = axis ^ 1;
+        if (goLeft) {
+            search(x, y, from, mid, nextAxis);
+        } else {
+            search(x, y, mid + 1, to, nextAxis);
+        }
+        // Equal distances must still be explored to apply the tie-break
+        if (diff * diff <= this.bestDistance) {
+            if (goLeft) {
+                search(x, y, mid + 1, to, nextAxis);
+            } else {
+                search(x, y, from, mid, nextAxis);
+            }
+        }
+    }
+
+    /**
+     * Arranges {@code order[from, to)} so that the median by the current axis
+     * sits in the middle slot, with smaller coordinates on its left and greater
+     * or equal ones on its right, then recurses on both halves.
+     */
+    private static void build(Position[] source, Integer[] order, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        Arrays.sort(order, from, to, (a, b) -> {
+            int ca = axis == 0 ? source[a].getX() : source[a].getY();
+            int cb = axis == 0 ? source[b].getX() : source[b].getY();
+            return ca != cb ? Integer.compare(ca, cb) : Integer.compare(a, b);
+        });
+        int mid = (from + to) >>> 1;
+        build(source, order, from, mid, axis ^ 1);
+        build(source, order, mid + 1, to, axis ^ 1);
+    }
+}
@@ -3,11 +3,10 @@ package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bresenham.BresenhamPathCalculator;
 import it.unicam.cs.mdp.vectorrace.model.ai.services.DefaultReservationService;
 import it.unicam.cs.mdp.vectorrace.model.ai.services.IReservationService;
-import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
-import java.util.List;
 
 /**
  * Manages checkpoint control and validation in the Vector Race game.
@@ -67,50 +66,26 @@ public class CheckpointManager {
      * @param track The game track.
      */
     public void checkCrossedCheckpoints(Player player, Position oldPos, Position newPos, Track track) {
-        List<Position> path = pathCalculator.calculatePath(oldPos, newPos);
-        processCheckpointsAlongPath(player, path, track);
-    }
-
-    /**
-     * Processes checkpoints along the player's path.
-     *
-     * @param player The player moving along the path.
-     * @param path The list of positions representing the path.
-     * @param track The game track.
-     */
-    private void processCheckpointsAlongPath(Player player, List<Position> path, Track track) {
-        for (Position currentPos : path) {
-            if (isCheckpoint(currentPos, track)) {
-                processCheckpoint(player, currentPos, track);
+        CheckpointIndex checkpointIndex = track.getCheckpointIndex();
+        pathCalculator.traverse(oldPos, newPos, (x, y) -> {
+            int level = checkpointIndex.getLevel(x, y);
+            if (level >= 0 && level == player.getNextCheckpointIndex()) {
+                processCheckpoint(player, new Position(x, y));
             }
-        }
+            return true;
+        });
     }
 
     /**
-     * Checks if a position contains a checkpoint.
-     *
-     * @param position The position to check.
-     * @param track The game track.
-     * @return true if the position is a checkpoint, false otherwise.
-     */
-    private boolean isCheckpoint(Position position, Track track) {
-        return track.getCell(position.getX(), position.getY()) == CellType.CHECKPOINT;
-    }
-
-    /**
-     * Processes a single checkpoint for a player.
+     * Records that a player has crossed its next checkpoint.
      *
      * @param player The player crossing the checkpoint.
      * @param checkpoint The checkpoint position.
-     * @param track The game track.
      */
-    private void processCheckpoint(Player player, Position checkpoint, Track track) {
-        int checkpointNum = track.getCheckpointNumber(checkpoint);
-        if (checkpointNum == player.getNextCheckpointIndex()) {
-            checkpointTracker.markCheckpointAsPassed(player.getName(), checkpoint);
-            player.incrementCheckpointIndex();
-            reservationService.removeReservation(checkpoint, player.getName());
-        }
+    private void processCheckpoint(Player player, Position checkpoint) {
+        checkpointTracker.markCheckpointAsPassed(player.getName(), checkpoint);
+        player.incrementCheckpointIndex();
+        reservationService.removeReservation(checkpoint, player.getName());
     }
 
     /**
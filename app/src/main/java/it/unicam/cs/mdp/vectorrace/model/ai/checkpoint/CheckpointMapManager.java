@@ -1,12 +1,9 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
-import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 
@@ -18,61 +15,33 @@ import it.unicam.cs.mdp.vectorrace.model.core.Track;
  * <p>Key features:
  * <ul>
  *   <li>Organizes checkpoints by level for efficient access</li>
- *   <li>Scans the track to identify and store checkpoint positions</li>
+ *   <li>Reads checkpoint positions from the track's shared {@link CheckpointIndex},
+ *       so initializing again for the same track costs nothing</li>
  *   <li>Provides access to checkpoints at a specific level</li>
  * </ul>
  */
 public class CheckpointMapManager implements ICheckpointMap {
 
-    private final Map<Integer, Set<Position>> checkpointsByLevel;
+    private CheckpointIndex checkpointIndex;
 
     /**
      * Creates a new CheckpointMapManager.
-     * Initializes the map to store checkpoints organized by level.
+     * The manager is empty until it is initialized with a track.
      */
     public CheckpointMapManager() {
-        this.checkpointsByLevel = new HashMap<>();
+        this.checkpointIndex = null;
     }
 
     @Override
     public void initialize(Track track) {
-        checkpointsByLevel.clear();
-        scanTrackForCheckpoints(track);
+        checkpointIndex = track.getCheckpointIndex();
     }
 
     @Override
     public Set<Position> getCheckpoints(int level) {
-        return checkpointsByLevel.getOrDefault(level, Collections.emptySet());
-    }
-
-    /**
-     * Scans the track to identify all checkpoint positions and organizes them by level.
-     * This method iterates through each cell on the track and adds checkpoint
-     * positions to the map, using the checkpoint number as the level.
-     *
-     * @param track The track to scan for checkpoints.
-     */
-    private void scanTrackForCheckpoints(Track track) {
-        for (int y = 0; y < track.getHeight(); y++) {
-            for (int x = 0; x < track.getWidth(); x++) {
-                if (track.getCell(x, y) == CellType.CHECKPOINT) {
-                    addCheckpoint(track, x, y);
-                }
-            }
+        if (checkpointIndex == null) {
+            return Collections.emptySet();
         }
+        return checkpointIndex.getCheckpoints(level);
     }
-
-    /**
-     * Adds a checkpoint to the map, organizing it by level.
-     *
-     * @param track The track containing the checkpoint.
-     * @param x The x-coordinate of the checkpoint.
-     * @param y The y-coordinate of the checkpoint.
-     */
-    private void addCheckpoint(Track track, int x, int y) {
-        Position position = new Position(x, y);
-        int checkpointNumber = track.getCheckpointNumber(position);
-        checkpointsByLevel.computeIfAbsent(checkpointNumber, k -> new HashSet<>())
-                .add(position);
-    }
-}
\ No newline at end of file
+}
@@ -6,6 +6,8 @@ import java.util.Set;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.services.FinishCellLocator;
 import it.unicam.cs.mdp.vectorrace.model.ai.services.IFinishLocator;
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
@@ -60,7 +62,7 @@ public class CheckpointTargetFinder {
     public CheckpointTargetFinder() {
         this(new CheckpointMapManager(),
                 new FinishCellLocator(),
-                new NearestCheckpointStrategy());
+                new IndexedNearestCheckpointStrategy());
     }
 
     /**
@@ -86,10 +88,31 @@ public class CheckpointTargetFinder {
         Set<Position> availableCheckpoints = checkpointMap.getCheckpoints(currentCheckpointIndex);
 
         // Select the appropriate checkpoint
-        Position target = selectTarget(player, availableCheckpoints);
+        Position target = selectTarget(player, availableCheckpoints, track);
         return target != null ? target : finishLocator.locateFinish(track);
     }
 
+    /**
+     * Finds the goal matching the next target of the player: crossing any cell
+     * of the current checkpoint level, or ending on any finish cell once all
+     * checkpoints have been passed.
+     *
+     * @param player The player for whom to find the goal.
+     * @param gameState The current game state.
+     * @return The goal set of the next target.
+     */
+    public GoalSet findNextGoal(Player player, GameState gameState) {
+        Track track = gameState.getTrack();
+        int currentCheckpointIndex = player.getNextCheckpointIndex();
+        checkpointMap.initialize(track);
+
+        CheckpointIndex index = track.getCheckpointIndex();
+        if (shouldTargetFinish(currentCheckpointIndex, track)) {
+            return index.getFinishGoal();
+        }
+        return index.getLevelGoal(currentCheckpointIndex);
+    }
+
     /**
      * Determines if the player should target the finish line.
      *
@@ -107,9 +130,10 @@ public class CheckpointTargetFinder {
      *
      * @param player The player for whom to select the target.
      * @param availableCheckpoints The set of available checkpoints.
+     * @param track The game track.
      * @return The selected target position.
      */
-    private Position selectTarget(Player player, Set<Position> availableCheckpoints) {
+    private Position selectTarget(Player player, Set<Position> availableCheckpoints, Track track) {
         // Check if the current target is still valid
         Position currentTarget = playerTargets.get(player.getName());
         if (currentTarget != null && availableCheckpoints.contains(currentTarget)) {
@@ -119,7 +143,8 @@ public class CheckpointTargetFinder {
         // Select a new target using the configured strategy
         Position newTarget = checkpointStrategy.selectCheckpoint(
                 availableCheckpoints,
-                player.getPosition());
+                player.getPosition(),
+                track);
 
         // Store and return the new target
         if (newTarget != null) {
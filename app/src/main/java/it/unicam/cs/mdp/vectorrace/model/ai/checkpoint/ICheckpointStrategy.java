@@ -2,6 +2,7 @@ package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
 
 import java.util.Set;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
 
 /**
  * Defines the strategy for selecting the most appropriate checkpoint
@@ -26,4 +27,18 @@ public interface ICheckpointStrategy {
      * @return The selected checkpoint, or null if no checkpoint is available.
      */
     Position selectCheckpoint(Set<Position> checkpoints, Position currentPosition);
-}
\ No newline at end of file
+
+    /**
+     * Selects the most appropriate checkpoint, with access to the track the
+     * checkpoints belong to. Strategies that need the track layout (for example
+     * to account for walls) override this method; the default ignores the track.
+     *
+     * @param checkpoints The set of available checkpoints.
+     * @param currentPosition The current position from which to calculate the selection.
+     * @param track The track the checkpoints belong to.
+     * @return The selected checkpoint, or null if no checkpoint is available.
+     */
+    default Position selectCheckpoint(Set<Position> checkpoints, Position currentPosition, Track track) {
+        return selectCheckpoint(checkpoints, currentPosition);
+    }
+}
@@ -0,0 +1,63 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+
+/**
+ * Implements the {@link ICheckpointStrategy} interface by answering nearest
+ * checkpoint queries through a {@link CheckpointKdTree} built once per set of
+ * checkpoints, instead of scanning the whole set on every turn.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Logarithmic nearest queries on average, with integer distances</li>
+ *   <li>Trees cached by set identity, so the per-level sets shared by the
+ *       track's checkpoint index are indexed only once</li>
+ *   <li>Same selection as {@link NearestCheckpointStrategy}, ties included</li>
+ * </ul>
+ *
+ * <p>This class is not thread-safe; each AI player owns its own instance.
+ */
+public class IndexedNearestCheckpointStrategy implements ICheckpointStrategy {
+    private static final int MAX_CACHED_TREES = 64;
+
+    private final Map<Set<Position>, CheckpointKdTree> trees;
+
+    /**
+     * Creates a new strategy with an empty tree cache.
+     */
+    public IndexedNearestCheckpointStrategy() {
+        this.trees = new IdentityHashMap<>();
+    }
+
+    @Override
+    public Position selectCheckpoint(Set<Position> checkpoints, Position currentPosition) {
+        if (checkpoints == null || checkpoints.isEmpty() || currentPosition == null) {
+            return null;
+        }
+        return treeFor(checkpoints).nearest(currentPosition.getX(), currentPosition.getY());
+    }
+
+    /**
+     * Gets the tree indexing the given set, building it on first use.
+     * The cache is dropped when it grows too large, which only happens when
+     * callers pass freshly built sets instead of the shared per-level ones.
+     *
+     * @param checkpoints The set of checkpoints to index.
+     * @return The tree over the set.
+     */
+    CheckpointKdTree treeFor(Set<Position> checkpoints) {
+        CheckpointKdTree tree = this.trees.get(checkpoints);
+        if (tree == null || tree.size() != checkpoints.size()) {
+            if (this.trees.size() >= MAX_CACHED_TREES) {
+                this.trees.clear();
+            }
+            tree = new CheckpointKdTree(checkpoints);
+            this.trees.put(checkpoints, tree);
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,164 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+
+/**
+ * Implements the {@link ICheckpointStrategy} interface by selecting the checkpoint
+ * nearest by travel distance over passable cells, so that a checkpoint just
+ * behind a wall is not preferred to a farther one that can actually be reached.
+ *
+ * <p>For each set of checkpoints a multi-source breadth-first search over the
+ * 8-connected passable cells labels every cell with the checkpoint that reaches
+ * it first. The labelling is computed once and then each query is a single
+ * array lookup.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Constant-time queries after a one-off linear precomputation per level</li>
+ *   <li>Labels cached by set identity and track, like the trees of
+ *       {@link IndexedNearestCheckpointStrategy}</li>
+ *   <li>Falls back to straight-line distance when no track is given or the
+ *       current cell cannot reach any checkpoint</li>
+ * </ul>
+ *
+ * <p>This class is not thread-safe; each AI player owns its own instance.
+ */
+public class TravelDistanceCheckpointStrategy implements ICheckpointStrategy {
+    private static final int MAX_CACHED_LABELS = 16;
+    private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    private final IndexedNearestCheckpointStrategy fallback;
+    private final Map<Set<Position>, Labels> labelCache;
+
+    /**
+     * Creates a new strategy with empty caches.
+     */
+    public TravelDistanceCheckpointStrategy() {
+        this.fallback = new IndexedNearestCheckpointStrategy();
+        this.labelCache = new IdentityHashMap<>();
+    }
+
+    @Override
+    public Position selectCheckpoint(Set<Position> checkpoints, Position currentPosition) {
+        return this.fallback.selectCheckpoint(checkpoints, currentPosition);
+    }
+
+    @Override
+    public Position selectCheckpoint(Set<Position> checkpoints, Position currentPosition, Track track) {
+        if (checkpoints == null || checkpoints.isEmpty() || currentPosition == null) {
+            return null;
+        }
+        if (track == null || !track.isWithinBounds(currentPosition.getX(), currentPosition.getY())) {
+            return this.fallback.selectCheckpoint(checkpoints, currentPosition);
+        }
+        Labels labels = labelsFor(checkpoints, track);
+        int owner = labels.owner[track.index(currentPosition.getX(), currentPosition.getY())];
+        return owner >= 0
+                ? labels.sources[owner]
+                : this.fallback.selectCheckpoint(checkpoints, currentPosition);
+    }
+
+    /**
+     * Gets the labelling for the given set on the given track, computing it on first use.
+     *
+     * @param checkpoints The set of checkpoints.
+     * @param track The track the checkpoints belong to.
+     * @return The labelling of the track cells.
+     */
+    private Labels labelsFor(Set<Position> checkpoints, Track track) {
+        Labels labels = this.labelCache.get(checkpoints);
+        if (labels == null || labels.track != track || labels.sources.length != checkpoints.size()) {
+            if (this.labelCache.size() >= MAX_CACHED_LABELS) {
+                this.labelCache.clear();
+            }
+            labels = computeLabels(checkpoints, track);
+            this.labelCache.put(checkpoints, labels);
+        }
+        return labels;
+    }
+
+    /**
+     * Runs the multi-source search. Sources are enqueued in the iteration order
+     * of the set, so among checkpoints at the same travel distance the first one
+     * in that order wins, as in the straight-line strategies.
+     *
+     * @param checkpoints The set of checkpoints used as sources.
+     * @param track The track to explore.
+     * @return The labelling of the track cells, -1 for unreachable cells.
+     */
+    static Labels computeLabels(Set<Position> checkpoints, Track track) {
+        Position[] sources = checkpoints.toArray(new Position[0]);
+        int width = track.getWidth();
+        int height = track.getHeight();
+        int[] owner = new int[width * height];
+        Arrays.fill(owner, -1);
+        int[] queue = new int[owner.length];
+        int head = 0;
+        int tail = 0;
+
+        for (int rank = 0; rank < sources.length; rank++) {
+            Position source = sources[rank];
+            if (!track.isWithinBounds(source.getX(), source.getY())) {
+                continue;
+            }
+            int cell = track.index(source.getX(), source.getY());
+            if (owner[cell] < 0 && track.isPassableIndex(cell)) {
+                owner[cell] = rank;
+                queue[tail++] = cell;
+            }
+        }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = track.indexX(cell);
+            int y = track.indexY(cell);
+            for (int d = 0; d < DX.length; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (!track.isWithinBounds(nx, ny)) {
+                    continue;
+                }
+                int next = track.index(nx, ny);
+                if (owner[next] < 0 && track.isPassableIndex(next)) {
+                    owner[next] = owner[cell];
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return new Labels(track, sources, owner);
+    }
+
+    /**
+     * The result of a labelling: for each cell, the rank of the checkpoint
+     * that reaches it first.
+     */
+    static final class Labels {
+        private final Track track;
+        private final Position[] sources;
+        private final int[] owner;
+
+        private Labels(Track track, Position[] sources, int[] owner) {
+            this.track = track;
+            this.sources = sources;
+            this.owner = owner;
+        }
+
+        /**
+         * Gets the checkpoint that owns the given cell index.
+         *
+         * @param cell The cell index.
+         * @return The owning checkpoint, or null if the cell is unreachable.
+         */
+        Position ownerOf(int cell) {
+            int rank = this.owner[cell];
+            return rank >= 0 ? this.sources[rank] : null;
+        }
+    }
+}
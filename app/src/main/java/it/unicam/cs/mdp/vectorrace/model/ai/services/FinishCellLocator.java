@@ -1,6 +1,7 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.services;
 
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 
@@ -9,20 +10,14 @@ import it.unicam.cs.mdp.vectorrace.model.core.Track;
  * This class is responsible for locating the finish line cell on the track
  * for the Vector Race game.
  *
- * <p>The locator scans the entire track grid to find a cell marked as
- * the finish line ({@link CellType#FINISH}).
+ * <p>The locator returns the first cell marked as the finish line
+ * ({@link CellType#FINISH}) in row-major order, as recorded by the
+ * track's {@link CheckpointIndex}.
  */
 public class FinishCellLocator implements IFinishLocator {
     
     @Override
     public Position locateFinish(Track track) {
-        for (int y = 0; y < track.getHeight(); y++) {
-            for (int x = 0; x < track.getWidth(); x++) {
-                if (track.getCell(x, y) == CellType.FINISH) {
-                    return new Position(x, y);
-                }
-            }
-        }
-        return null;
+        return track.getCheckpointIndex().getFirstFinish();
     }
-}
\ No newline at end of file
+}
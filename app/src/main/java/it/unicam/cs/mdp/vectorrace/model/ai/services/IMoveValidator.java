@@ -32,6 +32,23 @@ public interface IMoveValidator {
      */
     boolean validateTempMove(Position start, Vector velocity, Track track);
 
+    /**
+     * Validates a temporary move given as raw coordinates.
+     * Search engines working on packed states call this variant to avoid
+     * allocating positions and vectors; the default implementation delegates
+     * to {@link #validateTempMove(Position, Vector, Track)}.
+     *
+     * @param x The x coordinate of the starting position.
+     * @param y The y coordinate of the starting position.
+     * @param vx The horizontal velocity component.
+     * @param vy The vertical velocity component.
+     * @param track The game track.
+     * @return true if the move is valid for pathfinding, false otherwise.
+     */
+    default boolean validateTempMove(int x, int y, int vx, int vy, Track track) {
+        return validateTempMove(new Position(x, y), new Vector(vx, vy), track);
+    }
+
     /**
      * Validates a real move made by a player.
      * This method performs a complete validation of the move, considering
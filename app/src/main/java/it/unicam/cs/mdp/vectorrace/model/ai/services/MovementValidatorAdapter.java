@@ -35,6 +35,11 @@ public class MovementValidatorAdapter implements IMoveValidator {
         return movementManager.validateMoveTemp(start, velocity, track);
     }
 
+    @Override
+    public boolean validateTempMove(int x, int y, int vx, int vy, Track track) {
+        return movementManager.validateMoveTemp(x, y, vx, vy, track);
+    }
+
     @Override
     public boolean validateRealMove(Player player, Vector acceleration, GameState gameState) {
         return movementManager.validateMove(player, acceleration, gameState);
@@ -0,0 +1,143 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.state;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Stores the full action sequence found by a search so that bots can follow it
+ * over several turns instead of searching again from scratch every turn.
+ * Plans are kept per player and are keyed by the target they lead to and by the
+ * state (position and velocity) the player is expected to be in at each step.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Steps along a stored plan as long as the player's actual state matches it</li>
+ *   <li>Drops the plan as soon as the target changes or the player leaves the plan</li>
+ *   <li>Explicit invalidation for collisions and velocity resets</li>
+ * </ul>
+ *
+ * <p>Since tracks never change during a race, a plan that was wall-free when it
+ * was computed remains wall-free; moves taken from the cache must still be
+ * validated against the other players before being played.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class PlanCache {
+    private final Map<String, Plan> plans = new HashMap<>();
+
+    /**
+     * Gets the next acceleration of the stored plan for the player, if the plan
+     * leads to the given target and the player is in the expected state.
+     * The returned step is consumed; a mismatching plan is discarded.
+     *
+     * @param player The player following the plan.
+     * @param target The target the player is heading to.
+     * @return The planned acceleration, or null if no usable plan exists.
+     */
+    public Vector nextAcceleration(Player player, Position target) {
+        Plan plan = this.plans.get(player.getName());
+        if (plan == null) {
+            return null;
+        }
+        if (!plan.matches(target, player.getPosition(), player.getVelocity())) {
+            this.plans.remove(player.getName());
+            return null;
+        }
+        return plan.advance();
+    }
+
+    /**
+     * Stores a freshly computed plan for the player.
+     * The first acceleration is considered played in the current turn, so the
+     * next lookup expects the state reached after applying it.
+     *
+     * @param player The player the plan was computed for, in its current state.
+     * @param target The target the plan leads to.
+     * @param accelerations The full sequence of accelerations to the target.
+     */
+    public void store(Player player, Position target, List<Vector> accelerations) {
+        if (accelerations == null || accelerations.isEmpty()) {
+            this.plans.remove(player.getName());
+            return;
+        }
+        Plan plan = new Plan(target, player.getPosition(), player.getVelocity(), accelerations);
+        plan.advance();
+        this.plans.put(player.getName(), plan);
+    }
+
+    /**
+     * Discards the plan stored for the player, if any.
+     *
+     * @param player The player whose plan must be discarded.
+     */
+    public void invalidate(Player player) {
+        this.plans.remove(player.getName());
+    }
+
+    /**
+     * Checks whether a plan is currently stored for the player.
+     *
+     * @param player The player to check.
+     * @return true if a plan is stored, false otherwise.
+     */
+    public boolean hasPlan(Player player) {
+        return this.plans.containsKey(player.getName());
+    }
+
+    /**
+     * A stored action sequence together with the states it visits.
+     * State {@code i} is the state in which acceleration {@code i} must be applied.
+     */
+    private static final class Plan {
+        private final Position target;
+        private final int[] x;
+        private final int[] y;
+        private final int[] vx;
+        private final int[] vy;
+        private final Vector[] accelerations;
+        private int cursor;
+
+        Plan(Position target, Position start, Vector velocity, List<Vector> steps) {
+            int length = steps.size();
+            this.target = target;
+            this.x = new int[length];
+            this.y = new int[length];
+            this.vx = new int[length];
+            this.vy = new int[length];
+            this.accelerations = steps.toArray(new Vector[0]);
+
+            int px = start.getX();
+            int py = start.getY();
+            int pvx = velocity.getDx();
+            int pvy = velocity.getDy();
+            for (int i = 0; i < length; i++) {
+                this.x[i] = px;
+                this.y[i] = py;
+                this.vx[i] = pvx;
+                this.vy[i] = pvy;
+                pvx += this.accelerations[i].getDx();
+                pvy += this.accelerations[i].getDy();
+                px += pvx;
+                py += pvy;
+            }
+        }
+
+        boolean matches(Position currentTarget, Position position, Vector velocity) {
+            return this.cursor < this.accelerations.length
+                    && this.target.equals(currentTarget)
+                    && this.x[this.cursor] == position.getX()
+                    && this.y[this.cursor] == position.getY()
+                    && this.vx[this.cursor] == velocity.getDx()
+                    && this.vy[this.cursor] == velocity.getDy();
+        }
+
+        Vector advance() {
+            return this.accelerations[this.cursor++];
+        }
+    }
+}
@@ -28,4 +28,14 @@ public interface AIStrategy {
      * @return The acceleration vector chosen by the AI strategy.
      */
     Vector getNextAcceleration(Player player, GameState gameState);
+
+    /**
+     * Notifies the strategy that the player's state was reset outside its
+     * control, for example by a collision, so that any stored plan is dropped.
+     * The default implementation does nothing.
+     *
+     * @param player The player whose plan must be discarded.
+     */
+    default void invalidatePlan(Player player) {
+    }
 }
\ No newline at end of file
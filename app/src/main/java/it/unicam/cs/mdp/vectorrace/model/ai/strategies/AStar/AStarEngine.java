@@ -0,0 +1,19 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar;
+
+/**
+ * Enumerates the A* search engines available to {@link PureAStarStrategy}.
+ * Both engines explore the same states in the same order and therefore choose
+ * the same moves; they differ only in how the search bookkeeping is stored.
+ */
+public enum AStarEngine {
+    /**
+     * Packs search states into {@code int} ids and keeps costs, parents and
+     * closed flags in reusable primitive arrays.
+     */
+    PRIMITIVE,
+
+    /**
+     * Uses the original object-based search built on {@code AStarNode} instances.
+     */
+    OBJECT
+}
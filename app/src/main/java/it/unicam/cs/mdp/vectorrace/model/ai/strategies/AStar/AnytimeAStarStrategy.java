@@ -0,0 +1,80 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.AnytimeAStarPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.DistanceFieldHeuristic;
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointTargetFinder;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.IPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Implements a time-budgeted A* strategy for bot player movement.
+ * Unlike {@link PureAStarStrategy}, which stands still when its search hits the
+ * expansion limit, this strategy always plays the first move of the best path
+ * found within its budget, so every turn takes a bounded amount of time.
+ *
+ * <p>Key components:
+ * <ul>
+ *   <li>{@link AnytimeAStarPathFinder} - Runs weighted A* passes with a decreasing weight</li>
+ *   <li>{@link DistanceFieldHeuristic} - Provides wall-aware heuristic estimates for path cost</li>
+ *   <li>{@link CheckpointTargetFinder} - Determines the next target position</li>
+ * </ul>
+ */
+public class AnytimeAStarStrategy implements AIStrategy {
+    private final IPathFinder pathFinder;
+    private final CheckpointTargetFinder targetFinder;
+
+    /**
+     * Creates a new AnytimeAStarStrategy with the default budget per move.
+     */
+    public AnytimeAStarStrategy() {
+        this(AnytimeAStarPathFinder.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a new AnytimeAStarStrategy with the given budget per move.
+     *
+     * @param budgetMillis The wall-clock budget per move, in milliseconds.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public AnytimeAStarStrategy(long budgetMillis) {
+        this(new AnytimeAStarPathFinder(
+                        new DistanceFieldHeuristic(),
+                        new MovementManager(),
+                        budgetMillis),
+                new CheckpointTargetFinder());
+    }
+
+    /**
+     * Creates a new AnytimeAStarStrategy with custom path finder and target finder.
+     *
+     * @param pathFinder The pathfinding algorithm to use.
+     * @param targetFinder The component for finding the next target position.
+     */
+    public AnytimeAStarStrategy(IPathFinder pathFinder, CheckpointTargetFinder targetFinder) {
+        this.pathFinder = pathFinder;
+        this.targetFinder = targetFinder;
+    }
+
+    @Override
+    public Vector getNextAcceleration(Player player, GameState gameState) {
+        Position target = targetFinder.findNextTarget(player, gameState);
+        if (target == null) {
+            return new Vector(0, 0);
+        }
+
+        // Any cell of the target's checkpoint line ends the search, not just the target
+        GoalSet goal = targetFinder.findNextGoal(player, gameState);
+        return pathFinder.findPath(player, gameState, target, goal);
+    }
+
+    @Override
+    public void invalidatePlan(Player player) {
+        pathFinder.invalidatePlan(player);
+    }
+}
@@ -2,10 +2,13 @@ package it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.AStarPathFinder;
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.ChebyshevHeuristic;
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointManager;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.DistanceFieldHeuristic;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.IHeuristicCalculator;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.PrimitiveAStarPathFinder;
 import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointTargetFinder;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.IPathFinder;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
@@ -19,8 +22,8 @@ import it.unicam.cs.mdp.vectorrace.model.players.Player;
  *
  * <p>Key components:
  * <ul>
- *   <li>{@link AStarPathFinder} - Executes the A* search algorithm</li>
- *   <li>{@link ChebyshevHeuristic} - Provides heuristic estimates for path cost</li>
+ *   <li>{@link PrimitiveAStarPathFinder} or {@link AStarPathFinder} - Executes the A* search algorithm</li>
+ *   <li>{@link DistanceFieldHeuristic} - Provides wall-aware heuristic estimates for path cost</li>
  *   <li>{@link CheckpointTargetFinder} - Determines the next target position</li>
  * </ul>
  *
@@ -35,17 +38,43 @@ public class PureAStarStrategy implements AIStrategy {
      * Creates a new PureAStarStrategy.
      * Initializes all necessary dependencies with default implementations:
      * <ul>
-     *   <li>Chebyshev Heuristic for heuristic estimates</li>
+     *   <li>Primitive A* engine for the search</li>
+     *   <li>Distance Field Heuristic for heuristic estimates</li>
      *   <li>Movement Manager for move validation</li>
-     *   <li>Checkpoint Manager for tracking checkpoints</li>
      * </ul>
      */
     public PureAStarStrategy() {
+        this(AStarEngine.PRIMITIVE);
+    }
+
+    /**
+     * Creates a new PureAStarStrategy backed by the given A* engine and guided
+     * by a {@link DistanceFieldHeuristic}.
+     *
+     * @param engine The A* engine to use for the search.
+     * @throws IllegalArgumentException if the engine is null.
+     */
+    public PureAStarStrategy(AStarEngine engine) {
+        this(engine, new DistanceFieldHeuristic());
+    }
+
+    /**
+     * Creates a new PureAStarStrategy backed by the given A* engine and heuristic,
+     * for example a {@link ChebyshevHeuristic}, which ignores walls.
+     *
+     * @param engine The A* engine to use for the search.
+     * @param heuristic The heuristic guiding the search.
+     * @throws IllegalArgumentException if the engine or the heuristic is null.
+     */
+    public PureAStarStrategy(AStarEngine engine, IHeuristicCalculator heuristic) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Il motore A* non può essere null");
+        }
+        if (heuristic == null) {
+            throw new IllegalArgumentException("L'euristica non può essere null");
+        }
         this.targetFinder = new CheckpointTargetFinder();
-        this.pathFinder = new AStarPathFinder(
-                new ChebyshevHeuristic(),
-                new MovementManager(),
-                new CheckpointManager());
+        this.pathFinder = createPathFinder(engine, heuristic);
     }
 
     /**
@@ -61,6 +90,27 @@ public class PureAStarStrategy implements AIStrategy {
         this.targetFinder = targetFinder;
     }
 
+    /**
+     * Creates the path finder for the given engine with default dependencies.
+     *
+     * @param engine The A* engine to instantiate.
+     * @param heuristic The heuristic guiding the search.
+     * @return The path finder implementing the engine.
+     */
+    private static IPathFinder createPathFinder(AStarEngine engine, IHeuristicCalculator heuristic) {
+        switch (engine) {
+            case OBJECT:
+                return new AStarPathFinder(
+                        heuristic,
+                        new MovementManager());
+            case PRIMITIVE:
+            default:
+                return new PrimitiveAStarPathFinder(
+                        heuristic,
+                        new MovementManager());
+        }
+    }
+
     @Override
     public Vector getNextAcceleration(Player player, GameState gameState) {
         Position target = targetFinder.findNextTarget(player, gameState);
@@ -68,6 +118,13 @@ public class PureAStarStrategy implements AIStrategy {
             return new Vector(0, 0);
         }
 
-        return pathFinder.findPath(player, gameState, target);
+        // Any cell of the target's checkpoint line ends the search, not just the target
+        GoalSet goal = targetFinder.findNextGoal(player, gameState);
+        return pathFinder.findPath(player, gameState, target, goal);
+    }
+
+    @Override
+    public void invalidatePlan(Player player) {
+        pathFinder.invalidatePlan(player);
     }
 }
@@ -1,5 +1,6 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.strategies;
 
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
@@ -28,4 +29,31 @@ public interface IPathFinder {
      * @return The acceleration vector to apply.
      */
     Vector findPath(Player player, GameState gameState, Position target);
+
+    /**
+     * Finds the next acceleration vector to reach any cell of a goal set, such
+     * as a whole checkpoint line. The target still guides the heuristic and
+     * identifies the plan, while the goal decides when the search stops.
+     * The default implementation ignores the goal and searches for the target.
+     *
+     * @param player The current player.
+     * @param gameState The current game state.
+     * @param target The representative target position of the goal.
+     * @param goal The set of cells whose crossing ends the search, or null for the target only.
+     * @return The acceleration vector to apply.
+     */
+    default Vector findPath(Player player, GameState gameState, Position target, GoalSet goal) {
+        return findPath(player, gameState, target);
+    }
+
+    /**
+     * Discards any plan the path finder keeps for the player, forcing a new
+     * search on the next call. Called when the player's state changes outside
+     * the plan, for example after a collision. The default implementation does
+     * nothing.
+     *
+     * @param player The player whose plan must be discarded.
+     */
+    default void invalidatePlan(Player player) {
+    }
 }
\ No newline at end of file
@@ -2,10 +2,10 @@ package it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSExecutor;
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSSearchResult;
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointManager;
 import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointTargetFinder;
 import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
 import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
@@ -22,7 +22,7 @@ import it.unicam.cs.mdp.vectorrace.model.players.Player;
  *   <li>{@link BFSExecutor} - Executes the BFS algorithm</li>
  *   <li>{@link IMoveValidator} - Validates potential moves</li>
  *   <li>{@link CheckpointTargetFinder} - Determines the next target position</li>
- *   <li>{@link CheckpointManager} - Manages checkpoint progression</li>
+ *   <li>{@link PlanCache} - Reuses the path found by previous searches</li>
  * </ul>
  *
  * <p>The BFS strategy guarantees the shortest path in terms of moves,
@@ -33,7 +33,7 @@ public class BFSStrategy implements AIStrategy {
     private final BFSExecutor bfsExecutor;
     private final IMoveValidator moveValidator;
     private final CheckpointTargetFinder targetFinder;
-    private final CheckpointManager checkpointManager;
+    private final PlanCache planCache;
 
     /**
      * Creates a new BFSStrategy with dependency injection for all components.
@@ -43,16 +43,30 @@ public class BFSStrategy implements AIStrategy {
      * @param bfsExecutor The BFS algorithm executor.
      * @param moveValidator The move validator.
      * @param targetFinder The checkpoint target finder.
-     * @param checkpointManager The checkpoint manager.
+     */
+    public BFSStrategy(BFSExecutor bfsExecutor,
+            IMoveValidator moveValidator,
+            CheckpointTargetFinder targetFinder) {
+        this(bfsExecutor, moveValidator, targetFinder, new PlanCache());
+    }
+
+    /**
+     * Creates a new BFSStrategy with dependency injection for all components,
+     * including the plan cache.
+     *
+     * @param bfsExecutor The BFS algorithm executor.
+     * @param moveValidator The move validator.
+     * @param targetFinder The checkpoint target finder.
+     * @param planCache The cache storing the paths found by previous searches.
      */
     public BFSStrategy(BFSExecutor bfsExecutor,
             IMoveValidator moveValidator,
             CheckpointTargetFinder targetFinder,
-            CheckpointManager checkpointManager) {
+            PlanCache planCache) {
         this.bfsExecutor = bfsExecutor;
         this.moveValidator = moveValidator;
         this.targetFinder = targetFinder;
-        this.checkpointManager = checkpointManager;
+        this.planCache = planCache;
     }
 
     /**
@@ -64,7 +78,7 @@ public class BFSStrategy implements AIStrategy {
         this.moveValidator = new MovementValidatorAdapter();
         this.bfsExecutor = new BFSExecutor(moveValidator);
         this.targetFinder = new CheckpointTargetFinder();
-        this.checkpointManager = new CheckpointManager();
+        this.planCache = new PlanCache();
     }
 
     @Override
@@ -74,10 +88,23 @@ public class BFSStrategy implements AIStrategy {
             return Vector.ZERO;
         }
 
+        Vector planned = planCache.nextAcceleration(player, target);
+        if (planned != null) {
+            if (validateFinalMove(player, planned, gameState)) {
+                return planned;
+            }
+            planCache.invalidate(player);
+        }
+
         Vector acceleration = calculateAcceleration(player, target, gameState);
         return processCalculatedAcceleration(player, acceleration, gameState);
     }
 
+    @Override
+    public void invalidatePlan(Player player) {
+        planCache.invalidate(player);
+    }
+
     /**
      * Finds the next target position for the player.
      * Delegates the task to the {@link CheckpointTargetFinder}.
@@ -92,8 +119,9 @@ public class BFSStrategy implements AIStrategy {
 
     /**
      * Calculates the acceleration vector to reach the target position.
-     * Executes the BFS algorithm to find the shortest path and determines
-     * the next acceleration vector.
+     * Executes the BFS algorithm to find the shortest path to the whole goal
+     * line of the target, stores it in the plan cache and determines the next
+     * acceleration vector.
      *
      * @param player The player for whom to calculate the acceleration.
      * @param target The target position.
@@ -105,14 +133,20 @@ public class BFSStrategy implements AIStrategy {
                 player.getPosition(),
                 player.getVelocity(),
                 target,
+                targetFinder.findNextGoal(player, gameState),
                 gameState.getTrack());
 
-        return result.isFound() ? result.getNextAcceleration() : Vector.ZERO;
+        if (!result.isFound()) {
+            return Vector.ZERO;
+        }
+        planCache.store(player, target, result.getPlan());
+        return result.getNextAcceleration();
     }
 
     /**
      * Processes the calculated acceleration vector.
-     * Validates the final move and updates checkpoint status.
+     * Validates the final move and updates checkpoint status, discarding the
+     * stored plan when the move is rejected.
      *
      * @param player The player for whom the acceleration was calculated.
      * @param acceleration The calculated acceleration vector.
@@ -120,36 +154,23 @@ public class BFSStrategy implements AIStrategy {
      * @return The validated acceleration vector, or Vector.ZERO if invalid.
      */
     private Vector processCalculatedAcceleration(Player player, Vector acceleration, GameState gameState) {
-        return validateFinalMove(player, acceleration, player.getPosition(), gameState)
-                ? acceleration
-                : Vector.ZERO;
+        if (validateFinalMove(player, acceleration, gameState)) {
+            return acceleration;
+        }
+        planCache.invalidate(player);
+        return Vector.ZERO;
     }
 
     /**
-     * Validates the final move and updates crossed checkpoints.
-     * Checks if the final move is valid and updates the checkpoint manager
-     * to mark any crossed checkpoints.
+     * Validates the final move. The checkpoints it crosses are credited by
+     * the game once the move is played.
      *
      * @param player The player making the move.
      * @param acceleration The acceleration vector for the move.
-     * @param startPosition The starting position of the move.
      * @param gameState The current game state.
      * @return true if the move is valid, false otherwise.
      */
-    private boolean validateFinalMove(Player player, Vector acceleration,
-            Position startPosition, GameState gameState) {
-        Vector finalVelocity = player.getVelocity().add(acceleration);
-        Position finalPosition = player.getPosition().move(finalVelocity);
-
-        if (moveValidator.validateRealMove(player, acceleration, gameState)) {
-            checkpointManager.checkCrossedCheckpoints(
-                    player,
-                    startPosition,
-                    finalPosition,
-                    gameState.getTrack());
-            return true;
-        }
-
-        return false;
+    private boolean validateFinalMove(Player player, Vector acceleration, GameState gameState) {
+        return moveValidator.validateRealMove(player, acceleration, gameState);
     }
 }
@@ -0,0 +1,138 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.strategies.mcts;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.mcts.MctsSearch;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTable;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTableStore;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.policy.PolicyStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Implements a strategy that plans against the opponents with a Monte-Carlo
+ * tree search, instead of planning for the bot alone like the path-finding
+ * strategies, which lose turns to cells occupied by other players.
+ *
+ * <p>Key components:
+ * <ul>
+ *   <li>{@link MctsSearch} - Runs the time-budgeted parallel search over the joint race</li>
+ *   <li>{@link PolicyTableStore} - Provides the table followed by every player in rollouts</li>
+ *   <li>{@link IMoveValidator} - Checks the chosen move against walls and players</li>
+ *   <li>A fallback strategy, {@link PolicyStrategy} by default, used when the
+ *       search has no valid move</li>
+ * </ul>
+ */
+public class MctsStrategy implements AIStrategy {
+    private final MctsSearch search;
+    private final PolicyTableStore tableStore;
+    private final IMoveValidator moveValidator;
+    private final AIStrategy fallback;
+    private Track tableTrack;
+    private PolicyTable table;
+
+    /**
+     * Creates a new MctsStrategy with dependency injection for all components.
+     *
+     * @param search The tree search.
+     * @param tableStore The store providing the table of each track.
+     * @param moveValidator The move validator.
+     * @param fallback The strategy used when the search has no valid move.
+     */
+    public MctsStrategy(MctsSearch search,
+            PolicyTableStore tableStore,
+            IMoveValidator moveValidator,
+            AIStrategy fallback) {
+        this.search = search;
+        this.tableStore = tableStore;
+        this.moveValidator = moveValidator;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a new MctsStrategy with the given budget per move and rollout seed.
+     * The search and the fallback {@link PolicyStrategy} share one table store.
+     *
+     * @param budgetMillis The wall-clock budget per move, in milliseconds.
+     * @param seed The seed of the rollout randomness.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public MctsStrategy(long budgetMillis, long seed) {
+        this(new MctsSearch(budgetMillis, seed), new PolicyTableStore());
+    }
+
+    /**
+     * Creates a new MctsStrategy with the given budget per move, for a game
+     * without a seed.
+     *
+     * @param budgetMillis The wall-clock budget per move, in milliseconds.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public MctsStrategy(long budgetMillis) {
+        this(new MctsSearch(budgetMillis), new PolicyTableStore());
+    }
+
+    /**
+     * Creates a new MctsStrategy with the default budget per move.
+     */
+    public MctsStrategy() {
+        this(MctsSearch.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a new MctsStrategy whose fallback maps its table through the
+     * same store as the search, so the table of a track is loaded once.
+     *
+     * @param search The tree search.
+     * @param tableStore The store shared by the search and the fallback.
+     */
+    private MctsStrategy(MctsSearch search, PolicyTableStore tableStore) {
+        this(search, tableStore, new MovementValidatorAdapter(),
+                new PolicyStrategy(tableStore, new MovementValidatorAdapter(), new BFSStrategy()));
+    }
+
+    @Override
+    public Vector getNextAcceleration(Player player, GameState gameState) {
+        Vector acceleration = this.search.search(gameState, player, tableFor(gameState.getTrack()));
+        if (acceleration != null && validateFinalMove(player, acceleration, gameState)) {
+            return acceleration;
+        }
+        return this.fallback.getNextAcceleration(player, gameState);
+    }
+
+    @Override
+    public void invalidatePlan(Player player) {
+        this.fallback.invalidatePlan(player);
+    }
+
+    /**
+     * Gets the table of a track, loading it only when the track changes.
+     *
+     * @param track The current track.
+     * @return The policy table of the track.
+     */
+    private PolicyTable tableFor(Track track) {
+        if (track != this.tableTrack) {
+            this.table = this.tableStore.load(track);
+            this.tableTrack = track;
+        }
+        return this.table;
+    }
+
+    /**
+     * Validates the final move. The checkpoints it crosses are credited by
+     * the game once the move is played.
+     *
+     * @param player The player making the move.
+     * @param acceleration The acceleration vector for the move.
+     * @param gameState The current game state.
+     * @return true if the move is valid, false otherwise.
+     */
+    private boolean validateFinalMove(Player player, Vector acceleration, GameState gameState) {
+        return this.moveValidator.validateRealMove(player, acceleration, gameState);
+    }
+}
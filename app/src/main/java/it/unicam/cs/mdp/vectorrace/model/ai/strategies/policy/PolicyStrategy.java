@@ -0,0 +1,107 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.strategies.policy;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTable;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTableStore;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Implements a strategy that plays moves read from a precomputed
+ * {@link PolicyTable}, so each move costs a table lookup instead of a search.
+ *
+ * <p>Key components:
+ * <ul>
+ *   <li>{@link PolicyTableStore} - Maps the table of the track, building it once if missing</li>
+ *   <li>{@link IMoveValidator} - Checks the looked-up move against the other players</li>
+ *   <li>A fallback strategy, {@link BFSStrategy} by default, for states the
+ *       table does not cover or moves blocked by another player</li>
+ * </ul>
+ *
+ * <p>The table gives the same number of moves as a BFS toward the whole
+ * checkpoint line of each stage.
+ */
+public class PolicyStrategy implements AIStrategy {
+    private final PolicyTableStore tableStore;
+    private final IMoveValidator moveValidator;
+    private final AIStrategy fallback;
+    private Track tableTrack;
+    private PolicyTable table;
+
+    /**
+     * Creates a new PolicyStrategy with dependency injection for all components.
+     *
+     * @param tableStore The store providing the table of each track.
+     * @param moveValidator The move validator.
+     * @param fallback The strategy used when the table has no valid move.
+     */
+    public PolicyStrategy(PolicyTableStore tableStore,
+            IMoveValidator moveValidator,
+            AIStrategy fallback) {
+        this.tableStore = tableStore;
+        this.moveValidator = moveValidator;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a default PolicyStrategy, keeping its tables in
+     * {@link PolicyTableStore#defaultDirectory()} and falling back to BFS.
+     */
+    public PolicyStrategy() {
+        this(new PolicyTableStore(), new MovementValidatorAdapter(), new BFSStrategy());
+    }
+
+    @Override
+    public Vector getNextAcceleration(Player player, GameState gameState) {
+        Track track = gameState.getTrack();
+        PolicyTable policy = tableFor(track);
+        Position position = player.getPosition();
+        Vector velocity = player.getVelocity();
+
+        int stage = policy.stageFor(track, player.getNextCheckpointIndex());
+        Vector acceleration = policy.lookup(stage, position.getX(), position.getY(),
+                velocity.getDx(), velocity.getDy());
+        if (acceleration != null && validateFinalMove(player, acceleration, gameState)) {
+            return acceleration;
+        }
+        return this.fallback.getNextAcceleration(player, gameState);
+    }
+
+    @Override
+    public void invalidatePlan(Player player) {
+        this.fallback.invalidatePlan(player);
+    }
+
+    /**
+     * Gets the table of a track, loading it only when the track changes.
+     *
+     * @param track The current track.
+     * @return The policy table of the track.
+     */
+    private PolicyTable tableFor(Track track) {
+        if (track != this.tableTrack) {
+            this.table = this.tableStore.load(track);
+            this.tableTrack = track;
+        }
+        return this.table;
+    }
+
+    /**
+     * Validates the final move. The checkpoints it crosses are credited by
+     * the game once the move is played.
+     *
+     * @param player The player making the move.
+     * @param acceleration The acceleration vector for the move.
+     * @param gameState The current game state.
+     * @return true if the move is valid, false otherwise.
+     */
+    private boolean validateFinalMove(Player player, Vector acceleration, GameState gameState) {
+        return this.moveValidator.validateRealMove(player, acceleration, gameState);
+    }
+}
@@ -0,0 +1,19 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+/**
+ * Receives the cells of a segment, in order, from {@link SegmentTraversal}.
+ * Returning {@code false} stops the traversal, which allows callers to
+ * exit at the first wall or occupied cell without building a list of positions.
+ */
+@FunctionalInterface
+public interface CellVisitor {
+
+    /**
+     * Visits a cell of the segment.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return true to continue with the next cell, false to stop the traversal.
+     */
+    boolean visit(int x, int y);
+}
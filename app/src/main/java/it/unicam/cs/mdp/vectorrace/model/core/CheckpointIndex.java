@@ -0,0 +1,266 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+
+/**
+ * An immutable index of the checkpoint and finish cells of a {@link Track}.
+ * The index is built once per track, so that bots no longer rescan the whole
+ * grid every turn to find their next target.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Checkpoint cells grouped by level in one packed {@code int[]} of linear
+ *       cell indices, with per-level offsets</li>
+ *   <li>A per-cell level table for constant-time lookups</li>
+ *   <li>The highest checkpoint level and the finish cells</li>
+ *   <li>Cached read-only position sets for callers working with {@link Position}</li>
+ *   <li>One {@link GoalSet} per level and one for the finish line, for searches
+ *       that aim at a whole checkpoint line instead of a single cell</li>
+ * </ul>
+ *
+ * <p>Cells are listed in row-major order within each level. The index only
+ * describes the layout: whether a checkpoint has been reached is still kept in
+ * the track's checkpoint data.
+ */
+public final class CheckpointIndex {
+    private static final int NO_LEVEL = -1;
+
+    private final int width;
+    private final int height;
+    private final int maxLevel;
+    private final int[] levels;
+    private final int[] levelOffsets;
+    private final int[] checkpointCells;
+    private final PriorityData[] checkpointData;
+    private final int[] finishCells;
+    private final List<Set<Position>> checkpointSets;
+    private final List<Position> finishPositions;
+    private final GoalSet[] levelGoals;
+    private final GoalSet finishGoal;
+
+    /**
+     * Builds the index of a track.
+     *
+     * @param track The track to index.
+     * @param checkpointData The checkpoint data of the track, used for the levels.
+     */
+    CheckpointIndex(Track track, Map<Position, PriorityData> checkpointData) {
+        this.width = track.getWidth();
+        this.height = track.getHeight();
+        int cellCount = this.width * this.height;
+
+        int max = 0;
+        for (PriorityData data : checkpointData.values()) {
+            max = Math.max(max, data.getCheckpointNumber());
+        }
+        this.maxLevel = max;
+
+        this.levels = new int[cellCount];
+        Arrays.fill(this.levels, NO_LEVEL);
+        int[] counts = new int[max + 1];
+        int finishCount = 0;
+        for (int index = 0; index < cellCount; index++) {
+            CellType cell = track.getCellIndex(index);
+            if (cell == CellType.FINISH) {
+                finishCount++;
+            } else if (cell == CellType.CHECKPOINT) {
+                PriorityData data = checkpointData.get(new Position(track.indexX(index), track.indexY(index)));
+                if (data != null && data.getCheckpointNumber() >= 0) {
+                    this.levels[index] = data.getCheckpointNumber();
+                    counts[data.getCheckpointNumber()]++;
+                }
+            }
+        }
+
+        this.levelOffsets = new int[max + 2];
+        for (int level = 0; level <= max; level++) {
+            this.levelOffsets[level + 1] = this.levelOffsets[level] + counts[level];
+        }
+        this.checkpointCells = new int[this.levelOffsets[max + 1]];
+        this.checkpointData = new PriorityData[this.checkpointCells.length];
+        this.finishCells = new int[finishCount];
+        int[] next = Arrays.copyOf(this.levelOffsets, max + 1);
+        int finishNext = 0;
+        for (int index = 0; index < cellCount; index++) {
+            if (this.levels[index] != NO_LEVEL) {
+                int slot = next[this.levels[index]]++;
+                this.checkpointCells[slot] = index;
+                this.checkpointData[slot] = checkpointData.get(toPosition(index));
+            } else if (track.getCellIndex(index) == CellType.FINISH) {
+                this.finishCells[finishNext++] = index;
+            }
+        }
+
+        this.checkpointSets = new ArrayList<>(max + 1);
+        for (int level = 0; level <= max; level++) {
+            Set<Position> positions = new HashSet<>();
+            for (int i = this.levelOffsets[level]; i < this.levelOffsets[level + 1]; i++) {
+                positions.add(toPosition(this.checkpointCells[i]));
+            }
+            this.checkpointSets.add(Collections.unmodifiableSet(positions));
+        }
+        List<Position> finishes = new ArrayList<>(finishCount);
+        for (int cell : this.finishCells) {
+            finishes.add(toPosition(cell));
+        }
+        this.finishPositions = Collections.unmodifiableList(finishes);
+
+        this.levelGoals = new GoalSet[max + 1];
+        for (int level = 0; level <= max; level++) {
+            int[] cells = Arrays.copyOfRange(this.checkpointCells, this.levelOffsets[level], this.levelOffsets[level + 1]);
+            this.levelGoals[level] = new GoalSet(this.width, this.height, cells, true);
+        }
+        this.finishGoal = new GoalSet(this.width, this.height, this.finishCells, false);
+    }
+
+    /**
+     * Gets the highest checkpoint level of the track.
+     *
+     * @return The maximum checkpoint number, 0 if the track has no checkpoints.
+     */
+    public int getMaxLevel() {
+        return this.maxLevel;
+    }
+
+    /**
+     * Gets the checkpoint level of a cell.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return The checkpoint number, or -1 if the cell is not a checkpoint or is out of bounds.
+     */
+    public int getLevel(int x, int y) {
+        if (x < 0 || x >= this.width || y < 0 || y >= this.height) {
+            return NO_LEVEL;
+        }
+        return this.levels[y * this.width + x];
+    }
+
+    /**
+     * Gets the number of checkpoint cells of a level.
+     *
+     * @param level The checkpoint level.
+     * @return The number of cells, 0 for unknown levels.
+     */
+    public int getCheckpointCount(int level) {
+        if (level < 0 || level > this.maxLevel) {
+            return 0;
+        }
+        return this.levelOffsets[level + 1] - this.levelOffsets[level];
+    }
+
+    /**
+     * Gets the linear index of the i-th checkpoint cell of a level, in row-major order.
+     *
+     * @param level The checkpoint level.
+     * @param i The position of the cell within the level, in {@code [0, getCheckpointCount(level))}.
+     * @return The linear index {@code y * width + x} of the cell.
+     * @throws IndexOutOfBoundsException if i is outside the level.
+     */
+    public int getCheckpointCell(int level, int i) {
+        return this.checkpointCells[this.levelOffsets[level] + Objects.checkIndex(i, getCheckpointCount(level))];
+    }
+
+    /**
+     * Gets the checkpoint data of the i-th checkpoint cell of a level, the same
+     * instance the track keeps, so that its reached flag can be read without
+     * looking the cell up by position.
+     *
+     * @param level The checkpoint level.
+     * @param i The position of the cell within the level, in {@code [0, getCheckpointCount(level))}.
+     * @return The checkpoint data of the cell.
+     * @throws IndexOutOfBoundsException if i is outside the level.
+     */
+    PriorityData getCheckpointData(int level, int i) {
+        return this.checkpointData[this.levelOffsets[level] + Objects.checkIndex(i, getCheckpointCount(level))];
+    }
+
+    /**
+     * Gets the checkpoint positions of a level.
+     *
+     * @param level The checkpoint level.
+     * @return A read-only set of positions, empty for unknown levels.
+     */
+    public Set<Position> getCheckpoints(int level) {
+        if (level < 0 || level > this.maxLevel) {
+            return Collections.emptySet();
+        }
+        return this.checkpointSets.get(level);
+    }
+
+    /**
+     * Gets the number of finish cells.
+     *
+     * @return The number of finish cells.
+     */
+    public int getFinishCount() {
+        return this.finishCells.length;
+    }
+
+    /**
+     * Gets the linear index of the i-th finish cell, in row-major order.
+     *
+     * @param i The position of the cell, in {@code [0, getFinishCount())}.
+     * @return The linear index {@code y * width + x} of the cell.
+     */
+    public int getFinishCell(int i) {
+        return this.finishCells[i];
+    }
+
+    /**
+     * Gets the finish positions in row-major order.
+     *
+     * @return A read-only list of finish positions.
+     */
+    public List<Position> getFinishPositions() {
+        return this.finishPositions;
+    }
+
+    /**
+     * Gets the first finish position in row-major order.
+     *
+     * @return The first finish position, or null if the track has none.
+     */
+    public Position getFirstFinish() {
+        return this.finishPositions.isEmpty() ? null : this.finishPositions.get(0);
+    }
+
+    /**
+     * Gets the goal of crossing any cell of a checkpoint level.
+     * The goal is swept, so a move reaches it when its path crosses the level,
+     * exactly as the game counts a checkpoint as passed.
+     *
+     * @param level The checkpoint level.
+     * @return The goal set of the level, empty for unknown levels.
+     */
+    public GoalSet getLevelGoal(int level) {
+        if (level < 0 || level > this.maxLevel) {
+            return new GoalSet(this.width, this.height, new int[0], true);
+        }
+        return this.levelGoals[level];
+    }
+
+    /**
+     * Gets the goal of ending a move on any finish cell.
+     * The goal is not swept, since the game only declares a winner when the
+     * move ends on the finish line.
+     *
+     * @return The goal set of the finish line.
+     */
+    public GoalSet getFinishGoal() {
+        return this.finishGoal;
+    }
+
+    private Position toPosition(int index) {
+        return new Position(index % this.width, index / this.width);
+    }
+}
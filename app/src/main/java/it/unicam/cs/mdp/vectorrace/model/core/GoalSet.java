@@ -0,0 +1,129 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+import java.util.Collection;
+
+/**
+ * An immutable set of goal cells for a search, stored as a bitmap over the
+ * linear cell indices of a track, together with the rule deciding when a move
+ * reaches it.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Constant-time membership tests with no allocation</li>
+ *   <li>Swept goals, reached when any cell crossed by the move belongs to the
+ *       set, matching how checkpoints are passed during the game</li>
+ *   <li>Endpoint goals, reached only when the move ends on a goal cell,
+ *       matching how the finish line is detected</li>
+ * </ul>
+ *
+ * <p>Swept goals use {@link SegmentRule#SUPERCOVER}, the same rule used by
+ * {@link it.unicam.cs.mdp.vectorrace.model.game.MoveRules} to credit
+ * crossed checkpoints.
+ */
+public final class GoalSet {
+    private final int width;
+    private final int height;
+    private final long[] cells;
+    private final int size;
+    private final boolean swept;
+
+    /**
+     * Creates a goal set over the given linear cell indices.
+     *
+     * @param width The width of the track.
+     * @param height The height of the track.
+     * @param cellIndices The linear indices of the goal cells.
+     * @param swept Whether crossing a goal cell is enough, rather than ending on it.
+     */
+    GoalSet(int width, int height, int[] cellIndices, boolean swept) {
+        this.width = width;
+        this.height = height;
+        this.cells = new long[(width * height + 63) >>> 6];
+        int count = 0;
+        for (int index : cellIndices) {
+            long bit = 1L << index;
+            if ((this.cells[index >>> 6] & bit) == 0) {
+                this.cells[index >>> 6] |= bit;
+                count++;
+            }
+        }
+        this.size = count;
+        this.swept = swept;
+    }
+
+    /**
+     * Creates a goal set over the given positions of a track.
+     * Positions outside the track are ignored.
+     *
+     * @param track The track the goal belongs to.
+     * @param positions The goal cells.
+     * @param swept Whether crossing a goal cell is enough, rather than ending on it.
+     * @return The goal set.
+     */
+    public static GoalSet of(Track track, Collection<Position> positions, boolean swept) {
+        int[] indices = positions.stream()
+                .filter(p -> track.isWithinBounds(p.getX(), p.getY()))
+                .mapToInt(p -> track.index(p.getX(), p.getY()))
+                .toArray();
+        return new GoalSet(track.getWidth(), track.getHeight(), indices, swept);
+    }
+
+    /**
+     * Checks if a cell belongs to the goal.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return true if the cell is a goal cell, false otherwise or if it is outside the track.
+     */
+    public boolean contains(int x, int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return false;
+        }
+        int index = y * this.width + x;
+        return (this.cells[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks if a move reaches the goal. Swept goals test every cell crossed
+     * by the move, start included; endpoint goals only test the final cell.
+     *
+     * @param startX The x coordinate where the move starts.
+     * @param startY The y coordinate where the move starts.
+     * @param endX The x coordinate where the move ends.
+     * @param endY The y coordinate where the move ends.
+     * @return true if the move reaches the goal, false otherwise.
+     */
+    public boolean isReachedBy(int startX, int startY, int endX, int endY) {
+        if (!this.swept) {
+            return contains(endX, endY);
+        }
+        return !SegmentTraversal.traverseSupercover(startX, startY, endX, endY, (x, y) -> !contains(x, y));
+    }
+
+    /**
+     * Checks if this goal is reached by crossing it rather than by ending on it.
+     *
+     * @return true for swept goals, false for endpoint goals.
+     */
+    public boolean isSwept() {
+        return this.swept;
+    }
+
+    /**
+     * Gets the number of goal cells.
+     *
+     * @return The size of the set.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if the goal has no cells and can therefore never be reached.
+     *
+     * @return true if the set is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
@@ -0,0 +1,100 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+/**
+ * Precomputed index of wall-free moves for a {@link Track}.
+ * For every cell of the track and every velocity whose components lie in
+ * {@code [-MAX_SPEED, MAX_SPEED]}, the table stores one bit telling whether the
+ * segment from the cell to the cell plus the velocity is clear of walls,
+ * walking the segment with {@link #WALL_RULE} and skipping the starting cell.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Built once per track, since tracks never change during a race</li>
+ *   <li>121 bits per cell packed into two {@code long} words</li>
+ *   <li>Each covered move answered with a single bit lookup</li>
+ * </ul>
+ *
+ * <p>Queries outside the covered range (start cell out of bounds or velocity
+ * faster than {@link #MAX_SPEED}) are not answered by the table; callers check
+ * {@link #covers(int, int, int, int)} first and walk the segment otherwise.
+ */
+public class MoveLegalityTable {
+    /** The highest absolute velocity component covered by the table. */
+    public static final int MAX_SPEED = 5;
+    /** The rule enumerating the cells a move passes through when checking for walls. */
+    public static final SegmentRule WALL_RULE = SegmentRule.ROUNDED;
+
+    private static final int VELOCITY_RANGE = 2 * MAX_SPEED + 1;
+    private static final int WORDS_PER_CELL = 2;
+
+    private final int width;
+    private final int height;
+    private final long[] bits;
+
+    /**
+     * Builds the legality table for the given track.
+     *
+     * @param track The track to index.
+     */
+    public MoveLegalityTable(Track track) {
+        this.width = track.getWidth();
+        this.height = track.getHeight();
+        this.bits = new long[this.width * this.height * WORDS_PER_CELL];
+        build(track);
+    }
+
+    /**
+     * Evaluates every covered move once and stores the result.
+     *
+     * @param track The track to index.
+     */
+    private void build(Track track) {
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                int base = (y * this.width + x) * WORDS_PER_CELL;
+                for (int vx = -MAX_SPEED; vx <= MAX_SPEED; vx++) {
+                    for (int vy = -MAX_SPEED; vy <= MAX_SPEED; vy++) {
+                        if (SegmentTraversal.isClear(WALL_RULE, x, y, x + vx, y + vy, track)) {
+                            int bit = velocityBit(vx, vy);
+                            this.bits[base + (bit >>> 6)] |= 1L << bit;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the table can answer a query for the given move.
+     *
+     * @param x The x coordinate of the starting cell.
+     * @param y The y coordinate of the starting cell.
+     * @param vx The horizontal velocity component.
+     * @param vy The vertical velocity component.
+     * @return true if the move is covered by the table, false otherwise.
+     */
+    public boolean covers(int x, int y, int vx, int vy) {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height
+                && Math.abs(vx) <= MAX_SPEED && Math.abs(vy) <= MAX_SPEED;
+    }
+
+    /**
+     * Checks whether moving from a cell with the given velocity avoids walls.
+     * The move must be covered by the table: this is a single bit lookup, so
+     * the result is meaningless for moves {@link #covers(int, int, int, int)} rejects.
+     *
+     * @param x The x coordinate of the starting cell.
+     * @param y The y coordinate of the starting cell.
+     * @param vx The horizontal velocity component.
+     * @param vy The vertical velocity component.
+     * @return true if the move doesn't collide with walls, false otherwise.
+     */
+    public boolean isLegal(int x, int y, int vx, int vy) {
+        int bit = velocityBit(vx, vy);
+        return (this.bits[(y * this.width + x) * WORDS_PER_CELL + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    private static int velocityBit(int vx, int vy) {
+        return (vx + MAX_SPEED) * VELOCITY_RANGE + (vy + MAX_SPEED);
+    }
+}
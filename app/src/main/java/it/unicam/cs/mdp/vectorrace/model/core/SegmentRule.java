@@ -0,0 +1,28 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+/**
+ * The rules used by {@link SegmentTraversal} to decide which cells a
+ * movement segment passes through.
+ *
+ * <p>The two rules are intentionally distinct, since they answer different
+ * questions in the game:
+ * <ul>
+ *   <li>{@link #ROUNDED} samples one cell per step along the major axis, and is
+ *       the rule walls are checked with</li>
+ *   <li>{@link #SUPERCOVER} includes every cell the segment between cell centres
+ *       touches, and is the rule used for players and checkpoints</li>
+ * </ul>
+ */
+public enum SegmentRule {
+    /**
+     * One cell per step: at step {@code i} of {@code n = max(|dx|, |dy|)} the cell
+     * is the start plus {@code i * d / n} rounded half up on each axis.
+     */
+    ROUNDED,
+
+    /**
+     * Every cell crossed by the segment, stepping diagonally when the segment
+     * passes exactly through a cell corner.
+     */
+    SUPERCOVER
+}
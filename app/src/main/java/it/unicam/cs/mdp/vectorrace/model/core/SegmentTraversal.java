@@ -0,0 +1,187 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+/**
+ * Enumerates the cells crossed by a movement segment using integer arithmetic only.
+ * This is the single engine behind wall checks, player collision checks and
+ * checkpoint detection, so every caller sees the same cell sequence for a given
+ * {@link SegmentRule}.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>No floating-point stepping and no rounding calls</li>
+ *   <li>No allocation: cells are pushed to a {@link CellVisitor}</li>
+ *   <li>Early exit as soon as the visitor returns false</li>
+ *   <li>Both traversals include the start and the end cell</li>
+ * </ul>
+ */
+public final class SegmentTraversal {
+
+    private SegmentTraversal() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Visits the cells of a segment according to the given rule.
+     *
+     * @param rule The rule deciding which cells belong to the segment.
+     * @param startX The x coordinate of the starting cell.
+     * @param startY The y coordinate of the starting cell.
+     * @param endX The x coordinate of the ending cell.
+     * @param endY The y coordinate of the ending cell.
+     * @param visitor The visitor receiving the cells in order.
+     * @return true if every cell was visited, false if the visitor stopped the traversal.
+     */
+    public static boolean traverse(SegmentRule rule, int startX, int startY, int endX, int endY,
+            CellVisitor visitor) {
+        return switch (rule) {
+            case ROUNDED -> traverseRounded(startX, startY, endX, endY, visitor);
+            case SUPERCOVER -> traverseSupercover(startX, startY, endX, endY, visitor);
+        };
+    }
+
+    /**
+     * Checks if every cell of a segment, except the starting one, is passable.
+     * This is the visitor-free form of the wall check, for the hottest callers.
+     *
+     * @param rule The rule deciding which cells belong to the segment.
+     * @param startX The x coordinate of the starting cell.
+     * @param startY The y coordinate of the starting cell.
+     * @param endX The x coordinate of the ending cell.
+     * @param endY The y coordinate of the ending cell.
+     * @param track The track providing passability.
+     * @return true if no cell after the start is a wall or out of bounds.
+     */
+    public static boolean isClear(SegmentRule rule, int startX, int startY, int endX, int endY, Track track) {
+        if (rule == SegmentRule.SUPERCOVER) {
+            return traverseSupercover(startX, startY, endX, endY,
+                    (x, y) -> (x == startX && y == startY) || track.isPassable(x, y));
+        }
+        int dx = endX - startX;
+        int dy = endY - startY;
+        int steps = Math.max(Math.abs(dx), Math.abs(dy));
+        int twoSteps = 2 * steps;
+        int x = startX;
+        int y = startY;
+        int remX = steps;
+        int remY = steps;
+        for (int i = 1; i <= steps; i++) {
+            remX += 2 * dx;
+            if (remX >= twoSteps) {
+                remX -= twoSteps;
+                x++;
+            } else if (remX < 0) {
+                remX += twoSteps;
+                x--;
+            }
+            remY += 2 * dy;
+            if (remY >= twoSteps) {
+                remY -= twoSteps;
+                y++;
+            } else if (remY < 0) {
+                remY += twoSteps;
+                y--;
+            }
+            if (!track.isPassable(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visits the cells of a segment with the {@link SegmentRule#ROUNDED} rule.
+     * At step {@code i} the offset on each axis is
+     * {@code floor((2 * i * d + n) / (2 * n))}, kept as a quotient and a
+     * remainder that are updated incrementally.
+     *
+     * @param startX The x coordinate of the starting cell.
+     * @param startY The y coordinate of the starting cell.
+     * @param endX The x coordinate of the ending cell.
+     * @param endY The y coordinate of the ending cell.
+     * @param visitor The visitor receiving the cells in order.
+     * @return true if every cell was visited, false if the visitor stopped the traversal.
+     */
+    public static boolean traverseRounded(int startX, int startY, int endX, int endY, CellVisitor visitor) {
+        int dx = endX - startX;
+        int dy = endY - startY;
+        int steps = Math.max(Math.abs(dx), Math.abs(dy));
+        if (!visitor.visit(startX, startY)) {
+            return false;
+        }
+        // The remainders start at n, which adds the half used for rounding
+        int twoSteps = 2 * steps;
+        int x = startX;
+        int y = startY;
+        int remX = steps;
+        int remY = steps;
+        for (int i = 1; i <= steps; i++) {
+            remX += 2 * dx;
+            if (remX >= twoSteps) {
+                remX -= twoSteps;
+                x++;
+            } else if (remX < 0) {
+                remX += twoSteps;
+                x--;
+            }
+            remY += 2 * dy;
+            if (remY >= twoSteps) {
+                remY -= twoSteps;
+                y++;
+            } else if (remY < 0) {
+                remY += twoSteps;
+                y--;
+            }
+            if (!visitor.visit(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visits the cells of a segment with the {@link SegmentRule#SUPERCOVER} rule.
+     * The next crossing is chosen by comparing {@code (2 * ix + 1) * |dy|} with
+     * {@code (2 * iy + 1) * |dx|}, the cross-multiplied parameters at which the
+     * segment leaves the current column and row.
+     *
+     * @param startX The x coordinate of the starting cell.
+     * @param startY The y coordinate of the starting cell.
+     * @param endX The x coordinate of the ending cell.
+     * @param endY The y coordinate of the ending cell.
+     * @param visitor The visitor receiving the cells in order.
+     * @return true if every cell was visited, false if the visitor stopped the traversal.
+     */
+    public static boolean traverseSupercover(int startX, int startY, int endX, int endY, CellVisitor visitor) {
+        int dx = Math.abs(endX - startX);
+        int dy = Math.abs(endY - startY);
+        int signX = Integer.signum(endX - startX);
+        int signY = Integer.signum(endY - startY);
+        int x = startX;
+        int y = startY;
+        if (!visitor.visit(x, y)) {
+            return false;
+        }
+        int ix = 0;
+        int iy = 0;
+        while (ix < dx || iy < dy) {
+            long crossX = (long) (2 * ix + 1) * dy;
+            long crossY = (long) (2 * iy + 1) * dx;
+            if (dx == 0 || (dy != 0 && crossY < crossX)) {
+                iy++;
+                y += signY;
+            } else if (dy == 0 || crossX < crossY) {
+                ix++;
+                x += signX;
+            } else {
+                ix++;
+                iy++;
+                x += signX;
+                y += signY;
+            }
+            if (!visitor.visit(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
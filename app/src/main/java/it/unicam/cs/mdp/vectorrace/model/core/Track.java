@@ -1,5 +1,6 @@
 package it.unicam.cs.mdp.vectorrace.model.core;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
@@ -17,25 +18,54 @@ import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
  * 
  * <p>Each cell in the grid has a specific {@link CellType} that determines its role
  * in the game (wall, road, checkpoint, etc.).
+ *
+ * <p>Internally the grid is stored as one flat row-major {@code byte[]} of cell
+ * codes, the {@link CellType#ordinal() ordinals} of the cell types, together
+ * with a bitmap of the passable cells. Hot loops can address cells by their
+ * linear index ({@link #index(int, int)}) or read a whole row at once
+ * ({@link #rowView(int)}) instead of going through {@link #getCell(int, int)}.
  */
 public class Track {
-    private final CellType[][] grid;
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final byte[] cells;
+    private final long[] passable;
     private final int width;
     private final int height;
     private final Map<Position, PriorityData> checkpointData;
+    private volatile MoveLegalityTable moveLegality;
+    private volatile CheckpointIndex checkpointIndex;
 
     /**
      * Creates a new track with the specified grid layout and checkpoint data.
      * 
      * @param grid The 2D array representing the track layout, where each cell
-     *             contains a {@link CellType} value.
+     *             contains a {@link CellType} value. The first row sets the
+     *             width: shorter rows are padded with walls and cells past
+     *             the width are ignored.
      * @param checkpointData Map associating checkpoint positions with their metadata,
      *                       including order and completion status.
      */
     public Track(CellType[][] grid, Map<Position, PriorityData> checkpointData) {
-        this.grid = grid;
         this.height = grid.length;
         this.width = grid[0].length;
+        this.cells = new byte[this.width * this.height];
+        this.passable = new long[(this.cells.length + 63) >>> 6];
+        for (int y = 0; y < this.height; y++) {
+            int rowWidth = Math.min(grid[y].length, this.width);
+            for (int x = 0; x < this.width; x++) {
+                CellType cell = x < rowWidth
+                        ? Objects.requireNonNull(grid[y][x], "La griglia non può contenere celle nulle")
+                        : CellType.WALL;
+                int index = y * this.width + x;
+                this.cells[index] = (byte) cell.ordinal();
+                if (cell != CellType.WALL) {
+                    this.passable[index >>> 6] |= 1L << index;
+                }
+            }
+        }
         this.checkpointData = checkpointData;
     }
 
@@ -57,6 +87,69 @@ public class Track {
         return this.height;
     }
 
+    /**
+     * Gets the move-legality table of this track, building it on first use.
+     * The table is built at most once per track and is safe to share between
+     * threads, since the track layout never changes after construction.
+     *
+     * @return The move-legality table for this track.
+     */
+    public MoveLegalityTable getMoveLegality() {
+        MoveLegalityTable table = this.moveLegality;
+        if (table == null) {
+            synchronized (this) {
+                table = this.moveLegality;
+                if (table == null) {
+                    table = new MoveLegalityTable(this);
+                    this.moveLegality = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the checkpoint index of this track, building it on first use.
+     * Like the move-legality table, the index is built at most once per track
+     * and is shared by every bot racing on it.
+     *
+     * @return The checkpoint index for this track.
+     */
+    public CheckpointIndex getCheckpointIndex() {
+        CheckpointIndex index = this.checkpointIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = this.checkpointIndex;
+                if (index == null) {
+                    index = new CheckpointIndex(this, this.checkpointData);
+                    this.checkpointIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Computes a 64-bit fingerprint of the track layout: its size, the type of
+     * every cell and the checkpoint level of every checkpoint cell.
+     * Two tracks with the same fingerprint describe the same circuit, so data
+     * precomputed for one, such as a policy table saved to disk, can be
+     * reused for the other.
+     *
+     * @return The FNV-1a hash of the layout.
+     */
+    public long fingerprint() {
+        CheckpointIndex index = getCheckpointIndex();
+        long hash = FNV_OFFSET_BASIS;
+        hash = (hash ^ this.width) * FNV_PRIME;
+        hash = (hash ^ this.height) * FNV_PRIME;
+        for (int i = 0; i < this.cells.length; i++) {
+            hash = (hash ^ this.cells[i]) * FNV_PRIME;
+            hash = (hash ^ index.getLevel(indexX(i), indexY(i))) * FNV_PRIME;
+        }
+        return hash;
+    }
+
     /**
      * Checks if the given coordinates are within the track boundaries.
      *
@@ -79,21 +172,88 @@ public class Track {
     public CellType getCell(int x, int y) {
         if (!isWithinBounds(x, y))
             return CellType.WALL;
-        return this.grid[y][x];
+        return CELL_TYPES[this.cells[y * this.width + x]];
     }
 
     /**
      * Checks if a cell at the given coordinates can be traversed by players.
      * A cell is passable if it's a road, start line, finish line, or checkpoint.
+     * Out-of-bounds coordinates are not passable.
      *
      * @param x The x coordinate.
      * @param y The y coordinate.
      * @return true if the cell is passable, false otherwise.
      */
     public boolean isPassable(int x, int y) {
-        CellType cell = getCell(x, y);
-        return cell == CellType.ROAD || cell == CellType.START ||
-                cell == CellType.FINISH || cell == CellType.CHECKPOINT;
+        return isWithinBounds(x, y) && isPassableIndex(y * this.width + x);
+    }
+
+    /**
+     * Gets the linear index of a cell, in row-major order.
+     * No bounds check is performed: callers must ensure the coordinates are
+     * within the track, for instance with {@link #isWithinBounds(int, int)}.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @return The index {@code y * width + x}.
+     */
+    public int index(int x, int y) {
+        return y * this.width + x;
+    }
+
+    /**
+     * Gets the x coordinate of the cell with the given linear index.
+     *
+     * @param index The linear index of the cell.
+     * @return The x coordinate.
+     */
+    public int indexX(int index) {
+        return index % this.width;
+    }
+
+    /**
+     * Gets the y coordinate of the cell with the given linear index.
+     *
+     * @param index The linear index of the cell.
+     * @return The y coordinate.
+     */
+    public int indexY(int index) {
+        return index / this.width;
+    }
+
+    /**
+     * Checks if the cell with the given linear index can be traversed by players.
+     * This is a single bitmap lookup with no bounds check.
+     *
+     * @param index The linear index of the cell, in {@code [0, width * height)}.
+     * @return true if the cell is passable, false otherwise.
+     */
+    public boolean isPassableIndex(int index) {
+        return (this.passable[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the cell type of the cell with the given linear index.
+     *
+     * @param index The linear index of the cell, in {@code [0, width * height)}.
+     * @return The type of the cell.
+     */
+    public CellType getCellIndex(int index) {
+        return CELL_TYPES[this.cells[index]];
+    }
+
+    /**
+     * Gets a read-only view of a row of the track.
+     * The buffer holds {@code width} cell codes, one per column, where each code
+     * is the {@link CellType#ordinal() ordinal} of the cell type. No data is copied.
+     *
+     * @param y The row to view.
+     * @return A read-only buffer positioned at the first cell of the row.
+     * @throws IndexOutOfBoundsException if the row is outside the track.
+     */
+    public ByteBuffer rowView(int y) {
+        Objects.checkIndex(y, this.height);
+        return ByteBuffer.wrap(this.cells, y * this.width, this.width).slice().asReadOnlyBuffer();
     }
 
     /**
@@ -118,6 +278,23 @@ public class Track {
         return getCell(x, y) == CellType.FINISH;
     }
 
+    /**
+     * Gets all start positions on the track, the cells marked as
+     * {@link CellType#START}, in row-major order.
+     *
+     * @return A new list of the start positions.
+     */
+    public List<Position> getStartPositions() {
+        List<Position> positions = new ArrayList<>();
+        byte start = (byte) CellType.START.ordinal();
+        for (int index = 0; index < this.cells.length; index++) {
+            if (this.cells[index] == start) {
+                positions.add(new Position(indexX(index), indexY(index)));
+            }
+        }
+        return positions;
+    }
+
     /**
      * Gets all finish line positions on the track.
      * This method scans the entire grid to find all cells marked as {@link CellType#FINISH}.
@@ -125,15 +302,7 @@ public class Track {
      * @return A list of positions representing the finish line cells.
      */
     public List<Position> getFinishPositions() {
-        List<Position> finishPositions = new ArrayList<>();
-        for (int y = 0; y < this.height; y++) {
-            for (int x = 0; x < this.width; x++) {
-                if (isFinish(x, y)) {
-                    finishPositions.add(new Position(x, y));
-                }
-            }
-        }
-        return finishPositions;
+        return new ArrayList<>(getCheckpointIndex().getFinishPositions());
     }
 
     /**
@@ -155,11 +324,7 @@ public class Track {
      * @return The maximum checkpoint number.
      */
     public int getMaxCheckpoint() {
-        int max = 0;
-        for (PriorityData data : this.checkpointData.values()) {
-            max = Math.max(max, data.getCheckpointNumber());
-        }
-        return max;
+        return getCheckpointIndex().getMaxLevel();
     }
 
     /**
@@ -171,10 +336,10 @@ public class Track {
      * @return true if a checkpoint with the given number has been reached in the specified row.
      */
     public boolean hasReachedCheckpointInRow(int y, int checkpointNum) {
-        for (Map.Entry<Position, PriorityData> entry : this.checkpointData.entrySet()) {
-            Position pos = entry.getKey();
-            PriorityData data = entry.getValue();
-            if (pos.getY() == y && data.getCheckpointNumber() == checkpointNum && data.isReached()) {
+        CheckpointIndex index = getCheckpointIndex();
+        for (int i = 0; i < index.getCheckpointCount(checkpointNum); i++) {
+            if (indexY(index.getCheckpointCell(checkpointNum, i)) == y
+                    && index.getCheckpointData(checkpointNum, i).isReached()) {
                 return true;
             }
         }
@@ -41,6 +41,8 @@ public class TrackLoader {
      *   <li>Validating track requirements</li>
      *   <li>Creating the grid structure</li>
      *   <li>Processing checkpoint data</li>
+     *   <li>Precomputing the move-legality table</li>
+     *   <li>Building the checkpoint index</li>
      * </ul>
      * 
      * @param path The path to the track file.
@@ -59,7 +61,10 @@ public class TrackLoader {
         
         populateGridAndCheckpoints(grid, checkpointData, lines);
         
-        return new Track(grid, checkpointData);
+        Track track = new Track(grid, checkpointData);
+        track.getMoveLegality();
+        track.getCheckpointIndex();
+        return track;
     }
 
     /**
@@ -0,0 +1,432 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import java.util.Arrays;
+import java.util.List;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.SegmentTraversal;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.validators.WallCollisionValidator;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * An immutable snapshot of a race, for lookahead and what-if simulation
+ * without touching the live {@link GameState}.
+ *
+ * <p>All the players are packed in a single {@code int} array, with
+ * {@value #FIELDS} values each: position, velocity, next checkpoint level and
+ * status flags. Applying a move returns a new snapshot with a new array and
+ * shares the track, so a snapshot can be handed to any number of threads and
+ * a move costs one small array copy.
+ *
+ * <p>Moves follow the rules of {@link TurnManager} with the default
+ * {@link MovementManager}:
+ * <ul>
+ *   <li>A move crossing a wall, or the path of another player, resets the
+ *       velocity and leaves the player in place; a player standing still only
+ *       checks its destination cell</li>
+ *   <li>Checkpoints are credited in order along the supercover path of an
+ *       accepted move, by the same rule the live game uses</li>
+ *   <li>The first player to end a move on the finish line is the winner</li>
+ * </ul>
+ *
+ * <p>Unlike the live game, moves can still be applied once the winner is
+ * known: finished players stop taking turns and stay on their cell, so a
+ * simulation can also measure how long the other players take to finish.
+ */
+public final class GameSnapshot {
+    /** The number of values stored for each player. */
+    public static final int FIELDS = 6;
+
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int VX = 2;
+    private static final int VY = 3;
+    private static final int NEXT_CHECKPOINT = 4;
+    private static final int FLAGS = 5;
+    private static final int FINISHED = 1;
+    private static final int REJECTED = 2;
+    private static final WallCollisionValidator WALLS = new WallCollisionValidator();
+
+    private final Track track;
+    private final int[] players;
+    private final int currentPlayer;
+    private final int winner;
+
+    private GameSnapshot(Track track, int[] players, int currentPlayer, int winner) {
+        this.track = track;
+        this.players = players;
+        this.currentPlayer = currentPlayer;
+        this.winner = winner;
+    }
+
+    /**
+     * Captures the state of a game.
+     *
+     * @param gameState The game to capture.
+     * @return A snapshot with the positions, velocities and checkpoint
+     *         progress of every player, the player to move and the winner.
+     * @throws IllegalArgumentException if the game has no players.
+     */
+    public static GameSnapshot of(GameState gameState) {
+        List<Player> view = gameState.getPlayersView();
+        if (view.isEmpty()) {
+            throw new IllegalArgumentException("Lo stato di gioco non ha giocatori");
+        }
+        int[] players = new int[view.size() * FIELDS];
+        int winner = -1;
+        for (int i = 0; i < view.size(); i++) {
+            Player player = view.get(i);
+            int base = i * FIELDS;
+            players[base + X] = player.getPosition().getX();
+            players[base + Y] = player.getPosition().getY();
+            players[base + VX] = player.getVelocity().getDx();
+            players[base + VY] = player.getVelocity().getDy();
+            players[base + NEXT_CHECKPOINT] = player.getNextCheckpointIndex();
+            if (player == gameState.getWinner()) {
+                players[base + FLAGS] = FINISHED;
+                winner = i;
+            }
+        }
+        return new GameSnapshot(gameState.getTrack(), players, gameState.getCurrentPlayerIndex(), winner);
+    }
+
+    /**
+     * Rebuilds a snapshot from its packed form, as saved by
+     * {@link #getPackedPlayers()}.
+     *
+     * @param track The track of the race.
+     * @param players The packed players, {@value #FIELDS} values each.
+     * @param currentPlayer The index of the player taking the next turn.
+     * @param winner The index of the winner, or -1 if nobody has finished yet.
+     * @return The snapshot, holding a copy of the packed players.
+     * @throws IllegalArgumentException if the data does not describe a valid race.
+     */
+    public static GameSnapshot restore(Track track, int[] players, int currentPlayer, int winner) {
+        int count = players.length / FIELDS;
+        if (count == 0 || players.length % FIELDS != 0
+                || currentPlayer < 0 || currentPlayer >= count || winner < -1 || winner >= count) {
+            throw new IllegalArgumentException("Dati dello snapshot non validi");
+        }
+        return new GameSnapshot(track, players.clone(), currentPlayer, winner);
+    }
+
+    /**
+     * Gets the packed players of this snapshot, {@value #FIELDS} values each,
+     * in the form accepted by {@link #restore(Track, int[], int, int)}.
+     *
+     * @return A copy of the packed players.
+     */
+    public int[] getPackedPlayers() {
+        return this.players.clone();
+    }
+
+    /**
+     * Gets a snapshot of the same race with another player to move.
+     *
+     * @param player The index of the player taking the next turn.
+     * @return The snapshot with the new turn, sharing this one's data.
+     * @throws IndexOutOfBoundsException if the index is not a player.
+     */
+    public GameSnapshot withCurrentPlayer(int player) {
+        if (player < 0 || player >= getPlayerCount()) {
+            throw new IndexOutOfBoundsException("Giocatore inesistente: " + player);
+        }
+        return player == this.currentPlayer ? this : new GameSnapshot(this.track, this.players, player, this.winner);
+    }
+
+    /**
+     * Plays an acceleration for the current player and passes the turn to the
+     * next player still racing.
+     *
+     * @param acceleration The acceleration; null counts as no acceleration,
+     *                     like an invalid choice in {@link TurnManager}.
+     * @return The snapshot after the move.
+     */
+    public GameSnapshot apply(Vector acceleration) {
+        return acceleration == null ? apply(0, 0) : apply(acceleration.getDx(), acceleration.getDy());
+    }
+
+    /**
+     * Plays an acceleration given as raw components for the current player
+     * and passes the turn to the next player still racing.
+     *
+     * @param ax The horizontal acceleration.
+     * @param ay The vertical acceleration.
+     * @return The snapshot after the move.
+     */
+    public GameSnapshot apply(int ax, int ay) {
+        int p = this.currentPlayer;
+        int base = p * FIELDS;
+        int[] next = this.players.clone();
+        int startX = next[base + X];
+        int startY = next[base + Y];
+        int newVx = next[base + VX] + ax;
+        int newVy = next[base + VY] + ay;
+        int endX = startX + newVx;
+        int endY = startY + newVy;
+        int winnerAfter = this.winner;
+
+        if (isClearOfWalls(startX, startY, newVx, newVy) && isClearOfPlayers(p, endX, endY)) {
+            next[base + NEXT_CHECKPOINT] = MoveRules.creditCheckpoints(this.track, startX, startY, endX, endY,
+                    next[base + NEXT_CHECKPOINT]);
+            next[base + X] = endX;
+            next[base + Y] = endY;
+            next[base + VX] = newVx;
+            next[base + VY] = newVy;
+            next[base + FLAGS] &= ~REJECTED;
+            if (this.track.isFinish(endX, endY)) {
+                next[base + FLAGS] |= FINISHED;
+                if (winnerAfter < 0) {
+                    winnerAfter = p;
+                }
+            }
+        } else {
+            next[base + VX] = 0;
+            next[base + VY] = 0;
+            next[base + FLAGS] |= REJECTED;
+        }
+        return new GameSnapshot(this.track, next, nextRacingPlayer(next, p), winnerAfter);
+    }
+
+    /**
+     * Plays one round: every player still racing moves once with its own
+     * acceleration, in turn order starting from the current player, as
+     * consecutive calls to {@link TurnManager#advanceTurn()} would.
+     *
+     * @param accelerations One acceleration per player, by player index;
+     *                      entries of finished players are ignored.
+     * @return The snapshot after the round.
+     * @throws IllegalArgumentException if there is not one acceleration per player.
+     */
+    public GameSnapshot applyJoint(Vector... accelerations) {
+        if (accelerations.length != getPlayerCount()) {
+            throw new IllegalArgumentException("Serve un'accelerazione per ogni giocatore");
+        }
+        GameSnapshot snapshot = this;
+        boolean[] moved = new boolean[accelerations.length];
+        while (!moved[snapshot.currentPlayer] && !snapshot.hasFinished(snapshot.currentPlayer)) {
+            moved[snapshot.currentPlayer] = true;
+            snapshot = snapshot.apply(accelerations[snapshot.currentPlayer]);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Checks if an acceleration of the current player gives a move clear of
+     * walls, ignoring the other players.
+     *
+     * @param ax The horizontal acceleration.
+     * @param ay The vertical acceleration.
+     * @return true if the move does not cross a wall.
+     */
+    public boolean isClearOfWalls(int ax, int ay) {
+        int base = this.currentPlayer * FIELDS;
+        return isClearOfWalls(this.players[base + X], this.players[base + Y],
+                this.players[base + VX] + ax, this.players[base + VY] + ay);
+    }
+
+    private boolean isClearOfWalls(int x, int y, int vx, int vy) {
+        return (vx == 0 && vy == 0) || WALLS.isMoveClear(x, y, vx, vy, this.track);
+    }
+
+    /**
+     * Checks the path of a move against the other players, as
+     * {@link it.unicam.cs.mdp.vectorrace.model.game.validators.PlayerCollisionValidator}
+     * and the occupied-cell check of {@link TurnManager} do.
+     */
+    private boolean isClearOfPlayers(int p, int endX, int endY) {
+        int base = p * FIELDS;
+        if (this.players[base + VX] == 0 && this.players[base + VY] == 0) {
+            return !isOccupiedByOther(p, endX, endY);
+        }
+        int startX = this.players[base + X];
+        int startY = this.players[base + Y];
+        boolean pathClear = SegmentTraversal.traverseSupercover(startX, startY, endX, endY, (cx, cy) ->
+                (cx == startX && cy == startY) || !isOccupiedByOther(p, cx, cy));
+        return pathClear && !isOccupiedByOther(p, endX, endY);
+    }
+
+    /**
+     * Checks if a cell is occupied by a player other than the given one.
+     *
+     * @param player The index of the player to exclude.
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return true if another player stands on the cell.
+     */
+    public boolean isOccupiedByOther(int player, int x, int y) {
+        for (int i = 0, base = 0; base < this.players.length; i++, base += FIELDS) {
+            if (i != player && this.players[base + X] == x && this.players[base + Y] == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nextRacingPlayer(int[] players, int current) {
+        int count = players.length / FIELDS;
+        for (int step = 1; step <= count; step++) {
+            int candidate = (current + step) % count;
+            if ((players[candidate * FIELDS + FLAGS] & FINISHED) == 0) {
+                return candidate;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets the track of the race.
+     *
+     * @return The track, shared with the live game.
+     */
+    public Track getTrack() {
+        return this.track;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return this.players.length / FIELDS;
+    }
+
+    /**
+     * Gets the player taking the next turn.
+     *
+     * @return The index of the current player.
+     */
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    /**
+     * Gets the first player who reached the finish line.
+     *
+     * @return The index of the winner, or -1 if nobody has finished yet.
+     */
+    public int getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Checks if someone has won the race, which ends the live game.
+     *
+     * @return true if a winner is known.
+     */
+    public boolean isGameOver() {
+        return this.winner >= 0;
+    }
+
+    /**
+     * Checks if a player has reached the finish line.
+     *
+     * @param player The player index.
+     * @return true if the player has finished.
+     */
+    public boolean hasFinished(int player) {
+        return (this.players[player * FIELDS + FLAGS] & FINISHED) != 0;
+    }
+
+    /**
+     * Checks if the last move of a player was rejected, resetting its velocity.
+     *
+     * @param player The player index.
+     * @return true if the last move of the player collided.
+     */
+    public boolean wasRejected(int player) {
+        return (this.players[player * FIELDS + FLAGS] & REJECTED) != 0;
+    }
+
+    /**
+     * Gets the x coordinate of a player.
+     *
+     * @param player The player index.
+     * @return The x coordinate.
+     */
+    public int getX(int player) {
+        return this.players[player * FIELDS + X];
+    }
+
+    /**
+     * Gets the y coordinate of a player.
+     *
+     * @param player The player index.
+     * @return The y coordinate.
+     */
+    public int getY(int player) {
+        return this.players[player * FIELDS + Y];
+    }
+
+    /**
+     * Gets the horizontal velocity of a player.
+     *
+     * @param player The player index.
+     * @return The horizontal velocity component.
+     */
+    public int getVelocityX(int player) {
+        return this.players[player * FIELDS + VX];
+    }
+
+    /**
+     * Gets the vertical velocity of a player.
+     *
+     * @param player The player index.
+     * @return The vertical velocity component.
+     */
+    public int getVelocityY(int player) {
+        return this.players[player * FIELDS + VY];
+    }
+
+    /**
+     * Gets the next checkpoint level of a player.
+     *
+     * @param player The player index.
+     * @return The level the player has to cross next.
+     */
+    public int getNextCheckpointIndex(int player) {
+        return this.players[player * FIELDS + NEXT_CHECKPOINT];
+    }
+
+    /**
+     * Gets the position of a player as an object, for callers outside hot loops.
+     *
+     * @param player The player index.
+     * @return The position of the player.
+     */
+    public Position getPosition(int player) {
+        return new Position(getX(player), getY(player));
+    }
+
+    /**
+     * Gets the velocity of a player as an object, for callers outside hot loops.
+     *
+     * @param player The player index.
+     * @return The velocity of the player.
+     */
+    public Vector getVelocity(int player) {
+        return new Vector(getVelocityX(player), getVelocityY(player));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameSnapshot other)) {
+            return false;
+        }
+        return this.track == other.track
+                && this.currentPlayer == other.currentPlayer
+                && this.winner == other.winner
+                && Arrays.equals(this.players, other.players);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(this.players) + this.currentPlayer) + this.winner;
+    }
+}
@@ -1,12 +1,15 @@
 package it.unicam.cs.mdp.vectorrace.model.game;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.players.PositionListener;
 
 /**
  * Represents the current state of a Vector Race game.
@@ -22,19 +25,31 @@ import it.unicam.cs.mdp.vectorrace.model.players.Player;
  * <p>Key features:
  * <ul>
  *   <li>Immutable track reference</li>
- *   <li>Defensive copies for collections</li>
+ *   <li>Defensive copies for collections, plus read-only views for hot paths</li>
  *   <li>Turn management</li>
  *   <li>Game completion tracking</li>
+ *   <li>Per-cell occupancy kept in sync with player moves</li>
+ *   <li>A version counter, advanced by every change to the players, so that
+ *       work based on an earlier state can tell it is stale</li>
  * </ul>
+ *
+ * <p>A regular state listens to the moves of its players. A state discarded
+ * while its players live on, such as a preview built on the players of a
+ * running race, must be {@link #detach() detached} so that the players stop
+ * notifying it.
  */
 public class GameState {
 
     private final Track track;
     private final List<Player> players;
+    private final List<Player> playersView;
     private int currentPlayerIndex;
     private boolean finished;
     private Player winner;
     private final boolean isTemporary;
+    private final OccupancyGrid occupancy;
+    private final PositionListener positionListener = this::onPlayerMoved;
+    private long version;
 
     /**
      * Creates a new regular game state.
@@ -51,10 +66,16 @@ public class GameState {
         }
         this.track = track;
         this.players = new ArrayList<>(players); // Creates a defensive copy
+        this.playersView = Collections.unmodifiableList(this.players);
         this.currentPlayerIndex = 0;
         this.finished = false;
         this.winner = null;
         this.isTemporary = false;
+        this.occupancy = new OccupancyGrid(track);
+        for (Player player : this.players) {
+            this.occupancy.add(player.getPosition());
+            player.addPositionListener(this.positionListener);
+        }
     }
 
     /**
@@ -72,10 +93,12 @@ public class GameState {
         }
         this.track = track;
         this.players = new ArrayList<>();
+        this.playersView = Collections.unmodifiableList(this.players);
         this.currentPlayerIndex = 0;
         this.finished = false;
         this.winner = null;
         this.isTemporary = true;
+        this.occupancy = new OccupancyGrid(track);
     }
 
     /**
@@ -90,6 +113,8 @@ public class GameState {
     /**
      * Gets a defensive copy of the player list.
      * Returns a new list to prevent external modifications to the internal state.
+     * Callers that only read the players on every frame or move should prefer
+     * {@link #getPlayersView()} or {@link #forEachPlayer(Consumer)}.
      *
      * @return A new list containing all players.
      */
@@ -97,6 +122,113 @@ public class GameState {
         return new ArrayList<>(this.players);
     }
 
+    /**
+     * Gets a read-only view of the player list, in turn order.
+     * The view is created once and reflects the internal list without copying it.
+     *
+     * @return An unmodifiable view of the players.
+     */
+    public List<Player> getPlayersView() {
+        return this.playersView;
+    }
+
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return this.players.size();
+    }
+
+    /**
+     * Gets the player at the given position in turn order.
+     *
+     * @param index The index of the player.
+     * @return The player at the given index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Player getPlayer(int index) {
+        return this.players.get(index);
+    }
+
+    /**
+     * Performs the given action for each player, in turn order, without
+     * creating any intermediate collection.
+     *
+     * @param action The action to perform.
+     */
+    public void forEachPlayer(Consumer<? super Player> action) {
+        for (int i = 0; i < this.players.size(); i++) {
+            action.accept(this.players.get(i));
+        }
+    }
+
+    /**
+     * Gets the occupancy grid of the track, updated as players move.
+     * The grid follows players through {@link Player#updatePosition(Position)}.
+     *
+     * @return The occupancy grid.
+     */
+    public OccupancyGrid getOccupancy() {
+        return this.occupancy;
+    }
+
+    /**
+     * Keeps the occupancy grid in sync with a move and advances the version.
+     *
+     * @param player The player who moved.
+     * @param oldPosition The position before the move.
+     * @param newPosition The position after the move.
+     */
+    private void onPlayerMoved(Player player, Position oldPosition, Position newPosition) {
+        this.occupancy.onPositionChanged(player, oldPosition, newPosition);
+        this.version++;
+    }
+
+    /**
+     * Stops following the moves of the players, so that a discarded state is
+     * no longer notified by players that outlive it. After this call the
+     * occupancy grid and the version no longer change when players move.
+     * Calling it more than once has no further effect.
+     */
+    public void detach() {
+        for (Player player : this.players) {
+            player.removePositionListener(this.positionListener);
+        }
+    }
+
+    /**
+     * Gets the version of this state. It advances whenever a player moves
+     * and whenever {@link #markModified()} is called, and never goes back.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Advances the version after a change that does not move any player,
+     * such as a velocity reset after a collision.
+     */
+    public void markModified() {
+        this.version++;
+    }
+
+    /**
+     * Checks if a cell is occupied by a player other than the given one,
+     * without scanning the player list.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @param self The player to exclude from the check.
+     * @return true if another player stands on the cell, false otherwise.
+     */
+    public boolean isOccupiedByOther(int x, int y, Player self) {
+        return this.occupancy.isOccupiedByOther(x, y, self);
+    }
+
     /**
      * Gets the index of the current player in the turn order.
      *
@@ -131,6 +263,7 @@ public class GameState {
      */
     public void setFinished(boolean finished) {
         this.finished = finished;
+        this.version++;
     }
 
     /**
@@ -0,0 +1,64 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CheckpointIndex;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.SegmentTraversal;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * The parts of move resolution shared by the live game and its snapshots,
+ * so that {@link TurnManager}, {@link SimultaneousRoundManager}, the GUI and
+ * {@link GameSnapshot} credit progress in exactly the same way.
+ *
+ * <p>Checkpoints are credited by the game, not by the strategies: every
+ * player progresses, human or bot, and only through moves that are played.
+ */
+public final class MoveRules {
+    private MoveRules() {
+    }
+
+    /**
+     * Credits the checkpoints crossed by an accepted move: walking the
+     * supercover path from start to end, every cell of the level the player
+     * has to cross next advances that level by one.
+     *
+     * @param track The track.
+     * @param startX The x coordinate before the move.
+     * @param startY The y coordinate before the move.
+     * @param endX The x coordinate after the move.
+     * @param endY The y coordinate after the move.
+     * @param nextCheckpoint The level the player had to cross before the move.
+     * @return The level the player has to cross after the move.
+     */
+    public static int creditCheckpoints(Track track, int startX, int startY, int endX, int endY, int nextCheckpoint) {
+        CheckpointIndex index = track.getCheckpointIndex();
+        int[] next = { nextCheckpoint };
+        SegmentTraversal.traverseSupercover(startX, startY, endX, endY, (cx, cy) -> {
+            if (index.getLevel(cx, cy) == next[0]) {
+                next[0]++;
+            }
+            return true;
+        });
+        return next[0];
+    }
+
+    /**
+     * Sets the checkpoint progress of a player after its move: the checkpoints
+     * crossed by an accepted move are credited, a rejected move credits none.
+     * Whatever the player changed while choosing its move is discarded.
+     *
+     * @param track The track.
+     * @param player The player who moved, already at its new position if the move was accepted.
+     * @param start The position before the move.
+     * @param moved Whether the move was accepted.
+     * @param checkpoint The next checkpoint of the player before the turn.
+     */
+    public static void settleCheckpoints(Track track, Player player, Position start, boolean moved, int checkpoint) {
+        if (moved) {
+            Position end = player.getPosition();
+            checkpoint = creditCheckpoints(track, start.getX(), start.getY(), end.getX(), end.getY(), checkpoint);
+        }
+        player.setNextCheckpointIndex(checkpoint);
+    }
+}
\ No newline at end of file
@@ -113,7 +113,24 @@ public class MovementManager {
      * @return true if the move doesn't collide with walls, false otherwise.
      */
     public boolean validateMoveTemp(Position start, Vector velocity, Track track) {
-        Position end = start.add(velocity);
-        return wallValidator.isValidMove(start, end, null, new GameState(track, true));
+        return validateMoveTemp(start.getX(), start.getY(), velocity.getDx(), velocity.getDy(), track);
+    }
+
+    /**
+     * Performs the same simplified validation as
+     * {@link #validateMoveTemp(Position, Vector, Track)} on raw coordinates.
+     * Moves within the track's {@link it.unicam.cs.mdp.vectorrace.model.core.MoveLegalityTable}
+     * range are answered with a single bit lookup, without allocating positions,
+     * vectors or temporary game states.
+     *
+     * @param x The x coordinate of the starting cell.
+     * @param y The y coordinate of the starting cell.
+     * @param vx The horizontal velocity component to apply.
+     * @param vy The vertical velocity component to apply.
+     * @param track The track to validate against.
+     * @return true if the move doesn't collide with walls, false otherwise.
+     */
+    public boolean validateMoveTemp(int x, int y, int vx, int vy, Track track) {
+        return wallValidator.isMoveClear(x, y, vx, vy, track);
     }
 }
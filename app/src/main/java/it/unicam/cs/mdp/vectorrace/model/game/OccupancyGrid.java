@@ -0,0 +1,104 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.players.PositionListener;
+
+/**
+ * Keeps the number of players standing on each cell of a track, indexed like
+ * the track cells. The grid is updated incrementally as players move, so that
+ * collision checks become array lookups instead of scans over all players.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>One {@code int} counter per cell, so shared start cells are counted correctly</li>
+ *   <li>Updated through {@link PositionListener} notifications, never rebuilt</li>
+ *   <li>Allocation-free queries, excluding the querying player when asked</li>
+ * </ul>
+ *
+ * <p>Positions outside the track are ignored.
+ */
+public class OccupancyGrid implements PositionListener {
+    private final Track track;
+    private final int[] counts;
+
+    /**
+     * Creates an empty occupancy grid for the given track.
+     *
+     * @param track The track whose cells are counted.
+     */
+    public OccupancyGrid(Track track) {
+        this.track = track;
+        this.counts = new int[track.getWidth() * track.getHeight()];
+    }
+
+    /**
+     * Records a player standing on the given position.
+     *
+     * @param position The occupied position.
+     */
+    public void add(Position position) {
+        adjust(position, 1);
+    }
+
+    /**
+     * Removes a player from the given position.
+     *
+     * @param position The position being left.
+     */
+    public void remove(Position position) {
+        adjust(position, -1);
+    }
+
+    @Override
+    public void onPositionChanged(Player player, Position oldPosition, Position newPosition) {
+        adjust(oldPosition, -1);
+        adjust(newPosition, 1);
+    }
+
+    /**
+     * Gets the number of players standing on a cell.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return The number of players on the cell, 0 if it is outside the track.
+     */
+    public int countAt(int x, int y) {
+        if (!this.track.isWithinBounds(x, y)) {
+            return 0;
+        }
+        return this.counts[this.track.index(x, y)];
+    }
+
+    /**
+     * Checks if a cell is occupied by any player other than the given one.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @param self The player to exclude, or null to count everyone.
+     * @return true if another player stands on the cell, false otherwise.
+     */
+    public boolean isOccupiedByOther(int x, int y, Player self) {
+        int count = countAt(x, y);
+        if (count > 0 && self != null) {
+            Position own = self.getPosition();
+            if (own != null && own.getX() == x && own.getY() == y) {
+                count--;
+            }
+        }
+        return count > 0;
+    }
+
+    /**
+     * Changes the counter of the cell at the given position.
+     *
+     * @param position The position of the cell.
+     * @param delta The amount to add to the counter.
+     */
+    private void adjust(Position position, int delta) {
+        if (position != null && this.track.isWithinBounds(position.getX(), position.getY())) {
+            this.counts[this.track.index(position.getX(), position.getY())] += delta;
+        }
+    }
+}
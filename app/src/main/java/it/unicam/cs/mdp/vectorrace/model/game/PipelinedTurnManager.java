@@ -0,0 +1,245 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.replay.ReplayWriter;
+import it.unicam.cs.mdp.vectorrace.view.GameView;
+
+/**
+ * A {@link TurnManager} in which bots think about their next move while the
+ * other players take their turns.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>As soon as a bot's turn resolves, its next move is computed on a
+ *       background thread, virtual by default, so a round takes about as long
+ *       as the slowest bot instead of the sum of all bots</li>
+ *   <li>Each speculation runs on a private copy of the race, so it never
+ *       reads the live game while other players move</li>
+ *   <li>A speculation is tagged with the {@link GameState#getVersion() version}
+ *       of the race it assumed: if the race changed since, the move is kept
+ *       only if it is still legal, for example if no player now stands on its
+ *       path, and is computed again otherwise</li>
+ * </ul>
+ *
+ * <p>Bots act on what they saw at the end of their previous turn, so races
+ * may differ from those of a plain {@link TurnManager}. Strategies keep their
+ * plans by player name, so the copies share them with the real bots, and
+ * each strategy is only ever used by one thread at a time.
+ * Human players are always asked during their own turn.
+ */
+public class PipelinedTurnManager extends TurnManager {
+    private final GameState gameState;
+    private final MovementManager movementManager;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final List<GameState> worlds;
+    private final Speculation[] pending;
+    private boolean started;
+    private int hits;
+    private int misses;
+
+    /**
+     * Creates a new pipelined turn manager running speculations on the given executor.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     * @param executor The executor running the speculations; not shut down by {@link #close()}.
+     */
+    public PipelinedTurnManager(GameState gameState, MovementManager movementManager, GameView view,
+            ExecutorService executor) {
+        this(gameState, movementManager, view, null, EventLog.disabled(), executor, false);
+    }
+
+    /**
+     * Creates a new pipelined turn manager running each speculation on its own virtual thread.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     */
+    public PipelinedTurnManager(GameState gameState, MovementManager movementManager, GameView view) {
+        this(gameState, movementManager, view, null, EventLog.disabled());
+    }
+
+    /**
+     * Creates a new pipelined turn manager running each speculation on its own
+     * virtual thread, recording the race to a replay file and reporting its
+     * events to a log as a {@link TurnManager} does.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     * @param replay The replay to record to, or null to record nothing.
+     * @param log The log receiving the events of the turns.
+     */
+    public PipelinedTurnManager(GameState gameState, MovementManager movementManager, GameView view,
+            ReplayWriter replay, EventLog log) {
+        this(gameState, movementManager, view, replay, log, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    private PipelinedTurnManager(GameState gameState, MovementManager movementManager, GameView view,
+            ReplayWriter replay, EventLog log, ExecutorService executor, boolean ownsExecutor) {
+        super(gameState, movementManager, view, replay, log);
+        this.gameState = gameState;
+        this.movementManager = movementManager;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.worlds = new ArrayList<>(gameState.getPlayerCount());
+        this.pending = new Speculation[gameState.getPlayerCount()];
+        for (int i = 0; i < gameState.getPlayerCount(); i++) {
+            this.worlds.add(gameState.getPlayer(i) instanceof BotPlayer ? ShadowPlayer.createWorld(gameState) : null);
+        }
+    }
+
+    /**
+     * Advances the game by one turn, then starts computing the next move of
+     * the player who just moved.
+     */
+    @Override
+    public void advanceTurn() {
+        if (!this.started) {
+            this.started = true;
+            for (int i = 0; i < this.gameState.getPlayerCount(); i++) {
+                this.speculate(i);
+            }
+        }
+        int mover = this.gameState.getCurrentPlayerIndex();
+        super.advanceTurn();
+        if (!this.gameState.isFinished()) {
+            this.speculate(mover);
+        }
+    }
+
+    /**
+     * Answers with the speculated move of a bot if it is still valid,
+     * otherwise asks the bot again.
+     *
+     * @param player The current player.
+     * @return The acceleration chosen by the player.
+     */
+    @Override
+    protected Vector requestAcceleration(Player player) {
+        int index = this.gameState.getCurrentPlayerIndex();
+        Speculation speculation = this.pending[index];
+        this.pending[index] = null;
+        if (speculation == null) {
+            return super.requestAcceleration(player);
+        }
+        Vector acceleration = speculation.await();
+        if (acceleration != null
+                && (speculation.version == this.gameState.getVersion() || this.isStillLegal(player, acceleration))) {
+            this.hits++;
+            return acceleration;
+        }
+        this.misses++;
+        return super.requestAcceleration(player);
+    }
+
+    /**
+     * Gets the number of turns played with a speculated move.
+     *
+     * @return The number of speculations used.
+     */
+    public int getSpeculationHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of speculations discarded because the race had changed.
+     *
+     * @return The number of speculations computed again.
+     */
+    public int getSpeculationMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Waits for the running speculations and stops the virtual threads
+     * created by this manager, if any.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < this.pending.length; i++) {
+            if (this.pending[i] != null) {
+                this.pending[i].await();
+                this.pending[i] = null;
+            }
+        }
+        if (this.ownsExecutor) {
+            this.executor.close();
+        }
+    }
+
+    /**
+     * Starts computing the next move of a bot on a copy of the current race.
+     *
+     * @param index The index of the player.
+     */
+    private void speculate(int index) {
+        GameState world = this.worlds.get(index);
+        if (world == null || this.pending[index] != null) {
+            return;
+        }
+        ShadowPlayer shadow = ShadowPlayer.sync(world, this.gameState, index);
+        long version = this.gameState.getVersion();
+        Future<Vector> future = this.executor.submit(() -> shadow.getNextAcceleration(world));
+        this.pending[index] = new Speculation(future, version);
+    }
+
+    /**
+     * Checks a speculated move against the live race, as {@link TurnManager} will.
+     *
+     * @param player The player about to move.
+     * @param acceleration The speculated acceleration.
+     * @return true if the move is legal now.
+     */
+    private boolean isStillLegal(Player player, Vector acceleration) {
+        if (!this.movementManager.validateMove(player, acceleration, this.gameState)) {
+            return false;
+        }
+        Position end = player.getPosition().move(player.getVelocity().add(acceleration));
+        return !this.gameState.isOccupiedByOther(end.getX(), end.getY(), player);
+    }
+
+    /**
+     * A move being computed ahead of its turn.
+     */
+    private static final class Speculation {
+        private final Future<Vector> future;
+        private final long version;
+
+        Speculation(Future<Vector> future, long version) {
+            this.future = future;
+            this.version = version;
+        }
+
+        /**
+         * Waits for the move.
+         *
+         * @return The move, or null if the speculation failed.
+         */
+        Vector await() {
+            try {
+                return this.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                // The bot is asked again during its turn, where the error surfaces as usual
+                return null;
+            }
+        }
+    }
+}
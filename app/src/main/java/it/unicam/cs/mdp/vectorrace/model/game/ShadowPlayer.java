@@ -0,0 +1,93 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * A copy of a player that strategies can read and update on another thread
+ * without touching the live race.
+ *
+ * <p>Bots think on a private race made of such copies, one per player, kept
+ * in line with the live race by {@link #sync(GameState, GameState, int)}.
+ * Strategies keep their plans by player name, so a copy shares them with the
+ * player it mirrors, and asking a copy for its next move asks the mirrored
+ * player to choose it from the copy's point of view.
+ */
+final class ShadowPlayer extends Player {
+    private final Player player;
+
+    ShadowPlayer(Player player) {
+        super(player.getName(), player.getColor() != null ? player.getColor() : Color.BLACK, player.getPosition());
+        this.player = player;
+    }
+
+    /**
+     * Creates a private race between copies of the players of a live race.
+     *
+     * @param gameState The live race.
+     * @return The private race.
+     */
+    static GameState createWorld(GameState gameState) {
+        List<Player> shadows = new ArrayList<>(gameState.getPlayerCount());
+        gameState.forEachPlayer(player -> shadows.add(new ShadowPlayer(player)));
+        return new GameState(gameState.getTrack(), shadows);
+    }
+
+    /**
+     * Brings a private race in line with the live race, with the given
+     * player to move. Must not be called while a strategy uses the private race.
+     *
+     * @param world The private race, created by {@link #createWorld(GameState)}.
+     * @param gameState The live race.
+     * @param index The index of the player about to think.
+     * @return The copy of that player.
+     */
+    static ShadowPlayer sync(GameState world, GameState gameState, int index) {
+        for (int i = 0; i < world.getPlayerCount(); i++) {
+            ((ShadowPlayer) world.getPlayer(i)).copyFrom(gameState.getPlayer(i));
+        }
+        while (world.getCurrentPlayerIndex() != index) {
+            world.nextTurn();
+        }
+        return (ShadowPlayer) world.getPlayer(index);
+    }
+
+    /**
+     * Brings the copy in line with the player, keeping the occupancy of its race in sync.
+     *
+     * @param player The live player.
+     */
+    private void copyFrom(Player player) {
+        if (!player.getPosition().equals(this.position)) {
+            this.updatePosition(player.getPosition());
+            this.movementHistory.clear();
+        }
+        this.velocity = player.getVelocity();
+        this.nextCheckpointIndex = player.getNextCheckpointIndex();
+    }
+
+    /**
+     * Asks the mirrored player for its next move in the given race: a bot
+     * thinks as this copy, any other player is asked directly.
+     *
+     * @param gameState The race, usually the private race of this copy.
+     * @return The acceleration chosen by the mirrored player.
+     */
+    @Override
+    public Vector getNextAcceleration(GameState gameState) {
+        if (this.player instanceof BotPlayer bot) {
+            return bot.getNextAcceleration(this, gameState);
+        }
+        return this.player.getNextAcceleration(gameState);
+    }
+
+    @Override
+    public void resetVelocity() {
+        this.velocity = new Vector(0, 0);
+    }
+}
@@ -0,0 +1,302 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bresenham.BresenhamPathCalculator;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.GameView;
+
+/**
+ * Runs a race in rounds in which every player moves at once, as an
+ * alternative to the turns of {@link TurnManager}.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>All players choose their acceleration from the same state of the race;
+ *       bots think in parallel, each on a private copy of the race, so a round
+ *       takes about as long as the slowest bot</li>
+ *   <li>Moves are resolved together by rules that depend only on the turn
+ *       order and on the round, never on thread scheduling</li>
+ *   <li>A rejected move leaves the player where it was with zero velocity,
+ *       as a collision does in {@link TurnManager}</li>
+ * </ul>
+ *
+ * <p>A move is rejected if:
+ * <ol>
+ *   <li>{@link MovementManager} rejects it against the state before the round:
+ *       it hits a wall or, with the rules of the
+ *       {@link it.unicam.cs.mdp.vectorrace.model.game.validators.PlayerCollisionValidator},
+ *       crosses a cell where a player stands before the round</li>
+ *   <li>it ends on the same cell as another move allowed by the first rule,
+ *       unless its player has the priority over the other</li>
+ *   <li>with the same rules, its path crosses the end cell of another move
+ *       allowed by the first rule, unless the other path also crosses its end
+ *       cell and its player has the priority over the other</li>
+ * </ol>
+ * The last two rules are checked against the moves allowed by the first, not
+ * against each other's outcome, so a single pass resolves the round. The
+ * priority rotates every round, starting from the first player in turn order,
+ * so two players aiming at the same cell cannot block each other forever.
+ * If several players reach the finish line in the same round, the first in
+ * turn order wins.
+ */
+public class SimultaneousRoundManager implements AutoCloseable {
+    private final GameState gameState;
+    private final MovementManager movementManager;
+    private final GameView view;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final List<GameState> worlds;
+    private final BresenhamPathCalculator pathCalculator = new BresenhamPathCalculator();
+    private int collisionCount;
+    private int rounds;
+
+    /**
+     * Creates a new round manager running the bots on the given executor.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     * @param executor The executor running the bots; not shut down by {@link #close()}.
+     */
+    public SimultaneousRoundManager(GameState gameState, MovementManager movementManager, GameView view,
+            ExecutorService executor) {
+        this(gameState, movementManager, view, executor, false);
+    }
+
+    /**
+     * Creates a new round manager running each bot on its own virtual thread.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     */
+    public SimultaneousRoundManager(GameState gameState, MovementManager movementManager, GameView view) {
+        this(gameState, movementManager, view, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    private SimultaneousRoundManager(GameState gameState, MovementManager movementManager, GameView view,
+            ExecutorService executor, boolean ownsExecutor) {
+        this.gameState = gameState;
+        this.movementManager = movementManager;
+        this.view = view;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.worlds = new ArrayList<>(gameState.getPlayerCount());
+        for (int i = 0; i < gameState.getPlayerCount(); i++) {
+            this.worlds.add(gameState.getPlayer(i) instanceof BotPlayer ? ShadowPlayer.createWorld(gameState) : null);
+        }
+    }
+
+    /**
+     * Plays one round: collects every player's acceleration, resolves the
+     * moves together and checks for a winner. Does nothing once the game is over.
+     *
+     * @throws IllegalStateException if a bot fails or the calling thread is interrupted.
+     */
+    public void playRound() {
+        if (this.gameState.isFinished()) {
+            return;
+        }
+        int count = this.gameState.getPlayerCount();
+        // The moves played, not the players while choosing them, decide the checkpoint progress
+        int[] checkpoints = new int[count];
+        for (int i = 0; i < count; i++) {
+            checkpoints[i] = this.gameState.getPlayer(i).getNextCheckpointIndex();
+        }
+        Vector[] accelerations = this.collectAccelerations();
+
+        Position[] ends = new Position[count];
+        Vector[] velocities = new Vector[count];
+        boolean[] accepted = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Player player = this.gameState.getPlayer(i);
+            velocities[i] = player.getVelocity().add(accelerations[i]);
+            accepted[i] = this.movementManager.validateMove(player, accelerations[i], this.gameState);
+            ends[i] = accepted[i] ? player.getPosition().move(velocities[i]) : player.getPosition();
+        }
+        boolean[] conflicting = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            if (accepted[i]) {
+                conflicting[i] = this.conflicts(i, ends, accepted);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            Player player = this.gameState.getPlayer(i);
+            Position start = player.getPosition();
+            if (accepted[i] && !conflicting[i]) {
+                player.updatePosition(ends[i]);
+                player.updateVelocity(velocities[i]);
+                MoveRules.settleCheckpoints(this.gameState.getTrack(), player, start, true, checkpoints[i]);
+            } else {
+                MoveRules.settleCheckpoints(this.gameState.getTrack(), player, start, false, checkpoints[i]);
+                this.collisionCount++;
+                this.view.displayMessage(player.getName() + (accepted[i]
+                        ? " si scontra con la mossa di un altro giocatore, resta fermo!"
+                        : " ha colliso con un muro o giocatore fermo! Velocità resettata."));
+                player.resetVelocity();
+                this.gameState.markModified();
+            }
+        }
+        this.rounds++;
+
+        for (int i = 0; i < count; i++) {
+            Player player = this.gameState.getPlayer(i);
+            if (accepted[i] && !conflicting[i] && this.isOnFinish(player)) {
+                this.gameState.setWinner(player);
+                this.gameState.setFinished(true);
+                this.view.displayMessage("Il Giocatore " + player.getName() + " ha vinto la gara!");
+                break;
+            }
+        }
+        this.view.displayGameState(this.gameState);
+    }
+
+    /**
+     * Gets the number of moves rejected so far.
+     *
+     * @return The number of collisions.
+     */
+    public int getCollisionCount() {
+        return this.collisionCount;
+    }
+
+    /**
+     * Gets the number of rounds played so far.
+     *
+     * @return The number of rounds.
+     */
+    public int getRoundCount() {
+        return this.rounds;
+    }
+
+    /**
+     * Stops the virtual threads created by this manager, if any.
+     */
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            this.executor.close();
+        }
+    }
+
+    /**
+     * Asks every player for an acceleration: bots in parallel on their
+     * private copies of the race, human players on the calling thread.
+     *
+     * @return One acceleration per player, zero for players who gave none.
+     */
+    private Vector[] collectAccelerations() {
+        int count = this.gameState.getPlayerCount();
+        List<Future<Vector>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GameState world = this.worlds.get(i);
+            if (world == null) {
+                futures.add(null);
+                continue;
+            }
+            ShadowPlayer shadow = ShadowPlayer.sync(world, this.gameState, i);
+            futures.add(this.executor.submit(() -> shadow.getNextAcceleration(world)));
+        }
+
+        Vector[] accelerations = new Vector[count];
+        for (int i = 0; i < count; i++) {
+            Player player = this.gameState.getPlayer(i);
+            if (futures.get(i) == null) {
+                accelerations[i] = player.getNextAcceleration(this.gameState);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            Player player = this.gameState.getPlayer(i);
+            if (futures.get(i) != null) {
+                accelerations[i] = this.await(futures.get(i), player);
+            }
+            if (accelerations[i] == null) {
+                this.view.displayMessage(player.getName() + " non ha fornito un'accelerazione valida.");
+                accelerations[i] = new Vector(0, 0);
+            }
+        }
+        return accelerations;
+    }
+
+    private Vector await(Future<Vector> future, Player player) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Round interrotto", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Calcolo della mossa fallito per " + player.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Checks the second and third rejection rules for a move that passed the first.
+     *
+     * @param index The index of the moving player.
+     * @param ends The cell where every player ends the round if its move is kept.
+     * @param accepted Which moves passed the first rule; only those are checked against.
+     * @return true if the move must be rejected.
+     */
+    private boolean conflicts(int index, Position[] ends, boolean[] accepted) {
+        for (int j = 0; j < ends.length; j++) {
+            if (j == index || !accepted[j] || !this.meets(index, j, ends)) {
+                continue;
+            }
+            if (!this.meets(j, index, ends) || !this.hasPriority(index, j)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a move ends on the end cell of another move or crosses it.
+     *
+     * @param index The index of the moving player.
+     * @param other The index of the other player.
+     * @param ends The cell where every player ends the round if its move is kept.
+     * @return true if the move meets the other.
+     */
+    private boolean meets(int index, int other, Position[] ends) {
+        Player player = this.gameState.getPlayer(index);
+        Position start = player.getPosition();
+        Position end = ends[index];
+        Position target = ends[other];
+        if (target.equals(end)) {
+            return true;
+        }
+        // As in PlayerCollisionValidator, a player starting at rest only checks its destination
+        return !player.getVelocity().isZero() && !this.pathCalculator.traverse(start, end, (x, y) ->
+                (x == start.getX() && y == start.getY()) || x != target.getX() || y != target.getY());
+    }
+
+    /**
+     * Checks whether a player has the priority over another in the current
+     * round. The first player in turn order has the priority in the first
+     * round, the second in the next one, and so on.
+     *
+     * @param index The index of the player.
+     * @param other The index of the other player.
+     * @return true if the player comes first.
+     */
+    private boolean hasPriority(int index, int other) {
+        int count = this.gameState.getPlayerCount();
+        return Math.floorMod(index - this.rounds, count) < Math.floorMod(other - this.rounds, count);
+    }
+
+    private boolean isOnFinish(Player player) {
+        Position position = player.getPosition();
+        return this.gameState.getTrack().getCell(position.getX(), position.getY()) == CellType.FINISH;
+    }
+}
@@ -1,9 +1,15 @@
 package it.unicam.cs.mdp.vectorrace.model.game;
 
+import java.io.IOException;
+
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
+import it.unicam.cs.mdp.vectorrace.model.log.EventType;
+import it.unicam.cs.mdp.vectorrace.model.log.LogLevel;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.replay.ReplayWriter;
 import it.unicam.cs.mdp.vectorrace.view.GameView;
 
 /**
@@ -16,13 +22,21 @@ import it.unicam.cs.mdp.vectorrace.view.GameView;
  *   <li>Turn progression and management</li>
  *   <li>Movement validation and execution</li>
  *   <li>Collision detection and handling</li>
+ *   <li>Checkpoint progress of every player, human or bot, credited by the
+ *       same rule as {@link GameSnapshot}</li>
  *   <li>Victory condition verification</li>
+ *   <li>Previewing rounds on a {@link GameSnapshot}, leaving the game untouched</li>
+ *   <li>Recording every turn to an optional {@link ReplayWriter}</li>
+ *   <li>Reporting moves, collisions and the winner to an {@link EventLog}</li>
  * </ul>
  */
-public class TurnManager {
+public class TurnManager implements AutoCloseable {
     private final GameState gameState;
     private final MovementManager movementManager;
     private final GameView view;
+    private final EventLog log;
+    private ReplayWriter replay;
+    private int collisionCount;
 
     /**
      * Creates a new TurnManager with the specified components.
@@ -32,9 +46,40 @@ public class TurnManager {
      * @param view The view component for displaying game updates.
      */
     public TurnManager(GameState gameState, MovementManager movementManager, GameView view) {
+        this(gameState, movementManager, view, null);
+    }
+
+    /**
+     * Creates a new TurnManager that records the race to a replay file.
+     * The manager closes the replay when the race ends.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     * @param replay The replay to record to, or null to record nothing.
+     */
+    public TurnManager(GameState gameState, MovementManager movementManager, GameView view, ReplayWriter replay) {
+        this(gameState, movementManager, view, replay, EventLog.disabled());
+    }
+
+    /**
+     * Creates a new TurnManager that records the race to a replay file and
+     * reports its events to a log.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     * @param replay The replay to record to, or null to record nothing.
+     * @param log The log receiving moves at {@link LogLevel#INFO} and rejected
+     *            moves at {@link LogLevel#WARN}.
+     */
+    public TurnManager(GameState gameState, MovementManager movementManager, GameView view, ReplayWriter replay,
+            EventLog log) {
         this.gameState = gameState;
         this.movementManager = movementManager;
         this.view = view;
+        this.replay = replay;
+        this.log = log != null ? log : EventLog.disabled();
     }
 
     /**
@@ -42,17 +87,26 @@ public class TurnManager {
      * This method orchestrates the complete turn sequence:
      * <ol>
      *   <li>Gets and validates player acceleration</li>
-     *   <li>Processes player movement</li>
+     *   <li>Processes player movement and credits the checkpoints it crosses</li>
      *   <li>Checks for victory conditions</li>
      *   <li>Updates game state and view</li>
      * </ol>
      */
     public void advanceTurn() {
         Player currentPlayer = this.gameState.getCurrentPlayer();
+        if (this.replay != null) {
+            this.replay.beginTurn(this.gameState);
+        }
 
+        // The move played, not the player while choosing it, decides the checkpoint progress
+        int checkpoint = currentPlayer.getNextCheckpointIndex();
         Vector acceleration = this.getAndValidateAcceleration(currentPlayer);
+        Position start = currentPlayer.getPosition();
+        boolean moved = this.processMovement(currentPlayer, acceleration);
+        MoveRules.settleCheckpoints(this.gameState.getTrack(), currentPlayer, start, moved, checkpoint);
+        this.recordTurn(acceleration);
 
-        if (this.processMovement(currentPlayer, acceleration)) {
+        if (moved) {
             if (this.checkVictoryConditions(currentPlayer)) {
                 this.endGame(currentPlayer);
                 return;
@@ -63,6 +117,83 @@ public class TurnManager {
         this.view.displayGameState(this.gameState);
     }
 
+    /**
+     * Simulates one round of the game on a {@link GameSnapshot}, without
+     * asking the players for a move and without changing the live game.
+     * Each player still racing plays its own acceleration once, in turn order
+     * from the current player, under the same rules as {@link #advanceTurn()}.
+     *
+     * @param accelerations One acceleration per player, by player index.
+     * @return The snapshot of the game after the round.
+     * @throws IllegalArgumentException if there is not one acceleration per player.
+     */
+    public GameSnapshot previewRound(Vector... accelerations) {
+        return GameSnapshot.of(this.gameState).applyJoint(accelerations);
+    }
+
+    /**
+     * Gets the number of moves rejected so far, either because of a wall
+     * or because the destination cell was occupied by another player.
+     *
+     * @return The number of collisions handled by this manager.
+     */
+    public int getCollisionCount() {
+        return this.collisionCount;
+    }
+
+    /**
+     * Releases the resources held by this manager once the game is over or
+     * abandoned. A plain turn manager holds none; subclasses that think ahead
+     * of the turn stop their threads here.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Records the acceleration of the turn just played, if a replay is being
+     * written. A replay that cannot be written is abandoned, not the race.
+     *
+     * @param acceleration The acceleration played.
+     */
+    private void recordTurn(Vector acceleration) {
+        if (this.replay == null) {
+            return;
+        }
+        try {
+            this.replay.recordTurn(acceleration);
+        } catch (IOException e) {
+            this.abandonReplay(e);
+        }
+    }
+
+    /**
+     * Stops recording after a write error. The writer flushes every complete
+     * chunk as it ends, so the file keeps all the chunks before the error.
+     *
+     * @param e The write error.
+     */
+    private void abandonReplay(IOException e) {
+        this.view.displayMessage("Registrazione del replay interrotta: " + e.getMessage());
+        try {
+            this.replay.close();
+        } catch (IOException | IllegalStateException ignored) {
+            // The file is already unusable past its last complete chunk
+        }
+        this.replay = null;
+    }
+
+    /**
+     * Asks a player for the acceleration of the current turn.
+     * Subclasses may answer from work done ahead of the turn.
+     *
+     * @param player The current player.
+     * @return The acceleration chosen by the player, possibly null.
+     */
+    protected Vector requestAcceleration(Player player) {
+        return player.getNextAcceleration(this.gameState);
+    }
+
     /**
      * Gets and validates the acceleration vector from a player.
      * If the player provides an invalid acceleration, returns a zero vector.
@@ -71,7 +202,7 @@ public class TurnManager {
      * @return The validated acceleration vector, or zero vector if invalid.
      */
     private Vector getAndValidateAcceleration(Player player) {
-        Vector acceleration = player.getNextAcceleration(this.gameState);
+        Vector acceleration = this.requestAcceleration(player);
         if (acceleration == null) {
             this.view.displayMessage(player.getName() + " non ha fornito un'accelerazione valida.");
             return new Vector(0, 0);
@@ -108,6 +239,10 @@ public class TurnManager {
 
         player.updatePosition(newPosition);
         player.updateVelocity(newVelocity);
+        if (this.log.isEnabled(LogLevel.INFO)) {
+            this.log.log(LogLevel.INFO, EventType.MOVE, player.getName(), newPosition.getX(), newPosition.getY(),
+                    newVelocity.getDx(), newVelocity.getDy(), 0);
+        }
         return true;
     }
 
@@ -120,8 +255,7 @@ public class TurnManager {
      * @return true if the position is occupied by another player.
      */
     private boolean isPositionOccupied(Position position, Player currentPlayer) {
-        return this.gameState.getPlayers().stream()
-                .anyMatch(other -> other != currentPlayer && other.getPosition().equals(position));
+        return this.gameState.isOccupiedByOther(position.getX(), position.getY(), currentPlayer);
     }
 
     /**
@@ -131,8 +265,11 @@ public class TurnManager {
      * @param player The player who collided.
      */
     private void handleCollision(Player player) {
+        this.collisionCount++;
+        this.logRejected(EventType.COLLISION, player);
         this.view.displayMessage(player.getName() + " ha colliso con un muro o giocatore fermo! Velocità resettata.");
         player.resetVelocity();
+        this.gameState.markModified();
     }
 
     /**
@@ -142,9 +279,25 @@ public class TurnManager {
      * @param player The player who encountered an occupied position.
      */
     private void handleOccupiedPosition(Player player) {
+        this.collisionCount++;
+        this.logRejected(EventType.OCCUPIED, player);
         this.view
                 .displayMessage(player.getName() + " ha trovato la cella occupata da un altro giocatore, resta fermo!");
         player.resetVelocity();
+        this.gameState.markModified();
+    }
+
+    /**
+     * Reports a rejected move, if warnings are being logged.
+     *
+     * @param type The reason of the rejection.
+     * @param player The player who stays where they are.
+     */
+    private void logRejected(EventType type, Player player) {
+        if (this.log.isEnabled(LogLevel.WARN)) {
+            Position position = player.getPosition();
+            this.log.log(LogLevel.WARN, type, player.getName(), position.getX(), position.getY());
+        }
     }
 
     /**
@@ -169,6 +322,18 @@ public class TurnManager {
     private void endGame(Player winner) {
         this.gameState.setFinished(true);
         this.gameState.setWinner(winner);
+        if (this.log.isEnabled(LogLevel.INFO)) {
+            Position position = winner.getPosition();
+            this.log.log(LogLevel.INFO, EventType.WIN, winner.getName(), position.getX(), position.getY());
+        }
+        if (this.replay != null) {
+            try {
+                this.replay.finish(this.gameState);
+                this.replay = null;
+            } catch (IOException e) {
+                this.abandonReplay(e);
+            }
+        }
         this.view.displayMessage("Il Giocatore " + winner.getName() + " ha vinto la gara!");
         this.view.displayGameState(this.gameState);
     }
@@ -0,0 +1,48 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
+import it.unicam.cs.mdp.vectorrace.model.replay.ReplayWriter;
+import it.unicam.cs.mdp.vectorrace.view.GameView;
+
+/**
+ * Defines how the turns of a race are played.
+ *
+ * <p>Available modes:
+ * <ul>
+ *   <li>{@link #SEQUENTIAL}: each player is asked for its move during its own
+ *       turn, by a plain {@link TurnManager}</li>
+ *   <li>{@link #PIPELINED}: bots think about their next move while the other
+ *       players take their turns, by a {@link PipelinedTurnManager}</li>
+ *   <li>{@link #SIMULTANEOUS}: all players move at once in rounds, with bots
+ *       thinking in parallel, by a {@link SimultaneousRoundManager}</li>
+ * </ul>
+ *
+ * <p>Rounds have no turn manager: races in the simultaneous mode are played
+ * through {@link SimultaneousRoundManager#playRound()}.
+ */
+public enum TurnMode {
+    SEQUENTIAL,
+    PIPELINED,
+    SIMULTANEOUS;
+
+    /**
+     * Creates the turn manager of this mode.
+     *
+     * @param gameState The current state of the game.
+     * @param movementManager The manager handling movement validation.
+     * @param view The view component for displaying game updates.
+     * @param replay The replay to record to, or null to record nothing.
+     * @param log The log receiving the events of the turns.
+     * @return A new turn manager; the caller is responsible for closing it.
+     * @throws IllegalArgumentException if this is the {@link #SIMULTANEOUS} mode.
+     */
+    public TurnManager newTurnManager(GameState gameState, MovementManager movementManager, GameView view,
+            ReplayWriter replay, EventLog log) {
+        return switch (this) {
+            case SEQUENTIAL -> new TurnManager(gameState, movementManager, view, replay, log);
+            case PIPELINED -> new PipelinedTurnManager(gameState, movementManager, view, replay, log);
+            case SIMULTANEOUS -> throw new IllegalArgumentException(
+                    "Le gare a mosse simultanee si giocano a round, non a turni");
+        };
+    }
+}
@@ -1,27 +1,29 @@
 package it.unicam.cs.mdp.vectorrace.model.game.validators;
 
-import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.MoveLegalityTable;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.SegmentTraversal;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
 
 /**
  * A specialized validator that checks for collisions between player movements and walls.
- * This validator implements a modified Bresenham's line algorithm to ensure that
- * player movements don't pass through any wall cells on the track.
+ * This validator walks the movement segment with an integer line traversal to ensure
+ * that player movements don't pass through any wall cells on the track.
  * 
  * <p>Key features:
  * <ul>
  *   <li>Continuous path checking using line-drawing algorithm</li>
  *   <li>Efficient wall collision detection</li>
  *   <li>Handles edge cases like zero-length movements</li>
+ *   <li>Answers from the track's {@link MoveLegalityTable} when the move is covered</li>
  * </ul>
  * 
  * <p>The validation process:
  * <ol>
  *   <li>Validates input parameters and handles edge cases</li>
- *   <li>Calculates movement path using interpolation</li>
+ *   <li>Enumerates the cells of the movement path</li>
  *   <li>Checks each cell along the path for walls</li>
  * </ol>
  */
@@ -39,83 +41,44 @@ public class WallCollisionValidator implements MoveValidator {
             return true;
         }
         
-        return isPathClear(start, end, track);
+        return isMoveClear(start.getX(), start.getY(), end.getX() - start.getX(), end.getY() - start.getY(), track);
     }
-    
+
     /**
-     * Checks if the path between two positions is clear of walls.
-     * Uses a modified Bresenham's line algorithm to determine all cells
-     * that the movement would pass through.
+     * Checks if a move given as starting cell and velocity is clear of walls.
+     * Covered moves are answered with a single lookup in the track's
+     * {@link MoveLegalityTable}; other moves are checked by walking the path.
      *
-     * @param start Starting position of the movement.
-     * @param end Ending position of the movement.
+     * @param x The x coordinate of the starting cell.
+     * @param y The y coordinate of the starting cell.
+     * @param vx The horizontal velocity component.
+     * @param vy The vertical velocity component.
      * @param track The track containing wall information.
      * @return true if the path is clear of walls, false otherwise.
      */
-    private boolean isPathClear(Position start, Position end, Track track) {
-        int dx = end.getX() - start.getX();
-        int dy = end.getY() - start.getY();
-        int steps = calculateSteps(dx, dy);
-        
-        if (steps == 0) {
-            return true;
+    public boolean isMoveClear(int x, int y, int vx, int vy, Track track) {
+        MoveLegalityTable table = track.getMoveLegality();
+        if (table.covers(x, y, vx, vy)) {
+            return table.isLegal(x, y, vx, vy);
         }
-        
-        float xIncrement = (float) dx / steps;
-        float yIncrement = (float) dy / steps;
-        
-        return checkPath(start, xIncrement, yIncrement, steps, track);
+        return isPathClear(x, y, x + vx, y + vy, track);
     }
     
     /**
-     * Calculates the number of steps needed for the movement.
-     * Uses the maximum distance in either direction to ensure all
-     * intermediate cells are checked.
+     * Checks if the path between two cells given as raw coordinates is clear of walls.
+     * The cells are enumerated by {@link SegmentTraversal} with the
+     * {@link MoveLegalityTable#WALL_RULE}, skipping the starting cell so that
+     * movements from cells adjacent to walls are allowed, exactly as the
+     * {@link MoveLegalityTable} is built.
      *
-     * @param dx The change in x-coordinate.
-     * @param dy The change in y-coordinate.
-     * @return The number of steps needed for the movement.
-     */
-    private int calculateSteps(int dx, int dy) {
-        return Math.max(Math.abs(dx), Math.abs(dy));
-    }
-    
-    /**
-     * Checks each cell along the movement path for walls.
-     * This method:
-     * <ul>
-     *   <li>Interpolates positions along the movement path</li>
-     *   <li>Rounds floating-point coordinates to grid positions</li>
-     *   <li>Checks each position for wall cells</li>
-     *   <li>Skips the starting position in the check</li>
-     * </ul>
-     *
-     * @param start The starting position.
-     * @param xIncrement The x-coordinate increment per step.
-     * @param yIncrement The y-coordinate increment per step.
-     * @param steps The total number of steps to check.
+     * @param startX The x coordinate of the starting cell.
+     * @param startY The y coordinate of the starting cell.
+     * @param endX The x coordinate of the ending cell.
+     * @param endY The y coordinate of the ending cell.
      * @param track The track containing wall information.
-     * @return true if no walls are encountered, false otherwise.
+     * @return true if the path is clear of walls, false otherwise.
      */
-    private boolean checkPath(Position start, float xIncrement, float yIncrement, int steps, Track track) {
-        float x = start.getX();
-        float y = start.getY();
-        
-        for (int i = 0; i <= steps; i++) {
-            int currentX = Math.round(x);
-            int currentY = Math.round(y);
-            
-            // Skip starting position to allow movement from adjacent to walls
-            if (!(currentX == start.getX() && currentY == start.getY())) {
-                if (track.getCell(currentX, currentY) == CellType.WALL) {
-                    return false;
-                }
-            }
-            
-            x += xIncrement;
-            y += yIncrement;
-        }
-        
-        return true;
+    public boolean isPathClear(int startX, int startY, int endX, int endY, Track track) {
+        return SegmentTraversal.isClear(MoveLegalityTable.WALL_RULE, startX, startY, endX, endY, track);
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes events as compact fixed-layout binary records through a buffered
+ * {@link FileChannel}, for long headless runs.
+ *
+ * <p>The file starts with the magic number {@code "VRLG"} and the format
+ * version. Each record, big-endian, holds:
+ * <ul>
+ *   <li>the time in milliseconds, as a long</li>
+ *   <li>the {@link LogLevel} and {@link EventType} ordinals, one byte each</li>
+ *   <li>the values named by the event type, as ints</li>
+ *   <li>the source, as an unsigned short length and UTF-8 bytes</li>
+ *   <li>for free-text events only, the message, as an int length and UTF-8 bytes</li>
+ * </ul>
+ */
+public class BinaryLogSink implements LogSink {
+    /** The magic number at the start of binary logs. */
+    public static final int MAGIC = 0x56524C47; // "VRLG"
+    /** The version of the binary log format. */
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final Map<String, byte[]> sources = new HashMap<>();
+
+    private BinaryLogSink(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a binary sink writing to a file, replaced if it exists.
+     *
+     * @param file The file to write.
+     * @return The sink.
+     * @throws IOException if the file cannot be created.
+     */
+    public static BinaryLogSink open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        BinaryLogSink sink = new BinaryLogSink(channel);
+        sink.buffer.putInt(MAGIC).putInt(VERSION);
+        return sink;
+    }
+
+    @Override
+    public void write(LogEvent event) throws IOException {
+        byte[] source = this.sources.computeIfAbsent(
+                event.getSource() != null ? event.getSource() : "", s -> s.getBytes(StandardCharsets.UTF_8));
+        byte[] message = event.getType() == EventType.MESSAGE && event.getMessage() != null
+                ? event.getMessage().getBytes(StandardCharsets.UTF_8)
+                : null;
+        int values = event.getType().getFieldNames().size();
+        int size = 8 + 2 + values * 4 + 2 + source.length
+                + (event.getType() == EventType.MESSAGE ? 4 + (message != null ? message.length : 0) : 0);
+        if (this.buffer.remaining() < size) {
+            flush();
+        }
+        ByteBuffer out = this.buffer.remaining() >= size ? this.buffer : ByteBuffer.allocate(size);
+        out.putLong(event.getTimeMillis())
+                .put((byte) event.getLevel().ordinal())
+                .put((byte) event.getType().ordinal());
+        for (int i = 0; i < values; i++) {
+            out.putInt(event.getValue(i));
+        }
+        out.putShort((short) source.length).put(source);
+        if (event.getType() == EventType.MESSAGE) {
+            if (message == null) {
+                out.putInt(0);
+            } else {
+                out.putInt(message.length).put(message);
+            }
+        }
+        if (out != this.buffer) {
+            // A message larger than the whole buffer goes straight to the file
+            out.flip();
+            while (out.hasRemaining()) {
+                this.channel.write(out);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Prints events as human-readable lines, in the format of the bots' console
+ * messages: {@code [BOT name - HH:mm:ss.SSS] message}.
+ * Formatting happens on the writer thread of the {@link EventLog}.
+ */
+public class ConsoleSink implements LogSink {
+    private static final DateTimeFormatter LOG_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final PrintStream out;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Creates a new console sink.
+     *
+     * @param out The stream that receives the lines; not closed with the sink.
+     */
+    public ConsoleSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(LogEvent event) {
+        String prefix = prefix(event);
+        switch (event.getType()) {
+            case BOT_STATE -> {
+                print(prefix, "Calcolo prossima accelerazione");
+                print(prefix, "Posizione attuale: " + pair(event, 0));
+                print(prefix, "Velocità attuale: " + pair(event, 2));
+                print(prefix, "Prossimo checkpoint: " + event.getValue(4));
+            }
+            case BOT_ACCELERATION -> print(prefix, "Accelerazione calcolata: " + pair(event, 0));
+            case MOVE -> print(prefix, "Mossa in " + pair(event, 0) + " con velocità " + pair(event, 2));
+            case COLLISION -> print(prefix, "Mossa bloccata da un muro o da un giocatore, fermo in " + pair(event, 0));
+            case OCCUPIED -> print(prefix, "Cella di arrivo occupata, fermo in " + pair(event, 0));
+            case WIN -> print(prefix, "Traguardo raggiunto in " + pair(event, 0));
+            case MESSAGE -> print(prefix, event.getMessage());
+        }
+    }
+
+    @Override
+    public void flush() {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() {
+        this.out.flush();
+    }
+
+    private String prefix(LogEvent event) {
+        String timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimeMillis()), this.zone)
+                .format(LOG_FORMATTER);
+        boolean bot = event.getType() == EventType.BOT_STATE || event.getType() == EventType.BOT_ACCELERATION;
+        return (bot ? "[BOT " : "[") + event.getSource() + " - " + timestamp + "] ";
+    }
+
+    private void print(String prefix, String message) {
+        this.line.setLength(0);
+        this.line.append(prefix).append(message).append(System.lineSeparator());
+        this.out.print(this.line);
+    }
+
+    private static String pair(LogEvent event, int first) {
+        return "(" + event.getValue(first) + ", " + event.getValue(first + 1) + ")";
+    }
+}
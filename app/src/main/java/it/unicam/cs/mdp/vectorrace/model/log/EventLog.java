@@ -0,0 +1,325 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records structured events of bots and races without slowing them down.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>The level is checked before anything is built: callers guard their
+ *       calls with {@link #isEnabled(LogLevel)}, so a disabled log costs one
+ *       volatile read per call site</li>
+ *   <li>Events are copied into a preallocated, lock-free ring buffer shared by
+ *       any number of producer threads; nothing is formatted or allocated on
+ *       the producer side apart from free-text messages</li>
+ *   <li>A daemon writer thread drains the buffer into a {@link LogSink} and
+ *       flushes it whenever the buffer runs empty</li>
+ *   <li>When the buffer is full, new events are dropped and counted instead of
+ *       blocking the race</li>
+ * </ul>
+ *
+ * <p>Events recorded while the log is being closed may be lost.
+ */
+public final class EventLog implements Closeable {
+    /** The number of events the ring buffer holds when none is given. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = 5_000_000L;
+    private static final long FLUSH_WAIT_NANOS = 100_000L;
+    private static final EventLog DISABLED = new EventLog(null, LogLevel.OFF, 1);
+
+    private final LogEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LogSink sink;
+    private final Thread writer;
+    private volatile LogLevel level;
+    private volatile long written;
+    private volatile boolean closed;
+    private long head;
+
+    private EventLog(LogSink sink, LogLevel level, int capacity) {
+        this.sink = sink;
+        this.level = level;
+        this.slots = new LogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            this.slots[i] = new LogEvent();
+            this.sequences.set(i, i);
+        }
+        if (sink == null) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::drain, "vectorrace-event-log");
+            this.writer.setDaemon(true);
+        }
+    }
+
+    /**
+     * Gets the log that records nothing, used by headless runs.
+     *
+     * @return The shared disabled log.
+     */
+    public static EventLog disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Gets the log that prints debug events on standard output, in the format
+     * of the bots' console messages. It is started on first use and flushed
+     * when the JVM exits.
+     *
+     * @return The shared console log.
+     */
+    public static EventLog console() {
+        return ConsoleHolder.LOG;
+    }
+
+    /**
+     * Starts a log with the default capacity.
+     *
+     * @param sink The destination of the events; closed with the log.
+     * @param level The least severe level recorded.
+     * @return The running log.
+     */
+    public static EventLog start(LogSink sink, LogLevel level) {
+        return start(sink, level, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Starts a log and its writer thread.
+     *
+     * @param sink The destination of the events; closed with the log.
+     * @param level The least severe level recorded.
+     * @param capacity The number of events the ring buffer holds.
+     * @return The running log.
+     * @throws IllegalArgumentException if the sink is null or the capacity is
+     *         not a power of two.
+     */
+    public static EventLog start(LogSink sink, LogLevel level, int capacity) {
+        if (sink == null || level == null) {
+            throw new IllegalArgumentException("Destinazione e livello del log sono obbligatori");
+        }
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacità del log deve essere una potenza di due");
+        }
+        EventLog log = new EventLog(sink, level, capacity);
+        log.writer.start();
+        return log;
+    }
+
+    /**
+     * Checks if events of a level are recorded. Callers check this before
+     * building the arguments of an event.
+     *
+     * @param level The level of the event.
+     * @return true if the event would be recorded.
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(this.level);
+    }
+
+    /**
+     * Gets the least severe level recorded.
+     *
+     * @return The level.
+     */
+    public LogLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Changes the least severe level recorded.
+     *
+     * @param level The new level.
+     * @throws IllegalStateException if this is the {@link #disabled()} log.
+     */
+    public void setLevel(LogLevel level) {
+        if (this.writer == null && level != LogLevel.OFF) {
+            throw new IllegalStateException("Il log disattivato non può essere attivato");
+        }
+        this.level = level;
+    }
+
+    /**
+     * Records an event with two values.
+     *
+     * @param level The level of the event.
+     * @param type The kind of event.
+     * @param source The player or component recording it.
+     * @param a The first value.
+     * @param b The second value.
+     */
+    public void log(LogLevel level, EventType type, String source, int a, int b) {
+        publish(level, type, source, null, a, b, 0, 0, 0);
+    }
+
+    /**
+     * Records an event with up to {@value LogEvent#MAX_VALUES} values.
+     *
+     * @param level The level of the event.
+     * @param type The kind of event.
+     * @param source The player or component recording it.
+     * @param a The first value.
+     * @param b The second value.
+     * @param c The third value.
+     * @param d The fourth value.
+     * @param e The fifth value.
+     */
+    public void log(LogLevel level, EventType type, String source, int a, int b, int c, int d, int e) {
+        publish(level, type, source, null, a, b, c, d, e);
+    }
+
+    /**
+     * Records a free-text event.
+     *
+     * @param level The level of the event.
+     * @param source The player or component recording it.
+     * @param message The text.
+     */
+    public void message(LogLevel level, String source, String message) {
+        publish(level, EventType.MESSAGE, source, message, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Gets the number of events dropped because the ring buffer was full.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Waits until every event recorded before the call has been written and
+     * the sink flushed.
+     */
+    public void flush() {
+        if (this.writer == null) {
+            return;
+        }
+        long target = this.tail.get();
+        while (this.written < target && this.writer.isAlive()) {
+            LockSupport.unpark(this.writer);
+            LockSupport.parkNanos(FLUSH_WAIT_NANOS);
+        }
+    }
+
+    /**
+     * Writes the pending events, stops the writer thread and closes the sink.
+     * Does nothing on the {@link #disabled()} log or if already closed.
+     */
+    @Override
+    public void close() {
+        if (this.writer == null || this.closed) {
+            return;
+        }
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        boolean interrupted = false;
+        while (this.writer.isAlive()) {
+            try {
+                this.writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(LogLevel level, EventType type, String source, String message,
+            int a, int b, int c, int d, int e) {
+        if (!level.isAtLeast(this.level) || this.closed) {
+            return;
+        }
+        long position = this.tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                // The writer has not freed this slot yet: the buffer is full
+                this.dropped.increment();
+                return;
+            } else {
+                position = this.tail.get();
+            }
+        }
+        this.slots[index].set(System.currentTimeMillis(), level, type, source, message, a, b, c, d, e);
+        this.sequences.set(index, position + 1);
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                if (drainAvailable() > 0) {
+                    continue;
+                }
+                this.sink.flush();
+                this.written = this.head;
+                if (this.closed) {
+                    drainAvailable();
+                    this.sink.flush();
+                    this.written = this.head;
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        } catch (IOException | RuntimeException e) {
+            this.level = LogLevel.OFF;
+            this.written = Long.MAX_VALUE;
+            System.err.println("Scrittura del log interrotta: " + e.getMessage());
+        } finally {
+            try {
+                this.sink.close();
+            } catch (IOException ignored) {
+                // Nothing left to report the error to
+            }
+        }
+    }
+
+    private int drainAvailable() throws IOException {
+        int count = 0;
+        while (true) {
+            int index = (int) (this.head & this.mask);
+            if (this.sequences.get(index) != this.head + 1) {
+                return count;
+            }
+            LogEvent event = this.slots[index];
+            this.sink.write(event);
+            event.clear();
+            this.sequences.set(index, this.head + this.slots.length);
+            this.head++;
+            count++;
+        }
+    }
+
+    /**
+     * Holds the console log, started on first use.
+     */
+    private static final class ConsoleHolder {
+        private static final EventLog LOG = create();
+
+        private static EventLog create() {
+            EventLog log = start(new ConsoleSink(System.out), LogLevel.DEBUG);
+            Runtime.getRuntime().addShutdownHook(new Thread(log::close, "vectorrace-event-log-shutdown"));
+            return log;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import java.util.List;
+
+/**
+ * Defines the kinds of event recorded by an {@link EventLog}.
+ * Each kind carries up to {@value LogEvent#MAX_VALUES} integer values, named
+ * by {@link #getFieldNames()} in the structured sinks.
+ *
+ * <p>Available events:
+ * <ul>
+ *   <li>{@link #BOT_STATE}: a bot starts choosing its move</li>
+ *   <li>{@link #BOT_ACCELERATION}: the acceleration chosen by a bot</li>
+ *   <li>{@link #MOVE}: a move played in the race</li>
+ *   <li>{@link #COLLISION}: a move rejected by a wall or a player on its path</li>
+ *   <li>{@link #OCCUPIED}: a move rejected because its end cell is taken</li>
+ *   <li>{@link #WIN}: a player reaches the finish line</li>
+ *   <li>{@link #MESSAGE}: free text, for events without a structure</li>
+ * </ul>
+ */
+public enum EventType {
+    BOT_STATE("x", "y", "vx", "vy", "checkpoint"),
+    BOT_ACCELERATION("ax", "ay"),
+    MOVE("x", "y", "vx", "vy"),
+    COLLISION("x", "y"),
+    OCCUPIED("x", "y"),
+    WIN("x", "y"),
+    MESSAGE;
+
+    private final List<String> fieldNames;
+
+    EventType(String... fieldNames) {
+        this.fieldNames = List.of(fieldNames);
+    }
+
+    /**
+     * Gets the names of the values carried by this kind of event.
+     *
+     * @return The field names, in value order.
+     */
+    public List<String> getFieldNames() {
+        return this.fieldNames;
+    }
+}
@@ -0,0 +1,100 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes one JSON object per event and per line, for analysis tools.
+ *
+ * <p>Every object has the fields {@code time}, {@code level}, {@code event}
+ * and {@code source}, followed by the values named by
+ * {@link EventType#getFieldNames()} or, for free-text events, by
+ * {@code message}.
+ */
+public class JsonLinesSink implements LogSink {
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(128);
+
+    /**
+     * Creates a new JSON-lines sink.
+     *
+     * @param out The destination of the lines; closed with the sink.
+     */
+    public JsonLinesSink(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a JSON-lines sink writing to a file, replaced if it exists.
+     *
+     * @param file The file to write.
+     * @return The sink.
+     * @throws IOException if the file cannot be created.
+     */
+    public static JsonLinesSink open(Path file) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        return new JsonLinesSink(writer);
+    }
+
+    @Override
+    public void write(LogEvent event) throws IOException {
+        StringBuilder json = this.line;
+        json.setLength(0);
+        json.append("{\"time\":").append(event.getTimeMillis())
+                .append(",\"level\":\"").append(event.getLevel().name())
+                .append("\",\"event\":\"").append(event.getType().name())
+                .append("\",\"source\":");
+        appendString(json, event.getSource());
+        List<String> fields = event.getType().getFieldNames();
+        for (int i = 0; i < fields.size(); i++) {
+            json.append(",\"").append(fields.get(i)).append("\":").append(event.getValue(i));
+        }
+        if (event.getType() == EventType.MESSAGE) {
+            json.append(",\"message\":");
+            appendString(json, event.getMessage());
+        }
+        json.append('}').append('\n');
+        this.out.append(json);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,101 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+/**
+ * An event recorded by an {@link EventLog}.
+ *
+ * <p>Events are preallocated slots of the log's ring buffer and are reused
+ * once written: a {@link LogSink} must read what it needs during
+ * {@link LogSink#write(LogEvent)} and must not keep the event.
+ */
+public final class LogEvent {
+    /** The maximum number of values carried by an event. */
+    public static final int MAX_VALUES = 5;
+
+    private long timeMillis;
+    private LogLevel level;
+    private EventType type;
+    private String source;
+    private String message;
+    private final int[] values = new int[MAX_VALUES];
+
+    LogEvent() {
+    }
+
+    void set(long timeMillis, LogLevel level, EventType type, String source, String message,
+            int a, int b, int c, int d, int e) {
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.type = type;
+        this.source = source;
+        this.message = message;
+        this.values[0] = a;
+        this.values[1] = b;
+        this.values[2] = c;
+        this.values[3] = d;
+        this.values[4] = e;
+    }
+
+    /**
+     * Releases the references held by the event once written.
+     */
+    void clear() {
+        this.source = null;
+        this.message = null;
+    }
+
+    /**
+     * Gets the time at which the event was recorded.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    /**
+     * Gets the severity of the event.
+     *
+     * @return The level.
+     */
+    public LogLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Gets the kind of the event.
+     *
+     * @return The event type.
+     */
+    public EventType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the name of the component or player that recorded the event.
+     *
+     * @return The source.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Gets the text of a {@link EventType#MESSAGE} event.
+     *
+     * @return The message, or null for structured events.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Gets one of the values of the event, as named by
+     * {@link EventType#getFieldNames()}.
+     *
+     * @param index The index of the value.
+     * @return The value.
+     */
+    public int getValue(int index) {
+        return this.values[index];
+    }
+}
@@ -0,0 +1,30 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+/**
+ * Defines the severity of the events recorded by an {@link EventLog}, from
+ * the most to the least verbose.
+ *
+ * <p>Available levels:
+ * <ul>
+ *   <li>{@link #DEBUG}: the reasoning of the bots, several events per turn</li>
+ *   <li>{@link #INFO}: the moves of the race, one event per turn</li>
+ *   <li>{@link #WARN}: rejected moves and other anomalies</li>
+ *   <li>{@link #OFF}: nothing is recorded</li>
+ * </ul>
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    OFF;
+
+    /**
+     * Checks if an event of this level passes a threshold.
+     *
+     * @param threshold The least severe level being recorded.
+     * @return true if events of this level are recorded.
+     */
+    public boolean isAtLeast(LogLevel threshold) {
+        return this != OFF && this.ordinal() >= threshold.ordinal();
+    }
+}
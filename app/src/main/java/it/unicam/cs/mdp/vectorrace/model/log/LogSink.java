@@ -0,0 +1,26 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the events of an {@link EventLog} on its writer thread.
+ * Implementations are called by a single thread and need not be thread-safe.
+ */
+public interface LogSink extends Closeable {
+    /**
+     * Writes an event. The event is reused afterwards and must not be kept.
+     *
+     * @param event The event.
+     * @throws IOException if the event cannot be written.
+     */
+    void write(LogEvent event) throws IOException;
+
+    /**
+     * Pushes the events written so far to their destination.
+     * Called whenever the log has no more pending events.
+     *
+     * @throws IOException if the events cannot be written.
+     */
+    void flush() throws IOException;
+}
@@ -1,13 +1,14 @@
 package it.unicam.cs.mdp.vectorrace.model.players;
 
 import java.awt.Color;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
+import it.unicam.cs.mdp.vectorrace.model.log.EventType;
+import it.unicam.cs.mdp.vectorrace.model.log.LogLevel;
 
 /**
  * Represents an AI-controlled player in the Vector Race game.
@@ -18,7 +19,8 @@ import it.unicam.cs.mdp.vectorrace.model.game.GameState;
  * <ul>
  *   <li>AI-driven movement decisions</li>
  *   <li>Configurable racing strategies</li>
- *   <li>Detailed debug logging</li>
+ *   <li>Structured debug events on an {@link EventLog}, checked by level
+ *       before any value is gathered</li>
  *   <li>Strategy-based acceleration calculation</li>
  * </ul>
  *
@@ -26,8 +28,9 @@ import it.unicam.cs.mdp.vectorrace.model.game.GameState;
  * movements, allowing for different racing behaviors through strategy injection.
  */
 public class BotPlayer extends Player {
-    private static final DateTimeFormatter LOG_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
     private final AIStrategy strategy;
+    // Null until set: the console log is only started by the first bot that uses it
+    private volatile EventLog log;
 
     /**
      * Creates a new bot player with specified attributes and racing strategy.
@@ -44,38 +47,89 @@ public class BotPlayer extends Player {
 
     /**
      * Calculates the next acceleration vector using the bot's AI strategy.
+     *
+     * @param gameState The current state of the game.
+     * @return The calculated acceleration vector for the next move.
+     * @see #getNextAcceleration(Player, GameState)
+     */
+    @Override
+    public Vector getNextAcceleration(GameState gameState) {
+        return this.getNextAcceleration(this, gameState);
+    }
+
+    /**
+     * Calculates the next acceleration of this bot as seen from a copy of it,
+     * used by turn managers that let bots think on a private copy of the race.
      * This method:
      * <ol>
-     *   <li>Logs the current state for debugging</li>
+     *   <li>Records the state of the copy, if debug events are enabled</li>
      *   <li>Delegates acceleration calculation to the AI strategy</li>
-     *   <li>Logs the calculated acceleration</li>
+     *   <li>Records the calculated acceleration, if debug events are enabled</li>
      * </ol>
+     * Strategies keep their plans by player name, so a copy with the name of
+     * this bot follows and updates the plans of the bot itself.
      *
-     * @param gameState The current state of the game.
+     * @param self This bot or a copy of it, in the given race.
+     * @param gameState The race the strategy reads.
      * @return The calculated acceleration vector for the next move.
      */
-    @Override
-    public Vector getNextAcceleration(GameState gameState) {
-        this.logDebug("Calcolo prossima accelerazione");
-        this.logDebug("Posizione attuale: " + this.getPosition());
-        this.logDebug("Velocità attuale: " + this.getVelocity());
-        this.logDebug("Prossimo checkpoint: " + this.getNextCheckpointIndex());
+    public Vector getNextAcceleration(Player self, GameState gameState) {
+        EventLog log = this.log;
+        if (log == null) {
+            log = EventLog.console();
+        }
+        boolean debug = log.isEnabled(LogLevel.DEBUG);
+        if (debug) {
+            Position position = self.getPosition();
+            Vector velocity = self.getVelocity();
+            log.log(LogLevel.DEBUG, EventType.BOT_STATE, this.getName(), position.getX(), position.getY(),
+                    velocity.getDx(), velocity.getDy(), self.getNextCheckpointIndex());
+        }
 
-        Vector acceleration = this.strategy.getNextAcceleration(this, gameState);
-        this.logDebug("Accelerazione calcolata: " + acceleration);
+        Vector acceleration = this.strategy.getNextAcceleration(self, gameState);
+        if (debug) {
+            if (acceleration != null) {
+                log.log(LogLevel.DEBUG, EventType.BOT_ACCELERATION, this.getName(),
+                        acceleration.getDx(), acceleration.getDy());
+            } else {
+                log.message(LogLevel.DEBUG, this.getName(), "Nessuna accelerazione calcolata");
+            }
+        }
 
         return acceleration;
     }
 
     /**
-     * Logs debug information with timestamp and bot identification.
-     * The format is: [BOT name - HH:mm:ss.SSS] message
+     * Resets the bot's velocity and discards the plan kept by its strategy,
+     * since the bot is no longer in the state the plan expects.
+     */
+    @Override
+    public void resetVelocity() {
+        super.resetVelocity();
+        if (this.strategy != null) {
+            this.strategy.invalidatePlan(this);
+        }
+    }
+
+    /**
+     * Enables or disables the debug logging of this bot.
+     * Headless runs turn it off so that console output does not dominate
+     * the cost of a turn.
+     *
+     * @param debugEnabled true to print debug events on the console log,
+     *                     false to record nothing.
+     */
+    public void setDebugEnabled(boolean debugEnabled) {
+        this.log = debugEnabled ? null : EventLog.disabled();
+    }
+
+    /**
+     * Sets the log receiving the debug events of this bot.
      *
-     * @param message The debug message to log.
+     * @param log The event log; {@link EventLog#disabled()} records nothing.
      */
-    private void logDebug(String message) {
-        String timestamp = LocalDateTime.now().format(LOG_FORMATTER);
-        System.out.printf("[BOT %s - %s] %s%n", this.getName(), timestamp, message);
+    public void setEventLog(EventLog log) {
+        this.log = log != null ? log : EventLog.disabled();
     }
 
     /**
@@ -2,7 +2,9 @@ package it.unicam.cs.mdp.vectorrace.model.players;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
@@ -35,6 +37,7 @@ public abstract class Player {
     protected Vector velocity;
     protected final List<Position> movementHistory;
     protected int nextCheckpointIndex = 1;
+    private volatile PositionListener[] positionListeners = new PositionListener[0];
 
     /**
      * Creates a new player with specified identity and starting position.
@@ -105,6 +108,16 @@ public abstract class Player {
         this.nextCheckpointIndex++;
     }
 
+    /**
+     * Sets the index of the next checkpoint to reach, as resolved by the game
+     * at the end of a move.
+     *
+     * @param nextCheckpointIndex The index of the next checkpoint.
+     */
+    public void setNextCheckpointIndex(int nextCheckpointIndex) {
+        this.nextCheckpointIndex = nextCheckpointIndex;
+    }
+
     /**
      * Determines the next acceleration vector for the player's movement.
      * This is the core strategy method that must be implemented by specific
@@ -118,13 +131,49 @@ public abstract class Player {
     /**
      * Updates the player's position and records it in movement history.
      * This method maintains a complete record of the player's path through
-     * the race track.
+     * the race track, and notifies the position listeners.
      *
      * @param newPosition The new position to move to.
      */
     public void updatePosition(Position newPosition) {
+        Position oldPosition = this.position;
         this.position = newPosition;
         this.movementHistory.add(newPosition);
+        for (PositionListener listener : this.positionListeners) {
+            listener.onPositionChanged(this, oldPosition, newPosition);
+        }
+    }
+
+    /**
+     * Adds a listener notified on every position change.
+     * Every game state built on this player registers its own listener, so a
+     * snapshot or preview state never stops the updates of the live game.
+     *
+     * @param listener The listener to notify.
+     * @throws NullPointerException if the listener is null.
+     */
+    public synchronized void addPositionListener(PositionListener listener) {
+        Objects.requireNonNull(listener, "Il listener non può essere nullo");
+        PositionListener[] listeners = Arrays.copyOf(this.positionListeners, this.positionListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        this.positionListeners = listeners;
+    }
+
+    /**
+     * Removes a listener added with {@link #addPositionListener(PositionListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public synchronized void removePositionListener(PositionListener listener) {
+        for (int i = 0; i < this.positionListeners.length; i++) {
+            if (this.positionListeners[i] == listener) {
+                PositionListener[] listeners = new PositionListener[this.positionListeners.length - 1];
+                System.arraycopy(this.positionListeners, 0, listeners, 0, i);
+                System.arraycopy(this.positionListeners, i + 1, listeners, i, listeners.length - i);
+                this.positionListeners = listeners;
+                return;
+            }
+        }
     }
 
     /**
@@ -13,6 +13,7 @@ import java.awt.Color;
  *   <li>Player name</li>
  *   <li>Player color</li>
  *   <li>AI strategy (for bot players)</li>
+ *   <li>Time budget per move (for time-budgeted bot strategies)</li>
  * </ul>
  */
 public class PlayerData {
@@ -20,6 +21,20 @@ public class PlayerData {
     private final String name;
     private final Color color;
     private final StrategyType strategy;
+    private final long timeBudgetMillis;
+
+    /**
+     * Creates a new PlayerData instance with the specified attributes and
+     * no explicit time budget.
+     *
+     * @param type The player type ("human" or "bot").
+     * @param name The player's name.
+     * @param color The player's display color.
+     * @param strategy The AI strategy (null for human players).
+     */
+    public PlayerData(String type, String name, Color color, StrategyType strategy) {
+        this(type, name, color, strategy, 0);
+    }
 
     /**
      * Creates a new PlayerData instance with the specified attributes.
@@ -29,12 +44,14 @@ public class PlayerData {
      * @param name The player's name.
      * @param color The player's display color.
      * @param strategy The AI strategy (null for human players).
+     * @param timeBudgetMillis The time budget per move in milliseconds, 0 for the strategy default.
      */
-    public PlayerData(String type, String name, Color color, StrategyType strategy) {
+    public PlayerData(String type, String name, Color color, StrategyType strategy, long timeBudgetMillis) {
         this.type = type;
         this.name = name;
         this.color = color;
         this.strategy = strategy;
+        this.timeBudgetMillis = timeBudgetMillis;
     }
 
     /**
@@ -73,6 +90,15 @@ public class PlayerData {
         return strategy;
     }
 
+    /**
+     * Gets the time budget per move.
+     *
+     * @return The budget in milliseconds, or 0 if the strategy default applies.
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
     @Override
     public String toString() {
         return String.format("PlayerData[type=%s, name=%s, strategy=%s]",
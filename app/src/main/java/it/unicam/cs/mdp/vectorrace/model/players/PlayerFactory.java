@@ -2,11 +2,16 @@ package it.unicam.cs.mdp.vectorrace.model.players;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.io.IOException;
 
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.mcts.MctsSearch;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AIStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar.AnytimeAStarStrategy;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar.PureAStarStrategy;
 import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.mcts.MctsStrategy;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.policy.PolicyStrategy;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 
 /**
@@ -25,7 +30,7 @@ import it.unicam.cs.mdp.vectorrace.model.core.Position;
  * <p>Supported player types:
  * <ul>
  *   <li>Human players with manual control</li>
- *   <li>Bot players with AI strategies (BFS or A*)</li>
+ *   <li>Bot players with AI strategies (BFS, A*, a policy table or MCTS)</li>
  * </ul>
  */
 public class PlayerFactory {
@@ -48,31 +53,62 @@ public class PlayerFactory {
      */
     public static List<Player> createPlayersFromFile(String playerFile, List<Position> startPositions)
             throws IOException {
-        List<String[]> playerDataList = parser.parsePlayerFile(playerFile);
-        return createPlayersFromData(playerDataList, startPositions);
+        return createPlayers(readRoster(playerFile), startPositions);
     }
 
     /**
-     * Creates players from parsed configuration data.
-     * Validates and processes each player's configuration, assigning starting
-     * positions and creating appropriate player instances.
+     * Reads and validates the player configurations contained in a file
+     * without creating any player.
+     * The returned roster can be turned into fresh players any number of times
+     * through {@link #createPlayers(List, List)}, which is how batch simulations
+     * start each race from a clean state.
      *
-     * @param playerDataList List of raw player configuration data.
+     * @param playerFile The path to the player configuration file.
+     * @return The validated player configurations, in file order.
+     * @throws IOException If there are errors reading the configuration file.
+     * @throws PlayerParsingException If player data is invalid or malformed.
+     */
+    public static List<PlayerData> readRoster(String playerFile) throws IOException {
+        List<PlayerData> roster = new ArrayList<>();
+        for (String[] rawPlayerData : parser.parsePlayerFile(playerFile)) {
+            roster.add(parser.validatePlayerData(rawPlayerData));
+        }
+        return roster;
+    }
+
+    /**
+     * Creates new players from validated configuration data.
+     * The i-th player of the roster is placed on the i-th starting position.
+     *
+     * @param roster The validated player configurations.
+     * @param startPositions Available starting positions.
+     * @return List of initialized players.
+     * @throws IllegalStateException If there aren't enough starting positions.
+     */
+    public static List<Player> createPlayers(List<PlayerData> roster, List<Position> startPositions) {
+        return createPlayers(roster, startPositions, System.nanoTime());
+    }
+
+    /**
+     * Creates new players from validated configuration data, deriving the seed
+     * of every randomized strategy from the given race seed.
+     * The i-th player of the roster is placed on the i-th starting position.
+     *
+     * @param roster The validated player configurations.
      * @param startPositions Available starting positions.
+     * @param seed The seed of the race.
      * @return List of initialized players.
      * @throws IllegalStateException If there aren't enough starting positions.
      */
-    private static List<Player> createPlayersFromData(List<String[]> playerDataList, List<Position> startPositions) {
+    public static List<Player> createPlayers(List<PlayerData> roster, List<Position> startPositions, long seed) {
         List<Player> players = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
         int startPosIndex = 0;
 
-        for (String[] rawPlayerData : playerDataList) {
+        for (PlayerData playerData : roster) {
             checkStartPosition(startPosIndex, startPositions.size());
             Position startPos = startPositions.get(startPosIndex++);
-            
-            PlayerData playerData = parser.validatePlayerData(rawPlayerData);
-            Player player = createPlayerFromValidatedData(playerData, startPos);
-            players.add(player);
+            players.add(createPlayerFromValidatedData(playerData, startPos, seeds.nextLong()));
         }
 
         return players;
@@ -99,13 +135,14 @@ public class PlayerFactory {
      *
      * @param data Validated player configuration data.
      * @param startPos Starting position for the player.
+     * @param seed The seed of the player's strategy.
      * @return Initialized player instance.
      * @throws PlayerParsingException.InvalidPlayerTypeException If player type is invalid.
      */
-    private static Player createPlayerFromValidatedData(PlayerData data, Position startPos) {
+    private static Player createPlayerFromValidatedData(PlayerData data, Position startPos, long seed) {
         return switch (data.getType()) {
             case "human" -> createHumanPlayer(data, startPos);
-            case "bot" -> createBotPlayer(data, startPos);
+            case "bot" -> createBotPlayer(data, startPos, seed);
             default -> throw new PlayerParsingException.InvalidPlayerTypeException(data.getType());
         };
     }
@@ -128,10 +165,11 @@ public class PlayerFactory {
      *
      * @param data Player configuration data including strategy type.
      * @param startPos Starting position.
+     * @param seed The seed of the strategy.
      * @return Initialized bot player.
      */
-    private static Player createBotPlayer(PlayerData data, Position startPos) {
-        AIStrategy strategy = createStrategy(data.getStrategy());
+    private static Player createBotPlayer(PlayerData data, Position startPos, long seed) {
+        AIStrategy strategy = createStrategy(data.getStrategy(), data.getTimeBudgetMillis(), seed);
         return new BotPlayer(data.getName(), data.getColor(), startPos, strategy);
     }
 
@@ -140,15 +178,23 @@ public class PlayerFactory {
      * Defaults to BFS strategy if no type is specified.
      *
      * @param strategyType The type of AI strategy to create.
+     * @param timeBudgetMillis The time budget per move, 0 for the strategy default.
+     * @param seed The seed of randomized strategies.
      * @return Initialized AI strategy instance.
      */
-    private static AIStrategy createStrategy(StrategyType strategyType) {
+    private static AIStrategy createStrategy(StrategyType strategyType, long timeBudgetMillis, long seed) {
         if (strategyType == null) {
             return new BFSStrategy();
         }
         
         return switch (strategyType) {
             case ASTAR -> new PureAStarStrategy();
+            case ANYTIME_ASTAR -> timeBudgetMillis > 0
+                    ? new AnytimeAStarStrategy(timeBudgetMillis)
+                    : new AnytimeAStarStrategy();
+            case POLICY -> new PolicyStrategy();
+            case MCTS -> new MctsStrategy(
+                    timeBudgetMillis > 0 ? timeBudgetMillis : MctsSearch.DEFAULT_BUDGET_MILLIS, seed);
             case BFS -> new BFSStrategy();
         };
     }
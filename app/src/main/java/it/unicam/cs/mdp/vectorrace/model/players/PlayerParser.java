@@ -18,13 +18,14 @@ import java.util.List;
  *   <li>Fields are separated by semicolons</li>
  *   <li>Comments start with '#' and are ignored</li>
  *   <li>Required fields: type;name;colorHex</li>
- *   <li>Optional fields: strategy (for bot players)</li>
+ *   <li>Optional fields: strategy and time budget per move in milliseconds (for bot players)</li>
  * </ul>
  *
  * <p>Example valid lines:
  * <pre>
  * human;Player1;#FF0000
  * bot;AIPlayer;#0000FF;1
+ * bot;FastBot;#00FF00;3;5
  * </pre>
  */
 public class PlayerParser {
@@ -91,6 +92,7 @@ public class PlayerParser {
      * @return Validated player data object.
      * @throws PlayerParsingException.InvalidColorException If color format is invalid.
      * @throws PlayerParsingException.InvalidStrategyException If bot strategy is invalid.
+     * @throws PlayerParsingException.InvalidTimeBudgetException If bot time budget is invalid.
      */
     public PlayerData validatePlayerData(String[] parts) {
         String type = parts[0].trim().toLowerCase();
@@ -114,6 +116,19 @@ public class PlayerParser {
             }
         }
         
-        return new PlayerData(type, name, color, strategy);
+        long timeBudgetMillis = 0;
+        if ("bot".equals(type) && parts.length > 4) {
+            String budget = parts[4].trim();
+            try {
+                timeBudgetMillis = Long.parseLong(budget);
+            } catch (NumberFormatException e) {
+                throw new PlayerParsingException.InvalidTimeBudgetException(name, budget);
+            }
+            if (timeBudgetMillis <= 0) {
+                throw new PlayerParsingException.InvalidTimeBudgetException(name, budget);
+            }
+        }
+        
+        return new PlayerData(type, name, color, strategy, timeBudgetMillis);
     }
 }
\ No newline at end of file
@@ -88,4 +88,18 @@ public class PlayerParsingException extends RuntimeException {
             super("Strategia non specificata per il bot " + playerName);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Exception thrown when a bot player specifies a time budget per move
+     * that is not a positive number of milliseconds.
+     */
+    public static class InvalidTimeBudgetException extends PlayerParsingException {
+        /**
+         * @param playerName The name of the bot player.
+         * @param budget The invalid budget as written in the file.
+         */
+        public InvalidTimeBudgetException(String playerName, String budget) {
+            super("Budget di tempo non valido per il bot " + playerName + ": " + budget);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package it.unicam.cs.mdp.vectorrace.model.players;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+
+/**
+ * Receives a notification every time a player's position changes.
+ * Used by structures that mirror player positions and must stay in sync
+ * without rescanning all players, such as the occupancy grid of a game state.
+ */
+@FunctionalInterface
+public interface PositionListener {
+    /**
+     * Called after a player has moved.
+     *
+     * @param player The player who moved.
+     * @param oldPosition The position before the move.
+     * @param newPosition The position after the move.
+     */
+    void onPositionChanged(Player player, Position oldPosition, Position newPosition);
+}
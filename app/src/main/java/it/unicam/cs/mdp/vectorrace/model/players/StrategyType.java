@@ -21,6 +21,24 @@ package it.unicam.cs.mdp.vectorrace.model.players;
  *       <li>Considers distance to goal in path planning</li>
  *     </ul>
  *   </li>
+ *   <li>{@link #ANYTIME_ASTAR} (code 3) - Time-budgeted A* search
+ *     <ul>
+ *       <li>Bounded time per move, configurable per bot</li>
+ *       <li>Always moves along the best path found so far</li>
+ *     </ul>
+ *   </li>
+ *   <li>{@link #POLICY} (code 4) - Precomputed policy table
+ *     <ul>
+ *       <li>Constant-time moves read from a table built once per circuit</li>
+ *       <li>Same number of moves as BFS toward each checkpoint line</li>
+ *     </ul>
+ *   </li>
+ *   <li>{@link #MCTS} (code 5) - Monte-Carlo tree search
+ *     <ul>
+ *       <li>Plans over the joint race, including the opponents' moves</li>
+ *       <li>Parallel rollouts within a time budget per move</li>
+ *     </ul>
+ *   </li>
  * </ul>
  */
 public enum StrategyType {
@@ -34,7 +52,25 @@ public enum StrategyType {
      * A* Search strategy.
      * Uses heuristics to find optimal paths more efficiently.
      */
-    ASTAR(2);
+    ASTAR(2),
+
+    /**
+     * Anytime A* strategy.
+     * Refines weighted A* paths until its time budget per move runs out.
+     */
+    ANYTIME_ASTAR(3),
+
+    /**
+     * Policy table strategy.
+     * Looks up the optimal move of each state in a precomputed table.
+     */
+    POLICY(4),
+
+    /**
+     * Monte-Carlo tree search strategy.
+     * Plays out the race with every player to avoid moves blocked by opponents.
+     */
+    MCTS(5);
 
     private final int code;
 
@@ -0,0 +1,392 @@
+package it.unicam.cs.mdp.vectorrace.model.replay;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+
+/**
+ * A replay file written by {@link ReplayWriter}, read through a memory map.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Opening a replay only indexes its chunks: no turn is decoded</li>
+ *   <li>{@link #seek(Track, int)} rebuilds the race at any turn from the
+ *       nearest keyframe, replaying at most one keyframe interval of moves</li>
+ *   <li>{@link #forEachTurn(Track, TurnVisitor)} plays the whole race back on
+ *       {@link GameSnapshot}s, without views or players</li>
+ *   <li>Replays cut short, for example by a crash, stay readable up to their
+ *       last complete chunk</li>
+ * </ul>
+ *
+ * <p>Replays are immutable and safe to share between threads.
+ */
+public final class Replay {
+    /**
+     * Receives the turns of a replay in order.
+     */
+    @FunctionalInterface
+    public interface TurnVisitor {
+        /**
+         * Called once per turn.
+         *
+         * @param turn The index of the turn, from 0.
+         * @param player The index of the player who moved.
+         * @param acceleration The acceleration played.
+         * @param after The race after the move.
+         */
+        void visit(int turn, int player, Vector acceleration, GameSnapshot after);
+    }
+
+    private final ByteBuffer data;
+    private final long trackFingerprint;
+    private final int width;
+    private final int height;
+    private final int keyframeInterval;
+    private final List<String> names;
+    private final int[] colors;
+    private final int[] chunkFirstTurns;
+    private final int[] chunkOffsets;
+    private final int turnCount;
+    private final int winner;
+    private final boolean complete;
+
+    private Replay(ByteBuffer data) throws IOException {
+        try {
+            ByteBuffer in = data.duplicate();
+            if (in.getInt() != ReplayFormat.MAGIC) {
+                throw new IOException("Il file non è un replay");
+            }
+            if (in.getInt() != ReplayFormat.VERSION) {
+                throw new IOException("Versione del replay non supportata");
+            }
+            this.trackFingerprint = in.getLong();
+            this.width = in.getInt();
+            this.height = in.getInt();
+            this.keyframeInterval = in.getInt();
+            int playerCount = in.getInt();
+            if (this.keyframeInterval <= 0 || playerCount <= 0) {
+                throw new IOException("Intestazione del replay non valida");
+            }
+            List<String> roster = new ArrayList<>(playerCount);
+            this.colors = new int[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                byte[] name = new byte[Short.toUnsignedInt(in.getShort())];
+                in.get(name);
+                roster.add(new String(name, StandardCharsets.UTF_8));
+                this.colors[i] = in.getInt();
+            }
+            this.names = List.copyOf(roster);
+
+            int keyframeBytes = playerCount * GameSnapshot.FIELDS * 4;
+            int[] firstTurns = new int[16];
+            int[] offsets = new int[16];
+            int chunks = 0;
+            int turns = 0;
+            int endTurns = -1;
+            int endWinner = -1;
+            while (in.hasRemaining()) {
+                byte tag = in.get();
+                if (tag == ReplayFormat.END) {
+                    endTurns = in.getInt();
+                    endWinner = in.getInt();
+                    break;
+                }
+                if (tag != ReplayFormat.CHUNK) {
+                    throw new IOException("Record del replay non valido");
+                }
+                int first = in.getInt();
+                int chunkTurns = in.getInt();
+                int nibbleBytes = in.getInt();
+                if (first != turns || chunkTurns <= 0 || chunkTurns > this.keyframeInterval || nibbleBytes < 0) {
+                    throw new IOException("Blocco del replay non valido");
+                }
+                int skip = 8 + keyframeBytes + nibbleBytes;
+                if (in.remaining() < skip) {
+                    // A chunk cut short by a crash: keep what came before it
+                    break;
+                }
+                if (chunks == firstTurns.length) {
+                    firstTurns = Arrays.copyOf(firstTurns, chunks * 2);
+                    offsets = Arrays.copyOf(offsets, chunks * 2);
+                }
+                firstTurns[chunks] = first;
+                offsets[chunks] = in.position();
+                chunks++;
+                turns += chunkTurns;
+                in.position(in.position() + skip);
+            }
+            if (endTurns >= 0 && endTurns != turns) {
+                throw new IOException("Numero di turni del replay non valido");
+            }
+            if (endWinner < -1 || endWinner >= playerCount) {
+                throw new IOException("Vincitore del replay non valido");
+            }
+            this.chunkFirstTurns = Arrays.copyOf(firstTurns, chunks);
+            this.chunkOffsets = Arrays.copyOf(offsets, chunks);
+            this.turnCount = turns;
+            this.winner = endWinner;
+            this.complete = endTurns >= 0;
+            this.data = data;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("File di replay troncato", e);
+        }
+    }
+
+    /**
+     * Memory-maps a replay saved to disk.
+     *
+     * @param file The replay file.
+     * @return The replay.
+     * @throws IOException if the file cannot be read or is not a valid replay.
+     */
+    public static Replay open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Replay troppo grande: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Replay(buffer);
+        }
+    }
+
+    /**
+     * Wraps a replay held in memory, in the same format as the files.
+     *
+     * @param data The whole replay, header included.
+     * @return The replay.
+     * @throws IOException if the data is not a valid replay.
+     */
+    public static Replay wrap(ByteBuffer data) throws IOException {
+        return new Replay(data.asReadOnlyBuffer());
+    }
+
+    /**
+     * Gets the name of the replay file of a race, derived from its seed.
+     *
+     * @param seed The seed of the race.
+     * @return The file name.
+     */
+    public static String fileName(long seed) {
+        return "race-" + seed + ReplayWriter.FILE_EXTENSION;
+    }
+
+    /**
+     * Checks if this replay was recorded on the given track.
+     *
+     * @param track The track to check.
+     * @return true if the size and fingerprint match, false otherwise.
+     */
+    public boolean matches(Track track) {
+        return track.getWidth() == this.width
+                && track.getHeight() == this.height
+                && track.fingerprint() == this.trackFingerprint;
+    }
+
+    /**
+     * Rebuilds the race as it was before a turn.
+     *
+     * @param track The track the replay was recorded on.
+     * @param turn The turn, from 0 to {@link #getTurnCount()}; the latter
+     *             gives the race after its last move.
+     * @return The race before the turn.
+     * @throws IllegalArgumentException if the track does not match or the turn is out of range.
+     */
+    public GameSnapshot seek(Track track, int turn) {
+        checkTrack(track);
+        if (turn < 0 || turn > this.turnCount) {
+            throw new IllegalArgumentException("Turno fuori dal replay: " + turn);
+        }
+        if (this.chunkOffsets.length == 0) {
+            throw new IllegalArgumentException("Il replay non contiene turni");
+        }
+        int chunk = chunkOf(turn);
+        ChunkReader reader = new ChunkReader(track, chunk);
+        GameSnapshot state = reader.keyframe;
+        for (int t = this.chunkFirstTurns[chunk]; t < turn; t++) {
+            state = state.apply(reader.next());
+        }
+        return state;
+    }
+
+    /**
+     * Gets the acceleration played in a turn.
+     *
+     * @param turn The turn, from 0.
+     * @return The acceleration.
+     * @throws IllegalArgumentException if the turn is out of range.
+     */
+    public Vector getAcceleration(int turn) {
+        if (turn < 0 || turn >= this.turnCount) {
+            throw new IllegalArgumentException("Turno fuori dal replay: " + turn);
+        }
+        int chunk = chunkOf(turn);
+        ChunkReader reader = new ChunkReader(null, chunk);
+        Vector acceleration = reader.next();
+        for (int t = this.chunkFirstTurns[chunk]; t < turn; t++) {
+            acceleration = reader.next();
+        }
+        return acceleration;
+    }
+
+    /**
+     * Plays the whole replay back, resynchronising on every keyframe.
+     *
+     * @param track The track the replay was recorded on.
+     * @param visitor Receives each turn in order.
+     * @throws IllegalArgumentException if the track does not match.
+     */
+    public void forEachTurn(Track track, TurnVisitor visitor) {
+        checkTrack(track);
+        int turn = 0;
+        for (int chunk = 0; chunk < this.chunkOffsets.length; chunk++) {
+            ChunkReader reader = new ChunkReader(track, chunk);
+            GameSnapshot state = reader.keyframe;
+            for (int i = 0; i < reader.turns; i++, turn++) {
+                Vector acceleration = reader.next();
+                int player = state.getCurrentPlayer();
+                state = state.apply(acceleration);
+                visitor.visit(turn, player, acceleration, state);
+            }
+        }
+    }
+
+    /**
+     * Gets the fingerprint of the track the replay was recorded on.
+     *
+     * @return The fingerprint, as given by {@link Track#fingerprint()}.
+     */
+    public long getTrackFingerprint() {
+        return this.trackFingerprint;
+    }
+
+    /**
+     * Gets the number of turns between two keyframes.
+     *
+     * @return The keyframe interval.
+     */
+    public int getKeyframeInterval() {
+        return this.keyframeInterval;
+    }
+
+    /**
+     * Gets the number of players in the race.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return this.colors.length;
+    }
+
+    /**
+     * Gets the name of a player.
+     *
+     * @param player The index of the player.
+     * @return The name.
+     */
+    public String getPlayerName(int player) {
+        return this.names.get(player);
+    }
+
+    /**
+     * Gets the colour of a player.
+     *
+     * @param player The index of the player.
+     * @return The colour.
+     */
+    public Color getPlayerColor(int player) {
+        return new Color(this.colors[player], true);
+    }
+
+    /**
+     * Gets the number of turns that can be replayed.
+     *
+     * @return The number of turns.
+     */
+    public int getTurnCount() {
+        return this.turnCount;
+    }
+
+    /**
+     * Gets the winner recorded when the race ended.
+     *
+     * @return The index of the winner, or -1 if nobody won or the replay is incomplete.
+     */
+    public int getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Checks if the replay was closed properly.
+     *
+     * @return true if the end record is present, false if the replay was cut short.
+     */
+    public boolean isComplete() {
+        return this.complete;
+    }
+
+    private void checkTrack(Track track) {
+        if (!matches(track)) {
+            throw new IllegalArgumentException("Il replay è stato registrato su un altro circuito");
+        }
+    }
+
+    private int chunkOf(int turn) {
+        int i = Arrays.binarySearch(this.chunkFirstTurns, turn);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Decodes the keyframe and the moves of one chunk.
+     */
+    private final class ChunkReader {
+        private final GameSnapshot keyframe;
+        private final int turns;
+        private final int nibbleStart;
+        private int nibble;
+
+        ChunkReader(Track track, int chunk) {
+            int offset = Replay.this.chunkOffsets[chunk];
+            ByteBuffer data = Replay.this.data;
+            this.turns = data.getInt(offset - 8);
+            int current = data.getInt(offset);
+            int winner = data.getInt(offset + 4);
+            int[] players = new int[getPlayerCount() * GameSnapshot.FIELDS];
+            int position = offset + 8;
+            for (int i = 0; i < players.length; i++, position += 4) {
+                players[i] = data.getInt(position);
+            }
+            this.keyframe = track != null ? GameSnapshot.restore(track, players, current, winner) : null;
+            this.nibbleStart = position;
+        }
+
+        Vector next() {
+            int code = read();
+            if (code != ReplayFormat.ESCAPE) {
+                return ReplayFormat.acceleration(code);
+            }
+            int dx = ReplayFormat.signed(read());
+            int dy = ReplayFormat.signed(read());
+            return new Vector(dx, dy);
+        }
+
+        private int read() {
+            int value = Replay.this.data.get(this.nibbleStart + (this.nibble >>> 1));
+            int code = (this.nibble & 1) == 0 ? (value >>> 4) & 0xF : value & 0xF;
+            this.nibble++;
+            return code;
+        }
+    }
+}
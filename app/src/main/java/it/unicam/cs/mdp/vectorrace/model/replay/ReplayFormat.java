@@ -0,0 +1,83 @@
+package it.unicam.cs.mdp.vectorrace.model.replay;
+
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+
+/**
+ * Constants and acceleration codes of the replay file format shared by
+ * {@link ReplayWriter} and {@link Replay}.
+ *
+ * <p>A file is a header followed by chunks and an end record, all big-endian:
+ * <ul>
+ *   <li>Header: magic, version, track fingerprint, track width and height,
+ *       keyframe interval and the roster, as name and RGB colour per player</li>
+ *   <li>Chunk: the index of its first turn, its number of turns, a keyframe
+ *       with the whole race before that turn, and the turns as 4-bit codes</li>
+ *   <li>End: the number of turns played and the index of the winner</li>
+ * </ul>
+ *
+ * <p>A turn is the {@link AccelerationType} ordinal of the acceleration
+ * played. Accelerations that are not a single step, which no bot plays, take
+ * {@link #ESCAPE} followed by one signed nibble per component.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x56525250; // "VRRP"
+    static final int VERSION = 1;
+    static final byte CHUNK = 'C';
+    static final byte END = 'E';
+
+    /** Marks an acceleration stored as two signed nibbles. */
+    static final int ESCAPE = 0xE;
+    /** Fills the last nibble of an odd-sized chunk. */
+    static final int PADDING = 0xF;
+
+    private static final AccelerationType[] ACCELERATIONS = AccelerationType.values();
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Gets the single-nibble code of an acceleration.
+     *
+     * @param dx The horizontal component.
+     * @param dy The vertical component.
+     * @return The {@link AccelerationType} ordinal, or {@link #ESCAPE} if the
+     *         acceleration is not a single step.
+     */
+    static int code(int dx, int dy) {
+        if (Math.abs(dx) > 1 || Math.abs(dy) > 1) {
+            return ESCAPE;
+        }
+        return (dx + 1) * 3 + dy + 1;
+    }
+
+    /**
+     * Gets the acceleration of a single-nibble code.
+     *
+     * @param code An {@link AccelerationType} ordinal.
+     * @return The acceleration.
+     */
+    static Vector acceleration(int code) {
+        return ACCELERATIONS[code].getVector();
+    }
+
+    /**
+     * Checks if a component fits in a signed nibble.
+     *
+     * @param component The component.
+     * @return true if it is within {@code [-8, 7]}.
+     */
+    static boolean fitsNibble(int component) {
+        return component >= -8 && component <= 7;
+    }
+
+    /**
+     * Sign-extends a nibble.
+     *
+     * @param nibble The nibble, in {@code [0, 15]}.
+     * @return The signed value, in {@code [-8, 7]}.
+     */
+    static int signed(int nibble) {
+        return (nibble << 28) >> 28;
+    }
+}
@@ -0,0 +1,274 @@
+package it.unicam.cs.mdp.vectorrace.model.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Records a race to a compact binary replay file, one 4-bit code per turn,
+ * as described in {@link ReplayFormat}.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Writes go through a direct buffer to a {@link FileChannel}, so a turn
+ *       costs a few bit operations and the disk is touched once per chunk</li>
+ *   <li>Every chunk starts with a keyframe of the whole race, so {@link Replay}
+ *       can seek to any turn by replaying at most one chunk</li>
+ *   <li>The header and every chunk are written whole as soon as they are
+ *       complete: a race that stops abruptly keeps every complete chunk</li>
+ * </ul>
+ *
+ * <p>The writer is driven by {@link it.unicam.cs.mdp.vectorrace.model.game.TurnManager}:
+ * {@link #beginTurn(GameState)} before the player is asked for its move,
+ * {@link #recordTurn(Vector)} once the move is played and
+ * {@link #finish(GameState)} when the race ends. Instances are not thread-safe.
+ */
+public class ReplayWriter implements Closeable {
+    /** The number of turns between two keyframes when none is given. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+    /** The extension of replay files. */
+    public static final String FILE_EXTENSION = ".vrrp";
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int CHUNK_HEADER_BYTES = 1 + 4 + 4 + 4 + 4 + 4;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int keyframeInterval;
+    private final byte[] nibbles;
+    private int nibbleCount;
+    private GameSnapshot keyframe;
+    private int chunkFirstTurn;
+    private int chunkTurns;
+    private int turns;
+    private boolean closed;
+
+    private ReplayWriter(FileChannel channel, int keyframeInterval, int playerCount) {
+        this.channel = channel;
+        this.keyframeInterval = keyframeInterval;
+        // Up to three nibbles per turn when an acceleration is escaped
+        this.nibbles = new byte[(keyframeInterval * 3 + 1) / 2];
+        int maxChunk = CHUNK_HEADER_BYTES + playerCount * GameSnapshot.FIELDS * 4 + this.nibbles.length;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, maxChunk));
+    }
+
+    /**
+     * Creates a replay file for a race with the default keyframe interval.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @param gameState The race, before its first turn.
+     * @return The writer.
+     * @throws IOException if the file cannot be created.
+     */
+    public static ReplayWriter create(Path file, GameState gameState) throws IOException {
+        return create(file, gameState, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Creates a replay file for a race and writes its header.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @param gameState The race, before its first turn.
+     * @param keyframeInterval The number of turns between two keyframes.
+     * @return The writer.
+     * @throws IOException if the file cannot be created.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public static ReplayWriter create(Path file, GameState gameState, int keyframeInterval) throws IOException {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("L'intervallo tra i keyframe deve essere positivo");
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            java.nio.file.Files.createDirectories(directory);
+        }
+        List<Player> players = gameState.getPlayersView();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ReplayWriter writer = new ReplayWriter(channel, keyframeInterval, players.size());
+        try {
+            writer.writeHeader(gameState.getTrack(), players);
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    private void writeHeader(Track track, List<Player> players) throws IOException {
+        this.buffer.putInt(ReplayFormat.MAGIC)
+                .putInt(ReplayFormat.VERSION)
+                .putLong(track.fingerprint())
+                .putInt(track.getWidth())
+                .putInt(track.getHeight())
+                .putInt(this.keyframeInterval)
+                .putInt(players.size());
+        for (Player player : players) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            reserve(2 + name.length + 4);
+            this.buffer.putShort((short) name.length).put(name).putInt(player.getColor().getRGB());
+        }
+    }
+
+    /**
+     * Marks the start of a turn, taking a keyframe of the race when a new
+     * chunk begins.
+     *
+     * @param gameState The race, before the current player is asked for a move.
+     * @throws IllegalStateException if the writer is closed.
+     */
+    public void beginTurn(GameState gameState) {
+        ensureOpen();
+        if (this.chunkTurns == 0) {
+            this.keyframe = GameSnapshot.of(gameState);
+            this.chunkFirstTurn = this.turns;
+        }
+    }
+
+    /**
+     * Records the acceleration played in the current turn.
+     *
+     * @param acceleration The acceleration; null is recorded as no acceleration,
+     *                     like {@link it.unicam.cs.mdp.vectorrace.model.game.TurnManager} plays it.
+     * @throws IOException if a complete chunk cannot be written.
+     * @throws IllegalStateException if the turn was not begun or the writer is closed.
+     * @throws IllegalArgumentException if a component does not fit in 4 bits.
+     */
+    public void recordTurn(Vector acceleration) throws IOException {
+        ensureOpen();
+        if (this.keyframe == null) {
+            throw new IllegalStateException("Il turno non è stato iniziato");
+        }
+        int dx = acceleration != null ? acceleration.getDx() : 0;
+        int dy = acceleration != null ? acceleration.getDy() : 0;
+        int code = ReplayFormat.code(dx, dy);
+        if (code == ReplayFormat.ESCAPE) {
+            if (!ReplayFormat.fitsNibble(dx) || !ReplayFormat.fitsNibble(dy)) {
+                throw new IllegalArgumentException("Accelerazione non registrabile: " + acceleration);
+            }
+            putNibble(code);
+            putNibble(dx & 0xF);
+            putNibble(dy & 0xF);
+        } else {
+            putNibble(code);
+        }
+        this.turns++;
+        this.chunkTurns++;
+        if (this.chunkTurns == this.keyframeInterval) {
+            writeChunk();
+        }
+    }
+
+    /**
+     * Ends the replay with the outcome of the race and closes the file.
+     *
+     * @param gameState The race after its last turn.
+     * @throws IOException if the file cannot be written.
+     */
+    public void finish(GameState gameState) throws IOException {
+        finish(GameSnapshot.of(gameState).getWinner());
+    }
+
+    /**
+     * Ends the replay without a winner, for races stopped before anyone
+     * finished, and closes the file. Does nothing if already closed.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            finish(-1);
+        }
+    }
+
+    /**
+     * Gets the number of turns recorded so far.
+     *
+     * @return The number of turns.
+     */
+    public int getTurnCount() {
+        return this.turns;
+    }
+
+    private void finish(int winner) throws IOException {
+        ensureOpen();
+        this.closed = true;
+        try {
+            if (this.chunkTurns > 0) {
+                writeChunk();
+            }
+            reserve(1 + 4 + 4);
+            this.buffer.put(ReplayFormat.END).putInt(this.turns).putInt(winner);
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void putNibble(int nibble) {
+        int i = this.nibbleCount >>> 1;
+        if ((this.nibbleCount & 1) == 0) {
+            this.nibbles[i] = (byte) (nibble << 4);
+        } else {
+            this.nibbles[i] |= (byte) nibble;
+        }
+        this.nibbleCount++;
+    }
+
+    private void writeChunk() throws IOException {
+        if ((this.nibbleCount & 1) != 0) {
+            putNibble(ReplayFormat.PADDING);
+        }
+        int nibbleBytes = this.nibbleCount >>> 1;
+        int[] players = this.keyframe.getPackedPlayers();
+        reserve(CHUNK_HEADER_BYTES + players.length * 4 + nibbleBytes);
+        this.buffer.put(ReplayFormat.CHUNK)
+                .putInt(this.chunkFirstTurn)
+                .putInt(this.chunkTurns)
+                .putInt(nibbleBytes)
+                .putInt(this.keyframe.getCurrentPlayer())
+                .putInt(this.keyframe.getWinner());
+        for (int value : players) {
+            this.buffer.putInt(value);
+        }
+        this.buffer.put(this.nibbles, 0, nibbleBytes);
+        this.chunkTurns = 0;
+        this.nibbleCount = 0;
+        this.keyframe = null;
+        flush();
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Il replay è già stato chiuso");
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package it.unicam.cs.mdp.vectorrace.model.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.game.SimultaneousRoundManager;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnManager;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnMode;
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerData;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerFactory;
+import it.unicam.cs.mdp.vectorrace.model.replay.Replay;
+import it.unicam.cs.mdp.vectorrace.model.replay.ReplayWriter;
+import it.unicam.cs.mdp.vectorrace.view.GameView;
+import it.unicam.cs.mdp.vectorrace.view.NullGameView;
+
+/**
+ * Runs many independent races on the same circuit without any user interface.
+ * The seed of a race shuffles both the assignment of the starting positions
+ * and the turn order of the roster, and seeds the randomized strategies.
+ * Races of bots that plan within a time budget, such as anytime A* and MCTS,
+ * also depend on how much work fits in each budget, so they may still differ
+ * from one run to the next.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>No pause between turns and no {@code System.exit} on victory</li>
+ *   <li>Event logging is off for bots and turns alike</li>
+ *   <li>Races run concurrently on a pool of platform or virtual threads</li>
+ *   <li>Turns are played in the chosen {@link TurnMode}, for example with
+ *       bots thinking ahead on virtual threads of their own, or in rounds in
+ *       which all bots think in parallel and move at once</li>
+ *   <li>The loaded track is shared by all races, players and strategies are
+ *       created afresh for every race</li>
+ *   <li>A turn limit stops races in which no player can reach the finish</li>
+ *   <li>Results are returned in seed order, independently of scheduling</li>
+ *   <li>Each race can be recorded to a binary replay named after its seed</li>
+ * </ul>
+ *
+ * <p>Only bot players can take part in a batch, since human players would
+ * block waiting for input. In the {@link TurnMode#SIMULTANEOUS} mode the
+ * turn limit and the turns of each result count rounds, and races cannot be
+ * recorded, since replays store one move per turn.
+ */
+public class BatchSimulator {
+    /**
+     * Default limit on the number of turns of a single race.
+     */
+    public static final int DEFAULT_MAX_TURNS = 2000;
+
+    private final Track track;
+    private final List<PlayerData> roster;
+    private final List<Position> startPositions;
+    private final ExecutionMode mode;
+    private final int parallelism;
+    private final int maxTurns;
+    private final TurnMode turnMode;
+    private final Path replayDirectory;
+
+    /**
+     * Creates a new batch simulator.
+     *
+     * @param track The circuit shared by all races.
+     * @param roster The players taking part in each race.
+     * @param mode The kind of threads used to run the races.
+     * @param parallelism The maximum number of races running at the same time.
+     * @param maxTurns The maximum number of turns of a single race.
+     * @throws IllegalArgumentException if the roster is empty or contains human players,
+     *         or if parallelism or maxTurns are not positive.
+     * @throws IllegalStateException if the track has fewer starting positions than players.
+     */
+    public BatchSimulator(Track track, List<PlayerData> roster, ExecutionMode mode, int parallelism, int maxTurns) {
+        this(track, roster, mode, parallelism, maxTurns, null);
+    }
+
+    /**
+     * Creates a new batch simulator that records every race to a replay file.
+     *
+     * @param track The circuit shared by all races.
+     * @param roster The players taking part in each race.
+     * @param mode The kind of threads used to run the races.
+     * @param parallelism The maximum number of races running at the same time.
+     * @param maxTurns The maximum number of turns of a single race.
+     * @param replayDirectory The directory of the replays, named as by
+     *                        {@link Replay#fileName(long)}, or null to record nothing.
+     * @throws IllegalArgumentException if the roster is empty or contains human players,
+     *         or if parallelism or maxTurns are not positive.
+     * @throws IllegalStateException if the track has fewer starting positions than players.
+     */
+    public BatchSimulator(Track track, List<PlayerData> roster, ExecutionMode mode, int parallelism, int maxTurns,
+            Path replayDirectory) {
+        this(track, roster, mode, parallelism, maxTurns, TurnMode.SEQUENTIAL, replayDirectory);
+    }
+
+    /**
+     * Creates a new batch simulator playing the turns of every race in the
+     * given mode and recording every race to a replay file.
+     *
+     * @param track The circuit shared by all races.
+     * @param roster The players taking part in each race.
+     * @param mode The kind of threads used to run the races.
+     * @param parallelism The maximum number of races running at the same time.
+     * @param maxTurns The maximum number of turns of a single race.
+     * @param turnMode How the turns of a race are played.
+     * @param replayDirectory The directory of the replays, named as by
+     *                        {@link Replay#fileName(long)}, or null to record nothing.
+     * @throws IllegalArgumentException if the roster is empty or contains human players,
+     *         if parallelism or maxTurns are not positive, or if races played
+     *         in rounds should be recorded.
+     * @throws IllegalStateException if the track has fewer starting positions than players.
+     */
+    public BatchSimulator(Track track, List<PlayerData> roster, ExecutionMode mode, int parallelism, int maxTurns,
+            TurnMode turnMode, Path replayDirectory) {
+        if (track == null || roster == null || roster.isEmpty() || mode == null || turnMode == null) {
+            throw new IllegalArgumentException(
+                    "Circuito, giocatori, modalità di esecuzione e modalità dei turni sono obbligatori");
+        }
+        if (turnMode == TurnMode.SIMULTANEOUS && replayDirectory != null) {
+            throw new IllegalArgumentException("Le gare a mosse simultanee non possono essere registrate");
+        }
+        if (parallelism <= 0 || maxTurns <= 0) {
+            throw new IllegalArgumentException("Parallelismo e numero massimo di turni devono essere positivi");
+        }
+        for (PlayerData data : roster) {
+            if (!"bot".equals(data.getType())) {
+                throw new IllegalArgumentException(
+                        "Le simulazioni batch accettano solo giocatori bot: " + data.getName());
+            }
+        }
+        this.track = track;
+        this.roster = List.copyOf(roster);
+        this.startPositions = track.getStartPositions();
+        if (this.startPositions.size() < this.roster.size()) {
+            throw new IllegalStateException(
+                    "Non ci sono abbastanza posizioni di partenza per tutti i giocatori");
+        }
+        this.mode = mode;
+        this.parallelism = parallelism;
+        this.maxTurns = maxTurns;
+        this.turnMode = turnMode;
+        this.replayDirectory = replayDirectory;
+    }
+
+    /**
+     * Creates a new batch simulator using platform threads, one per available
+     * processor, and the default turn limit.
+     *
+     * @param track The circuit shared by all races.
+     * @param roster The players taking part in each race.
+     */
+    public BatchSimulator(Track track, List<PlayerData> roster) {
+        this(track, roster, ExecutionMode.PLATFORM, Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * Runs {@code races} races with consecutive seeds starting from {@code firstSeed}.
+     *
+     * @param firstSeed The seed of the first race.
+     * @param races The number of races to run.
+     * @return The results, in seed order.
+     * @throws IllegalArgumentException if races is negative.
+     */
+    public List<RaceResult> run(long firstSeed, int races) {
+        if (races < 0) {
+            throw new IllegalArgumentException("Il numero di gare non può essere negativo");
+        }
+        List<Long> seeds = new ArrayList<>(races);
+        for (int i = 0; i < races; i++) {
+            seeds.add(firstSeed + i);
+        }
+        return run(seeds);
+    }
+
+    /**
+     * Runs one race per seed on the configured thread pool.
+     *
+     * @param seeds The seeds of the races to run.
+     * @return The results, in the same order as the seeds.
+     * @throws IllegalStateException if a race fails or the calling thread is interrupted.
+     */
+    public List<RaceResult> run(List<Long> seeds) {
+        ExecutorService executor = this.mode.newExecutor(this.parallelism);
+        try {
+            List<Future<RaceResult>> futures = new ArrayList<>(seeds.size());
+            for (long seed : seeds) {
+                futures.add(executor.submit(() -> runRace(seed)));
+            }
+            List<RaceResult> results = new ArrayList<>(seeds.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(awaitResult(futures.get(i), seeds.get(i)));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a single race on the calling thread.
+     *
+     * @param seed The seed that determines starting positions and turn order.
+     * @return The outcome of the race.
+     * @throws UncheckedIOException if the replay of the race cannot be written.
+     */
+    public RaceResult runRace(long seed) {
+        GameState gameState = new GameState(this.track, createPlayers(seed));
+        if (this.turnMode == TurnMode.SIMULTANEOUS) {
+            return runRounds(seed, gameState);
+        }
+        GameView view = new NullGameView();
+        ReplayWriter replay = createReplay(seed, gameState);
+        TurnManager turnManager = this.turnMode.newTurnManager(gameState, new MovementManager(), view, replay,
+                EventLog.disabled());
+
+        long start = System.nanoTime();
+        int turns = 0;
+        long elapsed;
+        // The turn manager closes the replay when someone wins; closing it here
+        // covers the turn limit and strategies that throw, and does nothing otherwise
+        try (replay; turnManager) {
+            while (!gameState.isFinished() && turns < this.maxTurns) {
+                turnManager.advanceTurn();
+                turns++;
+            }
+            elapsed = System.nanoTime() - start;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Player winner = gameState.getWinner();
+        return new RaceResult(seed, winner != null ? winner.getName() : null,
+                turns, turnManager.getCollisionCount(), elapsed);
+    }
+
+    /**
+     * Runs a race in rounds in which all bots move at once, each bot thinking
+     * on its own virtual thread.
+     *
+     * @param seed The race seed.
+     * @param gameState The race, before its first round.
+     * @return The outcome of the race, counting rounds as turns.
+     */
+    private RaceResult runRounds(long seed, GameState gameState) {
+        long start = System.nanoTime();
+        int rounds = 0;
+        long elapsed;
+        int collisions;
+        try (SimultaneousRoundManager roundManager = new SimultaneousRoundManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            while (!gameState.isFinished() && rounds < this.maxTurns) {
+                roundManager.playRound();
+                rounds++;
+            }
+            elapsed = System.nanoTime() - start;
+            collisions = roundManager.getCollisionCount();
+        }
+
+        Player winner = gameState.getWinner();
+        return new RaceResult(seed, winner != null ? winner.getName() : null, rounds, collisions, elapsed);
+    }
+
+    /**
+     * Opens the replay of a race, if replays are enabled.
+     *
+     * @param seed The race seed.
+     * @param gameState The race, before its first turn.
+     * @return The replay writer, or null if replays are disabled.
+     */
+    private ReplayWriter createReplay(long seed, GameState gameState) {
+        if (this.replayDirectory == null) {
+            return null;
+        }
+        try {
+            return ReplayWriter.create(this.replayDirectory.resolve(Replay.fileName(seed)), gameState);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates fresh players for a race, with starting positions and turn order
+     * shuffled by the given seed, which also seeds their strategies. Bot debug logging is turned off, so bots
+     * never start the console log.
+     *
+     * @param seed The race seed.
+     * @return The players in turn order.
+     */
+    private List<Player> createPlayers(long seed) {
+        Random random = new Random(seed);
+        List<Position> positions = new ArrayList<>(this.startPositions);
+        Collections.shuffle(positions, random);
+        List<Player> players = PlayerFactory.createPlayers(this.roster, positions, seed);
+        Collections.shuffle(players, random);
+        for (Player player : players) {
+            if (player instanceof BotPlayer bot) {
+                bot.setDebugEnabled(false);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Waits for a race to complete and unwraps its failure, if any.
+     *
+     * @param future The pending race.
+     * @param seed The race seed, used in error messages.
+     * @return The race outcome.
+     */
+    private RaceResult awaitResult(Future<RaceResult> future, long seed) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulazione interrotta", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulazione fallita per il seed " + seed, e.getCause());
+        }
+    }
+
+    /**
+     * Gets the circuit shared by all races.
+     *
+     * @return The track.
+     */
+    public Track getTrack() {
+        return this.track;
+    }
+
+    /**
+     * Gets the maximum number of turns of a single race.
+     *
+     * @return The turn limit.
+     */
+    public int getMaxTurns() {
+        return this.maxTurns;
+    }
+
+    /**
+     * Gets the directory where the replays of the races are written.
+     *
+     * @return The replay directory, or null if replays are disabled.
+     */
+    public Path getReplayDirectory() {
+        return this.replayDirectory;
+    }
+}
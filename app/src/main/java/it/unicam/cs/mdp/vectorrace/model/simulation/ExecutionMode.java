@@ -0,0 +1,49 @@
+package it.unicam.cs.mdp.vectorrace.model.simulation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Defines the kind of threads used by the {@link BatchSimulator} to run races.
+ *
+ * <p>Available modes:
+ * <ul>
+ *   <li>{@link #PLATFORM}: a fixed pool of daemon operating-system threads</li>
+ *   <li>{@link #VIRTUAL}: a fixed pool of virtual threads scheduled on the
+ *       JDK carrier pool</li>
+ * </ul>
+ *
+ * <p>In both modes the number of races running at the same time is bounded by
+ * the requested parallelism.
+ */
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    /**
+     * Creates an executor that runs at most {@code parallelism} races at a time.
+     *
+     * @param parallelism The maximum number of concurrent races.
+     * @return A new executor; the caller is responsible for shutting it down.
+     * @throws IllegalArgumentException if parallelism is not positive.
+     */
+    public ExecutorService newExecutor(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Il parallelismo deve essere positivo");
+        }
+        return Executors.newFixedThreadPool(parallelism, this.threadFactory());
+    }
+
+    /**
+     * Creates the factory for the threads of this mode.
+     *
+     * @return A thread factory producing named threads.
+     */
+    private ThreadFactory threadFactory() {
+        return switch (this) {
+            case PLATFORM -> Thread.ofPlatform().name("race-", 0).daemon(true).factory();
+            case VIRTUAL -> Thread.ofVirtual().name("race-", 0).factory();
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package it.unicam.cs.mdp.vectorrace.model.simulation;
+
+/**
+ * Holds the outcome of a single race run by the {@link BatchSimulator}.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>The seed that fully determines the race, so it can be replayed</li>
+ *   <li>The winner's name, or null if the turn limit was reached first</li>
+ *   <li>Number of turns played and collisions handled</li>
+ *   <li>Wall-clock duration of the race</li>
+ * </ul>
+ */
+public class RaceResult {
+    private final long seed;
+    private final String winner;
+    private final int turns;
+    private final int collisions;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new race result.
+     *
+     * @param seed The seed used to set up the race.
+     * @param winner The name of the winner, or null if nobody finished.
+     * @param turns The number of turns played, one per player move.
+     * @param collisions The number of moves rejected by a wall or another player.
+     * @param elapsedNanos The wall-clock duration of the race in nanoseconds.
+     */
+    public RaceResult(long seed, String winner, int turns, int collisions, long elapsedNanos) {
+        this.seed = seed;
+        this.winner = winner;
+        this.turns = turns;
+        this.collisions = collisions;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the seed used to set up the race.
+     *
+     * @return The race seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gets the name of the player who won the race.
+     *
+     * @return The winner's name, or null if the race hit the turn limit.
+     */
+    public String getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Checks if the race ended with a winner.
+     *
+     * @return true if a player reached the finish line, false otherwise.
+     */
+    public boolean isFinished() {
+        return this.winner != null;
+    }
+
+    /**
+     * Gets the number of turns played, one per player move.
+     *
+     * @return The number of turns.
+     */
+    public int getTurns() {
+        return this.turns;
+    }
+
+    /**
+     * Gets the number of moves rejected because of a wall or an occupied cell.
+     *
+     * @return The number of collisions.
+     */
+    public int getCollisions() {
+        return this.collisions;
+    }
+
+    /**
+     * Gets the wall-clock duration of the race.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RaceResult[seed=%d, winner=%s, turns=%d, collisions=%d, ms=%.3f]",
+                seed, winner != null ? winner : "N/A", turns, collisions, elapsedNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,235 @@
+package it.unicam.cs.mdp.vectorrace.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerData;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerParser;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerParsingException;
+
+/**
+ * A client of the {@link RaceServer}: reads commands on one virtual thread and
+ * writes replies and race updates on another.
+ *
+ * <p>Races hand their updates over through a bounded queue, so they never wait
+ * for the socket. A client that falls so far behind that the queue fills up
+ * is disconnected.
+ */
+final class ClientConnection implements RaceListener {
+    private static final int OUTBOX_CAPACITY = 4096;
+    // A distinct instance, compared by identity, that stops the writer
+    private static final String CLOSE = new String("CLOSE");
+
+    private final RaceServer server;
+    private final Socket socket;
+    private final BlockingQueue<String> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+    private final Set<Race> watched = ConcurrentHashMap.newKeySet();
+    private final PlayerParser parser = new PlayerParser();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ClientConnection(RaceServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    /**
+     * Starts the reading and writing threads of the connection.
+     */
+    void start() {
+        Thread.ofVirtual().name("client-reader").start(this::read);
+        Thread.ofVirtual().name("client-writer").start(this::write);
+    }
+
+    /**
+     * Closes the connection and unsubscribes it from the races it watches.
+     */
+    void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        for (Race race : this.watched) {
+            race.unsubscribe(this);
+        }
+        this.watched.clear();
+        try {
+            this.socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        this.outbox.clear();
+        this.outbox.offer(CLOSE);
+        this.server.disconnected(this);
+    }
+
+    @Override
+    public void playerChanged(Race race, int turn, int player, GameSnapshot state) {
+        this.send("STATE " + race.getId() + " " + turn + " " + player
+                + " " + state.getX(player) + " " + state.getY(player)
+                + " " + state.getVelocityX(player) + " " + state.getVelocityY(player)
+                + " " + state.getNextCheckpointIndex(player));
+    }
+
+    @Override
+    public void awaitingMove(Race race, Player player) {
+        this.send("TURN " + race.getId() + " " + player.getName());
+    }
+
+    @Override
+    public void raceEnded(Race race, Player winner) {
+        this.watched.remove(race);
+        this.send("END " + race.getId() + " " + (winner != null ? winner.getName() : "-"));
+    }
+
+    private void send(String line) {
+        if (!this.closed.get() && !this.outbox.offer(line)) {
+            this.close();
+        }
+    }
+
+    private void read() {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null && this.handle(line.trim())) {
+                // Keep reading until QUIT or end of stream
+            }
+        } catch (IOException e) {
+            // Connection lost
+        } finally {
+            this.close();
+        }
+    }
+
+    private void write() {
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(this.socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            while (true) {
+                String line = this.outbox.take();
+                if (line == CLOSE) {
+                    break;
+                }
+                out.write(line);
+                out.write('\n');
+                if (this.outbox.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            this.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+        }
+    }
+
+    /**
+     * Handles one command line.
+     *
+     * @param line The command.
+     * @return false if the client asked to close the connection.
+     */
+    private boolean handle(String line) {
+        if (line.isEmpty()) {
+            return true;
+        }
+        String[] words = line.split("\\s+");
+        try {
+            switch (words[0].toUpperCase(Locale.ROOT)) {
+                case "CREATE" -> this.create(words);
+                case "WATCH" -> this.watch(this.race(words, 2));
+                case "MOVE" -> this.move(words);
+                case "STOP" -> {
+                    this.race(words, 2).stop();
+                    this.send("OK");
+                }
+                case "QUIT" -> {
+                    return false;
+                }
+                default -> throw new IllegalArgumentException("Comando sconosciuto: " + words[0]);
+            }
+        } catch (IOException | RuntimeException e) {
+            this.send("ERROR " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void create(String[] words) throws IOException {
+        if (words.length < 3) {
+            throw new IllegalArgumentException("Uso: CREATE <circuito> <giocatore>...");
+        }
+        List<PlayerData> roster = new ArrayList<>();
+        for (int i = 2; i < words.length; i++) {
+            String[] parts = words[i].split(";");
+            if (parts.length < 3) {
+                throw new PlayerParsingException.InvalidFormatException(words[i]);
+            }
+            roster.add(this.parser.validatePlayerData(parts));
+        }
+        Race race = this.server.createRace(words[1], roster);
+        this.send("CREATED " + race.getId());
+        this.watch(race);
+        race.start();
+    }
+
+    private void watch(Race race) {
+        this.watched.add(race);
+        race.subscribe(this);
+    }
+
+    private void move(String[] words) {
+        if (words.length != 5) {
+            throw new IllegalArgumentException("Uso: MOVE <gara> <giocatore> <ax> <ay>");
+        }
+        Race race = this.race(words, 5);
+        Vector acceleration;
+        try {
+            acceleration = new Vector(Integer.parseInt(words[3]), Integer.parseInt(words[4]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Accelerazione non valida: " + words[3] + " " + words[4]);
+        }
+        race.submitMove(words[2], acceleration)
+                .whenComplete((done, error) -> this.send(error == null ? "OK" : "ERROR " + error.getMessage()));
+    }
+
+    /**
+     * Finds the race named by the second word of a command.
+     *
+     * @param words The words of the command.
+     * @param length The expected number of words.
+     * @return The race.
+     * @throws IllegalArgumentException if the command is malformed or the race does not exist.
+     */
+    private Race race(String[] words, int length) {
+        if (words.length != length) {
+            throw new IllegalArgumentException("Numero di argomenti errato per " + words[0]);
+        }
+        long id;
+        try {
+            id = Long.parseLong(words[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Gara non valida: " + words[1]);
+        }
+        Race race = this.server.getRace(id);
+        if (race == null) {
+            throw new IllegalArgumentException("Gara inesistente o terminata: " + id);
+        }
+        return race;
+    }
+}
@@ -0,0 +1,338 @@
+package it.unicam.cs.mdp.vectorrace.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import it.unicam.cs.mdp.vectorrace.controller.GameController;
+import it.unicam.cs.mdp.vectorrace.controller.IGameController;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnManager;
+import it.unicam.cs.mdp.vectorrace.model.players.HumanPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.GameView;
+import it.unicam.cs.mdp.vectorrace.view.NullGameView;
+
+/**
+ * A race hosted by the {@link RaceServer}, run as an actor on its own virtual thread.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Only the thread of the race touches its {@link GameController}: moves,
+ *       subscriptions and stop requests are queued as messages and handled
+ *       between turns</li>
+ *   <li>Bot turns are played one after the other, checking the queue and
+ *       yielding the carrier thread before each, while the turn of a human
+ *       player parks the thread until a move arrives, so waiting races cost
+ *       almost nothing and bot races do not starve the others</li>
+ *   <li>Listeners receive the full state when they subscribe and afterwards
+ *       only the players whose position, velocity or checkpoint changed</li>
+ *   <li>A turn limit ends races in which no player can reach the finish</li>
+ * </ul>
+ */
+public class Race {
+    private final long id;
+    private final String circuit;
+    private final GameState gameState;
+    private final IGameController controller;
+    private final int maxTurns;
+    private final Consumer<Race> onEnd;
+    private final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+    private final List<RaceListener> listeners = new ArrayList<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CountDownLatch ended = new CountDownLatch(1);
+    // Serializes the callers that handle late messages once the race has terminated
+    private final Object drainLock = new Object();
+    private GameSnapshot last;
+    private boolean running;
+    private volatile boolean over;
+    private volatile boolean terminated;
+    private volatile int turns;
+    private volatile Player winner;
+
+    /**
+     * Creates a race that does not run until {@link #start()} is called.
+     *
+     * @param id The identifier of the race on its server.
+     * @param circuit The name of the circuit.
+     * @param gameState The initial state of the race.
+     * @param maxTurns The maximum number of turns before the race is ended without a winner.
+     * @param onEnd Called on the thread of the race once it is over, before the listeners.
+     */
+    Race(long id, String circuit, GameState gameState, int maxTurns, Consumer<Race> onEnd) {
+        GameView view = new NullGameView();
+        this.id = id;
+        this.circuit = circuit;
+        this.gameState = gameState;
+        this.controller = new GameController(gameState, view, new TurnManager(gameState, new MovementManager(), view));
+        this.maxTurns = maxTurns;
+        this.onEnd = onEnd;
+        this.last = GameSnapshot.of(gameState);
+    }
+
+    /**
+     * Starts the thread of the race. Listeners subscribed before this call
+     * receive every update from the first turn.
+     *
+     * @throws IllegalStateException if the race was already started.
+     */
+    public void start() {
+        if (!this.started.compareAndSet(false, true)) {
+            throw new IllegalStateException("La gara " + this.id + " è già stata avviata");
+        }
+        Thread.ofVirtual().name("race-" + this.id).start(this::run);
+    }
+
+    /**
+     * Submits the move of a human player. The move is played when the race
+     * handles it, if it is still the turn of that player.
+     *
+     * @param playerName The name of the player.
+     * @param acceleration The chosen acceleration, with components between -1 and 1.
+     * @return Completed once the move is played, or exceptionally with an
+     *         {@link IllegalStateException} if it is not the turn of the player.
+     * @throws IllegalArgumentException if the acceleration is out of range.
+     */
+    public CompletableFuture<Void> submitMove(String playerName, Vector acceleration) {
+        if (Math.abs(acceleration.getDx()) > 1 || Math.abs(acceleration.getDy()) > 1) {
+            throw new IllegalArgumentException("Accelerazione non valida: " + acceleration);
+        }
+        CompletableFuture<Void> reply = new CompletableFuture<>();
+        this.post(() -> this.applyMove(playerName, acceleration, reply));
+        return reply;
+    }
+
+    /**
+     * Subscribes a listener to the updates of the race.
+     *
+     * @param listener The listener to add.
+     */
+    public void subscribe(RaceListener listener) {
+        this.post(() -> this.addListener(listener));
+    }
+
+    /**
+     * Unsubscribes a listener from the updates of the race.
+     *
+     * @param listener The listener to remove.
+     */
+    public void unsubscribe(RaceListener listener) {
+        this.post(() -> this.listeners.remove(listener));
+    }
+
+    /**
+     * Ends the race without a winner, if it is not over yet.
+     */
+    public void stop() {
+        this.post(() -> this.end(null));
+    }
+
+    /**
+     * Waits for the race to end.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return true if the race ended, false if the time elapsed.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public boolean awaitEnd(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.ended.await(timeout, unit);
+    }
+
+    /**
+     * Gets the identifier of the race on its server.
+     *
+     * @return The race identifier.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the name of the circuit of the race.
+     *
+     * @return The circuit name.
+     */
+    public String getCircuit() {
+        return this.circuit;
+    }
+
+    /**
+     * Gets the number of turns played so far.
+     *
+     * @return The number of turns.
+     */
+    public int getTurnCount() {
+        return this.turns;
+    }
+
+    /**
+     * Checks whether the race is over.
+     *
+     * @return true if a player won, the turn limit was hit or the race was stopped.
+     */
+    public boolean isOver() {
+        return this.over;
+    }
+
+    /**
+     * Gets the winner of the race.
+     *
+     * @return The winner, or null if the race is not over or ended without a winner.
+     */
+    public Player getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Handles messages and plays bot turns until the race is over.
+     */
+    private void run() {
+        try {
+            this.drain();
+            this.running = true;
+            this.promptHuman();
+            while (!this.over) {
+                Runnable message = this.isBotTurn() ? this.mailbox.poll() : this.mailbox.take();
+                if (message != null) {
+                    message.run();
+                } else {
+                    this.playTurn();
+                    // Let other races run on this carrier between bot turns
+                    Thread.yield();
+                }
+            }
+        } catch (InterruptedException e) {
+            this.end(null);
+        } catch (RuntimeException e) {
+            System.err.println("Gara " + this.id + " interrotta: " + e.getMessage());
+            this.end(null);
+        } finally {
+            this.terminated = true;
+            this.drain();
+            this.ended.countDown();
+        }
+    }
+
+    /**
+     * Queues a message for the race. Once the race has terminated, messages
+     * are handled on the calling thread, one caller at a time, so that every
+     * reply is completed.
+     *
+     * @param message The message to handle.
+     */
+    private void post(Runnable message) {
+        this.mailbox.add(message);
+        if (this.terminated) {
+            this.drain();
+        }
+    }
+
+    private void drain() {
+        synchronized (this.drainLock) {
+            Runnable message;
+            while ((message = this.mailbox.poll()) != null) {
+                message.run();
+            }
+        }
+    }
+
+    private boolean isBotTurn() {
+        return !this.over && !(this.gameState.getCurrentPlayer() instanceof HumanPlayer);
+    }
+
+    private void applyMove(String playerName, Vector acceleration, CompletableFuture<Void> reply) {
+        if (this.over) {
+            reply.completeExceptionally(new IllegalStateException("La gara " + this.id + " è terminata"));
+            return;
+        }
+        Player current = this.gameState.getCurrentPlayer();
+        if (!(current instanceof HumanPlayer human) || !current.getName().equals(playerName)) {
+            reply.completeExceptionally(new IllegalStateException("Non è il turno di " + playerName));
+            return;
+        }
+        human.setSelectedAcceleration(acceleration);
+        try {
+            this.playTurn();
+        } finally {
+            human.resetSelection();
+        }
+        reply.complete(null);
+    }
+
+    private void addListener(RaceListener listener) {
+        if (this.over) {
+            listener.raceEnded(this, this.winner);
+            return;
+        }
+        this.listeners.add(listener);
+        for (int i = 0; i < this.last.getPlayerCount(); i++) {
+            listener.playerChanged(this, this.turns, i, this.last);
+        }
+        if (this.running && !this.isBotTurn()) {
+            listener.awaitingMove(this, this.gameState.getCurrentPlayer());
+        }
+    }
+
+    /**
+     * Plays the turn of the current player and sends the changes to the listeners.
+     */
+    private void playTurn() {
+        this.controller.advanceTurn();
+        this.turns++;
+        GameSnapshot state = GameSnapshot.of(this.gameState);
+        for (int i = 0; i < state.getPlayerCount(); i++) {
+            if (changed(this.last, state, i)) {
+                for (RaceListener listener : this.listeners) {
+                    listener.playerChanged(this, this.turns, i, state);
+                }
+            }
+        }
+        this.last = state;
+        if (this.gameState.isFinished()) {
+            this.end(this.gameState.getWinner());
+        } else if (this.turns >= this.maxTurns) {
+            this.end(null);
+        } else {
+            this.promptHuman();
+        }
+    }
+
+    private void promptHuman() {
+        if (!this.over && !this.isBotTurn()) {
+            for (RaceListener listener : this.listeners) {
+                listener.awaitingMove(this, this.gameState.getCurrentPlayer());
+            }
+        }
+    }
+
+    private void end(Player winner) {
+        if (this.over) {
+            return;
+        }
+        this.winner = winner;
+        this.over = true;
+        this.onEnd.accept(this);
+        for (RaceListener listener : this.listeners) {
+            listener.raceEnded(this, winner);
+        }
+        this.listeners.clear();
+    }
+
+    private static boolean changed(GameSnapshot before, GameSnapshot after, int player) {
+        return before.getX(player) != after.getX(player)
+                || before.getY(player) != after.getY(player)
+                || before.getVelocityX(player) != after.getVelocityX(player)
+                || before.getVelocityY(player) != after.getVelocityY(player)
+                || before.getNextCheckpointIndex(player) != after.getNextCheckpointIndex(player);
+    }
+}
@@ -0,0 +1,41 @@
+package it.unicam.cs.mdp.vectorrace.server;
+
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+/**
+ * Receives the updates of a {@link Race}.
+ *
+ * <p>All methods are called on the thread of the race, one at a time and in
+ * the order of the race, so implementations should hand the updates over
+ * quickly instead of blocking on slow consumers.
+ */
+public interface RaceListener {
+
+    /**
+     * Called when the state of a player changed, and for every player when
+     * the listener subscribes.
+     *
+     * @param race The race.
+     * @param turn The number of turns played so far.
+     * @param player The index of the player in turn order.
+     * @param state The state of the race after the change.
+     */
+    void playerChanged(Race race, int turn, int player, GameSnapshot state);
+
+    /**
+     * Called when the race waits for the move of a human player.
+     *
+     * @param race The race.
+     * @param player The player expected to move.
+     */
+    void awaitingMove(Race race, Player player);
+
+    /**
+     * Called once when the race is over. The listener receives no further updates.
+     *
+     * @param race The race.
+     * @param winner The winner, or null if the race was stopped or hit the turn limit.
+     */
+    void raceEnded(Race race, Player winner);
+}
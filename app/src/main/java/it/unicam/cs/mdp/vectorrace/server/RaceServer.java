@@ -0,0 +1,203 @@
+package it.unicam.cs.mdp.vectorrace.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerData;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerFactory;
+
+/**
+ * A headless server hosting many concurrent races, each a {@link Race} on its
+ * own virtual thread, reachable through a line protocol on the loopback interface.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Races on the same circuit share the track and its indexes through a
+ *       {@link TrackRepository}</li>
+ *   <li>Every client connection is served by its own virtual threads and only
+ *       hands lines over to the races, so a slow client never stalls a race</li>
+ *   <li>Finished races are forgotten as soon as their listeners are told</li>
+ * </ul>
+ *
+ * <p>Commands, one per line, words separated by spaces:
+ * <pre>
+ * CREATE circuit player...           CREATED race, followed by the race updates
+ * WATCH race                         the race updates
+ * MOVE race player ax ay             OK once the move is played
+ * STOP race                          OK
+ * QUIT                               closes the connection
+ * </pre>
+ * Players are given in the format of the player files, for example
+ * {@code human;Io;#FF0000} or {@code bot;Bot1;#0000FF;3}, and take the
+ * starting positions of the circuit in row-major order.
+ *
+ * <p>Race updates:
+ * <pre>
+ * STATE race turn player x y vx vy checkpoint
+ * TURN race name                     a human player must move
+ * END race winner                    the winner, or "-" without a winner
+ * </pre>
+ * Errors are answered with {@code ERROR message}.
+ */
+public class RaceServer implements AutoCloseable {
+    private final TrackRepository tracks;
+    private final int maxTurns;
+    private final Map<Long, Race> races = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<ClientConnection, Boolean> connections = new ConcurrentHashMap<>();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    /**
+     * Creates a new server.
+     *
+     * @param tracks The repository providing the circuits.
+     * @param maxTurns The maximum number of turns of a race.
+     */
+    public RaceServer(TrackRepository tracks, int maxTurns) {
+        this.tracks = tracks;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Starts accepting connections on the loopback interface.
+     *
+     * @param port The port to listen on, 0 for any free port.
+     * @throws IOException if the port cannot be opened.
+     * @throws IllegalStateException if the server was already started.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (this.serverSocket != null) {
+            throw new IllegalStateException("Il server è già avviato");
+        }
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.acceptor = Thread.ofVirtual().name("race-server").start(this::accept);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The local port.
+     * @throws IllegalStateException if the server was not started.
+     */
+    public synchronized int getPort() {
+        if (this.serverSocket == null) {
+            throw new IllegalStateException("Il server non è avviato");
+        }
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Creates a race. The race does not run until {@link Race#start()} is
+     * called, so that listeners can subscribe before its first turn.
+     *
+     * @param circuit The name of the circuit.
+     * @param roster The players, in turn order.
+     * @return The new race.
+     * @throws IOException if the circuit cannot be read.
+     * @throws IllegalArgumentException if the circuit name is invalid or there are no players.
+     * @throws IllegalStateException if the circuit has not enough starting positions.
+     */
+    public Race createRace(String circuit, List<PlayerData> roster) throws IOException {
+        if (roster.isEmpty()) {
+            throw new IllegalArgumentException("Una gara richiede almeno un giocatore");
+        }
+        Track track = this.tracks.getTrack(circuit);
+        List<Position> startPositions = this.tracks.getStartPositions(circuit);
+        List<Player> players = PlayerFactory.createPlayers(roster, startPositions);
+        for (Player player : players) {
+            if (player instanceof BotPlayer bot) {
+                bot.setDebugEnabled(false);
+            }
+        }
+        long id = this.nextId.getAndIncrement();
+        Race race = new Race(id, circuit, new GameState(track, players), this.maxTurns,
+                ended -> this.races.remove(ended.getId()));
+        this.races.put(id, race);
+        return race;
+    }
+
+    /**
+     * Gets a race that is not over yet.
+     *
+     * @param id The race identifier.
+     * @return The race, or null if there is no such race or it is over.
+     */
+    public Race getRace(long id) {
+        return this.races.get(id);
+    }
+
+    /**
+     * Gets the races that are not over yet.
+     *
+     * @return A live view of the hosted races.
+     */
+    public Collection<Race> getRaces() {
+        return this.races.values();
+    }
+
+    /**
+     * Waits until the server is closed.
+     *
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public void awaitTermination() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = this.acceptor;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes the open ones and stops every race.
+     *
+     * @throws IOException if the server socket cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.serverSocket != null) {
+            this.serverSocket.close();
+        }
+        for (ClientConnection connection : this.connections.keySet()) {
+            connection.close();
+        }
+        for (Race race : this.races.values()) {
+            race.stop();
+        }
+    }
+
+    void disconnected(ClientConnection connection) {
+        this.connections.remove(connection);
+    }
+
+    private void accept() {
+        try {
+            while (true) {
+                Socket socket = this.serverSocket.accept();
+                ClientConnection connection = new ClientConnection(this, socket);
+                this.connections.put(connection, Boolean.TRUE);
+                connection.start();
+            }
+        } catch (SocketException e) {
+            // Server socket closed
+        } catch (IOException e) {
+            System.err.println("Errore del server delle gare: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package it.unicam.cs.mdp.vectorrace.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import it.unicam.cs.mdp.vectorrace.config.CLIConfig;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+
+/**
+ * Loads circuits by name and shares them across all the races that use them.
+ *
+ * <p>Key features:
+ * <ul>
+ *   <li>Each circuit is read once and the same {@link Track} is given to every
+ *       race, so per-track indexes cached by identity, such as the distance
+ *       fields of the A* heuristic, are computed once as well</li>
+ *   <li>The move legality table and the checkpoint index are built when the
+ *       circuit is loaded, before any race can ask for them</li>
+ *   <li>The starting positions are found once per circuit</li>
+ *   <li>Only plain names are accepted, so clients cannot read files outside
+ *       the circuit directory</li>
+ * </ul>
+ *
+ * <p>Tracks are never modified by races, which keep their state in their own
+ * {@link it.unicam.cs.mdp.vectorrace.model.game.GameState}.
+ */
+public class TrackRepository {
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final String EXTENSION = ".txt";
+
+    private final Path directory;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a repository reading circuits from the given directory.
+     *
+     * @param directory The directory containing the circuit files.
+     */
+    public TrackRepository(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a repository reading circuits from the default circuit directory.
+     */
+    public TrackRepository() {
+        this(CLIConfig.CIRCUITS_DIR);
+    }
+
+    /**
+     * Gets a circuit, loading it on first use.
+     *
+     * @param name The circuit name, the file name without extension.
+     * @return The track shared by all races on the circuit.
+     * @throws IOException if the circuit cannot be read.
+     * @throws IllegalArgumentException if the name is not a plain circuit name.
+     */
+    public Track getTrack(String name) throws IOException {
+        return this.circuit(name).track;
+    }
+
+    /**
+     * Gets the starting positions of a circuit, loading it on first use.
+     *
+     * @param name The circuit name, the file name without extension.
+     * @return The starting positions in row-major order, unmodifiable.
+     * @throws IOException if the circuit cannot be read.
+     * @throws IllegalArgumentException if the name is not a plain circuit name.
+     */
+    public List<Position> getStartPositions(String name) throws IOException {
+        return this.circuit(name).startPositions;
+    }
+
+    /**
+     * Gets the number of circuits loaded so far.
+     *
+     * @return The number of cached circuits.
+     */
+    public int size() {
+        return this.circuits.size();
+    }
+
+    private Circuit circuit(String name) throws IOException {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nome del circuito non valido: " + name);
+        }
+        try {
+            return this.circuits.computeIfAbsent(name, this::load);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Circuit load(String name) {
+        try {
+            Track track = TrackLoader.loadTrack(this.directory.resolve(name + EXTENSION).toString());
+            track.getMoveLegality();
+            track.getCheckpointIndex();
+            return new Circuit(track, Collections.unmodifiableList(track.getStartPositions()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A loaded circuit with its precomputed data.
+     */
+    private static final class Circuit {
+        private final Track track;
+        private final List<Position> startPositions;
+
+        Circuit(Track track, List<Position> startPositions) {
+            this.track = track;
+            this.startPositions = startPositions;
+        }
+    }
+}
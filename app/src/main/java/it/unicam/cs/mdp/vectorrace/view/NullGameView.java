@@ -0,0 +1,31 @@
+package it.unicam.cs.mdp.vectorrace.view;
+
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+
+/**
+ * A {@link GameView} that discards every message and state update.
+ * It is used to run races without any user interface, for instance when
+ * many races are simulated in batch and only their outcome matters.
+ */
+public class NullGameView implements GameView {
+
+    /**
+     * Ignores the message.
+     *
+     * @param message The message to display.
+     */
+    @Override
+    public void displayMessage(String message) {
+        // Nessun output in modalità headless
+    }
+
+    /**
+     * Ignores the game state.
+     *
+     * @param gameState The game state to display.
+     */
+    @Override
+    public void displayGameState(GameState gameState) {
+        // Nessun output in modalità headless
+    }
+}
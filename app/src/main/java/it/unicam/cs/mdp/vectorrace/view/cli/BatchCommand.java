@@ -0,0 +1,119 @@
+package it.unicam.cs.mdp.vectorrace.view.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import it.unicam.cs.mdp.vectorrace.config.CLIConfig;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnMode;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerData;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerFactory;
+import it.unicam.cs.mdp.vectorrace.model.simulation.BatchSimulator;
+import it.unicam.cs.mdp.vectorrace.model.simulation.ExecutionMode;
+import it.unicam.cs.mdp.vectorrace.model.simulation.RaceResult;
+
+/**
+ * Runs the headless batch mode from the command line.
+ * Usage: {@code batch <circuit> [players] [races] [threads] [platform|virtual] [maxTurns] [firstSeed]
+ * [sequential|pipelined|simultaneous] [replayDir]}.
+ *
+ * <p>Prints one line per race followed by a summary with the number of wins
+ * per player, the average number of turns and collisions, and the total time.
+ * With {@code pipelined}, bots think about their next move during the turns
+ * of the other players; with {@code simultaneous}, all bots think in parallel
+ * and move at once, in rounds. If a replay directory is given, every race is also
+ * recorded there.
+ */
+public class BatchCommand {
+    private static final int DEFAULT_RACES = 100;
+
+    private final PrintStream out;
+
+    /**
+     * Creates a new batch command writing to the given stream.
+     *
+     * @param out The stream that receives the results.
+     */
+    public BatchCommand(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a new batch command writing to standard output.
+     */
+    public BatchCommand() {
+        this(System.out);
+    }
+
+    /**
+     * Parses the arguments, runs the races and prints their results.
+     *
+     * @param args The command line arguments, starting with {@code batch}.
+     * @return The process exit code: 0 on success, 1 on error.
+     */
+    public int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: batch <circuito> [giocatori] [gare] [thread] [platform|virtual] [maxTurni] [seed] "
+                    + "[sequential|pipelined|simultaneous] [cartellaReplay]");
+            return 1;
+        }
+        try {
+            Track track = TrackLoader.loadTrack(args[1]);
+            String playerFile = argument(args, 2, CLIConfig.PLAYERS_FILE.toString());
+            List<PlayerData> roster = PlayerFactory.readRoster(playerFile);
+            int races = Integer.parseInt(argument(args, 3, String.valueOf(DEFAULT_RACES)));
+            int threads = Integer.parseInt(argument(args, 4,
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            ExecutionMode mode = ExecutionMode.valueOf(argument(args, 5, "platform").toUpperCase(Locale.ROOT));
+            int maxTurns = Integer.parseInt(argument(args, 6, String.valueOf(BatchSimulator.DEFAULT_MAX_TURNS)));
+            long firstSeed = Long.parseLong(argument(args, 7, "0"));
+            TurnMode turnMode = TurnMode.valueOf(argument(args, 8, "sequential").toUpperCase(Locale.ROOT));
+            Path replayDirectory = args.length > 9 ? Path.of(args[9]) : null;
+
+            BatchSimulator simulator = new BatchSimulator(track, roster, mode, threads, maxTurns, turnMode,
+                    replayDirectory);
+            long start = System.nanoTime();
+            List<RaceResult> results = simulator.run(firstSeed, races);
+            long elapsed = System.nanoTime() - start;
+
+            results.forEach(this.out::println);
+            printSummary(results, elapsed);
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Errore durante la simulazione batch: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String argument(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    private void printSummary(List<RaceResult> results, long elapsedNanos) {
+        Map<String, Integer> wins = new TreeMap<>();
+        long turns = 0;
+        long collisions = 0;
+        int unfinished = 0;
+        for (RaceResult result : results) {
+            if (result.isFinished()) {
+                wins.merge(result.getWinner(), 1, Integer::sum);
+            } else {
+                unfinished++;
+            }
+            turns += result.getTurns();
+            collisions += result.getCollisions();
+        }
+        int count = Math.max(1, results.size());
+        this.out.printf("Gare: %d, non concluse: %d%n", results.size(), unfinished);
+        wins.forEach((name, won) -> this.out.printf("  %s: %d vittorie%n", name, won));
+        this.out.printf("Turni medi: %.2f, collisioni medie: %.2f%n",
+                (double) turns / count, (double) collisions / count);
+        this.out.printf("Tempo totale: %.1f ms%n", elapsedNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,72 @@
+package it.unicam.cs.mdp.vectorrace.view.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTable;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTableBuilder;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTableStore;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+
+/**
+ * Precomputes the policy table of a circuit from the command line.
+ * Usage: {@code policy <circuit> [directory]}.
+ *
+ * <p>The table is saved under the name the policy bots look for, so later
+ * races on the same circuit map it instead of building it.
+ */
+public class PolicyCommand {
+    private final PrintStream out;
+
+    /**
+     * Creates a new policy command writing to the given stream.
+     *
+     * @param out The stream that receives the results.
+     */
+    public PolicyCommand(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a new policy command writing to standard output.
+     */
+    public PolicyCommand() {
+        this(System.out);
+    }
+
+    /**
+     * Parses the arguments, builds the table and saves it.
+     *
+     * @param args The command line arguments, starting with {@code policy}.
+     * @return The process exit code: 0 on success, 1 on error.
+     */
+    public int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: policy <circuito> [cartella]");
+            return 1;
+        }
+        try {
+            Track track = TrackLoader.loadTrack(args[1]);
+            Path directory = args.length > 2 ? Paths.get(args[2]) : PolicyTableStore.defaultDirectory();
+            PolicyTableBuilder builder = new PolicyTableBuilder();
+            Path file = new PolicyTableStore(directory, builder).getFile(track);
+
+            long start = System.nanoTime();
+            builder.write(track, file);
+            long elapsed = System.nanoTime() - start;
+
+            PolicyTable table = PolicyTable.map(file);
+            this.out.printf("Tabella salvata in %s%n", file);
+            this.out.printf("Fasi: %d, dimensione: %d byte, tempo: %.1f ms%n",
+                    table.getStageCount(), Files.size(file), elapsed / 1_000_000.0);
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Errore durante il calcolo della tabella di policy: " + e.getMessage());
+            return 1;
+        }
+    }
+}
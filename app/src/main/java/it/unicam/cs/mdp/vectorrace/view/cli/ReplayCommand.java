@@ -0,0 +1,95 @@
+package it.unicam.cs.mdp.vectorrace.view.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.replay.Replay;
+
+/**
+ * Inspects a recorded race from the command line.
+ * Usage: {@code replay <circuit> <file> [turn]}.
+ *
+ * <p>Without a turn, the whole race is played back and a summary with the
+ * moves and rejected moves of each player is printed. With a turn, the race
+ * is rebuilt at that turn from the nearest keyframe and every player's
+ * position, velocity and next checkpoint is printed.
+ */
+public class ReplayCommand {
+    private final PrintStream out;
+
+    /**
+     * Creates a new replay command writing to the given stream.
+     *
+     * @param out The stream that receives the results.
+     */
+    public ReplayCommand(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a new replay command writing to standard output.
+     */
+    public ReplayCommand() {
+        this(System.out);
+    }
+
+    /**
+     * Parses the arguments, opens the replay and prints the requested view.
+     *
+     * @param args The command line arguments, starting with {@code replay}.
+     * @return The process exit code: 0 on success, 1 on error.
+     */
+    public int run(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Uso: replay <circuito> <file> [turno]");
+            return 1;
+        }
+        try {
+            Track track = TrackLoader.loadTrack(args[1]);
+            Replay replay = Replay.open(Paths.get(args[2]));
+            this.out.printf("Turni: %d, vincitore: %s%s%n", replay.getTurnCount(),
+                    replay.getWinner() >= 0 ? replay.getPlayerName(replay.getWinner()) : "nessuno",
+                    replay.isComplete() ? "" : " (replay incompleto)");
+            if (args.length > 3) {
+                printTurn(replay, track, Integer.parseInt(args[3]));
+            } else {
+                printSummary(replay, track);
+            }
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Errore durante la lettura del replay: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void printTurn(Replay replay, Track track, int turn) {
+        GameSnapshot state = replay.seek(track, turn);
+        this.out.printf("Turno %d, tocca a %s%n", turn, replay.getPlayerName(state.getCurrentPlayer()));
+        for (int i = 0; i < state.getPlayerCount(); i++) {
+            this.out.printf("  %s: posizione %s, velocità %s, prossimo checkpoint %d%n",
+                    replay.getPlayerName(i), state.getPosition(i), state.getVelocity(i),
+                    state.getNextCheckpointIndex(i));
+        }
+    }
+
+    private void printSummary(Replay replay, Track track) {
+        int[] moves = new int[replay.getPlayerCount()];
+        int[] rejected = new int[replay.getPlayerCount()];
+        long start = System.nanoTime();
+        replay.forEachTurn(track, (turn, player, acceleration, after) -> {
+            moves[player]++;
+            if (after.wasRejected(player)) {
+                rejected[player]++;
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        for (int i = 0; i < moves.length; i++) {
+            this.out.printf("  %s: %d mosse, %d rifiutate%n", replay.getPlayerName(i), moves[i], rejected[i]);
+        }
+        this.out.printf("Tempo di riproduzione: %.1f ms%n", elapsed / 1_000_000.0);
+    }
+}
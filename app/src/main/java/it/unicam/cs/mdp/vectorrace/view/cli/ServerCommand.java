@@ -0,0 +1,69 @@
+package it.unicam.cs.mdp.vectorrace.view.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+import it.unicam.cs.mdp.vectorrace.config.CLIConfig;
+import it.unicam.cs.mdp.vectorrace.model.simulation.BatchSimulator;
+import it.unicam.cs.mdp.vectorrace.server.RaceServer;
+import it.unicam.cs.mdp.vectorrace.server.TrackRepository;
+
+/**
+ * Runs the headless race server from the command line.
+ * Usage: {@code server [port] [circuitDir] [maxTurns]}.
+ *
+ * <p>The server listens on the loopback interface until the process is
+ * stopped; see {@link RaceServer} for the protocol.
+ */
+public class ServerCommand {
+    private static final int DEFAULT_PORT = 7878;
+
+    private final PrintStream out;
+
+    /**
+     * Creates a new server command writing to the given stream.
+     *
+     * @param out The stream that receives the status messages.
+     */
+    public ServerCommand(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a new server command writing to standard output.
+     */
+    public ServerCommand() {
+        this(System.out);
+    }
+
+    /**
+     * Parses the arguments and serves races until the server is closed.
+     *
+     * @param args The command line arguments, starting with {@code server}.
+     * @return The process exit code: 0 on success, 1 on error.
+     */
+    public int run(String[] args) {
+        try {
+            int port = Integer.parseInt(argument(args, 1, String.valueOf(DEFAULT_PORT)));
+            Path circuits = Path.of(argument(args, 2, CLIConfig.CIRCUITS_DIR.toString()));
+            int maxTurns = Integer.parseInt(argument(args, 3, String.valueOf(BatchSimulator.DEFAULT_MAX_TURNS)));
+
+            RaceServer server = new RaceServer(new TrackRepository(circuits), maxTurns);
+            server.start(port);
+            this.out.println("Server delle gare in ascolto su 127.0.0.1:" + server.getPort());
+            server.awaitTermination();
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Errore durante l'avvio del server: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    private static String argument(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
@@ -4,6 +4,7 @@ import it.unicam.cs.mdp.vectorrace.model.core.CellType;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
 import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MoveRules;
 import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
 import it.unicam.cs.mdp.vectorrace.model.players.HumanPlayer;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
@@ -16,7 +17,8 @@ import java.util.function.Consumer;
 
 /**
  * Manages the state of the game and its evolution.
- * Implements the logic for turn advancement, collisions, and victory.
+ * Implements the logic for turn advancement, collisions, and victory,
+ * crediting checkpoints with the same {@link MoveRules} as the console game.
  */
 public class GUIGameStateManager {
     private final GameState gameState;
@@ -53,18 +55,21 @@ public class GUIGameStateManager {
     }
 
     private void processPlayerTurn(Player currentPlayer) {
+        // The move played, not the player while choosing it, decides the checkpoint progress
+        int checkpoint = currentPlayer.getNextCheckpointIndex();
         Vector acceleration = getPlayerAcceleration(currentPlayer);
         if (acceleration == null) {
             statusUpdateCallback.accept(currentPlayer.getName() + " non ha fornito un'accelerazione valida.");
             acceleration = new Vector(0, 0);
         }
 
-        if (!validatePlayerMove(currentPlayer, acceleration)) {
-            return;
+        Position start = currentPlayer.getPosition();
+        boolean moved = validatePlayerMove(currentPlayer, acceleration)
+                && updatePlayerPosition(currentPlayer, acceleration);
+        MoveRules.settleCheckpoints(gameState.getTrack(), currentPlayer, start, moved, checkpoint);
+        if (moved) {
+            checkVictoryCondition(currentPlayer);
         }
-
-        updatePlayerPosition(currentPlayer, acceleration);
-        checkVictoryCondition(currentPlayer);
     }
 
     private Vector getPlayerAcceleration(Player player) {
@@ -82,7 +87,7 @@ public class GUIGameStateManager {
         return true;
     }
 
-    private void updatePlayerPosition(Player player, Vector acceleration) {
+    private boolean updatePlayerPosition(Player player, Vector acceleration) {
         Vector newVelocity = player.getVelocity().add(acceleration);
         Position newPosition = player.getPosition().move(newVelocity);
 
@@ -91,17 +96,16 @@ public class GUIGameStateManager {
                 player.getName() + " ha trovato la cella occupata da un altro giocatore, resta fermo!"
             );
             player.resetVelocity();
-            return;
+            return false;
         }
 
         player.updatePosition(newPosition);
         player.updateVelocity(newVelocity);
+        return true;
     }
 
     private boolean isPositionOccupiedByOtherPlayer(Position position, Player currentPlayer) {
-        return gameState.getPlayers().stream()
-            .filter(p -> p != currentPlayer)
-            .anyMatch(p -> p.getPosition().equals(position));
+        return gameState.isOccupiedByOther(position.getX(), position.getY(), currentPlayer);
     }
 
     private void checkVictoryCondition(Player player) {
@@ -36,7 +36,7 @@ public class GUIRenderer implements IGUIRenderer {
     @Override
     public void render(GameState state, Set<Position> validMoves) {
         drawTrack(state.getTrack(), validMoves);
-        drawPlayers(state.getPlayers());
+        drawPlayers(state.getPlayersView());
     }
 
     /**
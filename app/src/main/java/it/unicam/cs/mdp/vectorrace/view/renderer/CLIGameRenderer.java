@@ -1,5 +1,9 @@
 package it.unicam.cs.mdp.vectorrace.view.renderer;
 
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
@@ -17,17 +21,21 @@ public class CLIGameRenderer implements IGameRenderer {
     private static final String FINISH_CELL = "F";
     private static final String EMPTY_CELL = "·";
 
+    private static final String[] CELL_REPRESENTATIONS = buildCellRepresentations();
+
     @Override
     public String renderGame(GameState gameState) {
         if (gameState == null) return "";
 
         Track track = gameState.getTrack();
-        StringBuilder builder = new StringBuilder();
+        Map<Integer, String> playerSymbols = collectPlayerSymbols(gameState, track);
+        StringBuilder builder = new StringBuilder((track.getWidth() + 1) * track.getHeight());
 
         for (int y = 0; y < track.getHeight(); y++) {
+            ByteBuffer row = track.rowView(y);
             for (int x = 0; x < track.getWidth(); x++) {
-                Position currentPos = new Position(x, y);
-                builder.append(getCellRepresentation(currentPos, track, gameState));
+                String symbol = playerSymbols.get(track.index(x, y));
+                builder.append(symbol != null ? symbol : CELL_REPRESENTATIONS[row.get(x)]);
             }
             builder.append("\n");
         }
@@ -35,21 +43,38 @@ public class CLIGameRenderer implements IGameRenderer {
         return builder.toString();
     }
 
-    private String getCellRepresentation(Position pos, Track track, GameState gameState) {
-        // Firt check if there is a player at the position
-        for (Player player : gameState.getPlayers()) {
-            if (player.getPosition().equals(pos)) {
-                return player.getName().substring(player.getName().length() - 1);
+    /**
+     * Maps the cell index of every player to the symbol drawn for it, the last
+     * character of the player's name. When several players share a cell, the
+     * first one in turn order is drawn.
+     */
+    private Map<Integer, String> collectPlayerSymbols(GameState gameState, Track track) {
+        Map<Integer, String> symbols = new HashMap<>();
+        for (int i = 0; i < gameState.getPlayerCount(); i++) {
+            Player player = gameState.getPlayer(i);
+            Position pos = player.getPosition();
+            if (track.isWithinBounds(pos.getX(), pos.getY())) {
+                String name = player.getName();
+                symbols.putIfAbsent(track.index(pos.getX(), pos.getY()), name.substring(name.length() - 1));
             }
         }
+        return symbols;
+    }
 
-        // Otherwise, determine the cell type
-        CellType cellType = track.getCell(pos.getX(), pos.getY());
-        return switch (cellType) {
-            case WALL -> WALL_CELL;
-            case START -> START_CELL;
-            case FINISH -> FINISH_CELL;
-            case ROAD, CHECKPOINT -> EMPTY_CELL;
-        };
+    /**
+     * Builds the table of cell symbols indexed by cell code.
+     */
+    private static String[] buildCellRepresentations() {
+        CellType[] types = CellType.values();
+        String[] representations = new String[types.length];
+        for (CellType cellType : types) {
+            representations[cellType.ordinal()] = switch (cellType) {
+                case WALL -> WALL_CELL;
+                case START -> START_CELL;
+                case FINISH -> FINISH_CELL;
+                case ROAD, CHECKPOINT -> EMPTY_CELL;
+            };
+        }
+        return representations;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package it.unicam.cs.mdp.vectorrace.model;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Circuiti, giocatori e servizi usati da più classi di test
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Crea un circuito di sole strade, senza checkpoint né traguardo.
+     */
+    public static Track openTrack(int width, int height) {
+        return openTrack(width, height, -1, 0);
+    }
+
+    /**
+     * Crea un circuito di strade con un muro nella colonna wallX, dalla riga 0
+     * fino alla riga wallHeight esclusa. Con wallX negativo non c'è alcun muro.
+     */
+    public static Track openTrack(int width, int height, int wallX, int wallHeight) {
+        CellType[][] grid = new CellType[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                grid[y][x] = (x == wallX && y < wallHeight) ? CellType.WALL : CellType.ROAD;
+            }
+        }
+        return new Track(grid, new HashMap<>());
+    }
+
+    /**
+     * Crea un bot senza strategia nella posizione e con la velocità indicate.
+     */
+    public static BotPlayer bot(String name, int x, int y, int vx, int vy) {
+        BotPlayer bot = new BotPlayer(name, Color.RED, new Position(x, y), null);
+        bot.updateVelocity(new Vector(vx, vy));
+        return bot;
+    }
+
+    /**
+     * Crea una partita sul circuito con i giocatori indicati, nell'ordine dei turni.
+     */
+    public static GameState game(Track track, Player... players) {
+        return new GameState(track, List.of(players));
+    }
+}
@@ -1,9 +1,5 @@
 package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
 
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointManager;
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.DefaultCheckpointTracker;
-import it.unicam.cs.mdp.vectorrace.model.ai.services.DefaultReservationService;
-import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bresenham.BresenhamPathCalculator;
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
@@ -30,7 +26,6 @@ public class AStarPathFinderTest {
     private BotPlayer player;
     private GameState gameState;
     private MovementManager movementManager;
-    private CheckpointManager checkpointManager;
 
     @BeforeEach
     void setUp() {
@@ -50,17 +45,11 @@ public class AStarPathFinderTest {
         
         // Inizializza le dipendenze
         movementManager = new MovementManager();
-        checkpointManager = new CheckpointManager(
-            new DefaultCheckpointTracker(),
-            new DefaultReservationService(),
-            new BresenhamPathCalculator()
-        );
         
         // Inizializza il pathfinder con euristica di Chebyshev
         pathFinder = new AStarPathFinder(
             new ChebyshevHeuristic(),
-            movementManager,
-            checkpointManager
+            movementManager
         );
         
         // Crea un giocatore di test
@@ -123,6 +112,7 @@ public class AStarPathFinderTest {
         
         List<Player> players = new ArrayList<>();
         players.add(player);
+        gameState.detach();
         gameState = new GameState(track, players);
         
         Position target = new Position(4, 4);
@@ -0,0 +1,109 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import org.junit.jupiter.api.Test;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.openTrack;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Test per la classe AnytimeAStarPathFinder
+ */
+public class AnytimeAStarPathFinderTest {
+
+    private static AnytimeAStarPathFinder newFinder(PlanCache planCache, long budget, LongSupplier clock) {
+        return new AnytimeAStarPathFinder(
+            new ChebyshevHeuristic(),
+            new MovementManager(),
+            planCache,
+            budget,
+            clock
+        );
+    }
+
+    @Test
+    void testRaggiungeIlTraguardoConBudgetAmpio() {
+        Track track = openTrack(12, 8, 5, 6);
+        BotPlayer player = new BotPlayer("TestBot", Color.RED, new Position(0, 0), null);
+        GameState gameState = new GameState(track, List.of(player));
+        PlanCache planCache = new PlanCache();
+        AnytimeAStarPathFinder finder = newFinder(planCache, TimeUnit.SECONDS.toNanos(10), System::nanoTime);
+        Position target = new Position(11, 0);
+
+        Vector first = finder.findPath(player, gameState, target);
+        assertNotEquals(new Vector(0, 0), first);
+        assertTrue(planCache.hasPlan(player), "Un percorso completo deve essere memorizzato");
+
+        // Segue le mosse come farebbe il TurnManager fino al traguardo
+        Vector acceleration = first;
+        for (int turn = 0; turn < 30 && !player.getPosition().equals(target); turn++) {
+            Vector velocity = player.getVelocity().add(acceleration);
+            player.updatePosition(player.getPosition().move(velocity));
+            player.updateVelocity(velocity);
+            if (!player.getPosition().equals(target)) {
+                acceleration = finder.findPath(player, gameState, target);
+            }
+        }
+        assertEquals(target, player.getPosition(), "Il bot deve raggiungere il bersaglio");
+    }
+
+    @Test
+    void testMossaParzialeAlloScadereDelTempo() {
+        // Orologio finto: ogni lettura avanza di un'unità, il budget scade dopo poche letture
+        long[] ticks = {0};
+        LongSupplier clock = () -> ticks[0]++;
+        Track track = openTrack(200, 200, -1, 0);
+        BotPlayer player = new BotPlayer("TestBot", Color.RED, new Position(0, 0), null);
+        GameState gameState = new GameState(track, List.of(player));
+        PlanCache planCache = new PlanCache();
+        AnytimeAStarPathFinder finder = newFinder(planCache, 3, clock);
+
+        Vector acceleration = finder.findPath(player, gameState, new Position(199, 199));
+        assertNotEquals(new Vector(0, 0), acceleration,
+                "Allo scadere del tempo il bot deve comunque muoversi verso il bersaglio");
+        assertFalse(planCache.hasPlan(player), "Un percorso parziale non deve essere memorizzato");
+        assertTrue(ticks[0] <= 5, "La ricerca deve fermarsi appena scade il budget");
+    }
+
+    @Test
+    void testFermoSenzaTempoPerEspandere() {
+        // Budget già scaduto al primo controllo: nessuna mossa disponibile
+        long[] ticks = {0};
+        LongSupplier clock = () -> ticks[0]++ * 100;
+        Track track = openTrack(20, 20, -1, 0);
+        BotPlayer player = new BotPlayer("TestBot", Color.RED, new Position(0, 0), null);
+        GameState gameState = new GameState(track, List.of(player));
+        AnytimeAStarPathFinder finder = newFinder(new PlanCache(), 1, clock);
+
+        assertEquals(new Vector(0, 0), finder.findPath(player, gameState, new Position(19, 19)));
+    }
+
+    @Test
+    void testCircuitoTroppoGrande() {
+        // Oltre MAX_STATES stati si usa il motore a oggetti, che trova comunque il percorso completo
+        Track huge = openTrack(2000, 300);
+        BotPlayer player = new BotPlayer("TestBot", Color.RED, new Position(1990, 290), null);
+        GameState gameState = new GameState(huge, List.of(player));
+        PlanCache planCache = new PlanCache();
+        AnytimeAStarPathFinder finder = newFinder(planCache, TimeUnit.SECONDS.toNanos(10), System::nanoTime);
+
+        assertNotEquals(new Vector(0, 0), finder.findPath(player, gameState, new Position(1999, 299)));
+        assertTrue(planCache.hasPlan(player));
+    }
+
+    @Test
+    void testBudgetNonValido() {
+        assertThrows(IllegalArgumentException.class, () -> new AnytimeAStarPathFinder(
+            new ChebyshevHeuristic(), new MovementManager(), 0));
+    }
+}
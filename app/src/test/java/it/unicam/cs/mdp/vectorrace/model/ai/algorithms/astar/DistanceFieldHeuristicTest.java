@@ -0,0 +1,156 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test per la classe DistanceFieldHeuristic
+ */
+public class DistanceFieldHeuristicTest {
+    private DistanceFieldHeuristic heuristic;
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        // Griglia 7x5: un muro verticale separa le colonne 0-2 dalle colonne 4-6,
+        // con un unico passaggio nella riga 4
+        CellType[][] grid = new CellType[5][7];
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 7; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+        }
+        for (int y = 0; y < 4; y++) {
+            grid[y][3] = CellType.WALL;
+        }
+        // Checkpoint di livello 1 su due celle, traguardo in alto a destra
+        grid[0][5] = CellType.CHECKPOINT;
+        grid[4][0] = CellType.CHECKPOINT;
+        grid[0][6] = CellType.FINISH;
+
+        Map<Position, PriorityData> checkpoints = new HashMap<>();
+        checkpoints.put(new Position(5, 0), new PriorityData(1, 1));
+        checkpoints.put(new Position(0, 4), new PriorityData(1, 1));
+        track = new Track(grid, checkpoints);
+
+        heuristic = new DistanceFieldHeuristic();
+        heuristic.prepare(track);
+    }
+
+    @Test
+    void testMovesToCover() {
+        // Da fermo: 1, 1+2, 1+2+3, ...
+        assertEquals(0, DistanceFieldHeuristic.movesToCover(0, 0));
+        assertEquals(1, DistanceFieldHeuristic.movesToCover(1, 0));
+        assertEquals(2, DistanceFieldHeuristic.movesToCover(3, 0));
+        assertEquals(3, DistanceFieldHeuristic.movesToCover(4, 0));
+        // Alla velocità massima si coprono 5 celle per mossa
+        assertEquals(2, DistanceFieldHeuristic.movesToCover(10, 5));
+        assertEquals(3, DistanceFieldHeuristic.movesToCover(11, 5));
+        // Fine dell'accelerazione da fermo a 15 celle, poi 5 celle per mossa
+        assertEquals(5, DistanceFieldHeuristic.movesToCover(15, 0));
+        assertEquals(6, DistanceFieldHeuristic.movesToCover(16, 0));
+        assertEquals(7, DistanceFieldHeuristic.movesToCover(25, 0));
+        assertEquals(205, DistanceFieldHeuristic.movesToCover(1015, 0));
+        // Oltre la velocità massima si prosegue alla velocità attuale
+        assertEquals(2, DistanceFieldHeuristic.movesToCover(14, 7));
+        assertEquals(3, DistanceFieldHeuristic.movesToCover(15, 7));
+    }
+
+    @Test
+    void testDistanzaAggiraIlMuro() {
+        // Da (2,0) al traguardo (6,0) bisogna scendere fino alla riga 4: 8 celle
+        double fromRest = heuristic.calculate(new Position(2, 0), new Vector(0, 0), new Position(6, 0));
+        assertEquals(DistanceFieldHeuristic.movesToCover(8, 0), fromRest);
+        // La distanza di Chebyshev ignorerebbe il muro
+        assertTrue(fromRest > DistanceFieldHeuristic.movesToCover(4, 0));
+    }
+
+    @Test
+    void testVelocitaRiduceLaStima() {
+        Position start = new Position(2, 0);
+        Position target = new Position(6, 0);
+        double fromRest = heuristic.calculate(start, new Vector(0, 0), target);
+        double moving = heuristic.calculate(start, new Vector(3, -2), target);
+        assertTrue(moving <= fromRest);
+        assertEquals(heuristic.calculate(2, 0, 3, -2, 6, 0), moving);
+    }
+
+    @Test
+    void testInsiemeDiCheckpoint() {
+        // Il campo verso un checkpoint considera tutte le celle dello stesso livello
+        double toFar = heuristic.calculate(new Position(0, 3), new Vector(0, 0), new Position(5, 0));
+        assertEquals(1.0, toFar);
+    }
+
+    @Test
+    void testCellaIrraggiungibile() {
+        CellType[][] grid = new CellType[3][3];
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                grid[y][x] = CellType.WALL;
+            }
+        }
+        grid[0][0] = CellType.ROAD;
+        grid[2][2] = CellType.ROAD;
+        Track closed = new Track(grid, new HashMap<>());
+        heuristic.prepare(closed);
+
+        assertEquals(Double.POSITIVE_INFINITY, heuristic.calculate(new Position(0, 0), new Position(2, 2)));
+        assertEquals(Double.POSITIVE_INFINITY, heuristic.calculate(-1, 0, 2, 2));
+    }
+
+    @Test
+    void testBersaglioFuoriDalCircuito() {
+        // Un bersaglio fuori dal circuito non è raggiungibile da nessuna cella
+        assertEquals(Double.POSITIVE_INFINITY, heuristic.calculate(0, 0, 7, 0));
+        assertEquals(Double.POSITIVE_INFINITY, heuristic.calculate(0, 0, -1, 2));
+    }
+
+    @Test
+    void testCampiCalcolatiInParallelo() throws InterruptedException {
+        // Più thread che chiedono gli stessi campi ottengono le stesse stime del calcolo seriale
+        int[][] targets = { {6, 0}, {5, 0}, {2, 2}, {0, 0} };
+        double[] expected = new double[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            expected[i] = heuristic.calculate(2, 0, targets[i][0], targets[i][1]);
+        }
+        setUp();
+        List<Thread> threads = new ArrayList<>();
+        List<String> errors = new CopyOnWriteArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                DistanceFieldHeuristic own = new DistanceFieldHeuristic();
+                own.prepare(track);
+                for (int i = 0; i < targets.length; i++) {
+                    if (own.calculate(2, 0, targets[i][0], targets[i][1]) != expected[i]) {
+                        errors.add("Stima diversa per il bersaglio " + i);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty(), errors.toString());
+    }
+
+    @Test
+    void testNonPreparata() {
+        DistanceFieldHeuristic fresh = new DistanceFieldHeuristic();
+        assertThrows(IllegalStateException.class, () -> fresh.calculate(0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> fresh.prepare(null));
+    }
+}
@@ -0,0 +1,246 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.state.PlanCache;
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MoveRules;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.openTrack;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test per la classe PrimitiveAStarPathFinder
+ */
+public class PrimitiveAStarPathFinderTest {
+    private PrimitiveAStarPathFinder pathFinder;
+    private AStarPathFinder referenceFinder;
+    private Track track;
+    private BotPlayer player;
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        // Crea una griglia 12x8 con un muro verticale da aggirare
+        CellType[][] grid = new CellType[8][12];
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 12; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+        }
+        for (int y = 0; y < 6; y++) {
+            grid[y][5] = CellType.WALL;
+        }
+        track = new Track(grid, new HashMap<>());
+
+        pathFinder = new PrimitiveAStarPathFinder(
+            new ChebyshevHeuristic(),
+            new MovementManager()
+        );
+        referenceFinder = new AStarPathFinder(
+            new ChebyshevHeuristic(),
+            new MovementManager()
+        );
+
+        player = new BotPlayer("TestBot", Color.RED, new Position(0, 0), null);
+        List<Player> players = new ArrayList<>();
+        players.add(player);
+        gameState = new GameState(track, players);
+    }
+
+    @Test
+    void testSameChoicesAsObjectEngine() {
+        // Confronta le scelte dei due motori da ogni cella e con diverse velocità
+        Position target = new Position(11, 0);
+        Vector[] velocities = { new Vector(0, 0), new Vector(1, 1), new Vector(-1, 2) };
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 12; x++) {
+                if (!track.isPassable(x, y)) {
+                    continue;
+                }
+                for (Vector velocity : velocities) {
+                    player.updatePosition(new Position(x, y));
+                    player.updateVelocity(velocity);
+                    Vector expected = referenceFinder.findPath(player, gameState, target);
+                    Vector actual = pathFinder.findPath(player, gameState, target);
+                    assertEquals(expected, actual, "Scelta diversa da (" + x + "," + y + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSameChoicesAsObjectEngineConGoalSet() {
+        // Con un insieme obiettivo sull'ultima colonna i due motori devono restare equivalenti
+        Position target = new Position(11, 0);
+        List<Position> line = new ArrayList<>();
+        for (int y = 0; y < 8; y++) {
+            line.add(new Position(11, y));
+        }
+        GoalSet goal = GoalSet.of(track, line, true);
+        Vector[] velocities = { new Vector(0, 0), new Vector(1, 1), new Vector(-1, 2) };
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 11; x++) {
+                if (!track.isPassable(x, y)) {
+                    continue;
+                }
+                for (Vector velocity : velocities) {
+                    player.updatePosition(new Position(x, y));
+                    player.updateVelocity(velocity);
+                    Vector expected = referenceFinder.findPath(player, gameState, target, goal);
+                    Vector actual = pathFinder.findPath(player, gameState, target, goal);
+                    assertEquals(expected, actual, "Scelta diversa da (" + x + "," + y + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReusableAcrossTracks() {
+        // Lo stesso motore deve funzionare su tracciati di dimensioni diverse
+        Position target = new Position(11, 7);
+        Vector first = pathFinder.findPath(player, gameState, target);
+        assertEquals(referenceFinder.findPath(player, gameState, target), first);
+
+        CellType[][] grid = new CellType[3][3];
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+        }
+        List<Player> players = new ArrayList<>();
+        players.add(player);
+        GameState smallState = new GameState(new Track(grid, new HashMap<>()), players);
+        Vector second = pathFinder.findPath(player, smallState, new Position(2, 2));
+        assertEquals(referenceFinder.findPath(player, smallState, new Position(2, 2)), second);
+        smallState.detach();
+    }
+
+    @Test
+    void testPianoRiutilizzato() {
+        // Dopo una ricerca il percorso completo viene memorizzato e seguito
+        PlanCache planCache = new PlanCache();
+        PrimitiveAStarPathFinder cachingFinder = new PrimitiveAStarPathFinder(
+            new ChebyshevHeuristic(),
+            new MovementManager(),
+            planCache
+        );
+        Position target = new Position(11, 0);
+        Vector acceleration = cachingFinder.findPath(player, gameState, target);
+        assertTrue(planCache.hasPlan(player));
+
+        // Applica la mossa come farebbe il TurnManager
+        Vector velocity = player.getVelocity().add(acceleration);
+        player.updatePosition(player.getPosition().move(velocity));
+        player.updateVelocity(velocity);
+        Vector next = cachingFinder.findPath(player, gameState, target);
+        assertNotNull(next);
+        assertTrue(planCache.hasPlan(player));
+
+        // Un reset della velocità scarta il piano
+        cachingFinder.invalidatePlan(player);
+        assertFalse(planCache.hasPlan(player));
+    }
+
+    @Test
+    void testCircuitoTroppoGrande() {
+        // 2000x300 celle per 121 velocità superano MAX_STATES: si usa il motore a oggetti
+        Track huge = openTrack(2000, 300);
+        assertTrue((long) huge.getWidth() * huge.getHeight() * 121 > PackedStateSearch.MAX_STATES);
+        BotPlayer bot = new BotPlayer("TestBot", Color.RED, new Position(1990, 290), null);
+        GameState hugeState = new GameState(huge, List.of(bot));
+        Position target = new Position(1999, 299);
+
+        Vector expected = referenceFinder.findPath(bot, hugeState, target);
+        assertNotEquals(new Vector(0, 0), expected);
+        assertEquals(expected, pathFinder.findPath(bot, hugeState, target));
+    }
+
+    @Test
+    void testNullTarget() {
+        Vector acceleration = pathFinder.findPath(player, gameState, null);
+
+        // Dovrebbe restituire un vettore zero quando il target è null
+        assertEquals(new Vector(0, 0), acceleration);
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        // Crea un perimetro di muri intorno al giocatore
+        CellType[][] grid = new CellType[5][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                grid[i][j] = CellType.WALL;
+            }
+        }
+        grid[0][0] = CellType.ROAD;
+        List<Player> players = new ArrayList<>();
+        players.add(player);
+        gameState.detach();
+        gameState = new GameState(new Track(grid, new HashMap<>()), players);
+
+        Vector acceleration = pathFinder.findPath(player, gameState, new Position(4, 4));
+
+        // Dovrebbe restituire un vettore zero quando il target è irraggiungibile
+        assertEquals(new Vector(0, 0), acceleration);
+    }
+
+    @Test
+    void testObiettivoSullInteraLinea() {
+        // Una linea di checkpoint verticale nella colonna 28: basta attraversarla in un punto qualsiasi,
+        // senza dover terminare la mossa esattamente sulla cella bersaglio
+        CellType[][] grid = new CellType[8][30];
+        Map<Position, PriorityData> checkpointData = new HashMap<>();
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 30; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+            grid[y][28] = CellType.CHECKPOINT;
+            checkpointData.put(new Position(28, y), new PriorityData(1, 1));
+        }
+        Track lineTrack = new Track(grid, checkpointData);
+        Position target = new Position(28, 7);
+        GoalSet goal = lineTrack.getCheckpointIndex().getLevelGoal(1);
+
+        int singleTarget = turnsToCross(lineTrack, target, null);
+        int wholeLine = turnsToCross(lineTrack, target, goal);
+        assertTrue(wholeLine < singleTarget,
+                "Puntare all'intera linea deve richiedere meno mosse (" + wholeLine + " contro " + singleTarget + ")");
+    }
+
+    private int turnsToCross(Track lineTrack, Position target, GoalSet goal) {
+        BotPlayer bot = new BotPlayer("LineBot", Color.RED, new Position(0, 0), null);
+        GameState state = new GameState(lineTrack, List.of(bot));
+        PrimitiveAStarPathFinder finder = new PrimitiveAStarPathFinder(
+            new ChebyshevHeuristic(),
+            new MovementManager()
+        );
+        int turns = 0;
+        while (bot.getNextCheckpointIndex() == 1 && turns < 20) {
+            Vector acceleration = finder.findPath(bot, state, target, goal);
+            Vector velocity = bot.getVelocity().add(acceleration);
+            Position start = bot.getPosition();
+            bot.updatePosition(start.move(velocity));
+            bot.updateVelocity(velocity);
+            // Come nella partita, i checkpoint vengono accreditati dopo la mossa
+            MoveRules.settleCheckpoints(lineTrack, bot, start, true, bot.getNextCheckpointIndex());
+            turns++;
+        }
+        assertEquals(2, bot.getNextCheckpointIndex(), "Il checkpoint deve essere superato");
+        return turns;
+    }
+}
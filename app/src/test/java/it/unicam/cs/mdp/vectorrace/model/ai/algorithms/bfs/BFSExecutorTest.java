@@ -2,6 +2,7 @@ package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.services.IMoveValidator;
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
 import it.unicam.cs.mdp.vectorrace.model.core.Vector;
@@ -9,9 +10,12 @@ import it.unicam.cs.mdp.vectorrace.model.game.GameState;
 import it.unicam.cs.mdp.vectorrace.model.players.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.openTrack;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Test per la classe BFSExecutor
@@ -129,4 +133,123 @@ public class BFSExecutorTest {
         assertEquals(1, Math.abs(acc.getDx()));
         assertEquals(1, Math.abs(acc.getDy()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPianoCompleto() {
+        Position start = new Position(0, 0);
+        Vector startVelocity = new Vector(0, 0);
+        Position target = new Position(4, 4);
+
+        BFSSearchResult result = bfsExecutor.search(start, startVelocity, target, track);
+
+        // Il piano deve iniziare con l'accelerazione restituita e arrivare al target
+        assertTrue(result.isFound());
+        assertEquals(result.getNextAcceleration(), result.getPlan().get(0));
+        Position position = start;
+        Vector velocity = startVelocity;
+        for (Vector acc : result.getPlan()) {
+            velocity = velocity.add(acc);
+            position = position.move(velocity);
+        }
+        assertEquals(target, position);
+    }
+
+    @Test
+    void testRicercheRipetute() {
+        // I buffer riutilizzati non devono influenzare le ricerche successive
+        BFSSearchResult first = bfsExecutor.search(new Position(0, 0), new Vector(0, 0), new Position(4, 4), track);
+        bfsExecutor.search(new Position(4, 0), new Vector(0, 0), new Position(0, 4), track);
+        BFSSearchResult again = bfsExecutor.search(new Position(0, 0), new Vector(0, 0), new Position(4, 4), track);
+
+        assertEquals(first.getPlan(), again.getPlan());
+    }
+
+    @Test
+    void testVelocitaInizialeFuoriIntervallo() {
+        // Una velocità oltre MAX_SPEED viene gestita dalla ricerca a oggetti
+        CellType[][] grid = new CellType[1][12];
+        for (int x = 0; x < 12; x++) {
+            grid[0][x] = CellType.ROAD;
+        }
+        Track corridor = new Track(grid, new HashMap<>());
+
+        BFSSearchResult result = bfsExecutor.search(new Position(0, 0), new Vector(6, 0), new Position(6, 0), corridor);
+
+        assertNotNull(result);
+        assertFalse(result.isFound());
+    }
+
+    @Test
+    void testObiettivoAttraversato() {
+        // Una linea verticale nella colonna 6: basta che l'ultima mossa la attraversi
+        Track field = openTrack(12, 5);
+        GoalSet goal = GoalSet.of(field, column(6, 5), true);
+        Position start = new Position(0, 2);
+
+        BFSSearchResult toLine = bfsExecutor.search(start, new Vector(0, 0), new Position(6, 2), goal, field);
+        BFSSearchResult toCell = bfsExecutor.search(start, new Vector(0, 0), new Position(6, 2), field);
+
+        assertTrue(toLine.isFound());
+        assertTrue(toLine.getPlan().size() <= toCell.getPlan().size(),
+                "Attraversare la linea non deve richiedere più mosse che fermarsi sulla cella");
+
+        // Solo l'ultima mossa del piano attraversa la linea
+        Position position = start;
+        Vector velocity = new Vector(0, 0);
+        List<Vector> plan = toLine.getPlan();
+        for (int i = 0; i < plan.size(); i++) {
+            velocity = velocity.add(plan.get(i));
+            Position next = position.move(velocity);
+            assertEquals(i == plan.size() - 1,
+                    goal.isReachedBy(position.getX(), position.getY(), next.getX(), next.getY()));
+            position = next;
+        }
+    }
+
+    @Test
+    void testObiettivoConVelocitaFuoriIntervallo() {
+        // Anche la ricerca a oggetti deve fermarsi alla prima mossa che attraversa la linea
+        Track corridor = openTrack(12, 1);
+        GoalSet goal = GoalSet.of(corridor, column(6, 1), true);
+
+        BFSSearchResult result = bfsExecutor.search(new Position(0, 0), new Vector(5, 0),
+                new Position(6, 0), goal, corridor);
+
+        // Da (0,0) si frena a velocità 4 fino a (4,0), poi qualsiasi mossa in avanti supera la colonna 6
+        assertTrue(result.isFound());
+        assertEquals(new Vector(-1, 0), result.getNextAcceleration());
+        assertEquals(2, result.getPlan().size());
+    }
+
+    @Test
+    void testObiettivoVuoto() {
+        // Un insieme obiettivo vuoto non può mai essere raggiunto
+        Track field = openTrack(5, 5);
+        GoalSet goal = GoalSet.of(field, new ArrayList<>(), true);
+
+        BFSSearchResult result = bfsExecutor.search(new Position(0, 0), new Vector(0, 0),
+                new Position(4, 4), goal, field);
+
+        assertFalse(result.isFound());
+    }
+
+    @Test
+    void testCircuitoTroppoGrande() {
+        // 2100x100 celle per 81 velocità superano MAX_STATES: si usa la ricerca a oggetti
+        Track huge = openTrack(2100, 100);
+        assertFalse(new DenseBFSStateManager(BFSExecutor.MAX_SPEED).reset(huge, 0, 0, 0, 0));
+
+        BFSSearchResult result = bfsExecutor.search(new Position(0, 0), new Vector(0, 0), new Position(3, 0), huge);
+
+        assertTrue(result.isFound());
+        assertEquals(2, result.getPlan().size());
+    }
+
+    private List<Position> column(int x, int height) {
+        List<Position> cells = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            cells.add(new Position(x, y));
+        }
+        return cells;
+    }
+}
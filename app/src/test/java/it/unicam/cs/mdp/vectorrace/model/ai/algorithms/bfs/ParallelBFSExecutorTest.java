@@ -0,0 +1,117 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test per la classe ParallelBFSExecutor
+ */
+public class ParallelBFSExecutorTest {
+    private BFSExecutor serialExecutor;
+    private ParallelBFSExecutor parallelExecutor;
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        MovementValidatorAdapter validator = new MovementValidatorAdapter();
+        serialExecutor = new BFSExecutor(validator);
+        // Soglia bassa per forzare l'espansione parallela anche su una griglia piccola
+        parallelExecutor = new ParallelBFSExecutor(validator, 16);
+
+        // Griglia 40x30 con muri sparsi generati in modo deterministico
+        Random random = new Random(7);
+        CellType[][] grid = new CellType[30][40];
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 40; x++) {
+                grid[y][x] = random.nextInt(6) == 0 ? CellType.WALL : CellType.ROAD;
+            }
+        }
+        grid[0][0] = CellType.ROAD;
+        track = new Track(grid, new HashMap<>());
+    }
+
+    @Test
+    void testStessoRisultatoDellaRicercaSeriale() {
+        Random random = new Random(11);
+        for (int i = 0; i < 20; i++) {
+            Position start = randomRoad(random);
+            Position target = randomRoad(random);
+            Vector velocity = new Vector(random.nextInt(3) - 1, random.nextInt(3) - 1);
+
+            BFSSearchResult expected = serialExecutor.search(start, velocity, target, track);
+            BFSSearchResult actual = parallelExecutor.search(start, velocity, target, track);
+
+            assertEquals(expected.isFound(), actual.isFound());
+            assertEquals(expected.getNextAcceleration(), actual.getNextAcceleration());
+            assertEquals(expected.getPlan(), actual.getPlan());
+        }
+    }
+
+    @Test
+    void testStessoRisultatoConGoalSet() {
+        // Con una linea obiettivo la mossa vincente deve essere la stessa della ricerca seriale
+        Random random = new Random(13);
+        for (int i = 0; i < 20; i++) {
+            Position start = randomRoad(random);
+            Position target = randomRoad(random);
+            Vector velocity = new Vector(random.nextInt(3) - 1, random.nextInt(3) - 1);
+            List<Position> line = new ArrayList<>();
+            for (int y = Math.max(0, target.getY() - 3); y <= Math.min(29, target.getY() + 3); y++) {
+                line.add(new Position(target.getX(), y));
+            }
+            GoalSet goal = GoalSet.of(track, line, true);
+
+            BFSSearchResult expected = serialExecutor.search(start, velocity, target, goal, track);
+            BFSSearchResult actual = parallelExecutor.search(start, velocity, target, goal, track);
+
+            assertEquals(expected.isFound(), actual.isFound());
+            assertEquals(expected.getNextAcceleration(), actual.getNextAcceleration());
+            assertEquals(expected.getPlan(), actual.getPlan());
+        }
+    }
+
+    @Test
+    void testTargetIrraggiungibile() {
+        CellType[][] grid = new CellType[20][20];
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                grid[y][x] = x == 10 ? CellType.WALL : CellType.ROAD;
+            }
+        }
+        Track split = new Track(grid, new HashMap<>());
+
+        BFSSearchResult result = parallelExecutor.search(new Position(0, 0), new Vector(0, 0),
+                new Position(19, 19), split);
+
+        assertFalse(result.isFound());
+        assertEquals(new Vector(0, 0), result.getNextAcceleration());
+    }
+
+    @Test
+    void testSogliaNonValida() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelBFSExecutor(new MovementValidatorAdapter(), 0));
+    }
+
+    private Position randomRoad(Random random) {
+        while (true) {
+            int x = random.nextInt(track.getWidth());
+            int y = random.nextInt(track.getHeight());
+            if (track.isPassable(x, y)) {
+                return new Position(x, y);
+            }
+        }
+    }
+}
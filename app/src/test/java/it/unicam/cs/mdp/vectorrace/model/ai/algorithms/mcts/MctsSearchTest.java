@@ -0,0 +1,118 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.mcts;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTable;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy.PolicyTableBuilder;
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.bot;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.game;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test per la classe MctsSearch
+ */
+public class MctsSearchTest {
+    private Track track;
+    private PolicyTable policy;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Pista 16x4 con un checkpoint di livello 1 nella colonna 6 e arrivo nella colonna 14
+        CellType[][] grid = new CellType[4][16];
+        Map<Position, PriorityData> checkpointData = new HashMap<>();
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 16; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+            grid[y][6] = CellType.CHECKPOINT;
+            checkpointData.put(new Position(6, y), new PriorityData(1, 1));
+            grid[y][14] = CellType.FINISH;
+        }
+        track = new Track(grid, checkpointData);
+        policy = PolicyTable.wrap(new PolicyTableBuilder().build(track));
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testTagliaIlTraguardo() {
+        // A un passo dall'arrivo la ricerca deve scegliere una mossa che lo raggiunge
+        BotPlayer ego = bot("A", 11, 1, 2, 0);
+        ego.incrementCheckpointIndex();
+        GameState game = game(track, ego, bot("B", 0, 3, 0, 0));
+        MctsSearch search = new MctsSearch(pool, 1, 10_000, 2_000, 42);
+
+        Vector acceleration = search.search(game, ego, policy);
+
+        assertNotNull(acceleration);
+        Vector velocity = ego.getVelocity().add(acceleration);
+        assertEquals(CellType.FINISH, track.getCell(11 + velocity.getDx(), 1 + velocity.getDy()));
+    }
+
+    @Test
+    void testEvitaLaCellaOccupata() {
+        // Se la mossa della tabella finisce su un avversario, la ricerca deve sceglierne una che non venga rifiutata
+        BotPlayer ego = bot("A", 0, 1, 2, 0);
+        int tableAction = policy.getAction(1, 0, 1, 2, 0);
+        Vector tableVelocity = new Vector(2, 0).add(AccelerationType.values()[tableAction].getVector());
+        BotPlayer blocker = bot("B", tableVelocity.getDx(), 1 + tableVelocity.getDy(), 0, 0);
+        GameState game = game(track, ego, blocker);
+        MctsSearch search = new MctsSearch(pool, 1, 10_000, 3_000, 7);
+
+        Vector acceleration = search.search(game, ego, policy);
+
+        assertNotNull(acceleration);
+        GameSnapshot race = GameSnapshot.of(game).apply(acceleration);
+        assertFalse(race.wasRejected(0), "La mossa scelta non deve essere bloccata da B");
+    }
+
+    @Test
+    void testRicercaParallela() {
+        // Più worker condividono l'albero e si fermano al limite di iterazioni
+        BotPlayer ego = bot("A", 0, 0, 0, 0);
+        GameState game = game(track, ego, bot("B", 0, 2, 0, 0), bot("C", 0, 3, 0, 0));
+        MctsSearch search = new MctsSearch(pool, 4, 10_000, 4_000, 3);
+
+        Vector acceleration = search.search(game, ego, policy);
+
+        assertNotNull(acceleration);
+        assertEquals(4_000, search.getLastIterationCount());
+        assertTrue(GameSnapshot.of(game).isClearOfWalls(acceleration.getDx(), acceleration.getDy()));
+    }
+
+    @Test
+    void testParametriNonValidi() {
+        // Budget, parallelismo e iterazioni devono essere positivi
+        assertThrows(IllegalArgumentException.class, () -> new MctsSearch(0));
+        assertThrows(IllegalArgumentException.class, () -> new MctsSearch(pool, 0, 10, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MctsSearch(pool, 1, 10, 0, 1));
+    }
+
+    @Test
+    void testParallelismoPredefinitoLimitato() {
+        // Ogni bot usa al più 4 worker del pool comune, che resta condiviso con gli altri bot
+        assertTrue(MctsSearch.DEFAULT_PARALLELISM >= 1);
+        assertTrue(MctsSearch.DEFAULT_PARALLELISM <= 4);
+        assertTrue(MctsSearch.DEFAULT_PARALLELISM <= Math.max(1, ForkJoinPool.getCommonPoolParallelism()));
+    }
+}
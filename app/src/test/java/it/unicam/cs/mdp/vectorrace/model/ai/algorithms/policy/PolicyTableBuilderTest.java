@@ -0,0 +1,222 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.algorithms.policy;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSExecutor;
+import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bfs.BFSSearchResult;
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import it.unicam.cs.mdp.vectorrace.model.ai.services.MovementValidatorAdapter;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.GoalSet;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test per la classe PolicyTableBuilder
+ */
+public class PolicyTableBuilderTest {
+    private PolicyTableBuilder builder;
+    private Track track;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        builder = new PolicyTableBuilder();
+
+        // Griglia 20x10 con un muro da aggirare, checkpoint di livello 1 nella colonna 10
+        // e arrivo nella colonna 18
+        CellType[][] grid = new CellType[10][20];
+        Map<Position, PriorityData> checkpointData = new HashMap<>();
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+            grid[y][10] = CellType.CHECKPOINT;
+            checkpointData.put(new Position(10, y), new PriorityData(1, 1));
+            grid[y][18] = CellType.FINISH;
+        }
+        for (int y = 2; y < 10; y++) {
+            grid[y][5] = CellType.WALL;
+        }
+        track = new Track(grid, checkpointData);
+    }
+
+    @Test
+    void testStessiPassiDellaBFS() throws IOException {
+        // Seguire la tabella deve richiedere tante mosse quante il piano della BFS verso la stessa linea
+        PolicyTable table = PolicyTable.wrap(builder.build(track));
+        BFSExecutor bfs = new BFSExecutor(new MovementValidatorAdapter());
+        Vector[] velocities = { new Vector(0, 0), new Vector(2, 1), new Vector(-1, -1) };
+        int[] stages = { 1, table.getFinishStage() };
+
+        for (int stage : stages) {
+            GoalSet goal = stage == 1
+                    ? track.getCheckpointIndex().getLevelGoal(1)
+                    : track.getCheckpointIndex().getFinishGoal();
+            for (int y = 0; y < 10; y++) {
+                for (int x = 0; x < 10; x++) {
+                    if (!track.isPassable(x, y)) {
+                        continue;
+                    }
+                    for (Vector velocity : velocities) {
+                        BFSSearchResult expected = bfs.search(new Position(x, y), velocity,
+                                new Position(10, 0), goal, track);
+                        int moves = followTable(table, stage, goal, new Position(x, y), velocity);
+                        if (expected.isFound()) {
+                            assertEquals(expected.getPlan().size(), moves,
+                                    "Numero di mosse diverso da (" + x + "," + y + ") con velocità " + velocity);
+                        } else {
+                            assertEquals(-1, moves, "Stato senza percorso da (" + x + "," + y + ")");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSalvataggioEMappatura() throws IOException {
+        PolicyTableStore store = new PolicyTableStore(tempDir, builder);
+        PolicyTable mapped = store.load(track);
+        PolicyTable inMemory = PolicyTable.wrap(builder.build(track));
+
+        assertTrue(Files.isRegularFile(store.getFile(track)), "La tabella deve essere salvata su disco");
+        assertTrue(mapped.matches(track));
+        assertEquals(3, mapped.getStageCount(), "Livelli 0 e 1 più l'arrivo");
+        for (int stage = 0; stage < mapped.getStageCount(); stage++) {
+            for (int y = 0; y < 10; y++) {
+                for (int x = 0; x < 20; x++) {
+                    for (int vx = -PolicyTable.MAX_SPEED; vx <= PolicyTable.MAX_SPEED; vx++) {
+                        for (int vy = -PolicyTable.MAX_SPEED; vy <= PolicyTable.MAX_SPEED; vy++) {
+                            assertEquals(inMemory.getAction(stage, x, y, vx, vy),
+                                    mapped.getAction(stage, x, y, vx, vy));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTabellaDiUnAltroCircuito() throws IOException {
+        CellType[][] grid = new CellType[10][20];
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                grid[y][x] = x == 18 ? CellType.FINISH : CellType.ROAD;
+            }
+        }
+        Track other = new Track(grid, new HashMap<>());
+
+        PolicyTable table = PolicyTable.wrap(builder.build(track));
+        assertFalse(table.matches(other), "Una tabella non deve essere usata su un altro circuito");
+        assertNotEquals(PolicyTable.fileName(track), PolicyTable.fileName(other));
+    }
+
+    @Test
+    void testFileNonValido() throws IOException {
+        PolicyTableStore store = new PolicyTableStore(tempDir, builder);
+        Path file = store.getFile(track);
+        Files.write(file, new byte[] { 1, 2, 3, 4 });
+
+        assertThrows(IOException.class, () -> PolicyTable.map(file));
+
+        // Il file danneggiato viene ricostruito al caricamento
+        PolicyTable table = store.load(track);
+        assertTrue(table.matches(track));
+        assertTrue(PolicyTable.map(file).matches(track));
+    }
+
+    @Test
+    void testTabellaCondivisaNelProcesso() throws InterruptedException {
+        // Più store sulla stessa cartella, anche da thread diversi, costruiscono la tabella una volta sola
+        AtomicInteger builds = new AtomicInteger();
+        PolicyTableBuilder counting = new PolicyTableBuilder() {
+            @Override
+            public ByteBuffer build(Track built) {
+                builds.incrementAndGet();
+                return super.build(built);
+            }
+        };
+        List<PolicyTable> tables = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                PolicyTable table = new PolicyTableStore(tempDir, counting).load(track);
+                synchronized (tables) {
+                    tables.add(table);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, builds.get(), "La tabella deve essere costruita una sola volta");
+        assertEquals(4, tables.size());
+        for (PolicyTable table : tables) {
+            assertSame(tables.get(0), table, "Tutti i bot devono condividere la stessa tabella");
+        }
+    }
+
+    @Test
+    void testCartellaPredefinita() {
+        String previous = System.getProperty(PolicyTableStore.DIRECTORY_PROPERTY);
+        try {
+            System.setProperty(PolicyTableStore.DIRECTORY_PROPERTY, tempDir.toString());
+            assertEquals(tempDir, PolicyTableStore.defaultDirectory());
+            System.clearProperty(PolicyTableStore.DIRECTORY_PROPERTY);
+            assertEquals(Paths.get(System.getProperty("user.home"), ".vectorrace", "policies"),
+                    PolicyTableStore.defaultDirectory(), "Senza proprietà la cartella non dipende dalla cartella di lavoro");
+        } finally {
+            if (previous != null) {
+                System.setProperty(PolicyTableStore.DIRECTORY_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void testFaseDelGiocatore() throws IOException {
+        PolicyTable table = PolicyTable.wrap(builder.build(track));
+
+        assertEquals(1, table.stageFor(track, 1));
+        // Il livello 2 non esiste: si punta all'arrivo
+        assertEquals(table.getFinishStage(), table.stageFor(track, 2));
+        assertNull(table.lookup(1, 0, 0, PolicyTable.MAX_SPEED + 1, 0), "Velocità fuori tabella");
+    }
+
+    private int followTable(PolicyTable table, int stage, GoalSet goal, Position start, Vector velocity) {
+        Position position = start;
+        int moves = 0;
+        while (moves < 50) {
+            Vector acceleration = table.lookup(stage, position.getX(), position.getY(),
+                    velocity.getDx(), velocity.getDy());
+            if (acceleration == null) {
+                return -1;
+            }
+            velocity = velocity.add(acceleration);
+            Position next = position.move(velocity);
+            moves++;
+            if (goal.isReachedBy(position.getX(), position.getY(), next.getX(), next.getY())) {
+                return moves;
+            }
+            position = next;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,67 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Test per la classe CheckpointKdTree
+ */
+public class CheckpointKdTreeTest {
+
+    @Test
+    void testAlberoVuoto() {
+        CheckpointKdTree tree = new CheckpointKdTree(new HashSet<>());
+        assertEquals(0, tree.size());
+        assertNull(tree.nearest(3, 3));
+    }
+
+    @Test
+    void testStessoRisultatoDellaScansioneLineare() {
+        NearestCheckpointStrategy linear = new NearestCheckpointStrategy();
+        IndexedNearestCheckpointStrategy indexed = new IndexedNearestCheckpointStrategy();
+        Random random = new Random(42);
+
+        for (int round = 0; round < 200; round++) {
+            // Coordinate piccole per avere molti pareggi di distanza
+            Set<Position> checkpoints = new HashSet<>();
+            int count = 1 + random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                checkpoints.add(new Position(random.nextInt(12), random.nextInt(12)));
+            }
+            for (int q = 0; q < 30; q++) {
+                Position current = new Position(random.nextInt(16) - 2, random.nextInt(16) - 2);
+                assertEquals(linear.selectCheckpoint(checkpoints, current),
+                        indexed.selectCheckpoint(checkpoints, current),
+                        "Il k-d tree deve scegliere lo stesso checkpoint della scansione lineare da " + current);
+            }
+        }
+    }
+
+    @Test
+    void testPareggioRisoltoDallOrdineDelSet() {
+        // Due checkpoint equidistanti: vince il primo nell'ordine di iterazione
+        Set<Position> checkpoints = new LinkedHashSet<>();
+        checkpoints.add(new Position(4, 2));
+        checkpoints.add(new Position(0, 2));
+        assertEquals(new Position(4, 2), new CheckpointKdTree(checkpoints).nearest(2, 2));
+
+        Set<Position> reversed = new LinkedHashSet<>();
+        reversed.add(new Position(0, 2));
+        reversed.add(new Position(4, 2));
+        assertEquals(new Position(0, 2), new CheckpointKdTree(reversed).nearest(2, 2));
+    }
+
+    @Test
+    void testAlberoRiutilizzatoPerLoStessoSet() {
+        IndexedNearestCheckpointStrategy strategy = new IndexedNearestCheckpointStrategy();
+        Set<Position> checkpoints = Set.of(new Position(1, 1), new Position(5, 5));
+        assertSame(strategy.treeFor(checkpoints), strategy.treeFor(checkpoints),
+                "Lo stesso set non deve essere indicizzato due volte");
+    }
+}
@@ -0,0 +1,81 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.checkpoint;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Test per la classe TravelDistanceCheckpointStrategy
+ */
+public class TravelDistanceCheckpointStrategyTest {
+    private Track track;
+    private Set<Position> checkpoints;
+    private Position behindWall;
+    private Position reachable;
+
+    @BeforeEach
+    void setUp() {
+        // ..*#*..   riga 0: giocatore in (2,0), checkpoint dietro al muro in (4,0)
+        // ...#...
+        // ...#...
+        // *..#...   riga 3: checkpoint raggiungibile in (0,3)
+        // ...#...
+        // .......   riga 5: unico varco nel muro
+        CellType[][] grid = new CellType[6][7];
+        for (int y = 0; y < 6; y++) {
+            for (int x = 0; x < 7; x++) {
+                grid[y][x] = (x == 3 && y < 5) ? CellType.WALL : CellType.ROAD;
+            }
+        }
+        track = new Track(grid, new HashMap<>());
+        behindWall = new Position(4, 0);
+        reachable = new Position(0, 3);
+        checkpoints = new LinkedHashSet<>();
+        checkpoints.add(behindWall);
+        checkpoints.add(reachable);
+    }
+
+    @Test
+    void testEvitaCheckpointDietroAlMuro() {
+        Position current = new Position(2, 0);
+        assertEquals(behindWall, new IndexedNearestCheckpointStrategy().selectCheckpoint(checkpoints, current),
+                "In linea d'aria il checkpoint dietro al muro è il più vicino");
+        assertEquals(reachable, new TravelDistanceCheckpointStrategy().selectCheckpoint(checkpoints, current, track),
+                "Per distanza di percorso deve essere scelto il checkpoint raggiungibile");
+    }
+
+    @Test
+    void testOltreIlMuro() {
+        Position current = new Position(5, 1);
+        assertEquals(behindWall, new TravelDistanceCheckpointStrategy().selectCheckpoint(checkpoints, current, track));
+    }
+
+    @Test
+    void testSenzaTracciatoUsaLaDistanzaInLineaDAria() {
+        Position current = new Position(2, 0);
+        TravelDistanceCheckpointStrategy strategy = new TravelDistanceCheckpointStrategy();
+        assertEquals(behindWall, strategy.selectCheckpoint(checkpoints, current));
+        assertEquals(behindWall, strategy.selectCheckpoint(checkpoints, current, null));
+    }
+
+    @Test
+    void testCelleIrraggiungibili() {
+        TravelDistanceCheckpointStrategy.Labels labels =
+                TravelDistanceCheckpointStrategy.computeLabels(checkpoints, track);
+        assertNull(labels.ownerOf(track.index(3, 0)), "Un muro non appartiene a nessun checkpoint");
+        assertEquals(reachable, labels.ownerOf(track.index(0, 5)));
+    }
+
+    @Test
+    void testInsiemeVuoto() {
+        assertNull(new TravelDistanceCheckpointStrategy()
+                .selectCheckpoint(new LinkedHashSet<>(), new Position(0, 0), track));
+    }
+}
@@ -0,0 +1,78 @@
+package it.unicam.cs.mdp.vectorrace.model.ai.state;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * Test per la classe PlanCache
+ */
+public class PlanCacheTest {
+    private PlanCache cache;
+    private BotPlayer player;
+    private Position target;
+    private List<Vector> plan;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PlanCache();
+        player = new BotPlayer("TestBot", Color.RED, new Position(0, 0), null);
+        target = new Position(3, 3);
+        // (0,0) v=(0,0) -> (1,1) v=(1,1) -> (3,3) v=(2,2)
+        plan = List.of(new Vector(1, 1), new Vector(1, 1));
+    }
+
+    @Test
+    void testSegueIlPiano() {
+        cache.store(player, target, plan);
+        assertTrue(cache.hasPlan(player));
+
+        // Il primo passo è considerato giocato nel turno corrente
+        player.updatePosition(new Position(1, 1));
+        player.updateVelocity(new Vector(1, 1));
+        assertEquals(new Vector(1, 1), cache.nextAcceleration(player, target));
+
+        // Piano esaurito
+        player.updatePosition(new Position(3, 3));
+        player.updateVelocity(new Vector(2, 2));
+        assertNull(cache.nextAcceleration(player, target));
+        assertFalse(cache.hasPlan(player));
+    }
+
+    @Test
+    void testStatoFuoriDalPiano() {
+        cache.store(player, target, plan);
+
+        // Il giocatore non si è mosso (ad esempio cella occupata)
+        assertNull(cache.nextAcceleration(player, target));
+        assertFalse(cache.hasPlan(player));
+    }
+
+    @Test
+    void testTargetCambiato() {
+        cache.store(player, target, plan);
+        player.updatePosition(new Position(1, 1));
+        player.updateVelocity(new Vector(1, 1));
+
+        assertNull(cache.nextAcceleration(player, new Position(4, 4)));
+    }
+
+    @Test
+    void testInvalidazioneDopoReset() {
+        cache.store(player, target, plan);
+        cache.invalidate(player);
+        assertFalse(cache.hasPlan(player));
+    }
+
+    @Test
+    void testPianoVuoto() {
+        cache.store(player, target, List.of());
+        assertFalse(cache.hasPlan(player));
+    }
+}
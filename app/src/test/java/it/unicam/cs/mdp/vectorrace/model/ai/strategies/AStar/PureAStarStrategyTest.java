@@ -3,12 +3,8 @@ package it.unicam.cs.mdp.vectorrace.model.ai.strategies.AStar;
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.AStarPathFinder;
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.ChebyshevHeuristic;
 import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.astar.IHeuristicCalculator;
-import it.unicam.cs.mdp.vectorrace.model.ai.algorithms.bresenham.BresenhamPathCalculator;
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointManager;
 import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.CheckpointTargetFinder;
-import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.DefaultCheckpointTracker;
 import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
-import it.unicam.cs.mdp.vectorrace.model.ai.services.DefaultReservationService;
 import it.unicam.cs.mdp.vectorrace.model.core.CellType;
 import it.unicam.cs.mdp.vectorrace.model.core.Position;
 import it.unicam.cs.mdp.vectorrace.model.core.Track;
@@ -35,7 +31,6 @@ public class PureAStarStrategyTest {
     private BotPlayer player;
     private GameState gameState;
     private MovementManager movementManager;
-    private CheckpointManager checkpointManager;
 
     @BeforeEach
     void setUp() {
@@ -60,18 +55,12 @@ public class PureAStarStrategyTest {
 
         // Inizializza le dipendenze
         movementManager = new MovementManager();
-        BresenhamPathCalculator pathCalculator = new BresenhamPathCalculator();
-        checkpointManager = new CheckpointManager(
-                new DefaultCheckpointTracker(),
-                new DefaultReservationService(),
-                pathCalculator);
 
         // Inizializza il pathfinder e la strategia
         IHeuristicCalculator heuristic = new ChebyshevHeuristic();
         AStarPathFinder pathFinder = new AStarPathFinder(
                 heuristic,
-                movementManager,
-                checkpointManager);
+                movementManager);
         CheckpointTargetFinder targetFinder = new CheckpointTargetFinder();
         strategy = new PureAStarStrategy(pathFinder, targetFinder);
 
@@ -122,6 +111,7 @@ public class PureAStarStrategyTest {
 
         List<Player> players = new ArrayList<>();
         players.add(player);
+        gameState.detach();
         gameState = new GameState(track, players);
 
         Vector acceleration = strategy.getNextAcceleration(player, gameState);
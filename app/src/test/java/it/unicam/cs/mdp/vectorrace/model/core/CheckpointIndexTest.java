@@ -0,0 +1,67 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test per la classe CheckpointIndex
+ */
+public class CheckpointIndexTest {
+    private final String TEST_CIRCUIT_PATH = "src/test/resources/test_circuit.txt";
+    private Track track;
+    private CheckpointIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // #####
+        // #S1.#
+        // #S.*#
+        // #2..#
+        // #####
+        track = TrackLoader.loadTrack(TEST_CIRCUIT_PATH);
+        index = track.getCheckpointIndex();
+    }
+
+    @Test
+    void testIndiceCondiviso() {
+        assertSame(index, track.getCheckpointIndex(), "L'indice deve essere costruito una sola volta per circuito");
+    }
+
+    @Test
+    void testLivelli() {
+        assertEquals(2, index.getMaxLevel());
+        assertEquals(1, index.getLevel(2, 1));
+        assertEquals(2, index.getLevel(1, 3));
+        assertEquals(-1, index.getLevel(2, 2), "Una strada non ha livello");
+        assertEquals(-1, index.getLevel(-1, 0), "Una cella fuori dal circuito non ha livello");
+        assertEquals(-1, index.getLevel(0, 5), "Una cella fuori dal circuito non ha livello");
+
+        assertEquals(1, index.getCheckpointCount(1));
+        assertEquals(track.index(2, 1), index.getCheckpointCell(1, 0));
+        assertEquals(0, index.getCheckpointCount(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getCheckpointCell(1, 1));
+    }
+
+    @Test
+    void testInsiemiDiCheckpoint() {
+        assertEquals(Set.of(new Position(2, 1)), index.getCheckpoints(1));
+        assertEquals(Set.of(new Position(1, 3)), index.getCheckpoints(2));
+        assertTrue(index.getCheckpoints(5).isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+            () -> index.getCheckpoints(1).add(new Position(0, 0)), "Gli insiemi devono essere in sola lettura");
+    }
+
+    @Test
+    void testArrivo() {
+        assertEquals(1, index.getFinishCount());
+        assertEquals(track.index(3, 2), index.getFinishCell(0));
+        assertEquals(new Position(3, 2), index.getFirstFinish());
+        assertEquals(List.of(new Position(3, 2)), index.getFinishPositions());
+        assertEquals(track.getFinishPositions(), index.getFinishPositions());
+    }
+}
@@ -0,0 +1,76 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test per la classe GoalSet
+ */
+public class GoalSetTest {
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        // Griglia 8x5 con una linea di checkpoint (livello 1) nella colonna 4
+        // e il traguardo nella colonna 7
+        CellType[][] grid = new CellType[5][8];
+        Map<Position, PriorityData> checkpointData = new HashMap<>();
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 8; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+            grid[y][4] = CellType.CHECKPOINT;
+            grid[y][7] = CellType.FINISH;
+            checkpointData.put(new Position(4, y), new PriorityData(1, 1));
+        }
+        track = new Track(grid, checkpointData);
+    }
+
+    @Test
+    void testObiettivoAttraversato() {
+        GoalSet goal = track.getCheckpointIndex().getLevelGoal(1);
+        assertTrue(goal.isSwept());
+        assertEquals(5, goal.size());
+        assertTrue(goal.isReachedBy(2, 0, 6, 2), "Attraversare la linea basta a raggiungere l'obiettivo");
+        assertTrue(goal.isReachedBy(1, 1, 4, 1), "Anche terminare sulla linea raggiunge l'obiettivo");
+        assertFalse(goal.isReachedBy(0, 0, 3, 4), "Una mossa che non attraversa la linea non lo raggiunge");
+    }
+
+    @Test
+    void testStessaRegolaDeiCheckpoint() {
+        // La mossa da (0,0) a (2,1) tocca la cella (1,0): il CheckpointManager la considera attraversata,
+        // quindi anche l'obiettivo deve risultare raggiunto
+        GoalSet goal = GoalSet.of(track, List.of(new Position(1, 0)), true);
+        assertTrue(goal.isReachedBy(0, 0, 2, 1));
+        assertFalse(goal.isReachedBy(0, 1, 2, 2));
+    }
+
+    @Test
+    void testTraguardoSoloAlloStop() {
+        GoalSet finish = track.getCheckpointIndex().getFinishGoal();
+        assertFalse(finish.isSwept());
+        assertTrue(finish.isReachedBy(5, 2, 7, 2));
+        assertFalse(finish.isReachedBy(5, 2, 6, 2));
+    }
+
+    @Test
+    void testLivelloSconosciuto() {
+        GoalSet goal = track.getCheckpointIndex().getLevelGoal(9);
+        assertTrue(goal.isEmpty());
+        assertFalse(goal.isReachedBy(0, 0, 7, 4));
+    }
+
+    @Test
+    void testInsiemeDaPosizioni() {
+        GoalSet goal = GoalSet.of(track, List.of(new Position(1, 1), new Position(1, 1), new Position(50, 50)), false);
+        assertEquals(1, goal.size(), "Duplicati e celle fuori dal tracciato non devono essere contati");
+        assertTrue(goal.contains(1, 1));
+        assertFalse(goal.contains(-1, 1));
+    }
+}
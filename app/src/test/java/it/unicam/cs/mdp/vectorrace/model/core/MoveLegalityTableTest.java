@@ -0,0 +1,70 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import it.unicam.cs.mdp.vectorrace.model.game.validators.WallCollisionValidator;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Test unitari per la classe MoveLegalityTable.
+ */
+public class MoveLegalityTableTest {
+    private Track track;
+    private WallCollisionValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        // Griglia 14x9 con muri sparsi generati in modo deterministico
+        Random random = new Random(42);
+        CellType[][] grid = new CellType[9][14];
+        for (int y = 0; y < 9; y++) {
+            for (int x = 0; x < 14; x++) {
+                grid[y][x] = random.nextInt(4) == 0 ? CellType.WALL : CellType.ROAD;
+            }
+        }
+        track = new Track(grid, new HashMap<>());
+        validator = new WallCollisionValidator();
+    }
+
+    @Test
+    void testEquivalenzaConValidatore() {
+        // Ogni mossa coperta deve dare lo stesso esito del percorso calcolato
+        MoveLegalityTable table = track.getMoveLegality();
+        int max = MoveLegalityTable.MAX_SPEED;
+        for (int y = 0; y < track.getHeight(); y++) {
+            for (int x = 0; x < track.getWidth(); x++) {
+                for (int vx = -max; vx <= max; vx++) {
+                    for (int vy = -max; vy <= max; vy++) {
+                        assertEquals(validator.isPathClear(x, y, x + vx, y + vy, track),
+                                table.isLegal(x, y, vx, vy));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCopertura() {
+        MoveLegalityTable table = track.getMoveLegality();
+        assertTrue(table.covers(0, 0, 5, -5));
+        assertFalse(table.covers(0, 0, 6, 0));
+        assertFalse(table.covers(-1, 0, 0, 0));
+        assertFalse(table.covers(0, 9, 0, 0));
+    }
+
+    @Test
+    void testFallbackFuoriIntervallo() {
+        // Le mosse non coperte devono essere verificate percorrendo il segmento
+        assertEquals(validator.isPathClear(0, 0, 7, 1, track),
+                validator.isMoveClear(0, 0, 7, 1, track));
+    }
+
+    @Test
+    void testTabellaCondivisa() {
+        // La tabella viene costruita una sola volta per tracciato
+        assertSame(track.getMoveLegality(), track.getMoveLegality());
+    }
+}
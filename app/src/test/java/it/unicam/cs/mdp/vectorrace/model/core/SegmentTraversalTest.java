@@ -0,0 +1,198 @@
+package it.unicam.cs.mdp.vectorrace.model.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test per la classe SegmentTraversal.
+ * Confronta in modo esaustivo le due regole intere con le implementazioni
+ * in virgola mobile che sostituiscono.
+ */
+public class SegmentTraversalTest {
+
+    @Test
+    void testArrotondatoEquivalenteAlDDAFloat() {
+        // Tutte le mosse coperte dalla tabella di legalità, da ogni cella di una griglia 48x48
+        int speed = MoveLegalityTable.MAX_SPEED;
+        for (int sx = 0; sx < 48; sx++) {
+            for (int sy = 0; sy < 48; sy++) {
+                for (int dx = -speed; dx <= speed; dx++) {
+                    for (int dy = -speed; dy <= speed; dy++) {
+                        assertEquals(floatDDA(sx, sy, sx + dx, sy + dy), rounded(sx, sy, sx + dx, sy + dy),
+                            "Sequenza diversa per (" + sx + "," + sy + ") d=(" + dx + "," + dy + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testArrotondatoDifferisceSoloSuiPareggiEsatti() {
+        // Oltre la velocità massima dei bot il DDA float accumula errori e può
+        // arrotondare per difetto un pareggio esatto: la regola intera arrotonda sempre per eccesso
+        for (int sx = 0; sx < 16; sx++) {
+            for (int dx = -16; dx <= 16; dx++) {
+                for (int dy = -16; dy <= 16; dy++) {
+                    List<int[]> expected = floatDDACells(sx, sx, sx + dx, sx + dy);
+                    List<int[]> actual = roundedCells(sx, sx, sx + dx, sx + dy);
+                    int steps = Math.max(Math.abs(dx), Math.abs(dy));
+                    assertEquals(expected.size(), actual.size());
+                    for (int i = 0; i < actual.size(); i++) {
+                        int[] e = expected.get(i);
+                        int[] a = actual.get(i);
+                        assertAxis(e[0], a[0], sx, i, dx, steps);
+                        assertAxis(e[1], a[1], sx, i, dy, steps);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSupercoverEquivalenteAlBresenhamDouble() {
+        for (int sx = 0; sx < 4; sx++) {
+            for (int dx = -24; dx <= 24; dx++) {
+                for (int dy = -24; dy <= 24; dy++) {
+                    assertEquals(doubleSupercover(sx, 2 * sx, sx + dx, 2 * sx + dy),
+                        supercover(sx, 2 * sx, sx + dx, 2 * sx + dy),
+                        "Sequenza diversa per d=(" + dx + "," + dy + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInterruzioneAnticipata() {
+        List<String> visited = new ArrayList<>();
+        boolean completed = SegmentTraversal.traverse(SegmentRule.SUPERCOVER, 0, 0, 5, 0, (x, y) -> {
+            visited.add(x + "," + y);
+            return x < 2;
+        });
+        assertFalse(completed, "La visita interrotta deve restituire false");
+        assertEquals(List.of("0,0", "1,0", "2,0"), visited);
+
+        assertTrue(SegmentTraversal.traverse(SegmentRule.ROUNDED, 3, 3, 3, 3, (x, y) -> true),
+            "Una mossa nulla visita solo la cella di partenza");
+    }
+
+    @Test
+    void testIsClearCoerenteConIlVisitatore() {
+        Random random = new Random(7);
+        CellType[][] grid = new CellType[20][20];
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                grid[y][x] = random.nextInt(5) == 0 ? CellType.WALL : CellType.ROAD;
+            }
+        }
+        Track track = new Track(grid, new HashMap<>());
+        for (SegmentRule rule : SegmentRule.values()) {
+            for (int sx = 0; sx < 20; sx++) {
+                for (int sy = 0; sy < 20; sy++) {
+                    for (int dx = -8; dx <= 8; dx++) {
+                        for (int dy = -8; dy <= 8; dy++) {
+                            int fx = sx;
+                            int fy = sy;
+                            boolean expected = SegmentTraversal.traverse(rule, sx, sy, sx + dx, sy + dy,
+                                (x, y) -> (x == fx && y == fy) || track.isPassable(x, y));
+                            assertEquals(expected, SegmentTraversal.isClear(rule, sx, sy, sx + dx, sy + dy, track));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertAxis(int expected, int actual, int start, int i, int d, int steps) {
+        if (expected == actual) {
+            return;
+        }
+        // L'unica differenza ammessa è un pareggio esatto arrotondato per eccesso
+        assertEquals(0, (2L * i * d + steps) % (2L * steps), "Differenza non dovuta a un pareggio");
+        assertEquals(expected + 1, actual);
+        assertEquals(start + Math.floorDiv(2 * i * d + steps, 2 * steps), actual);
+    }
+
+    private static List<String> rounded(int sx, int sy, int ex, int ey) {
+        List<String> cells = new ArrayList<>();
+        SegmentTraversal.traverseRounded(sx, sy, ex, ey, (x, y) -> cells.add(x + "," + y));
+        return cells;
+    }
+
+    private static List<int[]> roundedCells(int sx, int sy, int ex, int ey) {
+        List<int[]> cells = new ArrayList<>();
+        SegmentTraversal.traverseRounded(sx, sy, ex, ey, (x, y) -> cells.add(new int[] { x, y }));
+        return cells;
+    }
+
+    private static List<String> supercover(int sx, int sy, int ex, int ey) {
+        List<String> cells = new ArrayList<>();
+        SegmentTraversal.traverseSupercover(sx, sy, ex, ey, (x, y) -> cells.add(x + "," + y));
+        return cells;
+    }
+
+    /**
+     * Sequenza di celle del vecchio controllo dei muri, con incrementi float e Math.round.
+     */
+    private static List<String> floatDDA(int sx, int sy, int ex, int ey) {
+        List<String> cells = new ArrayList<>();
+        for (int[] cell : floatDDACells(sx, sy, ex, ey)) {
+            cells.add(cell[0] + "," + cell[1]);
+        }
+        return cells;
+    }
+
+    private static List<int[]> floatDDACells(int sx, int sy, int ex, int ey) {
+        List<int[]> cells = new ArrayList<>();
+        int steps = Math.max(Math.abs(ex - sx), Math.abs(ey - sy));
+        if (steps == 0) {
+            cells.add(new int[] { sx, sy });
+            return cells;
+        }
+        float xIncrement = (float) (ex - sx) / steps;
+        float yIncrement = (float) (ey - sy) / steps;
+        float x = sx;
+        float y = sy;
+        for (int i = 0; i <= steps; i++) {
+            cells.add(new int[] { Math.round(x), Math.round(y) });
+            x += xIncrement;
+            y += yIncrement;
+        }
+        return cells;
+    }
+
+    /**
+     * Sequenza di celle del vecchio BresenhamPathCalculator, con confronti in double.
+     */
+    private static List<String> doubleSupercover(int x0, int y0, int x1, int y1) {
+        List<String> cells = new ArrayList<>();
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int signX = (x1 > x0) ? 1 : (x1 < x0 ? -1 : 0);
+        int signY = (y1 > y0) ? 1 : (y1 < y0 ? -1 : 0);
+        int ix = 0, iy = 0;
+        cells.add(x0 + "," + y0);
+        while (ix < dx || iy < dy) {
+            double tx = (dx == 0) ? Double.MAX_VALUE : ((ix + 0.5) / dx);
+            double ty = (dy == 0) ? Double.MAX_VALUE : ((iy + 0.5) / dy);
+            if (tx < ty) {
+                ix++;
+                x0 += signX;
+            } else if (ty < tx) {
+                iy++;
+                y0 += signY;
+            } else {
+                ix++;
+                iy++;
+                x0 += signX;
+                y0 += signY;
+            }
+            cells.add(x0 + "," + y0);
+        }
+        return cells;
+    }
+}
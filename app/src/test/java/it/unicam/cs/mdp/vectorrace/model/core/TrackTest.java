@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -79,6 +80,12 @@ public class TrackTest {
         assertFalse(track.isFinish(0, 0), "Non deve identificare FINISH dove non c'è");
     }
 
+    @Test
+    void testGetStartPositions() {
+        assertEquals(List.of(new Position(1, 1)), track.getStartPositions(),
+            "Deve trovare l'unica posizione START in (1,1)");
+    }
+
     @Test
     void testGetFinishPositions() {
         List<Position> finishPositions = track.getFinishPositions();
@@ -112,4 +119,74 @@ public class TrackTest {
         assertTrue(track.hasReachedCheckpointInRow(1, 1), 
             "Il checkpoint dovrebbe risultare raggiunto dopo setCheckpointReached");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAccessoPerIndice() {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = track.index(x, y);
+                assertEquals(x, track.indexX(index));
+                assertEquals(y, track.indexY(index));
+                assertEquals(grid[y][x], track.getCellIndex(index),
+                    "Il tipo di cella per indice deve coincidere con la griglia");
+                assertEquals(track.isPassable(x, y), track.isPassableIndex(index),
+                    "La bitmap di percorribilità deve coincidere con isPassable");
+            }
+        }
+        assertFalse(track.isPassable(-1, 2), "Le coordinate fuori dalla pista non sono percorribili");
+    }
+
+    @Test
+    void testRowView() {
+        ByteBuffer row = track.rowView(3);
+        assertEquals(width, row.remaining(), "La vista deve contenere una cella per colonna");
+        for (int x = 0; x < width; x++) {
+            assertEquals(grid[3][x].ordinal(), row.get(x), "Il codice deve essere l'ordinale del tipo di cella");
+        }
+        assertTrue(row.isReadOnly(), "La vista della riga deve essere in sola lettura");
+        assertThrows(IndexOutOfBoundsException.class, () -> track.rowView(height));
+    }
+
+    @Test
+    void testGrigliaNonValida() {
+        CellType[][] withNull = { {CellType.ROAD, null} };
+        assertThrows(NullPointerException.class, () -> new Track(withNull, new HashMap<>()));
+    }
+
+    @Test
+    void testRigheIrregolari() {
+        // La prima riga fissa la larghezza: le righe corte sono completate con muri
+        CellType[][] ragged = {
+            {CellType.ROAD, CellType.ROAD, CellType.ROAD},
+            {CellType.ROAD},
+            {CellType.ROAD, CellType.ROAD, CellType.ROAD, CellType.ROAD}
+        };
+        Track padded = new Track(ragged, new HashMap<>());
+        assertEquals(3, padded.getWidth(), "La larghezza deve essere quella della prima riga");
+        assertEquals(CellType.ROAD, padded.getCell(0, 1));
+        assertEquals(CellType.WALL, padded.getCell(1, 1), "Le celle mancanti devono essere muri");
+        assertFalse(padded.isPassable(2, 1), "Le celle mancanti non devono essere percorribili");
+        assertTrue(padded.isPassable(2, 2));
+        assertFalse(padded.isWithinBounds(3, 2), "Le celle oltre la prima riga vanno ignorate");
+    }
+
+    @Test
+    void testFingerprint() {
+        // Lo stesso circuito ricostruito ha la stessa impronta
+        Track copy = new Track(grid, new HashMap<>(checkpointData));
+        assertEquals(track.fingerprint(), copy.fingerprint());
+
+        // Cambiare una cella o il livello di un checkpoint cambia l'impronta
+        CellType[][] changed = new CellType[height][];
+        for (int y = 0; y < height; y++) {
+            changed[y] = grid[y].clone();
+        }
+        changed[2][2] = CellType.WALL;
+        assertNotEquals(track.fingerprint(), new Track(changed, checkpointData).fingerprint());
+
+        Map<Position, PriorityData> swapped = new HashMap<>();
+        swapped.put(new Position(3, 1), new PriorityData(2, 2));
+        swapped.put(new Position(1, 3), new PriorityData(1, 1));
+        assertNotEquals(track.fingerprint(), new Track(grid, swapped).fingerprint());
+    }
+}
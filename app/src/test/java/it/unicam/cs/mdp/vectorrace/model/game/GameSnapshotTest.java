@@ -0,0 +1,182 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.checkpoint.PriorityData;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.NullGameView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.bot;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.game;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test per la classe GameSnapshot
+ */
+public class GameSnapshotTest {
+    private static final String CIRCUIT_PATH = "src/main/resources/circuits/circuit1.txt";
+    private static final String CIRCUIT2_PATH = "src/main/resources/circuits/circuit2.txt";
+
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        // Pista 16x4 con un checkpoint di livello 1 nella colonna 6 e arrivo nella colonna 14
+        CellType[][] grid = new CellType[4][16];
+        Map<Position, PriorityData> checkpointData = new HashMap<>();
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 16; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+            grid[y][6] = CellType.CHECKPOINT;
+            checkpointData.put(new Position(6, y), new PriorityData(1, 1));
+            grid[y][14] = CellType.FINISH;
+        }
+        track = new Track(grid, checkpointData);
+    }
+
+    @Test
+    void testMossaBloccataAzzeraLaVelocita() {
+        // Come nel TurnManager, attraversare un altro giocatore lascia fermi e azzera la velocità
+        GameSnapshot snapshot = GameSnapshot.of(game(track, bot("A", 0, 1, 2, 0), bot("B", 1, 1, 0, 0)));
+
+        GameSnapshot next = snapshot.apply(new Vector(0, 0));
+
+        assertTrue(next.wasRejected(0), "La mossa passa sulla cella di B");
+        assertEquals(0, next.getX(0));
+        assertEquals(0, next.getVelocityX(0));
+        assertEquals(1, next.getCurrentPlayer(), "Il turno passa comunque al giocatore successivo");
+        assertEquals(2, snapshot.getVelocityX(0), "Lo snapshot di partenza non deve cambiare");
+    }
+
+    @Test
+    void testCheckpointEVittoria() {
+        // Attraversare la linea del livello 1 la accredita, raggiungere l'arrivo chiude la gara del giocatore
+        GameSnapshot start = GameSnapshot.of(game(track, bot("A", 4, 0, 3, 0), bot("B", 0, 3, 0, 0)));
+
+        GameSnapshot race = start.apply(new Vector(0, 0));
+        assertEquals(7, race.getX(0));
+        assertEquals(2, race.getNextCheckpointIndex(0));
+        assertEquals(1, start.getNextCheckpointIndex(0));
+
+        race = race.apply(new Vector(0, 0))
+                .apply(new Vector(1, 0))
+                .apply(new Vector(0, 0))
+                .apply(new Vector(-1, 0));
+        assertEquals(new Position(14, 0), race.getPosition(0));
+        assertTrue(race.hasFinished(0));
+        assertTrue(race.isGameOver());
+        assertEquals(0, race.getWinner());
+        assertEquals(1, race.getCurrentPlayer());
+
+        race = race.apply(new Vector(0, 0));
+        assertEquals(1, race.getCurrentPlayer(), "Un giocatore arrivato non gioca più");
+    }
+
+    @Test
+    void testRoundCongiunto() {
+        // Un round muove ogni giocatore una volta, dal giocatore di turno, senza toccare la partita
+        BotPlayer first = bot("A", 0, 0, 0, 0);
+        BotPlayer second = bot("B", 0, 2, 0, 0);
+        GameState gameState = game(track, first, second);
+        gameState.nextTurn();
+        TurnManager turnManager = new TurnManager(gameState, new MovementManager(), new NullGameView());
+
+        GameSnapshot round = turnManager.previewRound(new Vector(1, 0), new Vector(1, 1));
+
+        assertEquals(new Position(1, 0), round.getPosition(0));
+        assertEquals(new Position(1, 3), round.getPosition(1));
+        assertEquals(1, round.getCurrentPlayer(), "Dopo un round il turno torna al primo giocatore mosso");
+        assertEquals(new Position(0, 0), first.getPosition(), "La partita non deve cambiare");
+        assertEquals(1, gameState.getCurrentPlayerIndex());
+        assertThrows(IllegalArgumentException.class, () -> turnManager.previewRound(new Vector(0, 0)));
+    }
+
+    @Test
+    void testStessaPartitaDelTurnManager() throws IOException {
+        // Rigiocando sullo snapshot le accelerazioni scelte dai bot si ottiene la stessa partita del TurnManager
+        Track circuit = TrackLoader.loadTrack(CIRCUIT_PATH);
+        List<Position> starts = circuit.getStartPositions();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            players.add(new BotPlayer("Bot" + i, Color.RED, starts.get(i), new BFSStrategy()));
+        }
+
+        GameState gameState = assertSameRace(circuit, players);
+
+        assertTrue(gameState.isFinished(), "La gara deve concludersi");
+    }
+
+    @Test
+    void testCheckpointAccreditatiDallaPartita() throws IOException {
+        // Un giocatore senza strategia, come un umano, riceve i checkpoint dalla partita come nello snapshot
+        Track circuit = TrackLoader.loadTrack(CIRCUIT2_PATH);
+        List<Position> starts = circuit.getStartPositions();
+        BFSStrategy advisor = new BFSStrategy();
+        Player pilot = new Player("Pilota", Color.BLUE, starts.get(0)) {
+            @Override
+            public Vector getNextAcceleration(GameState gameState) {
+                // Segue il consiglio della BFS, ma annulla i checkpoint accreditati dalla strategia
+                int checkpoint = getNextCheckpointIndex();
+                Vector acceleration = advisor.getNextAcceleration(this, gameState);
+                setNextCheckpointIndex(checkpoint);
+                return acceleration;
+            }
+        };
+        List<Player> players = List.of(pilot, new BotPlayer("Bot", Color.RED, starts.get(1), new BFSStrategy()));
+
+        GameState gameState = assertSameRace(circuit, players);
+
+        assertTrue(gameState.isFinished(), "La gara deve concludersi");
+        assertTrue(pilot.getNextCheckpointIndex() > 1, "Il pilota deve aver superato almeno un checkpoint");
+    }
+
+    /**
+     * Gioca una gara con il TurnManager e, turno per turno, rigioca sullo snapshot
+     * l'accelerazione scelta, verificando che le due partite coincidano.
+     */
+    private GameState assertSameRace(Track circuit, List<Player> players) {
+        GameState gameState = new GameState(circuit, players);
+        Vector[] lastMove = new Vector[1];
+        TurnManager turnManager = new TurnManager(gameState, new MovementManager(), new NullGameView()) {
+            @Override
+            protected Vector requestAcceleration(Player player) {
+                lastMove[0] = super.requestAcceleration(player);
+                return lastMove[0];
+            }
+        };
+
+        int rejected = 0;
+        for (int turn = 0; turn < 400 && !gameState.isFinished(); turn++) {
+            GameSnapshot before = GameSnapshot.of(gameState);
+            turnManager.advanceTurn();
+            GameSnapshot expected = before.apply(lastMove[0]);
+            GameSnapshot actual = GameSnapshot.of(gameState);
+            if (expected.wasRejected(before.getCurrentPlayer())) {
+                rejected++;
+            }
+            for (int p = 0; p < players.size(); p++) {
+                assertEquals(expected.getPosition(p), actual.getPosition(p), "Posizione diversa al turno " + turn);
+                assertEquals(expected.getVelocity(p), actual.getVelocity(p), "Velocità diversa al turno " + turn);
+                assertEquals(expected.getNextCheckpointIndex(p), actual.getNextCheckpointIndex(p),
+                        "Checkpoint diverso al turno " + turn);
+            }
+            assertEquals(expected.getWinner(), actual.getWinner(), "Vincitore diverso al turno " + turn);
+        }
+        assertEquals(turnManager.getCollisionCount(), rejected, "Le mosse rifiutate devono coincidere");
+        return gameState;
+    }
+}
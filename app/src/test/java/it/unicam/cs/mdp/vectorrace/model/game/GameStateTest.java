@@ -0,0 +1,86 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.players.HumanPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Test per la classe GameState
+ */
+public class GameStateTest {
+    private Player first;
+    private Player second;
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        CellType[][] grid = new CellType[3][3];
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+        }
+        Track track = new Track(grid, new HashMap<>());
+        first = new HumanPlayer("Primo", Color.RED, new Position(0, 0));
+        second = new HumanPlayer("Secondo", Color.BLUE, new Position(2, 2));
+        gameState = new GameState(track, List.of(first, second));
+    }
+
+    @Test
+    void testVistaNonModificabile() {
+        List<Player> view = gameState.getPlayersView();
+        assertEquals(List.of(first, second), view);
+        assertSame(view, gameState.getPlayersView(), "La vista non deve essere ricreata a ogni chiamata");
+        assertThrows(UnsupportedOperationException.class, () -> view.add(first));
+    }
+
+    @Test
+    void testAccessoIndicizzato() {
+        assertEquals(2, gameState.getPlayerCount());
+        assertSame(first, gameState.getPlayer(0));
+        assertSame(second, gameState.getPlayer(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> gameState.getPlayer(2));
+    }
+
+    @Test
+    void testForEachPlayerInOrdineDiTurno() {
+        List<Player> visited = new ArrayList<>();
+        gameState.forEachPlayer(visited::add);
+        assertEquals(List.of(first, second), visited);
+    }
+
+    @Test
+    void testCopiaDifensivaIndipendente() {
+        List<Player> copy = gameState.getPlayers();
+        copy.clear();
+        assertEquals(2, gameState.getPlayerCount(), "Modificare la copia non deve alterare lo stato");
+    }
+
+    @Test
+    void testStatoStaccatoNonSegueIGiocatori() {
+        // Uno stato scartato non riceve più le mosse dei giocatori, che restano validi per un nuovo stato
+        gameState.detach();
+        long version = gameState.getVersion();
+        first.updatePosition(new Position(1, 1));
+
+        assertEquals(version, gameState.getVersion(), "La versione di uno stato staccato non deve avanzare");
+        assertEquals(1, gameState.getOccupancy().countAt(0, 0));
+        assertEquals(0, gameState.getOccupancy().countAt(1, 1));
+
+        GameState next = new GameState(gameState.getTrack(), List.of(first, second));
+        first.updatePosition(new Position(2, 1));
+        assertEquals(1, next.getOccupancy().countAt(2, 1), "Il nuovo stato deve seguire i giocatori");
+        gameState.detach();
+        assertEquals(0, next.getOccupancy().countAt(1, 1));
+    }
+}
@@ -0,0 +1,101 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.validators.PlayerCollisionValidator;
+import it.unicam.cs.mdp.vectorrace.model.players.HumanPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Test per la classe OccupancyGrid
+ */
+public class OccupancyGridTest {
+    private Track track;
+    private Player first;
+    private Player second;
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        // Griglia 6x6 di sola strada
+        CellType[][] grid = new CellType[6][6];
+        for (int y = 0; y < 6; y++) {
+            for (int x = 0; x < 6; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+        }
+        track = new Track(grid, new HashMap<>());
+        first = new HumanPlayer("Primo", Color.RED, new Position(1, 1));
+        second = new HumanPlayer("Secondo", Color.BLUE, new Position(3, 1));
+        gameState = new GameState(track, List.of(first, second));
+    }
+
+    @Test
+    void testConteggioIniziale() {
+        OccupancyGrid occupancy = gameState.getOccupancy();
+        assertEquals(1, occupancy.countAt(1, 1));
+        assertEquals(1, occupancy.countAt(3, 1));
+        assertEquals(0, occupancy.countAt(2, 2));
+        assertEquals(0, occupancy.countAt(-1, 10), "Le celle fuori dal tracciato non sono mai occupate");
+    }
+
+    @Test
+    void testAggiornamentoIncrementale() {
+        first.updatePosition(new Position(2, 3));
+        OccupancyGrid occupancy = gameState.getOccupancy();
+        assertEquals(0, occupancy.countAt(1, 1), "La cella lasciata deve liberarsi");
+        assertEquals(1, occupancy.countAt(2, 3), "La nuova cella deve risultare occupata");
+    }
+
+    @Test
+    void testEsclusioneDelGiocatoreCorrente() {
+        assertFalse(gameState.isOccupiedByOther(1, 1, first), "Un giocatore non collide con se stesso");
+        assertTrue(gameState.isOccupiedByOther(1, 1, second));
+        assertTrue(gameState.isOccupiedByOther(1, 1, null));
+    }
+
+    @Test
+    void testCellaCondivisa() {
+        second.updatePosition(new Position(1, 1));
+        assertEquals(2, gameState.getOccupancy().countAt(1, 1));
+        assertTrue(gameState.isOccupiedByOther(1, 1, first), "L'altro giocatore sulla stessa cella deve essere contato");
+        first.updatePosition(new Position(0, 0));
+        assertEquals(1, gameState.getOccupancy().countAt(1, 1));
+    }
+
+    @Test
+    void testPiuStatiSugliStessiGiocatori() {
+        // Un secondo stato costruito sugli stessi giocatori non ferma gli aggiornamenti del primo
+        GameState preview = new GameState(track, List.of(first, second));
+        long version = gameState.getVersion();
+        first.updatePosition(new Position(2, 3));
+
+        assertEquals(0, gameState.getOccupancy().countAt(1, 1), "Lo stato originale deve restare aggiornato");
+        assertEquals(1, gameState.getOccupancy().countAt(2, 3));
+        assertTrue(gameState.getVersion() > version, "La versione dello stato originale deve avanzare");
+        assertEquals(1, preview.getOccupancy().countAt(2, 3));
+        preview.detach();
+    }
+
+    @Test
+    void testValidatoreDiCollisione() {
+        PlayerCollisionValidator validator = new PlayerCollisionValidator();
+        first.updateVelocity(new Vector(4, 0));
+        assertFalse(validator.isValidMove(new Position(1, 1), new Position(5, 1), first, gameState),
+                "Il percorso attraversa la cella occupata dal secondo giocatore");
+        assertTrue(validator.isValidMove(new Position(1, 1), new Position(1, 5), first, gameState));
+
+        second.updatePosition(new Position(4, 4));
+        assertTrue(validator.isValidMove(new Position(1, 1), new Position(5, 1), first, gameState),
+                "Dopo lo spostamento il percorso deve risultare libero");
+    }
+}
@@ -0,0 +1,113 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.TestFixtures;
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.NullGameView;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test per la classe PipelinedTurnManager
+ */
+public class PipelinedTurnManagerTest {
+    private static final String CIRCUIT_PATH = "src/main/resources/circuits/circuit1.txt";
+
+    @Test
+    void testGaraCompleta() throws IOException {
+        // In modalità pipeline la gara si conclude e ogni turno usa la previsione o la ricalcola
+        Track track = TrackLoader.loadTrack(CIRCUIT_PATH);
+        List<Player> players = new ArrayList<>();
+        for (int y = 0; y < track.getHeight() && players.size() < 4; y++) {
+            for (int x = 0; x < track.getWidth() && players.size() < 4; x++) {
+                if (track.isStart(x, y)) {
+                    BotPlayer bot = new BotPlayer("Bot" + players.size(), Color.RED, new Position(x, y),
+                            new BFSStrategy());
+                    bot.setDebugEnabled(false);
+                    players.add(bot);
+                }
+            }
+        }
+        GameState gameState = new GameState(track, players);
+        int turns = 0;
+        try (PipelinedTurnManager turnManager = new PipelinedTurnManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            while (!gameState.isFinished() && turns < 400) {
+                turnManager.advanceTurn();
+                turns++;
+            }
+            assertTrue(gameState.isFinished(), "La gara deve concludersi");
+            assertEquals(turns, turnManager.getSpeculationHits() + turnManager.getSpeculationMisses());
+            assertTrue(turnManager.getSpeculationHits() > turnManager.getSpeculationMisses(),
+                    "Gran parte delle previsioni deve restare valida");
+        }
+    }
+
+    @Test
+    void testPrevisioneScartataSeLaCellaEOccupata() {
+        // Se un altro giocatore occupa la cella di arrivo prevista, la mossa viene ricalcolata nel turno
+        CellType[][] grid = new CellType[4][8];
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+        }
+        Track track = new Track(grid, new HashMap<>());
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        BotPlayer first = new BotPlayer("A", Color.RED, new Position(0, 0), (player, gameState) -> new Vector(1, 1));
+        BotPlayer second = new BotPlayer("B", Color.BLUE, new Position(2, 2), (player, gameState) -> {
+            threads.add(Thread.currentThread());
+            return threads.size() == 1 ? new Vector(-1, -1) : new Vector(0, 1);
+        });
+        first.setDebugEnabled(false);
+        second.setDebugEnabled(false);
+        GameState gameState = new GameState(track, List.of(first, second));
+
+        try (PipelinedTurnManager turnManager = new PipelinedTurnManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            turnManager.advanceTurn();
+            assertEquals(new Position(1, 1), first.getPosition());
+            assertEquals(1, turnManager.getSpeculationHits(), "Nulla è cambiato prima del turno di A");
+
+            turnManager.advanceTurn();
+            assertEquals(new Position(2, 3), second.getPosition(), "B non deve finire sulla cella di A");
+            assertEquals(1, turnManager.getSpeculationMisses());
+            // Dopo il suo turno B riparte subito con la previsione successiva
+            assertTrue(threads.size() >= 2);
+            assertNotSame(Thread.currentThread(), threads.get(0), "La previsione gira in background");
+            assertSame(Thread.currentThread(), threads.get(1), "Il ricalcolo avviene nel turno");
+            assertEquals(0, turnManager.getCollisionCount());
+        }
+    }
+
+    @Test
+    void testCopiaChiedeLaMossaAlGiocatore() {
+        // La copia di un bot sceglie la mossa con la strategia del bot, vista dalla propria posizione
+        Track track = TestFixtures.openTrack(8, 4);
+        List<Player> seen = new CopyOnWriteArrayList<>();
+        BotPlayer bot = new BotPlayer("A", Color.RED, new Position(1, 1), (player, gameState) -> {
+            seen.add(player);
+            return new Vector(1, 0);
+        });
+        bot.setDebugEnabled(false);
+        GameState gameState = new GameState(track, List.of(bot));
+        GameState world = ShadowPlayer.createWorld(gameState);
+        ShadowPlayer shadow = ShadowPlayer.sync(world, gameState, 0);
+
+        assertEquals(new Vector(1, 0), shadow.getNextAcceleration(world));
+        assertEquals(List.of(shadow), seen);
+    }
+}
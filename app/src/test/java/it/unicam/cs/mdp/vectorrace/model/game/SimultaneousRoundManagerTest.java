@@ -0,0 +1,178 @@
+package it.unicam.cs.mdp.vectorrace.model.game;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.log.EventLog;
+import it.unicam.cs.mdp.vectorrace.model.log.JsonLinesSink;
+import it.unicam.cs.mdp.vectorrace.model.log.LogLevel;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.NullGameView;
+import org.junit.jupiter.api.Test;
+import static it.unicam.cs.mdp.vectorrace.model.TestFixtures.openTrack;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test per la classe SimultaneousRoundManager
+ */
+public class SimultaneousRoundManagerTest {
+    private static final String CIRCUIT_PATH = "src/main/resources/circuits/circuit1.txt";
+
+    @Test
+    void testGaraCompleta() throws IOException {
+        // Con le mosse simultanee la gara si conclude e ogni round muove tutti i bot
+        Track track = TrackLoader.loadTrack(CIRCUIT_PATH);
+        List<Player> players = new ArrayList<>();
+        for (int y = 0; y < track.getHeight() && players.size() < 4; y++) {
+            for (int x = 0; x < track.getWidth() && players.size() < 4; x++) {
+                if (track.isStart(x, y)) {
+                    BotPlayer bot = new BotPlayer("Bot" + players.size(), Color.RED, new Position(x, y),
+                            new BFSStrategy());
+                    bot.setDebugEnabled(false);
+                    players.add(bot);
+                }
+            }
+        }
+        GameState gameState = new GameState(track, players);
+        try (SimultaneousRoundManager rounds = new SimultaneousRoundManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            while (!gameState.isFinished() && rounds.getRoundCount() < 200) {
+                rounds.playRound();
+            }
+            assertTrue(gameState.isFinished(), "La gara deve concludersi");
+            assertNotNull(gameState.getWinner());
+            int played = rounds.getRoundCount();
+            rounds.playRound();
+            assertEquals(played, rounds.getRoundCount(), "A gara finita non si giocano altri round");
+        }
+    }
+
+    @Test
+    void testArrivoSullaStessaCella() {
+        // Di due mosse che finiscono sulla stessa cella resta quella del giocatore con la priorità del round
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        BotPlayer first = bot("A", new Position(0, 0), new Vector(1, 0), threads);
+        BotPlayer second = bot("B", new Position(2, 0), new Vector(-1, 0), threads);
+        GameState gameState = new GameState(openTrack(8, 4), List.of(first, second));
+
+        try (SimultaneousRoundManager rounds = new SimultaneousRoundManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            rounds.playRound();
+            assertEquals(new Position(1, 0), first.getPosition());
+            assertEquals(new Position(2, 0), second.getPosition());
+            assertTrue(second.getVelocity().isZero());
+            assertEquals(1, rounds.getCollisionCount());
+            assertEquals(1, rounds.getRoundCount());
+            assertEquals(2, threads.size());
+            assertFalse(threads.contains(Thread.currentThread()), "I bot ragionano in background");
+        }
+    }
+
+    @Test
+    void testPrioritaARotazione() {
+        // Nel secondo round la priorità passa al secondo giocatore, così nessuno resta bloccato per sempre
+        BotPlayer first = waiting("A", new Position(0, 0), new Vector(1, 0));
+        BotPlayer second = waiting("B", new Position(2, 0), new Vector(-1, 0));
+        GameState gameState = new GameState(openTrack(8, 4), List.of(first, second));
+
+        try (SimultaneousRoundManager rounds = new SimultaneousRoundManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            rounds.playRound();
+            rounds.playRound();
+            assertEquals(new Position(0, 0), first.getPosition());
+            assertEquals(new Position(1, 0), second.getPosition());
+            assertEquals(1, rounds.getCollisionCount());
+        }
+    }
+
+    @Test
+    void testEventiDelBotNelRound() {
+        // Anche ragionando sulla copia privata della gara il bot registra i propri eventi
+        StringWriter out = new StringWriter();
+        EventLog log = EventLog.start(new JsonLinesSink(out), LogLevel.DEBUG);
+        BotPlayer first = bot("A", new Position(0, 0), new Vector(1, 1), null);
+        first.setEventLog(log);
+        BotPlayer second = bot("B", new Position(5, 0), new Vector(0, 1), null);
+        GameState gameState = new GameState(openTrack(8, 4), List.of(first, second));
+
+        try (SimultaneousRoundManager rounds = new SimultaneousRoundManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            rounds.playRound();
+        }
+        log.close();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"event\":\"BOT_STATE\",\"source\":\"A\",\"x\":0,\"y\":0"), lines[0]);
+        assertTrue(lines[1].endsWith("\"ax\":1,\"ay\":1}"), lines[1]);
+    }
+
+    @Test
+    void testScambioDiPosizione() {
+        // Due giocatori che si scambiano la cella si scontrano con la posizione di partenza dell'altro
+        BotPlayer first = bot("A", new Position(0, 0), new Vector(1, 0), null);
+        BotPlayer second = bot("B", new Position(1, 0), new Vector(-1, 0), null);
+        GameState gameState = new GameState(openTrack(8, 4), List.of(first, second));
+
+        try (SimultaneousRoundManager rounds = new SimultaneousRoundManager(gameState, new MovementManager(),
+                new NullGameView())) {
+            rounds.playRound();
+            assertEquals(new Position(0, 0), first.getPosition());
+            assertEquals(new Position(1, 0), second.getPosition());
+            assertEquals(2, rounds.getCollisionCount());
+        }
+    }
+
+    @Test
+    void testPercorsoSullArrivoDiUnAltro() {
+        // Una mossa che attraversa la cella d'arrivo di un altro viene scartata, qualunque sia l'ordine
+        for (boolean reversed : new boolean[] {false, true}) {
+            BotPlayer fast = bot("A", new Position(0, 1), new Vector(0, 0), null);
+            fast.updateVelocity(new Vector(2, 0));
+            BotPlayer still = bot("B", new Position(1, 0), new Vector(0, 1), null);
+            GameState gameState = new GameState(openTrack(8, 4), reversed ? List.of(still, fast) : List.of(fast, still));
+
+            try (SimultaneousRoundManager rounds = new SimultaneousRoundManager(gameState, new MovementManager(),
+                    new NullGameView())) {
+                rounds.playRound();
+                assertEquals(new Position(0, 1), fast.getPosition(), "A deve restare fermo");
+                assertTrue(fast.getVelocity().isZero());
+                assertEquals(new Position(1, 1), still.getPosition(), "B parte da fermo e controlla solo l'arrivo");
+                assertEquals(1, rounds.getCollisionCount());
+            }
+        }
+    }
+
+    private static BotPlayer bot(String name, Position position, Vector acceleration, List<Thread> threads) {
+        BotPlayer bot = new BotPlayer(name, Color.RED, position, (player, gameState) -> {
+            if (threads != null) {
+                threads.add(Thread.currentThread());
+            }
+            return acceleration;
+        });
+        bot.setDebugEnabled(false);
+        return bot;
+    }
+
+    /**
+     * Crea un bot che resta fermo nel primo round e poi accelera sempre come indicato.
+     */
+    private static BotPlayer waiting(String name, Position position, Vector acceleration) {
+        AtomicInteger calls = new AtomicInteger();
+        BotPlayer bot = new BotPlayer(name, Color.RED, position,
+                (player, gameState) -> calls.getAndIncrement() == 0 ? new Vector(0, 0) : acceleration);
+        bot.setDebugEnabled(false);
+        return bot;
+    }
+}
@@ -0,0 +1,167 @@
+package it.unicam.cs.mdp.vectorrace.model.log;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test per la classe EventLog
+ */
+public class EventLogTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLivelloFiltraGliEventi() {
+        // Gli eventi sotto la soglia non vengono registrati, il log disattivato non registra nulla
+        StringWriter out = new StringWriter();
+        EventLog log = EventLog.start(new JsonLinesSink(out), LogLevel.INFO);
+        assertFalse(log.isEnabled(LogLevel.DEBUG));
+        assertTrue(log.isEnabled(LogLevel.WARN));
+
+        log.log(LogLevel.DEBUG, EventType.BOT_ACCELERATION, "Bot1", 1, 0);
+        log.log(LogLevel.WARN, EventType.COLLISION, "Bot1", 3, 4);
+        log.close();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].matches("\\{\"time\":\\d+,\"level\":\"WARN\",\"event\":\"COLLISION\","
+                + "\"source\":\"Bot1\",\"x\":3,\"y\":4}"), lines[0]);
+
+        assertFalse(EventLog.disabled().isEnabled(LogLevel.WARN));
+        assertThrows(IllegalStateException.class, () -> EventLog.disabled().setLevel(LogLevel.DEBUG));
+    }
+
+    @Test
+    void testProduttoriConcorrenti() throws InterruptedException {
+        // Gli eventi di più thread arrivano tutti, e nell'ordine di ciascun thread
+        List<String> received = new ArrayList<>();
+        EventLog log = EventLog.start(new CollectingSink(received, null), LogLevel.DEBUG, 1 << 14);
+        int threads = 4;
+        int events = 2000;
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String source = "T" + t;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < events; i++) {
+                    log.log(LogLevel.INFO, EventType.MOVE, source, i, 0, 0, 0, 0);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        log.flush();
+
+        assertEquals(0, log.getDroppedCount());
+        assertEquals(threads * events, received.size());
+        int[] next = new int[threads];
+        for (String event : received) {
+            String[] parts = event.split(":");
+            int thread = Integer.parseInt(parts[0].substring(1));
+            assertEquals(next[thread]++, Integer.parseInt(parts[1]), "Eventi fuori ordine per " + parts[0]);
+        }
+        log.close();
+    }
+
+    @Test
+    void testBufferPienoScartaGliEventi() throws InterruptedException {
+        // Se la destinazione è lenta gli eventi in eccesso si perdono senza bloccare chi li registra
+        List<String> received = new ArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        EventLog log = EventLog.start(new CollectingSink(received, release), LogLevel.DEBUG, 4);
+        for (int i = 0; i < 20; i++) {
+            log.log(LogLevel.INFO, EventType.MOVE, "T0", i, 0, 0, 0, 0);
+        }
+        assertTrue(log.getDroppedCount() >= 15, "Al massimo un evento in scrittura e quattro nel buffer");
+        release.countDown();
+        log.close();
+        assertEquals(20, received.size() + log.getDroppedCount());
+    }
+
+    @Test
+    void testSinkBinario() throws IOException {
+        // Ogni record binario ha la dimensione prevista dal suo tipo di evento
+        Path file = tempDir.resolve("events.bin");
+        EventLog log = EventLog.start(BinaryLogSink.open(file), LogLevel.DEBUG);
+        log.log(LogLevel.DEBUG, EventType.BOT_STATE, "Bot", 1, 2, 3, 4, 5);
+        log.message(LogLevel.WARN, "Bot", "ciao");
+        log.close();
+
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(BinaryLogSink.MAGIC, data.getInt());
+        assertEquals(BinaryLogSink.VERSION, data.getInt());
+        assertEquals((8 + 2 + 5 * 4 + 2 + 3) + (8 + 2 + 2 + 3 + 4 + 4), data.remaining());
+        data.getLong();
+        assertEquals(LogLevel.DEBUG.ordinal(), data.get());
+        assertEquals(EventType.BOT_STATE.ordinal(), data.get());
+        assertEquals(1, data.getInt());
+    }
+
+    @Test
+    void testEventiDelBot() {
+        // Il bot registra lo stato e l'accelerazione solo se il livello DEBUG è attivo
+        StringWriter out = new StringWriter();
+        EventLog log = EventLog.start(new JsonLinesSink(out), LogLevel.DEBUG);
+        BotPlayer bot = new BotPlayer("Bot", Color.RED, new Position(2, 3), (player, gameState) -> new Vector(1, -1));
+        bot.setEventLog(log);
+        bot.getNextAcceleration(null);
+        log.setLevel(LogLevel.INFO);
+        bot.getNextAcceleration(null);
+        log.close();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"event\":\"BOT_STATE\",\"source\":\"Bot\",\"x\":2,\"y\":3,\"vx\":0,\"vy\":0"),
+                lines[0]);
+        assertTrue(lines[1].endsWith("\"ax\":1,\"ay\":-1}"), lines[1]);
+    }
+
+    /**
+     * Collects events as "source:value" strings, optionally waiting before the first one.
+     */
+    private static final class CollectingSink implements LogSink {
+        private final List<String> received;
+        private final CountDownLatch release;
+
+        CollectingSink(List<String> received, CountDownLatch release) {
+            this.received = received;
+            this.release = release;
+        }
+
+        @Override
+        public void write(LogEvent event) {
+            if (this.release != null) {
+                try {
+                    this.release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this.received) {
+                this.received.add(event.getSource() + ":" + event.getValue(0));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package it.unicam.cs.mdp.vectorrace.model.replay;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.AccelerationType;
+import it.unicam.cs.mdp.vectorrace.model.core.CellType;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameSnapshot;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.game.MovementManager;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnManager;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.Player;
+import it.unicam.cs.mdp.vectorrace.view.NullGameView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Test per la classe Replay
+ */
+public class ReplayTest {
+    private static final String CIRCUIT_PATH = "src/main/resources/circuits/circuit1.txt";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSeekCoincideConLaPartita() throws IOException {
+        // Ricostruire la gara a qualunque turno deve dare lo stato che aveva la partita dal vivo
+        Track track = TrackLoader.loadTrack(CIRCUIT_PATH);
+        GameState gameState = new GameState(track, bots(track, 4));
+        Path file = tempDir.resolve(Replay.fileName(7));
+        ReplayWriter writer = ReplayWriter.create(file, gameState, 8);
+        TurnManager turnManager = new TurnManager(gameState, new MovementManager(), new NullGameView(), writer);
+
+        List<GameSnapshot> live = new ArrayList<>();
+        live.add(GameSnapshot.of(gameState));
+        while (!gameState.isFinished() && live.size() < 400) {
+            turnManager.advanceTurn();
+            live.add(GameSnapshot.of(gameState));
+        }
+        assertTrue(gameState.isFinished(), "La gara deve concludersi");
+
+        Replay replay = Replay.open(file);
+        assertTrue(replay.isComplete());
+        assertEquals(live.size() - 1, replay.getTurnCount());
+        assertEquals(live.get(live.size() - 1).getWinner(), replay.getWinner());
+        assertEquals(4, replay.getPlayerCount());
+        assertEquals("Bot2", replay.getPlayerName(2));
+        assertEquals(Color.RED, replay.getPlayerColor(2));
+        for (int turn = 0; turn < live.size(); turn++) {
+            assertSameRace(live.get(turn), replay.seek(track, turn), turn);
+        }
+
+        int[] visited = new int[1];
+        replay.forEachTurn(track, (turn, player, acceleration, after) -> {
+            assertEquals(live.get(turn).getCurrentPlayer(), player);
+            assertSameRace(live.get(turn + 1), after, turn + 1);
+            visited[0]++;
+        });
+        assertEquals(replay.getTurnCount(), visited[0]);
+    }
+
+    @Test
+    void testCircuitoDiverso() throws IOException {
+        // Un replay non deve essere riprodotto su un circuito diverso da quello registrato
+        Track track = straightTrack(16);
+        Path file = tempDir.resolve("diverso.vrrp");
+        try (ReplayWriter writer = ReplayWriter.create(file, new GameState(track, bots(track, 1)))) {
+            assertEquals(0, writer.getTurnCount());
+        }
+
+        Replay replay = Replay.open(file);
+        Track other = straightTrack(18);
+        assertTrue(replay.matches(track));
+        assertFalse(replay.matches(other));
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(other, 0));
+        assertEquals(-1, replay.getWinner(), "Chiudere senza vincitore registra -1");
+    }
+
+    @Test
+    void testAccelerazioniFuoriCodifica() throws IOException {
+        // Le accelerazioni di più di un passo vengono registrate con il codice di escape
+        Track track = straightTrack(16);
+        GameState gameState = new GameState(track, bots(track, 1));
+        Path file = tempDir.resolve("escape.vrrp");
+        Vector[] moves = { new Vector(2, 0), new Vector(-1, 1), new Vector(-8, 7), null, new Vector(0, -1) };
+        try (ReplayWriter writer = ReplayWriter.create(file, gameState, 2)) {
+            for (Vector move : moves) {
+                writer.beginTurn(gameState);
+                writer.recordTurn(move);
+            }
+            writer.beginTurn(gameState);
+            assertThrows(IllegalArgumentException.class, () -> writer.recordTurn(new Vector(8, 0)));
+        }
+
+        Replay replay = Replay.open(file);
+        assertEquals(moves.length, replay.getTurnCount());
+        for (int turn = 0; turn < moves.length; turn++) {
+            Vector expected = moves[turn] != null ? moves[turn] : new Vector(0, 0);
+            assertEquals(expected, replay.getAcceleration(turn), "Accelerazione diversa al turno " + turn);
+        }
+    }
+
+    @Test
+    void testReplayTroncato() throws IOException {
+        // Un replay senza record finale resta leggibile fino all'ultimo blocco completo
+        Track track = straightTrack(16);
+        GameState gameState = new GameState(track, bots(track, 1));
+        Path file = tempDir.resolve("troncato.vrrp");
+        try (ReplayWriter writer = ReplayWriter.create(file, gameState, 4)) {
+            for (int i = 0; i < 10; i++) {
+                writer.beginTurn(gameState);
+                writer.recordTurn(new Vector(0, 0));
+            }
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Tolti il record finale e l'ultimo byte del blocco incompleto restano due blocchi da 4 turni
+        ByteBuffer cut = ByteBuffer.wrap(bytes, 0, bytes.length - 10).slice();
+        Replay replay = Replay.wrap(cut);
+        assertFalse(replay.isComplete());
+        assertEquals(8, replay.getTurnCount());
+        assertEquals(new Position(0, 0), replay.seek(track, 8).getPosition(0));
+
+        bytes[0] = 0;
+        assertThrows(IOException.class, () -> Replay.wrap(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void testBlocchiScrittiDuranteLaGara() throws IOException {
+        // Ogni blocco completo è già sul disco mentre la gara è in corso
+        Track track = straightTrack(16);
+        GameState gameState = new GameState(track, bots(track, 1));
+        Path file = tempDir.resolve("in-corso.vrrp");
+        try (ReplayWriter writer = ReplayWriter.create(file, gameState, 4)) {
+            assertEquals(0, Replay.open(file).getTurnCount(), "L'intestazione deve essere già scritta");
+            for (int i = 0; i < 10; i++) {
+                writer.beginTurn(gameState);
+                writer.recordTurn(new Vector(0, 0));
+            }
+
+            Replay replay = Replay.open(file);
+            assertFalse(replay.isComplete());
+            assertEquals(8, replay.getTurnCount());
+        }
+    }
+
+    @Test
+    void testCodiciDelleAccelerazioni() {
+        // Il codice di un passo singolo coincide con l'ordinale di AccelerationType
+        for (AccelerationType type : AccelerationType.values()) {
+            Vector vector = type.getVector();
+            int code = ReplayFormat.code(vector.getDx(), vector.getDy());
+            assertEquals(type.ordinal(), code);
+            assertEquals(vector, ReplayFormat.acceleration(code));
+        }
+        assertEquals(ReplayFormat.ESCAPE, ReplayFormat.code(2, 0));
+        assertEquals(-8, ReplayFormat.signed(8));
+        assertEquals(7, ReplayFormat.signed(7));
+    }
+
+    private static void assertSameRace(GameSnapshot expected, GameSnapshot actual, int turn) {
+        if (!expected.isGameOver()) {
+            // A gara finita la partita dal vivo non passa il turno, lo snapshot sì
+            assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer(), "Turno diverso al turno " + turn);
+        }
+        assertEquals(expected.getWinner(), actual.getWinner(), "Vincitore diverso al turno " + turn);
+        for (int p = 0; p < expected.getPlayerCount(); p++) {
+            assertEquals(expected.getPosition(p), actual.getPosition(p), "Posizione diversa al turno " + turn);
+            assertEquals(expected.getVelocity(p), actual.getVelocity(p), "Velocità diversa al turno " + turn);
+            assertEquals(expected.getNextCheckpointIndex(p), actual.getNextCheckpointIndex(p),
+                    "Checkpoint diverso al turno " + turn);
+        }
+    }
+
+    private static List<Player> bots(Track track, int count) {
+        List<Position> starts = new ArrayList<>();
+        for (int y = 0; y < track.getHeight(); y++) {
+            for (int x = 0; x < track.getWidth(); x++) {
+                if (track.isStart(x, y)) {
+                    starts.add(new Position(x, y));
+                }
+            }
+        }
+        if (starts.isEmpty()) {
+            starts.add(new Position(0, 0));
+        }
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BotPlayer bot = new BotPlayer("Bot" + i, Color.RED, starts.get(i), new BFSStrategy());
+            bot.setDebugEnabled(false);
+            players.add(bot);
+        }
+        return players;
+    }
+
+    private static Track straightTrack(int width) {
+        CellType[][] grid = new CellType[4][width];
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < width; x++) {
+                grid[y][x] = CellType.ROAD;
+            }
+            grid[y][width - 2] = CellType.FINISH;
+        }
+        return new Track(grid, new HashMap<>());
+    }
+}
@@ -0,0 +1,125 @@
+package it.unicam.cs.mdp.vectorrace.model.simulation;
+
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.TrackLoader;
+import it.unicam.cs.mdp.vectorrace.model.game.TurnMode;
+import it.unicam.cs.mdp.vectorrace.model.players.PlayerData;
+import it.unicam.cs.mdp.vectorrace.model.players.StrategyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Test per la classe BatchSimulator
+ */
+public class BatchSimulatorTest {
+    private final String TEST_CIRCUIT_PATH = "src/test/resources/test_circuit.txt";
+    private Track track;
+    private List<PlayerData> roster;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        track = TrackLoader.loadTrack(TEST_CIRCUIT_PATH);
+        roster = List.of(
+            new PlayerData("bot", "BotBFS", Color.RED, StrategyType.BFS),
+            new PlayerData("bot", "BotAStar", Color.BLUE, StrategyType.ASTAR)
+        );
+    }
+
+    @Test
+    void testRisultatiInOrdineDiSeed() {
+        BatchSimulator simulator = new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 2, 200);
+        List<RaceResult> results = simulator.run(10, 8);
+
+        assertEquals(8, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            RaceResult result = results.get(i);
+            assertEquals(10 + i, result.getSeed());
+            assertTrue(result.isFinished(), "Ogni gara sul circuito di test deve concludersi");
+            assertTrue(result.getTurns() > 0 && result.getTurns() <= 200);
+            assertTrue(result.getCollisions() >= 0);
+            assertTrue(result.getElapsedNanos() >= 0);
+        }
+    }
+
+    @Test
+    void testRisultatiIndipendentiDallaModalita() {
+        List<RaceResult> platform = new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 3, 200).run(0, 12);
+        List<RaceResult> virtual = new BatchSimulator(track, roster, ExecutionMode.VIRTUAL, 3, 200).run(0, 12);
+        RaceResult serial = new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 1, 200).runRace(5);
+
+        for (int i = 0; i < platform.size(); i++) {
+            assertEquals(platform.get(i).getWinner(), virtual.get(i).getWinner());
+            assertEquals(platform.get(i).getTurns(), virtual.get(i).getTurns());
+            assertEquals(platform.get(i).getCollisions(), virtual.get(i).getCollisions());
+        }
+        assertEquals(serial.getWinner(), platform.get(5).getWinner());
+        assertEquals(serial.getTurns(), platform.get(5).getTurns());
+    }
+
+    @Test
+    void testTurniInPipeline() {
+        // In pipeline ogni gara si conclude e la stessa gara dà lo stesso risultato
+        BatchSimulator simulator = new BatchSimulator(track, roster, ExecutionMode.VIRTUAL, 2, 200,
+                TurnMode.PIPELINED, null);
+        List<RaceResult> results = simulator.run(0, 4);
+        RaceResult again = simulator.runRace(2);
+
+        for (RaceResult result : results) {
+            assertTrue(result.isFinished(), "Ogni gara sul circuito di test deve concludersi");
+        }
+        assertEquals(results.get(2).getWinner(), again.getWinner());
+        assertEquals(results.get(2).getTurns(), again.getTurns());
+    }
+
+    @Test
+    void testGareARound() {
+        // A mosse simultanee ogni gara si conclude, in meno round dei turni della gara a turni
+        BatchSimulator rounds = new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 2, 200,
+                TurnMode.SIMULTANEOUS, null);
+        BatchSimulator turns = new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 2, 200);
+
+        List<RaceResult> results = rounds.run(0, 4);
+        for (int i = 0; i < results.size(); i++) {
+            assertTrue(results.get(i).isFinished(), "Ogni gara sul circuito di test deve concludersi");
+            assertTrue(results.get(i).getTurns() < turns.runRace(i).getTurns());
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 1, 10, TurnMode.SIMULTANEOUS,
+                    Path.of("replays")));
+    }
+
+    @Test
+    void testLimiteTurni() {
+        BatchSimulator simulator = new BatchSimulator(track, roster, ExecutionMode.PLATFORM, 1, 1);
+        RaceResult result = simulator.runRace(0);
+
+        // Un solo turno non basta per passare dai checkpoint al traguardo
+        assertEquals(1, result.getTurns());
+        assertFalse(result.isFinished());
+        assertNull(result.getWinner());
+    }
+
+    @Test
+    void testGiocatoreUmanoRifiutato() {
+        List<PlayerData> withHuman = List.of(new PlayerData("human", "Umano", Color.GREEN, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BatchSimulator(track, withHuman, ExecutionMode.PLATFORM, 1, 10));
+    }
+
+    @Test
+    void testPosizioniDiPartenzaInsufficienti() {
+        List<PlayerData> crowded = List.of(
+            new PlayerData("bot", "Bot1", Color.RED, StrategyType.BFS),
+            new PlayerData("bot", "Bot2", Color.RED, StrategyType.BFS),
+            new PlayerData("bot", "Bot3", Color.RED, StrategyType.BFS)
+        );
+        assertThrows(IllegalStateException.class,
+            () -> new BatchSimulator(track, crowded, ExecutionMode.PLATFORM, 1, 10));
+    }
+}
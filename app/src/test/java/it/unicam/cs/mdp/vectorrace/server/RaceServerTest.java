@@ -0,0 +1,169 @@
+package it.unicam.cs.mdp.vectorrace.server;
+
+import it.unicam.cs.mdp.vectorrace.model.ai.strategies.bfs.BFSStrategy;
+import it.unicam.cs.mdp.vectorrace.model.core.Position;
+import it.unicam.cs.mdp.vectorrace.model.core.Track;
+import it.unicam.cs.mdp.vectorrace.model.core.Vector;
+import it.unicam.cs.mdp.vectorrace.model.game.GameState;
+import it.unicam.cs.mdp.vectorrace.model.players.BotPlayer;
+import it.unicam.cs.mdp.vectorrace.model.players.HumanPlayer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Test per la classe RaceServer
+ */
+public class RaceServerTest {
+
+    @Test
+    void testCircuitiCondivisi() throws IOException {
+        // Le gare sullo stesso circuito ricevono la stessa istanza, i nomi con percorsi vengono rifiutati
+        TrackRepository tracks = new TrackRepository();
+        Track track = tracks.getTrack("circuit1");
+        assertSame(track, tracks.getTrack("circuit1"));
+        assertEquals(1, tracks.size());
+        assertFalse(tracks.getStartPositions("circuit1").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> tracks.getTrack("../players/playersCLI"));
+        assertThrows(IOException.class, () -> tracks.getTrack("inesistente"));
+    }
+
+    @Test
+    void testGaraDiBot() throws IOException {
+        // Una gara di soli bot procede da sola fino al vincitore
+        try (RaceServer server = new RaceServer(new TrackRepository(), 2000)) {
+            server.start(0);
+            try (Client client = new Client(server.getPort())) {
+                client.send("CREATE circuit1 bot;B1;#FF0000;1 bot;B2;#0000FF;1");
+                assertEquals("CREATED 1", client.readLine());
+                List<String> lines = client.readUntil(line -> line.startsWith("END"));
+                assertTrue(lines.get(0).startsWith("STATE 1 0 0 "), lines.get(0));
+                assertTrue(lines.size() > 3, "Ogni turno invia lo stato del giocatore che si è mosso");
+                String end = lines.get(lines.size() - 1);
+                assertTrue(end.equals("END 1 B1") || end.equals("END 1 B2"), end);
+            }
+            assertNull(server.getRace(1), "Le gare concluse vengono dimenticate");
+        }
+    }
+
+    @Test
+    void testMossaUmana() throws IOException {
+        // La gara attende la mossa del giocatore umano e rifiuta quelle fuori turno
+        try (RaceServer server = new RaceServer(new TrackRepository(), 2000)) {
+            server.start(0);
+            try (Client client = new Client(server.getPort())) {
+                client.send("CREATE circuit1 human;Io;#FF0000 bot;B;#0000FF;1");
+                assertEquals("CREATED 1", client.readLine());
+                List<String> lines = client.readUntil(line -> line.startsWith("TURN"));
+                assertEquals(List.of("STATE 1 0 0", "STATE 1 0 1", "TURN 1 Io"),
+                        lines.stream().map(line -> line.startsWith("STATE")
+                                ? line.substring(0, line.indexOf(' ', 10)) : line).toList());
+
+                client.send("MOVE 1 B 0 0");
+                assertEquals("ERROR Non è il turno di B", client.readLine());
+                client.send("MOVE 1 Io 2 0");
+                assertTrue(client.readLine().startsWith("ERROR Accelerazione non valida"));
+
+                client.send("MOVE 1 Io 0 0");
+                lines = client.readUntil(line -> line.startsWith("TURN"));
+                assertTrue(lines.contains("OK"), lines.toString());
+                assertEquals("TURN 1 Io", lines.get(lines.size() - 1));
+                assertTrue(lines.stream().anyMatch(line -> line.startsWith("STATE 1 2 1 ")),
+                        "Dopo la mossa umana muove il bot");
+
+                client.send("STOP 1");
+                lines = client.readUntil(line -> line.startsWith("END"));
+                assertEquals("END 1 -", lines.get(lines.size() - 1));
+                client.send("MOVE 1 Io 0 0");
+                assertEquals("ERROR Gara inesistente o terminata: 1", client.readLine());
+            }
+        }
+    }
+
+    @Test
+    void testMessaggiAGaraTerminata() throws Exception {
+        // I messaggi arrivati a gara terminata ricevono tutti una risposta, anche da più thread insieme
+        TrackRepository tracks = new TrackRepository();
+        Track track = tracks.getTrack("circuit1");
+        List<Position> starts = tracks.getStartPositions("circuit1");
+        BotPlayer bot = new BotPlayer("B", Color.RED, starts.get(0), new BFSStrategy());
+        bot.setDebugEnabled(false);
+        HumanPlayer human = new HumanPlayer("Io", Color.BLUE, starts.get(1));
+        Race race = new Race(1, "circuit1", new GameState(track, List.of(bot, human)), 1, ended -> { });
+        race.start();
+        assertTrue(race.awaitEnd(30, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Void>> replies = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 50; i++) {
+                    replies.add(race.submitMove("Io", new Vector(0, 0)));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400, replies.size());
+        for (CompletableFuture<Void> reply : replies) {
+            assertTrue(reply.isCompletedExceptionally(), "Una gara terminata rifiuta le mosse");
+        }
+    }
+
+    /**
+     * A protocol client reading with a timeout, so that a stuck server fails the test.
+     */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            this.socket.setSoTimeout(30_000);
+            this.in = new BufferedReader(new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new PrintWriter(this.socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        void send(String command) {
+            this.out.println(command);
+        }
+
+        String readLine() throws IOException {
+            String line = this.in.readLine();
+            assertNotNull(line, "Connessione chiusa dal server");
+            return line;
+        }
+
+        List<String> readUntil(Predicate<String> last) throws IOException {
+            List<String> lines = new ArrayList<>();
+            String line;
+            do {
+                line = this.readLine();
+                lines.add(line);
+            } while (!last.test(line));
+            return lines;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.send("QUIT");
+            this.socket.close();
+        }
+    }
+}